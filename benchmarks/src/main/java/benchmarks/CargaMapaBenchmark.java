@@ -0,0 +1,72 @@
+package benchmarks;
+
+import SistemaDeNiveles.CacheNiveles;
+import SistemaDeNiveles.TiledTMXParser;
+import SistemaDeSoporte.Handler;
+import SistemaGFX.Texturas;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de TiledTMXParser.cargarMapa() por archivo de nivel
+ * (parseo del XML + creación de tiles y escaleras en el Handler)
+ *
+ * La cantidad de entidades la fija cada TMX.
+ * cache=si lee el nivel compilado (la primera carga del setup lo genera),
+ * cache=no parsea el XML en cada invocación.
+ *
+ * @author LENOVO
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CargaMapaBenchmark {
+
+    @Param({"/Imagenes/Nivel1.tmx", "/Imagenes/Nivel2.tmx", "/Imagenes/Nivel3.tmx"})
+    public String mapa;
+
+    @Param({"si", "no"})
+    public String cache;
+
+    private Handler handler;
+    private CacheNiveles cacheNiveles;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        // Los tiles piden su sprite al crearse: solo se mide el parser
+        Texturas.activarModoSinImagenes();
+        handler = new Handler();
+        if (cache.equals("si")) {
+            cacheNiveles = new CacheNiveles(Files.createTempDirectory("cache-niveles"));
+            new TiledTMXParser(handler, cacheNiveles).cargarMapa(mapa);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void limpiar() {
+        handler.limpiarObjetos();
+    }
+
+    @Benchmark
+    public int cargarMapa() {
+        TiledTMXParser parser = new TiledTMXParser(handler, cacheNiveles);
+        parser.cargarMapa(mapa);
+        return handler.getGameObjs().size();
+    }
+}
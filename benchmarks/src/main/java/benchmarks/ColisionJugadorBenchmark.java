@@ -0,0 +1,72 @@
+package benchmarks;
+
+import Entidades.ComponenteColisionJugador;
+import Entidades.ComponenteEscaleraJugador;
+import Entidades.ComponenteFisicasJugador;
+import Entidades.Jugador;
+import SistemaDeSoporte.Handler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de ComponenteColisionJugador.procesarColisiones()
+ * con el jugador en su punto de aparición
+ *
+ * La posición se restaura antes de cada llamada para medir
+ * siempre la misma consulta (la colisión mueve al jugador).
+ *
+ * @author LENOVO
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ColisionJugadorBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int nivel;
+
+    @Param({"0", "50", "200"})
+    public int entidades;
+
+    private Jugador jugador;
+    private ComponenteColisionJugador colision;
+    private float xInicial;
+    private float yInicial;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        EscenarioNivel escenario = new EscenarioNivel(false);
+        escenario.preparar(nivel, entidades);
+
+        Handler handler = escenario.getHandler();
+        jugador = handler.getPlayer();
+        colision = new ComponenteColisionJugador(jugador, handler,
+            new ComponenteEscaleraJugador(jugador, handler),
+            new ComponenteFisicasJugador(jugador, handler));
+
+        xInicial = jugador.getX();
+        yInicial = jugador.getY();
+    }
+
+    @Benchmark
+    public float procesarColisiones() {
+        jugador.setX(xInicial);
+        jugador.setY(yInicial);
+        colision.procesarColisiones();
+        return jugador.getY();
+    }
+}
@@ -0,0 +1,80 @@
+package benchmarks;
+
+import Entidades.Enemigos.Barril;
+import SistemaDeNiveles.GestorNiveles;
+import SistemaDeNiveles.MapaColision;
+import SistemaDeSoporte.Handler;
+import mariotest.Juego;
+import java.util.Random;
+
+/**
+ * Escenario compartido por los benchmarks: un juego sin ventana
+ * con un nivel cargado y N barriles extra repartidos por el mapa
+ *
+ * - Los spawners se detienen para que la cantidad de entidades
+ *   dependa solo del parámetro del benchmark
+ * - Semilla fija: mismas posiciones y mismas decisiones de la IA
+ *   en cada corrida
+ *
+ * @author LENOVO
+ */
+final class EscenarioNivel {
+
+    private static final long SEMILLA = 42L;
+    private static final int ESCALA = 2;
+
+    private final Juego juego;
+    private final Handler handler;
+    private final GestorNiveles gestorNiveles;
+
+    /**
+     * @param conImagenes true si el benchmark va a renderizar
+     */
+    EscenarioNivel(boolean conImagenes) {
+        this.juego = new Juego();
+        juego.setSemilla(SEMILLA);
+        juego.iniciarSinVentana(0, conImagenes);
+        this.handler = juego.getHandler();
+        this.gestorNiveles = juego.getGestorNiveles();
+    }
+
+    /**
+     * Carga el nivel desde cero y agrega los barriles extra
+     */
+    void preparar(int nivel, int entidadesExtra) {
+        handler.getAleatorio().reiniciar(SEMILLA);
+        gestorNiveles.inicializarNivel(nivel);
+        gestorNiveles.detenerSpawners();
+
+        MapaColision mapa = handler.getMapaColision();
+        int anchoMundo = mapa != null ? mapa.getAncho() * mapa.getTamanoTile() : 888;
+        int altoMundo = mapa != null ? mapa.getAlto() * mapa.getTamanoTile() : 720;
+
+        Random random = new Random(SEMILLA);
+        for (int i = 0; i < entidadesExtra; i++) {
+            // Coordenadas sin escalar (Barril multiplica por la escala)
+            float x = random.nextInt(anchoMundo) / (float) ESCALA;
+            float y = random.nextInt(altoMundo) / (float) ESCALA;
+            int direccion = random.nextBoolean() ? 1 : -1;
+            handler.addObj(Barril.obtener(x, y, ESCALA, handler, direccion));
+        }
+    }
+
+    /**
+     * Carga el nivel tal como se juega (con spawners) y deja al jugador
+     * invulnerable: se pueden simular muchos ticks sin que la partida termine
+     */
+    void prepararJugable(int nivel) {
+        handler.getAleatorio().reiniciar(SEMILLA);
+        gestorNiveles.inicializarNivel(nivel);
+        handler.getPlayer().setInvulnerable(true);
+    }
+
+    Handler getHandler() {
+        return handler;
+    }
+
+    Juego getJuego() {
+        return juego;
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import SistemaDeSoporte.Handler;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de un Handler.tick() completo en cada nivel
+ *
+ * El nivel se recarga en cada iteración: los barriles que caen del mapa
+ * se destruyen, así cada iteración arranca con la misma cantidad.
+ *
+ * @author LENOVO
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class HandlerTickBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int nivel;
+
+    @Param({"0", "50", "200"})
+    public int entidades;
+
+    private EscenarioNivel escenario;
+    private Handler handler;
+
+    @Setup(Level.Trial)
+    public void crearJuego() {
+        escenario = new EscenarioNivel(false);
+        handler = escenario.getHandler();
+    }
+
+    @Setup(Level.Iteration)
+    public void cargarNivel() {
+        escenario.preparar(nivel, entidades);
+    }
+
+    @Benchmark
+    public int tick() {
+        handler.tick();
+        return handler.getGameObjs().size();
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+
+import Entidades.EfectosVisuales.SistemaParticulas;
+import SistemaDeSoporte.GeneradorAleatorio;
+import mariotest.Configuracion;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo del SistemaParticulas con muchas chispas vivas a la vez
+ *
+ * - simular: un tick más las emisiones que reponen las que se apagaron
+ *   (la población se mantiene constante)
+ * - render: una pasada completa en una imagen del tamaño de la ventana
+ *
+ * @author LENOVO
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ParticulasBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int cantidad;
+
+    private SistemaParticulas particulas;
+    private Random posiciones;
+    private BufferedImage imagen;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        particulas = new SistemaParticulas(new GeneradorAleatorio(42L));
+        posiciones = new Random(42L);
+        reponer();
+
+        imagen = new BufferedImage(
+            Configuracion.VENTANA_WIDTH,
+            Configuracion.VENTANA_HEIGHT,
+            BufferedImage.TYPE_INT_RGB
+        );
+        g = imagen.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void liberar() {
+        g.dispose();
+    }
+
+    private void reponer() {
+        while (particulas.getCantidad() < cantidad) {
+            particulas.emitirFuego(posiciones.nextInt(Configuracion.VENTANA_WIDTH),
+                                   posiciones.nextInt(Configuracion.VENTANA_HEIGHT), 1);
+        }
+    }
+
+    @Benchmark
+    public int simular() {
+        particulas.tick();
+        reponer();
+        return particulas.getCantidad();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, imagen.getWidth(), imagen.getHeight());
+        particulas.render(g, 1f);
+        return imagen;
+    }
+}
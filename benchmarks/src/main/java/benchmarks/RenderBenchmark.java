@@ -0,0 +1,73 @@
+package benchmarks;
+
+import SistemaDeSoporte.Handler;
+import mariotest.Configuracion;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de Handler.render() en una imagen fuera de pantalla
+ * del tamaño de la ventana (con texturas reales)
+ *
+ * @author LENOVO
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+
+    @Param({"1", "2", "3"})
+    public int nivel;
+
+    @Param({"0", "50", "200"})
+    public int entidades;
+
+    private Handler handler;
+    private BufferedImage imagen;
+    private Graphics2D g;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        EscenarioNivel escenario = new EscenarioNivel(true);
+        escenario.preparar(nivel, entidades);
+        handler = escenario.getHandler();
+
+        imagen = new BufferedImage(
+            Configuracion.VENTANA_WIDTH,
+            Configuracion.VENTANA_HEIGHT,
+            BufferedImage.TYPE_INT_RGB
+        );
+        g = imagen.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void liberar() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage render() {
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, imagen.getWidth(), imagen.getHeight());
+        handler.render(g);
+        return imagen;
+    }
+}
@@ -0,0 +1,32 @@
+package benchmarks;
+
+import SistemaGFX.Texturas;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de construir Texturas (decodificar hojas y recortar sprites)
+ *
+ * Es una operación de arranque: se mide en modo SingleShotTime
+ * para incluir el primer acceso a disco de cada corrida.
+ *
+ * @author LENOVO
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TexturasBenchmark {
+
+    @Benchmark
+    public Texturas construir() {
+        return new Texturas();
+    }
+}
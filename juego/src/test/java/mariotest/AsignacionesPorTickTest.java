@@ -0,0 +1,66 @@
+package mariotest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Chequeo de asignaciones del game loop: corre N ticks de cada nivel
+ * y falla si el hilo asignó más de UMBRAL_BYTES_POR_TICK en promedio
+ *
+ * - Mide con ThreadMXBean.getThreadAllocatedBytes() (solo el hilo que
+ *   simula, sin ruido del GC ni de otros hilos)
+ * - Antes de medir corre un calentamiento: la primera vez que se toca
+ *   cada camino se llenan pools, listas y caches
+ * - Cada nivel corre como se juega (spawners activos, semilla fija) con
+ *   el jugador invulnerable para que la partida no termine a mitad
+ *
+ * @author LENOVO
+ */
+class AsignacionesPorTickTest {
+
+    private static final long SEMILLA = 42L;
+    private static final int TICKS_CALENTAMIENTO = 600;
+    private static final int TICKS_MEDIDOS = 3600;
+
+    // Margen para lo esporádico (spawns, logs); el tick en sí no asigna
+    private static final double UMBRAL_BYTES_POR_TICK = 256;
+
+    private static com.sun.management.ThreadMXBean hilos;
+    private static Juego juego;
+
+    @BeforeAll
+    static void iniciarJuego() {
+        hilos = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(hilos.isThreadAllocatedMemorySupported(),
+            "La JVM no mide asignaciones por hilo");
+        hilos.setThreadAllocatedMemoryEnabled(true);
+
+        juego = new Juego();
+        juego.setSemilla(SEMILLA);
+        juego.iniciarSinVentana(0, false);
+    }
+
+    @ParameterizedTest(name = "Nivel {0}")
+    @ValueSource(ints = {1, 2, 3})
+    void elTickNoAsignaMemoria(int nivel) {
+        juego.getHandler().getAleatorio().reiniciar(SEMILLA);
+        juego.getGestorNiveles().inicializarNivel(nivel);
+        juego.getHandler().getPlayer().setInvulnerable(true);
+        juego.simular(TICKS_CALENTAMIENTO);
+
+        long hilo = Thread.currentThread().getId();
+        long antes = hilos.getThreadAllocatedBytes(hilo);
+        juego.simular(TICKS_MEDIDOS);
+        double porTick = (hilos.getThreadAllocatedBytes(hilo) - antes) / (double) TICKS_MEDIDOS;
+
+        System.out.println(String.format("[ASIGNACIONES] Nivel %d: %.1f bytes/tick en %d ticks",
+            nivel, porTick, TICKS_MEDIDOS));
+        assertTrue(porTick <= UMBRAL_BYTES_POR_TICK, String.format(
+            "El nivel %d asigna %.1f bytes/tick (umbral %.0f)", nivel, porTick, UMBRAL_BYTES_POR_TICK));
+    }
+}
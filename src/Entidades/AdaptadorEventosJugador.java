@@ -14,7 +14,7 @@ package Entidades;
  */
 public abstract class AdaptadorEventosJugador implements IJugadorEventos {
     @Override
-    public void onJugadordanado(EventoJugadorDañado event) {}
+    public void onJugadordanado(EventoJugadorDanado event) {}
     
     @Override
     public void onJugadorMuerto(EventoMuerteJugador event) {}
@@ -4,98 +4,275 @@
  */
 package Entidades;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
 
 /**
  * Gestor central de eventos del juego
  * Patrón: Mediator + Observer
  * Principio: SRP - Solo gestiona suscripciones y notificaciones
  * 
- * Thread-safe usando CopyOnWriteArrayList
+ * BUS TIPADO:
+ * - Cada clase de evento tiene su TipoEvento (clave) y un canal de oyentes
+ * - Los eventos salen del pool del tipo y vuelven a él al despacharse:
+ *     bus.publicar(bus.obtener(EventoPuntos.TIPO).preparar(100, total));
+ * - INMEDIATO: los oyentes corren dentro de publicar()
+ * - DIFERIDO: el evento se encola y sale en una sola tanda con
+ *   despacharPendientes() (FacadeMotorJuego la llama después del Handler.tick)
+ * - Cuenta los eventos publicados por tipo (overlay de debug)
+ * 
+ * Publicar y despachar se hace desde el hilo del juego. Suscribir se puede
+ * desde cualquier hilo (el arranque corre en paralelo): cada cambio publica
+ * un arreglo nuevo de oyentes, así recorrerlo no copia ni bloquea.
  */
 public class AdministradorEventos {
-    private static AdministradorEventos instance;
-    private final List<IJugadorEventos> playerListeners;
+    private static final AdministradorEventos instance = new AdministradorEventos();
+    
+    // Canal por índice de TipoEvento (se agranda al aparecer tipos nuevos)
+    private volatile Canal<?>[] canales;
+    private final List<EventoJuego> pendientes;
+    private boolean despachando;
+    
+    // Puente para los oyentes de IJugadorEventos: lo que se suscribió por cada uno
+    private final Map<IJugadorEventos, OyenteEvento<?>[]> playerListeners;
     
     private AdministradorEventos() {
-        this.playerListeners = new CopyOnWriteArrayList<>();
+        this.canales = new Canal<?>[0];
+        this.pendientes = new ArrayList<>();
+        this.playerListeners = new IdentityHashMap<>();
     }
     
     public static AdministradorEventos getInstance() {
-        if (instance == null) {
-            instance = new AdministradorEventos();
-        }
         return instance;
     }
     
-    public void registerPlayerListener(IJugadorEventos listener) {
-        if (!playerListeners.contains(listener)) {
-            playerListeners.add(listener);
-            System.out.println("[EVENT] Listener registrado: " + 
-                             listener.getClass().getSimpleName());
-        }
+    // ==================== SUSCRIPCIONES ====================
+    
+    public synchronized <E extends EventoJuego> void suscribir(TipoEvento<E> tipo,
+                                                              OyenteEvento<? super E> oyente) {
+        canal(tipo).agregar(oyente);
     }
     
-    public void unregisterPlayerListener(IJugadorEventos listener) {
-        playerListeners.remove(listener);
+    public synchronized <E extends EventoJuego> void desuscribir(TipoEvento<E> tipo,
+                                                                OyenteEvento<? super E> oyente) {
+        canal(tipo).quitar(oyente);
     }
     
-    public void clearAllListeners() {
-        playerListeners.clear();
+    /**
+     * Suscribe cada método de IJugadorEventos a su tipo de evento
+     */
+    public synchronized void registerPlayerListener(IJugadorEventos listener) {
+        if (playerListeners.containsKey(listener)) {
+            return;
+        }
+        
+        OyenteEvento<EventoJugadorDanado> danado = listener::onJugadordanado;
+        OyenteEvento<EventoMuerteJugador> muerto = listener::onJugadorMuerto;
+        OyenteEvento<EventoReaparicionJugador> reaparece = listener::onJuegadorReaparece;
+        OyenteEvento<EventoJugadorRecogeObjeto> recoge = listener::onJugadorRecogeObjeto;
+        OyenteEvento<EventoJugadorPoder> poder = listener::onJugadorPoder;
+        
+        suscribir(EventoJugadorDanado.TIPO, danado);
+        suscribir(EventoMuerteJugador.TIPO, muerto);
+        suscribir(EventoReaparicionJugador.TIPO, reaparece);
+        suscribir(EventoJugadorRecogeObjeto.TIPO, recoge);
+        suscribir(EventoJugadorPoder.TIPO, poder);
+        
+        playerListeners.put(listener, new OyenteEvento<?>[] {danado, muerto, reaparece, recoge, poder});
+        System.out.println("[EVENT] Listener registrado: " + 
+                         listener.getClass().getSimpleName());
     }
     
-    public void firePlayerDamaged(EventoJugadorDañado event) {
-        for (IJugadorEventos listener : playerListeners) {
-            try {
-                listener.onJugadordanado(event);
-            } catch (Exception e) {
-                System.err.println("[EVENT] Error en listener: " + e.getMessage());
+    public synchronized void unregisterPlayerListener(IJugadorEventos listener) {
+        OyenteEvento<?>[] suscritos = playerListeners.remove(listener);
+        if (suscritos == null) {
+            return;
+        }
+        for (Canal<?> canal : canales) {
+            if (canal != null) {
+                for (OyenteEvento<?> oyente : suscritos) {
+                    canal.quitar(oyente);
+                }
             }
         }
     }
     
-    public void firePlayerDeath(EventoMuerteJugador event) {
-        for (IJugadorEventos listener : playerListeners) {
-            try {
-                listener.onJugadorMuerto(event);
-            } catch (Exception e) {
-                System.err.println("[EVENT] Error en listener: " + e.getMessage());
+    public synchronized void clearAllListeners() {
+        for (Canal<?> canal : canales) {
+            if (canal != null) {
+                canal.vaciar();
             }
         }
+        playerListeners.clear();
     }
     
-    public void firePlayerRespawn(EventoReaparicionJugador event) {
-        for (IJugadorEventos listener : playerListeners) {
-            try {
-                listener.onJuegadorReaparece(event);
-            } catch (Exception e) {
-                System.err.println("[EVENT] Error en listener: " + e.getMessage());
-            }
+    // ==================== PUBLICAR ====================
+    
+    /**
+     * Instancia libre del pool del tipo; se llena con preparar(...)
+     * y se entrega con publicar(). No hay que guardarla después.
+     */
+    public <E extends EventoJuego> E obtener(TipoEvento<E> tipo) {
+        return tipo.getPool().adquirir();
+    }
+    
+    /**
+     * Despacha el evento ahora o lo encola, según el modo de su tipo
+     */
+    @SuppressWarnings("unchecked")
+    public void publicar(EventoJuego evento) {
+        Canal<EventoJuego> canal = (Canal<EventoJuego>) canal(evento.getTipo());
+        canal.publicados++;
+        evento.marcar();
+        
+        if (canal.diferido) {
+            pendientes.add(evento);
+        } else {
+            despachar(canal, evento);
         }
     }
     
-    public void firePlayerCollectItem(EventoJugadorRecogeObjeto event) {
-        for (IJugadorEventos listener : playerListeners) {
-            try {
-                listener.onJugadorRecogeObjeto(event);
-            } catch (Exception e) {
-                System.err.println("[EVENT] Error en listener: " + e.getMessage());
+    /**
+     * Despacha en orden de publicación todo lo encolado desde la última tanda.
+     * Lo que publiquen los oyentes mientras tanto entra en esta misma tanda.
+     */
+    @SuppressWarnings("unchecked")
+    public void despacharPendientes() {
+        if (despachando) {
+            return;
+        }
+        despachando = true;
+        try {
+            for (int i = 0; i < pendientes.size(); i++) {
+                EventoJuego evento = pendientes.get(i);
+                despachar((Canal<EventoJuego>) canal(evento.getTipo()), evento);
             }
+            pendientes.clear();
+        } finally {
+            despachando = false;
         }
     }
     
-    public void firePlayerPowerUp(EventoJugadorPoder event) {
-        for (IJugadorEventos listener : playerListeners) {
+    private <E extends EventoJuego> void despachar(Canal<E> canal, E evento) {
+        for (OyenteEvento<? super E> oyente : canal.oyentes) {
             try {
-                listener.onJugadorPoder(event);
+                oyente.alRecibir(evento);
             } catch (Exception e) {
                 System.err.println("[EVENT] Error en listener: " + e.getMessage());
             }
         }
+        evento.limpiar();
+        canal.tipo.getPool().liberar(evento);
     }
     
-    public int getListenerCount() {
+    // ==================== CONFIGURACIÓN Y ESTADÍSTICAS ====================
+    
+    /**
+     * Cambia el modo de despacho de un tipo (por defecto, el de su TipoEvento)
+     */
+    public <E extends EventoJuego> void setDiferido(TipoEvento<E> tipo, boolean diferido) {
+        canal(tipo).diferido = diferido;
+    }
+    
+    public <E extends EventoJuego> boolean isDiferido(TipoEvento<E> tipo) {
+        return canal(tipo).diferido;
+    }
+    
+    public <E extends EventoJuego> long getPublicados(TipoEvento<E> tipo) {
+        return canal(tipo).publicados;
+    }
+    
+    public int getPendientes() {
+        return pendientes.size();
+    }
+    
+    public synchronized int getListenerCount() {
         return playerListeners.size();
     }
+    
+    /**
+     * Información de debug (una línea para el overlay)
+     */
+    public String getInfo() {
+        StringBuilder sb = new StringBuilder("Eventos");
+        for (Canal<?> canal : canales) {
+            if (canal != null && canal.publicados > 0) {
+                sb.append(" | ").append(canal.tipo.getNombre().replace("Evento", ""))
+                  .append(": ").append(canal.publicados);
+            }
+        }
+        return sb.toString();
+    }
+    
+    // ==================== CANALES ====================
+    
+    @SuppressWarnings("unchecked")
+    private <E extends EventoJuego> Canal<E> canal(TipoEvento<E> tipo) {
+        Canal<?>[] actuales = canales;
+        int indice = tipo.getIndice();
+        if (indice < actuales.length && actuales[indice] != null) {
+            return (Canal<E>) actuales[indice];
+        }
+        return crearCanal(tipo);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private synchronized <E extends EventoJuego> Canal<E> crearCanal(TipoEvento<E> tipo) {
+        Canal<?>[] actuales = canales;
+        int indice = tipo.getIndice();
+        if (indice < actuales.length && actuales[indice] != null) {
+            return (Canal<E>) actuales[indice];
+        }
+        
+        Canal<?>[] nuevos = Arrays.copyOf(actuales, Math.max(actuales.length, indice + 1));
+        Canal<E> canal = new Canal<>(tipo);
+        nuevos[indice] = canal;
+        canales = nuevos;
+        return canal;
+    }
+    
+    /**
+     * Oyentes, modo y contador de un tipo de evento
+     */
+    private static final class Canal<E extends EventoJuego> {
+        private final TipoEvento<E> tipo;
+        private volatile OyenteEvento<? super E>[] oyentes;
+        private volatile boolean diferido;
+        private long publicados;
+        
+        @SuppressWarnings("unchecked")
+        Canal(TipoEvento<E> tipo) {
+            this.tipo = tipo;
+            this.oyentes = (OyenteEvento<? super E>[]) new OyenteEvento<?>[0];
+            this.diferido = tipo.getDespacho() == TipoEvento.Despacho.DIFERIDO;
+        }
+        
+        // agregar/quitar/vaciar: con el lock del AdministradorEventos
+        
+        void agregar(OyenteEvento<? super E> oyente) {
+            OyenteEvento<? super E>[] nuevos = Arrays.copyOf(oyentes, oyentes.length + 1);
+            nuevos[oyentes.length] = oyente;
+            oyentes = nuevos;
+        }
+        
+        void quitar(OyenteEvento<?> oyente) {
+            OyenteEvento<? super E>[] actuales = oyentes;
+            for (int i = 0; i < actuales.length; i++) {
+                if (actuales[i] == oyente) {
+                    OyenteEvento<? super E>[] nuevos = Arrays.copyOf(actuales, actuales.length - 1);
+                    System.arraycopy(actuales, i + 1, nuevos, i, actuales.length - i - 1);
+                    oyentes = nuevos;
+                    return;
+                }
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        void vaciar() {
+            oyentes = (OyenteEvento<? super E>[]) new OyenteEvento<?>[0];
+        }
+    }
 }
@@ -4,8 +4,9 @@
  */
 package Entidades;
 
+import SistemaDeNiveles.MapaColision;
 import SistemaDeSoporte.Handler;
-import SistemaDeSoporte.ObjetosID;
+import java.awt.Rectangle;
 
 /**
  *
@@ -17,6 +18,10 @@ public class ComponenteColisionJugador {
     private final ComponenteEscaleraJugador componenteEscalera;
     private final ComponenteFisicasJugador componenteFisicas;
     
+    // Reutilizados en cada tick: área del jugador y su resolutor de bloques
+    private final Rectangle areaJugador = new Rectangle();
+    private final MapaColision.ResolutorColision resolutor = this::resolverColision;
+    
     public ComponenteColisionJugador(Jugador jugador, Handler handler, 
                                    ComponenteEscaleraJugador componenteEscalera,
                                    ComponenteFisicasJugador componenteFisicas) {
@@ -27,43 +32,55 @@ public class ComponenteColisionJugador {
     }
     
     public void procesarColisiones() {
-        for (JuegoObjetos temp : handler.getGameObjs()) {
-            if (temp == null) continue;
-            if (temp.getId() == ObjetosID.Tile || temp.getId() == ObjetosID.Pipe) {
-            
-            // Ignorar colisiones en escalera (si está subiendo o bajando)
-            if (componenteEscalera.isEnEscalera() && 
-                (componenteEscalera.isBajandoEscalera() || componenteEscalera.isSubiendoEscalera())) {
-                continue;
-            }
+        // Ignorar colisiones en escalera (si está subiendo o bajando)
+        if (componenteEscalera.isEnEscalera() && 
+            (componenteEscalera.isBajandoEscalera() || componenteEscalera.isSubiendoEscalera())) {
+            return;
+        }
+        
+        areaJugador.setBounds(
+            (int) jugador.getX(), (int) jugador.getY(),
+            (int) jugador.getWidth(), (int) jugador.getHeight()
+        );
+        
+        handler.resolverSolidos(areaJugador, resolutor);
+    }
+    
+    /**
+     * Empuja al jugador fuera de un bloque sólido
+     * 
+     * @param bloque Área de colisión del bloque
+     * @param bx Posición X del bloque
+     * @param by Posición Y del bloque
+     * @param bw Ancho del bloque
+     * @param bh Alto del bloque
+     */
+    private void resolverColision(Rectangle bloque, float bx, float by, float bw, float bh) {
+        if (jugador.getLimites().intersects(bloque)) {
+            // Aterrizaje: El jugador está cayendo sobre la plataforma (Colisión Inferior)
+            // Mover al jugador fuera de la colisión por arriba
+            jugador.setY(by - jugador.getHeight()); 
+            jugador.setVely(0); // Detener la caída
             
-            if (jugador.getBounds().intersects(temp.getBounds())) {
-                // Aterrizaje: El jugador está cayendo sobre la plataforma (Colisión Inferior)
-                // Mover al jugador fuera de la colisión por arriba
-                jugador.setY(temp.getY() - jugador.getHeight()); 
-                jugador.setVely(0); // Detener la caída
-                
-                // Marcar que aterrizó (resetear salto)
-                if (componenteFisicas != null) {
-                    componenteFisicas.aterrizar();
-                }
+            // Marcar que aterrizó (resetear salto)
+            if (componenteFisicas != null) {
+                componenteFisicas.aterrizar();
             }
+        }
 
-            if (jugador.getBoundsTop().intersects(temp.getBounds())) {
-                // Golpe de cabeza: El jugador está chocando con algo por arriba
-                // Mover al jugador fuera de la colisión por abajo
-                jugador.setY(temp.getY() + temp.getHeight());
-                jugador.setVely(0); // Invertir la velocidad de caída/subida
-            }
+        if (jugador.getLimitesArriba().intersects(bloque)) {
+            // Golpe de cabeza: El jugador está chocando con algo por arriba
+            // Mover al jugador fuera de la colisión por abajo
+            jugador.setY(by + bh);
+            jugador.setVely(0); // Invertir la velocidad de caída/subida
+        }
 
-            if (jugador.getBoundsRight().intersects(temp.getBounds())) {
-                jugador.setX(temp.getX() - jugador.getWidth());
-            }
+        if (jugador.getLimitesDerecha().intersects(bloque)) {
+            jugador.setX(bx - jugador.getWidth());
+        }
 
-            if (jugador.getBoundsLeft().intersects(temp.getBounds())) {
-                jugador.setX(temp.getX() + temp.getWidth());
-            }
+        if (jugador.getLimitesIzquierda().intersects(bloque)) {
+            jugador.setX(bx + bw);
         }
     }
-  }
 }
@@ -7,7 +7,11 @@ package Entidades;
 import Entidades.Escenario.Escalera;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**Componente responsable del sistema de escaleras
  *
@@ -24,7 +28,16 @@ public class ComponenteEscaleraJugador {
     private Escalera escaleraActual = null;
     private int ticksEnEscalera = 0;
     
-    private static final int TICKS_MIN_ESCALERA = 5;
+    private static final int TICKS_MIN_ESCALERA = Tiempo.ticks(0.083f);
+    
+    // Reutilizados en cada tick: áreas de búsqueda y candidatos de la grilla
+    private final Rectangle areaBusqueda = new Rectangle();
+    private final Rectangle areaEscalera = new Rectangle();
+    private final Rectangle areaCercana = new Rectangle();
+    private final List<JuegoObjetos> candidatos = new ArrayList<>();
+    private static final ObjetosID[] ESCALERAS = {ObjetosID.Escalera, ObjetosID.EscaleraRota};
+    private static final ObjetosID[] BLOQUES = {ObjetosID.Tile};
+    private static final ObjetosID[] BLOQUES_Y_ESCALERAS = {ObjetosID.Tile, ObjetosID.Pipe, ObjetosID.Escalera};
     
     public ComponenteEscaleraJugador(Jugador jugador, Handler handler) {
         this.jugador = jugador;
@@ -53,12 +66,20 @@ public class ComponenteEscaleraJugador {
         escaleraActual = null;
         puedeMoverseEnEscalera = false;
         
-        for (JuegoObjetos obj : handler.getGameObjs()) {
+        // Área del jugador + zona de 25px bajo sus pies
+        areaBusqueda.setBounds(
+            (int) jugador.getX(), (int) jugador.getY(),
+            (int) jugador.getWidth(), (int) jugador.getHeight() + 25
+        );
+        
+        handler.consultarArea(areaBusqueda, candidatos, ESCALERAS);
+        for (int i = 0; i < candidatos.size(); i++) {
+            JuegoObjetos obj = candidatos.get(i);
             if (obj.getId() == ObjetosID.Escalera || obj.getId() == ObjetosID.EscaleraRota) {
                 Escalera escalera = (Escalera) obj;
                 
-                Rectangle areaEscalera = escalera.getAreaInteraccion();
-                Rectangle jugadorBounds = jugador.getBounds();
+                escalera.calcularAreaInteraccion(areaEscalera);
+                Rectangle jugadorBounds = jugador.getLimites();
                 
                 if (areaEscalera.intersects(jugadorBounds)) {
                     if (escalera.esUsable()) {
@@ -68,14 +89,14 @@ public class ComponenteEscaleraJugador {
                     }
                 }
                 
-                Rectangle areaDebajo = new Rectangle(
+                areaCercana.setBounds(
                     (int)(jugador.getX() + jugador.getWidth() / 4),
                     (int)(jugador.getY() + jugador.getHeight() - 5),
                     (int)(jugador.getWidth() / 2),
                     25
                 );
                 
-                if (areaDebajo.intersects(escalera.getBounds()) && escalera.esUsable()) {
+                if (areaCercana.intersects(escalera.getLimites()) && escalera.esUsable()) {
                     escaleraActual = escalera;
                     puedeMoverseEnEscalera = true;
                     break;
@@ -91,18 +112,20 @@ public class ComponenteEscaleraJugador {
     private void verificarSalidaSuperiorEscalera() {
         if (!enEscalera || !subiendoEscalera) return;
         
-        for (JuegoObjetos obj : handler.getGameObjs()) {
+        areaCercana.setBounds(
+            (int)(jugador.getX() + jugador.getWidth() / 4),
+            (int)(jugador.getY() - 10),
+            (int)(jugador.getWidth() / 2),
+            15
+        );
+        
+        handler.consultarArea(areaCercana, candidatos, BLOQUES);
+        for (int i = 0; i < candidatos.size(); i++) {
+            JuegoObjetos obj = candidatos.get(i);
             if (obj.getId() == ObjetosID.Tile) {
-                Rectangle bloqueArea = obj.getBounds();
-                
-                Rectangle areaDeteccion = new Rectangle(
-                    (int)(jugador.getX() + jugador.getWidth() / 4),
-                    (int)(jugador.getY() - 10),
-                    (int)(jugador.getWidth() / 2),
-                    15
-                );
+                Rectangle bloqueArea = obj.getLimites();
                 
-                if (areaDeteccion.intersects(bloqueArea)) {
+                if (areaCercana.intersects(bloqueArea)) {
                     float nuevaY = bloqueArea.y - jugador.getHeight();
                     
                     if (Math.abs(jugador.getY() - nuevaY) < 20) {
@@ -123,16 +146,18 @@ public class ComponenteEscaleraJugador {
         boolean hayBloqueDebajo = false;
         boolean hayEscaleraDebajo = false;
         
-        Rectangle areaDebajo = new Rectangle(
+        areaCercana.setBounds(
             (int)(jugador.getX() + jugador.getWidth() / 4),
             (int)(jugador.getY() + jugador.getHeight()),
             (int)(jugador.getWidth() / 2),
             10
         );
         
-        for (JuegoObjetos obj : handler.getGameObjs()) {
+        handler.consultarArea(areaCercana, candidatos, BLOQUES_Y_ESCALERAS);
+        for (int i = 0; i < candidatos.size(); i++) {
+            JuegoObjetos obj = candidatos.get(i);
             if (obj.getId() == ObjetosID.Tile || obj.getId() == ObjetosID.Pipe) {
-                if (areaDebajo.intersects(obj.getBounds())) {
+                if (areaCercana.intersects(obj.getLimites())) {
                     hayBloqueDebajo = true;
                     
                     if (Math.abs(jugador.getY() + jugador.getHeight() - obj.getY()) < 15) {
@@ -142,7 +167,7 @@ public class ComponenteEscaleraJugador {
             }
             
             if (obj.getId() == ObjetosID.Escalera) {
-                if (areaDebajo.intersects(obj.getBounds())) {
+                if (areaCercana.intersects(obj.getLimites())) {
                     hayEscaleraDebajo = true;
                 }
             }
@@ -209,6 +234,43 @@ public class ComponenteEscaleraJugador {
         }
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    void escribirEstado(ByteBuffer buf) {
+        byte banderas = 0;
+        if (enEscalera) banderas |= 1;
+        if (puedeMoverseEnEscalera) banderas |= 2;
+        if (subiendoEscalera) banderas |= 4;
+        if (bajandoEscalera) banderas |= 8;
+        buf.put(banderas).putInt(ticksEnEscalera);
+        
+        // La escalera se identifica por su posición (es un objeto estático)
+        buf.putFloat(escaleraActual != null ? escaleraActual.getX() : Float.NaN);
+        buf.putFloat(escaleraActual != null ? escaleraActual.getY() : Float.NaN);
+    }
+    
+    void leerEstado(ByteBuffer buf) {
+        byte banderas = buf.get();
+        enEscalera = (banderas & 1) != 0;
+        puedeMoverseEnEscalera = (banderas & 2) != 0;
+        subiendoEscalera = (banderas & 4) != 0;
+        bajandoEscalera = (banderas & 8) != 0;
+        ticksEnEscalera = buf.getInt();
+        
+        float ex = buf.getFloat();
+        float ey = buf.getFloat();
+        escaleraActual = null;
+        if (!Float.isNaN(ex)) {
+            Rectangle punto = new Rectangle((int) ex, (int) ey, 1, 1);
+            for (JuegoObjetos obj : handler.consultarArea(punto, ObjetosID.Escalera, ObjetosID.EscaleraRota)) {
+                if (obj.getX() == ex && obj.getY() == ey) {
+                    escaleraActual = (Escalera) obj;
+                    break;
+                }
+            }
+        }
+    }
+    
     // Getters
     public boolean isEnEscalera() { return enEscalera; }
     public boolean isSubiendoEscalera() { return subiendoEscalera; }
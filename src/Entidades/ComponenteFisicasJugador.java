@@ -5,6 +5,7 @@
 package Entidades;
 
 import SistemaDeSoporte.Handler;
+import SistemaDeSoporte.Tiempo;
 
 /**
  *
@@ -14,10 +15,11 @@ public class ComponenteFisicasJugador {
     private final Jugador jugador;
     private final Handler handler;
     
-    private static final float VELOCIDAD_CAMINAR = 2.2f;
-    private static final float VELOCIDAD_ESCALERA = 1f;
-    private static final float FUERZA_SALTO = -7.5f;
-    private static final float GRAVEDAD = 0.5f;
+    // En px/s y px/s² (convertidos a la unidad del tick)
+    private static final float VELOCIDAD_CAMINAR = Tiempo.velocidad(132f);
+    private static final float VELOCIDAD_ESCALERA = Tiempo.velocidad(60f);
+    private static final float FUERZA_SALTO = Tiempo.velocidad(-450f);
+    private static final float GRAVEDAD = Tiempo.aceleracion(1800f);
     
     private boolean salto = false;
     
@@ -30,6 +32,7 @@ public class ComponenteFisicasJugador {
         // Aplicar movimiento
         jugador.setX(jugador.getVelX() + jugador.getX());
         jugador.setY(jugador.getVely() + jugador.getY());
+        jugador.completarGravedad();
         
         // Límite de seguridad
         if (jugador.getY() > 2000) {
@@ -39,12 +42,8 @@ public class ComponenteFisicasJugador {
     }
     
     public void aplicarGravedad() {
-        if (!salto) {
-            jugador.setVely(jugador.getVely() + GRAVEDAD);
-        } else {
-            // Aplicar gravedad reducida durante el salto para mejor control
-            jugador.setVely(jugador.getVely() + GRAVEDAD);
-        }
+        // Parte antes de mover y el resto en tick() (mismo arco a cualquier TPS)
+        jugador.acelerarGravedad(GRAVEDAD);
     }
     
     public void iniciarSalto() {
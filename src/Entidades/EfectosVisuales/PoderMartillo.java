@@ -4,11 +4,13 @@ import Entidades.*;
 import SistemaDeSoporte.EstadoJuego;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Tiempo;
 import SistemaGFX.Animacion;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import mariotest.Juego;
@@ -28,23 +30,29 @@ public class PoderMartillo {
     private boolean activo;
     private int ticksRestantes;
     private int ticksMaximos;
-    private static final int DURACION_DEFAULT = 600; // 10 segundos
+    private static final int DURACION_DEFAULT = Tiempo.ticks(10f);
+    private static final int AVISO_FIN = Tiempo.ticks(3f);
     
     // Animación del martillo
     private Animacion animacionMartillo;
-    private BufferedImage[] spritesMartillo;
+    private Sprite[] spritesMartillo;
     private int frameActual;
     
     // Área de ataque
-    private Rectangle areaAtaque;
+    private Rectangle areaAtaque;  // null hasta el primer golpe
     private static final int RANGO_ATAQUE = 20;
     
+    // Reutilizadas en cada golpe: candidatos de la grilla y enemigos alcanzados
+    private final List<JuegoObjetos> candidatos = new ArrayList<>();
+    private final List<JuegoObjetos> objetosAEliminar = new ArrayList<>();
+    private static final ObjetosID[] ENEMIGOS = {ObjetosID.Barril, ObjetosID.Fuego, ObjetosID.DiegoKong};
+    
     // Control de golpes
     private boolean golpeando;
     private int ticksGolpe;
-    private static final int DURACION_GOLPE = 15; // 0.25 segundos
+    private static final int DURACION_GOLPE = Tiempo.ticks(0.25f);
     private int cooldownGolpe;
-    private static final int COOLDOWN_DEFAULT = 15; // 0.33 segundos entre golpes
+    private static final int COOLDOWN_DEFAULT = Tiempo.ticks(0.25f); // entre golpes
     
     // Efectos visuales
     private List<EfectoGolpe> efectosGolpe;
@@ -78,7 +86,7 @@ private void inicializarAnimacion() {
         spritesMartillo = Juego.getTextura().getMarioMartillo();
 
         if (spritesMartillo != null && spritesMartillo.length >= 4) {
-            animacionMartillo = new Animacion(3,
+            animacionMartillo = new Animacion(0.067f,
                 spritesMartillo[0],
                 spritesMartillo[1],
                 spritesMartillo[2],
@@ -109,7 +117,7 @@ private void inicializarAnimacion() {
         this.enemigosDestruidos = 0;
         
         System.out.println("[MARTILLO] ¡Poder activado! Duración: " + 
-                          (duracionTicks / 60) + " segundos");
+                          (duracionTicks / Tiempo.TPS) + " segundos");
     }
     
     /**
@@ -180,7 +188,7 @@ public void tick() {
     }
     
     // Advertencia cuando queda poco tiempo
-    if (ticksRestantes == 180) { // 3 segundos
+    if (ticksRestantes == AVISO_FIN) {
         System.out.println("[MARTILLO] ¡Advertencia! Quedan 3 segundos");
     }
 }
@@ -222,9 +230,13 @@ private void golpearAutomatico() {
         int w = (int)player.getWidth();
         int h = (int)player.getHeight();
         
+        if (areaAtaque == null) {
+            areaAtaque = new Rectangle();
+        }
+        
         if (mirandoDerecha) {
             // Área de ataque a la derecha
-            areaAtaque = new Rectangle(
+            areaAtaque.setBounds(
                 x + w - 5, 
                 y, 
                 RANGO_ATAQUE, 
@@ -232,7 +244,7 @@ private void golpearAutomatico() {
             );
         } else {
             // Área de ataque a la izquierda
-            areaAtaque = new Rectangle(
+            areaAtaque.setBounds(
                 x - RANGO_ATAQUE + 5, 
                 y, 
                 RANGO_ATAQUE, 
@@ -245,9 +257,11 @@ private void golpearAutomatico() {
      * Detecta y destruye enemigos en el área de ataque
      */
     private void detectarEnemigos() {
-        List<JuegoObjetos> objetosAEliminar = new ArrayList<>();
+        objetosAEliminar.clear();
         
-        for (JuegoObjetos obj : handler.getGameObjs()) {
+        handler.consultarArea(areaAtaque, candidatos, ENEMIGOS);
+        for (int i = 0; i < candidatos.size(); i++) {
+            JuegoObjetos obj = candidatos.get(i);
             ObjetosID id = obj.getId();
             
             // Verificar si es un enemigo destructible
@@ -255,15 +269,15 @@ private void golpearAutomatico() {
                 id == ObjetosID.Fuego || 
                 id == ObjetosID.DiegoKong) {
                 
-                if (areaAtaque.intersects(obj.getBounds())) {
+                if (areaAtaque.intersects(obj.getLimites())) {
                     objetosAEliminar.add(obj);
                 }
             }
         }
         
         // Destruir enemigos detectados
-        for (JuegoObjetos enemigo : objetosAEliminar) {
-            destruirEnemigo(enemigo);
+        for (int i = 0; i < objetosAEliminar.size(); i++) {
+            destruirEnemigo(objetosAEliminar.get(i));
         }
     }
     
@@ -293,6 +307,10 @@ private void golpearAutomatico() {
         
         // Incrementar contador
         enemigosDestruidos++;
+        
+        // Avisar antes de que el enemigo vuelva a su pool
+        AdministradorEventos eventos = AdministradorEventos.getInstance();
+        eventos.publicar(eventos.obtener(EventoEnemigoDestruido.TIPO).preparar(player, enemigo, puntos));
 
         // Eliminar enemigo
         handler.removeObj(enemigo);
@@ -379,21 +397,24 @@ private void golpearAutomatico() {
      * Efecto visual del golpe del martillo
      */
     private class EfectoGolpe {
+        private static final int RADIO_INICIAL = 5;
+        private static final float CRECIMIENTO_RADIO = Tiempo.velocidad(120f);
+        
         private int x, y;
         private int ticks;
-        private int duracion = 20;
+        private int duracion = Tiempo.ticks(0.333f);
         private int radio;
         
         public EfectoGolpe(int x, int y) {
             this.x = x;
             this.y = y;
             this.ticks = 0;
-            this.radio = 5;
+            this.radio = RADIO_INICIAL;
         }
         
         public void tick() {
             ticks++;
-            radio += 2;
+            radio = RADIO_INICIAL + Math.round(ticks * CRECIMIENTO_RADIO);
         }
         
         public boolean terminado() {
@@ -426,6 +447,36 @@ private void golpearAutomatico() {
         }
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    /**
+     * Estado del poder para las instantáneas del jugador.
+     * Los efectos de golpe son solo visuales y no se guardan.
+     */
+    public void escribirEstado(ByteBuffer buf) {
+        buf.put((byte) ((activo ? 1 : 0) | (golpeando ? 2 : 0)));
+        buf.putInt(ticksRestantes).putInt(ticksMaximos);
+        buf.putInt(ticksGolpe).putInt(cooldownGolpe).putInt(enemigosDestruidos);
+        if (animacionMartillo != null) {
+            animacionMartillo.escribirEstado(buf);
+        }
+    }
+    
+    public void leerEstado(ByteBuffer buf) {
+        byte banderas = buf.get();
+        activo = (banderas & 1) != 0;
+        golpeando = (banderas & 2) != 0;
+        ticksRestantes = buf.getInt();
+        ticksMaximos = buf.getInt();
+        ticksGolpe = buf.getInt();
+        cooldownGolpe = buf.getInt();
+        enemigosDestruidos = buf.getInt();
+        if (animacionMartillo != null) {
+            animacionMartillo.leerEstado(buf);
+        }
+        efectosGolpe.clear();
+    }
+    
     // ==================== GETTERS ====================
     
     public boolean isActivo() {
@@ -437,7 +488,7 @@ private void golpearAutomatico() {
     }
     
     public int getTiempoRestanteSegundos() {
-        return ticksRestantes / 60;
+        return ticksRestantes / Tiempo.TPS;
     }
     
     public boolean isGolpeando() {
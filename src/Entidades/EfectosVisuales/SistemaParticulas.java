@@ -0,0 +1,387 @@
+package Entidades.EfectosVisuales;
+
+import SistemaDeSoporte.FlujoAleatorio;
+import SistemaDeSoporte.GeneradorAleatorio;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Tiempo;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import mariotest.Configuracion;
+
+/**
+ * Sistema de partículas (chispas de fuego) guardado como arreglos paralelos
+ *
+ * Cada partícula es un índice: posición, velocidad, vida y color viven
+ * en arreglos primitivos, no en objetos. No pasan por la lista del
+ * Handler, la grilla espacial ni ningún pool.
+ *
+ * SIMULACIÓN:
+ * - tick(): un solo recorrido; las que mueren se pisan con la última
+ *   (el orden entre partículas no importa)
+ * - Los arreglos crecen al doble hasta Configuracion.MAX_PARTICULAS y
+ *   no se achican: en régimen no se reserva memoria
+ *
+ * RENDER (una sola pasada):
+ * - Cada partícula se escribe píxel a píxel en un lienzo ARGB
+ *   premultiplicado del tamaño de la ventana (arreglo int[] directo)
+ * - Los colores salen de una paleta premultiplicada calculada una vez
+ *   (NIVELES_ALFA niveles de transparencia por color)
+ * - El lienzo se dibuja con un único drawImage, recortado a la zona
+ *   que ocupan las partículas
+ * - Un fillOval translúcido por partícula cuesta varios µs en Java2D;
+ *   escribir 16 píxeles, unos pocos ns
+ *
+ * Solo hilo del juego.
+ *
+ * @author LENOVO
+ */
+public final class SistemaParticulas implements Persistente {
+
+    private static final int CAPACIDAD_INICIAL = 256;
+    private static final float TAMANO = 4F;  // diámetro sin escalar
+    private static final float FRENADO_VERTICAL = Tiempo.factorPorTick(0.98f);  // resistencia del aire
+
+    // Vida y velocidades iniciales (segundos y px/s)
+    private static final int VIDA_MIN = Tiempo.ticks(0.333f);
+    private static final int VIDA_VARIACION = Tiempo.ticks(0.333f);
+    private static final float SUBIDA_MIN = Tiempo.velocidad(60f);
+    private static final float SUBIDA_VARIACION = Tiempo.velocidad(90f);
+    private static final float DESVIO_HORIZONTAL = Tiempo.velocidad(30f);
+
+    // Colores del fuego (RGB) y paleta premultiplicada (índice = nivel * COLORES + color)
+    private static final int[] COLORES_FUEGO = {
+        0xFF4500,   // Rojo-naranja
+        0xFF8C00,   // Naranja oscuro
+        0xFFA500,   // Naranja
+        0xFFD700,   // Amarillo-naranja
+        0xFFFF00    // Amarillo
+    };
+    private static final int COLORES = COLORES_FUEGO.length;
+    private static final int NIVELES_ALFA = 32;
+    private static final int NIVEL_BRILLO = NIVELES_ALFA / 2;  // primer nivel por encima de la mitad
+    private static final int[] PALETA = new int[NIVELES_ALFA * COLORES];
+    private static final int[] PALETA_BRILLO = new int[NIVELES_ALFA];  // blanco a mitad de alfa
+    static {
+        for (int nivel = 0; nivel < NIVELES_ALFA; nivel++) {
+            int alfa = nivel * 255 / (NIVELES_ALFA - 1);
+            for (int c = 0; c < COLORES; c++) {
+                PALETA[nivel * COLORES + c] = premultiplicar(COLORES_FUEGO[c], alfa);
+            }
+            PALETA_BRILLO[nivel] = premultiplicar(0xFFFFFF, alfa / 2);
+        }
+    }
+
+    private final GeneradorAleatorio aleatorio;
+    private int cantidad;
+
+    // Estado por partícula
+    private float[] x, y;
+    private float[] xAnterior, yAnterior;  // posición del tick anterior (interpolación)
+    private float[] velX, velY;
+    private float[] tamano;
+    private short[] vida, vidaMaxima;
+    private byte[] color;
+
+    // Lienzo del render (se crea en el primer render: sin ventana no hace falta)
+    private BufferedImage lienzo;
+    private int[] pixeles;
+    private int anchoLienzo, altoLienzo;
+    private int[][] sellos;  // píxeles cubiertos por un círculo de cada diámetro
+
+    /**
+     * @param aleatorio Azar del mundo (se usa su flujo cosmético)
+     */
+    public SistemaParticulas(GeneradorAleatorio aleatorio) {
+        this.aleatorio = aleatorio;
+        this.sellos = new int[0][];
+        reservar(CAPACIDAD_INICIAL);
+    }
+
+    // ==================== EMISIÓN ====================
+
+    /**
+     * Emite una chispa que flota hacia arriba y se desvanece
+     *
+     * @param x Centro en coordenadas sin escalar
+     * @param y Centro en coordenadas sin escalar
+     * @return false si se llegó a Configuracion.MAX_PARTICULAS
+     */
+    public boolean emitirFuego(float x, float y, int escala) {
+        if (cantidad == this.x.length && !crecer()) {
+            return false;
+        }
+        FlujoAleatorio random = aleatorio.getCosmetico();
+        int i = cantidad++;
+
+        this.x[i] = xAnterior[i] = x * escala;
+        this.y[i] = yAnterior[i] = y * escala;
+        tamano[i] = TAMANO * escala;
+
+        // Vida aleatoria (0.33-0.66 segundos)
+        vida[i] = vidaMaxima[i] = (short) (VIDA_MIN + random.nextInt(VIDA_VARIACION));
+
+        // Hacia arriba (60 a 150 px/s) con un leve desvío horizontal
+        velY[i] = -SUBIDA_MIN - random.nextFloat() * SUBIDA_VARIACION;
+        velX[i] = (random.nextFloat() - 0.5f) * DESVIO_HORIZONTAL;
+
+        color[i] = (byte) random.nextInt(COLORES);
+        return true;
+    }
+
+    // ==================== SIMULACIÓN ====================
+
+    /**
+     * Avanza todas las partículas un tick y quita las que se apagaron
+     */
+    public void tick() {
+        int i = 0;
+        while (i < cantidad) {
+            if (--vida[i] <= 0) {
+                quitar(i);
+                continue;  // en i quedó la que era última
+            }
+            xAnterior[i] = x[i];
+            yAnterior[i] = y[i];
+            x[i] += velX[i];
+            y[i] += velY[i];
+            velY[i] *= FRENADO_VERTICAL;
+            i++;
+        }
+    }
+
+    /**
+     * Pisa la partícula i con la última
+     */
+    private void quitar(int i) {
+        int ultima = --cantidad;
+        x[i] = x[ultima];
+        y[i] = y[ultima];
+        xAnterior[i] = xAnterior[ultima];
+        yAnterior[i] = yAnterior[ultima];
+        velX[i] = velX[ultima];
+        velY[i] = velY[ultima];
+        tamano[i] = tamano[ultima];
+        vida[i] = vida[ultima];
+        vidaMaxima[i] = vidaMaxima[ultima];
+        color[i] = color[ultima];
+    }
+
+    /**
+     * Quita todas las partículas (los arreglos se conservan)
+     */
+    public void vaciar() {
+        cantidad = 0;
+    }
+
+    // ==================== RENDER ====================
+
+    /**
+     * Dibuja todas las partículas con un solo drawImage
+     *
+     * @param alfa Fracción del tick actual ya transcurrida (interpolación)
+     */
+    public void render(Graphics g, float alfa) {
+        if (cantidad == 0) {
+            return;
+        }
+        if (lienzo == null) {
+            crearLienzo();
+        }
+
+        // Zona ocupada: solo esa parte del lienzo se limpia y se dibuja
+        int minX = anchoLienzo, minY = altoLienzo, maxX = 0, maxY = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int radio = (int) tamano[i] / 2 + 1;
+            int px = (int) (xAnterior[i] + (x[i] - xAnterior[i]) * alfa);
+            int py = (int) (yAnterior[i] + (y[i] - yAnterior[i]) * alfa);
+            minX = Math.min(minX, px - radio);
+            minY = Math.min(minY, py - radio);
+            maxX = Math.max(maxX, px + radio);
+            maxY = Math.max(maxY, py + radio);
+        }
+        minX = Math.max(minX, 0);
+        minY = Math.max(minY, 0);
+        maxX = Math.min(maxX, anchoLienzo);
+        maxY = Math.min(maxY, altoLienzo);
+        if (minX >= maxX || minY >= maxY) {
+            return;  // todas fuera de la pantalla
+        }
+
+        for (int fila = minY; fila < maxY; fila++) {
+            Arrays.fill(pixeles, fila * anchoLienzo + minX, fila * anchoLienzo + maxX, 0);
+        }
+
+        for (int i = 0; i < cantidad; i++) {
+            float px = xAnterior[i] + (x[i] - xAnterior[i]) * alfa;
+            float py = yAnterior[i] + (y[i] - yAnterior[i]) * alfa;
+            int nivel = (vida[i] * (NIVELES_ALFA - 1) + vidaMaxima[i] / 2) / vidaMaxima[i];
+
+            // Cuerpo: un círculo que se achica a medida que se desvanece
+            int size = Math.max(1, (int) (tamano[i] * vida[i] / vidaMaxima[i]));
+            estampar(px, py, size, PALETA[nivel * COLORES + color[i]]);
+
+            // Brillo blanco en el centro mientras está por encima de la mitad
+            if (nivel >= NIVEL_BRILLO) {
+                estampar(px, py, Math.max(1, size / 2), PALETA_BRILLO[nivel]);
+            }
+        }
+
+        g.drawImage(lienzo, minX, minY, maxX, maxY, minX, minY, maxX, maxY, null);
+    }
+
+    private void crearLienzo() {
+        anchoLienzo = Configuracion.VENTANA_WIDTH;
+        altoLienzo = Configuracion.VENTANA_HEIGHT;
+        lienzo = new BufferedImage(anchoLienzo, altoLienzo, BufferedImage.TYPE_INT_ARGB_PRE);
+        // Se reescribe en cada frame: no gana nada con la aceleración de imágenes administradas
+        pixeles = ((DataBufferInt) lienzo.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Mezcla (source over) un círculo de diámetro size centrado en (cx, cy)
+     *
+     * @param argb Color ARGB premultiplicado
+     */
+    private void estampar(float cx, float cy, int size, int argb) {
+        int[] sello = getSello(size);
+        int origenX = (int) (cx - size / 2);
+        int origenY = (int) (cy - size / 2);
+        int a = argb >>> 24;
+        int inverso = 255 - a;
+
+        for (int k = 0; k < sello.length; k += 2) {
+            int px = origenX + sello[k];
+            int py = origenY + sello[k + 1];
+            if (px < 0 || py < 0 || px >= anchoLienzo || py >= altoLienzo) {
+                continue;
+            }
+            int indice = py * anchoLienzo + px;
+            int destino = pixeles[indice];
+            pixeles[indice] = destino == 0 ? argb : argb + escalar(destino, inverso);
+        }
+    }
+
+    /**
+     * Multiplica los cuatro canales de un ARGB premultiplicado por f / 255
+     */
+    private static int escalar(int argb, int f) {
+        int ag = ((argb >>> 8) & 0x00FF00FF) * f;
+        int rb = (argb & 0x00FF00FF) * f;
+        ag = ((ag + ((ag >>> 8) & 0x00FF00FF) + 0x00800080) >>> 8) & 0x00FF00FF;
+        rb = ((rb + ((rb >>> 8) & 0x00FF00FF) + 0x00800080) >>> 8) & 0x00FF00FF;
+        return (ag << 8) | rb;
+    }
+
+    private static int premultiplicar(int rgb, int alfa) {
+        return (alfa << 24) | escalar(rgb, alfa);
+    }
+
+    /**
+     * Píxeles (x, y alternados) de un círculo de diámetro size
+     */
+    private int[] getSello(int size) {
+        if (size >= sellos.length) {
+            sellos = Arrays.copyOf(sellos, size + 1);
+        }
+        if (sellos[size] == null) {
+            float radio = size / 2f;
+            int[] puntos = new int[size * size * 2];
+            int n = 0;
+            for (int py = 0; py < size; py++) {
+                for (int px = 0; px < size; px++) {
+                    float dx = px + 0.5f - radio;
+                    float dy = py + 0.5f - radio;
+                    if (size <= 2 || dx * dx + dy * dy <= radio * radio) {
+                        puntos[n++] = px;
+                        puntos[n++] = py;
+                    }
+                }
+            }
+            sellos[size] = Arrays.copyOf(puntos, n);
+        }
+        return sellos[size];
+    }
+
+    // ==================== MEMORIA ====================
+
+    private boolean crecer() {
+        int actual = x.length;
+        if (actual >= Configuracion.MAX_PARTICULAS) {
+            return false;
+        }
+        reservar(Math.min(actual * 2, Configuracion.MAX_PARTICULAS));
+        return true;
+    }
+
+    private void reservar(int capacidad) {
+        if (x != null && capacidad <= x.length) {
+            return;
+        }
+        x = copiar(x, capacidad);
+        y = copiar(y, capacidad);
+        xAnterior = copiar(xAnterior, capacidad);
+        yAnterior = copiar(yAnterior, capacidad);
+        velX = copiar(velX, capacidad);
+        velY = copiar(velY, capacidad);
+        tamano = copiar(tamano, capacidad);
+        vida = vida == null ? new short[capacidad] : Arrays.copyOf(vida, capacidad);
+        vidaMaxima = vidaMaxima == null ? new short[capacidad] : Arrays.copyOf(vidaMaxima, capacidad);
+        color = color == null ? new byte[capacidad] : Arrays.copyOf(color, capacidad);
+    }
+
+    private static float[] copiar(float[] arreglo, int capacidad) {
+        return arreglo == null ? new float[capacidad] : Arrays.copyOf(arreglo, capacidad);
+    }
+
+    // ==================== INSTANTÁNEAS ====================
+
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        buf.putInt(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            buf.putFloat(x[i]).putFloat(y[i]).putFloat(velX[i]).putFloat(velY[i]).putFloat(tamano[i]);
+            buf.putShort(vida[i]).putShort(vidaMaxima[i]).put(color[i]);
+        }
+    }
+
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        int leidas = buf.getInt();
+        if (leidas < 0 || leidas > Configuracion.MAX_PARTICULAS) {
+            throw new IllegalArgumentException("Cantidad de partículas inválida: " + leidas);
+        }
+        int capacidad = x.length;
+        while (capacidad < leidas) {
+            capacidad *= 2;
+        }
+        reservar(Math.min(capacidad, Configuracion.MAX_PARTICULAS));
+
+        for (int i = 0; i < leidas; i++) {
+            x[i] = xAnterior[i] = buf.getFloat();
+            y[i] = yAnterior[i] = buf.getFloat();
+            velX[i] = buf.getFloat();
+            velY[i] = buf.getFloat();
+            tamano[i] = buf.getFloat();
+            vida[i] = buf.getShort();
+            vidaMaxima[i] = buf.getShort();
+            color[i] = buf.get();
+        }
+        cantidad = leidas;
+    }
+
+    // ==================== GETTERS ====================
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Partículas que entran sin agrandar los arreglos
+     */
+    public int getCapacidad() {
+        return x.length;
+    }
+}
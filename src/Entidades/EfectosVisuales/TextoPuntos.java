@@ -3,37 +3,111 @@ package Entidades.EfectosVisuales;
 import Entidades.JuegoObjetos;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.PoolObjetos;
+import SistemaDeSoporte.Reutilizable;
+import SistemaDeSoporte.Tiempo;
+import SistemaGFX.PaletaAlfa;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.util.Random;
+import java.nio.ByteBuffer;
 
 /**
  * Texto flotante que muestra puntos ganados
+ * 
+ * Se reutiliza desde un pool: usar TextoPuntos.obtener(...)
  */
-public class TextoPuntos extends JuegoObjetos {
+public class TextoPuntos extends JuegoObjetos implements Reutilizable, Persistente {
+    
+    private static final PoolObjetos<TextoPuntos> POOL =
+        new PoolObjetos<>("TextoPuntos", 16, TextoPuntos::new);
+    
+    private static final Font FUENTE = new Font("Arial", Font.BOLD, 16);
+    private static final PaletaAlfa PALETA_SOMBRA = new PaletaAlfa(Color.BLACK);
     
     private String texto;
     private Color color;
+    private PaletaAlfa paleta;
     private Handler handler;
     
     private int ticksVida;
-    private static final int DURACION = 60; // 1 segundo
+    private static final int DURACION = Tiempo.ticks(1f);
+    private static final float VELOCIDAD_SUBIDA = Tiempo.velocidad(-90f);
     private float velocidadY;
     private float alpha;
     
-    private Font fuente;
-    
     public TextoPuntos(float x, float y, String texto, Color color, Handler handler) {
         super(x, y, ObjetosID.Puntos, 0, 0, 1);
+        reiniciar(x, y, texto, color, handler);
+    }
+    
+    /**
+     * Constructor usado por el pool (el estado se asigna en reiniciar)
+     */
+    private TextoPuntos() {
+        super(0, 0, ObjetosID.Puntos, 0, 0, 1);
+    }
+    
+    /**
+     * Obtiene un texto del pool, listo para agregar al Handler
+     */
+    public static TextoPuntos obtener(float x, float y, String texto, Color color, Handler handler) {
+        TextoPuntos textoPuntos = POOL.adquirir();
+        textoPuntos.reiniciar(x, y, texto, color, handler);
+        return textoPuntos;
+    }
+    
+    private void reiniciar(float x, float y, String texto, Color color, Handler handler) {
+        setX(x);
+        setY(y);
         this.texto = texto;
-        this.color = color;
         this.handler = handler;
         this.ticksVida = 0;
-        this.velocidadY = -1.5f;
+        this.velocidadY = VELOCIDAD_SUBIDA;
         this.alpha = 1.0f;
-        this.fuente = new Font("Arial", Font.BOLD, 16);
+        
+        // La paleta solo se rehace si cambia el color
+        if (paleta == null || !paleta.getBase().equals(color)) {
+            paleta = new PaletaAlfa(color);
+        }
+        this.color = color;
+    }
+    
+    @Override
+    public void liberar() {
+        POOL.liberar(this);
+    }
+    
+    public static PoolObjetos<TextoPuntos> getPool() {
+        return POOL;
+    }
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirEstadoBase(buf);
+        buf.putShort((short) texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            buf.putChar(texto.charAt(i));
+        }
+        buf.putInt(color.getRGB()).putInt(ticksVida);
+        buf.putFloat(velocidadY).putFloat(alpha);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerEstadoBase(buf);
+        char[] caracteres = new char[buf.getShort()];
+        for (int i = 0; i < caracteres.length; i++) {
+            caracteres[i] = buf.getChar();
+        }
+        int rgb = buf.getInt();
+        reiniciar(getX(), getY(), new String(caracteres),
+                  rgb == color.getRGB() ? color : new Color(rgb, true), handler);
+        ticksVida = buf.getInt();
+        velocidadY = buf.getFloat();
+        alpha = buf.getFloat();
     }
     
     @Override
@@ -55,19 +129,13 @@ public class TextoPuntos extends JuegoObjetos {
     @Override
     public void render(Graphics g) {
         int alphaInt = (int)(alpha * 255);
-        Color colorTransparente = new Color(
-            color.getRed(),
-            color.getGreen(),
-            color.getBlue(),
-            alphaInt
-        );
         
-        g.setFont(fuente);
-        g.setColor(colorTransparente);
+        g.setFont(FUENTE);
+        g.setColor(paleta.conAlfa(alphaInt));
         g.drawString(texto, (int)getX(), (int)getY());
         
         // Sombra
-        g.setColor(new Color(0, 0, 0, alphaInt / 2));
+        g.setColor(PALETA_SOMBRA.conAlfa(alphaInt / 2));
         g.drawString(texto, (int)getX() + 1, (int)getY() + 1);
     }
     
@@ -77,7 +145,7 @@ public class TextoPuntos extends JuegoObjetos {
     }
     
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle(0, 0, 0, 0);
+    public void calcularLimites(Rectangle destino) {
+        destino.setBounds(0, 0, 0, 0);
     }
 }
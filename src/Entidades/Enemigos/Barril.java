@@ -3,22 +3,36 @@ package Entidades.Enemigos;
 import Entidades.Escenario.Escalera;
 import Entidades.JuegoObjetos;
 import Entidades.Jugador;
+import SistemaDeNiveles.MapaColision;
 import SistemaGFX.Animacion;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.PoolObjetos;
+import SistemaDeSoporte.Reutilizable;
+import SistemaDeSoporte.Tiempo;
 import mariotest.Juego;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Clase Barril - Enemigo principal de Donkey Kong
  * Rueda por las plataformas y cae por las escaleras
  * 
+ * Se reutiliza desde un pool: usar Barril.obtener(...)
+ * (sprites y animaciones se cargan una sola vez por instancia)
+ * 
  * @author LENOVO
  */
-public class Barril extends JuegoObjetos {
+public class Barril extends JuegoObjetos implements Reutilizable, Persistente {
+    
+    private static final PoolObjetos<Barril> POOL =
+        new PoolObjetos<>("Barril", 32, Barril::new);
     
     // Dimensiones del barril
     private static final float WIDTH = 16F;
@@ -26,7 +40,7 @@ public class Barril extends JuegoObjetos {
     
     // Componentes
     private Handler handler;
-    private BufferedImage[] barrilSprites;
+    private Sprite[] barrilSprites;
     private Animacion barrilRodando;
     private Animacion barrilCayendo;
     
@@ -35,11 +49,26 @@ public class Barril extends JuegoObjetos {
     private boolean cayendo = false;
     private boolean enSuelo = false;
     
-    // Física
-    private static final float VELOCIDAD_RODAR = 3.5f;
-    private static final float VELOCIDAD_CAIDA_MAX = 12f;
-    private static final float GRAVEDAD = 0.5f;
-    private static final float REBOTE = -8f;
+    // Hitboxes de contacto reutilizadas (ver getLimites())
+    private final Rectangle limitesArriba = new Rectangle();
+    private final Rectangle limitesDerecha = new Rectangle();
+    private final Rectangle limitesIzquierda = new Rectangle();
+    
+    // Reutilizados en cada tick: área de búsqueda y candidatos de la grilla
+    private final Rectangle areaBarril = new Rectangle();
+    private final Rectangle areaBusqueda = new Rectangle();
+    private final List<JuegoObjetos> candidatos = new ArrayList<>();
+    private final MapaColision.ResolutorColision resolutor = this::resolverColision;
+    private static final ObjetosID[] ESCALERAS = {ObjetosID.Escalera};
+    
+    // Física (px/s y px/s², convertidos a la unidad del tick)
+    private static final float VELOCIDAD_RODAR = Tiempo.velocidad(210f);
+    private static final float VELOCIDAD_CAIDA_MAX = Tiempo.velocidad(720f);
+    private static final float GRAVEDAD = Tiempo.aceleracion(1800f);
+    private static final float REBOTE = Tiempo.velocidad(-480f);
+    private static final float VELOCIDAD_BAJAR_ESCALERA = Tiempo.velocidad(240f);
+    private static final float VELOCIDAD_MIN_CAIDA = Tiempo.velocidad(60f);    // empieza a caer
+    private static final float VELOCIDAD_MIN_REBOTE = Tiempo.velocidad(300f);  // rebota al aterrizar
     
     // Dirección (1 = derecha, -1 = izquierda)
     private int direccion = 1;
@@ -47,27 +76,99 @@ public class Barril extends JuegoObjetos {
     // Control de escaleras
     private boolean puedeTomarEscalera = true;
     private int ticksSinEscalera = 0;
-    private static final int COOLDOWN_ESCALERA = 60;
+    private static final int COOLDOWN_ESCALERA = Tiempo.ticks(1f);
     
-    // Probabilidad de tomar escalera (0-100)
-    private static final int PROBABILIDAD_ESCALERA = 30;
+    // Probabilidad de tomar escalera en cada tick que pasa por una (30% a 60 Hz)
+    private static final double PROBABILIDAD_ESCALERA = Tiempo.probabilidadPorTick(0.30);
     
     /**
      * Constructor del barril
      */
     public Barril(float x, float y, int scale, Handler handler, int direccion) {
         super(x, y, ObjetosID.Barril, WIDTH, HEIGHT, scale);
-        this.handler = handler;
-        this.direccion = direccion;
-        
-        // Establecer velocidad inicial
-        setVelX(VELOCIDAD_RODAR * direccion);
         
         // Cargar sprites y animaciones
         cargarSprites();
         inicializarAnimaciones();
         
-        System.out.println("[BARRIL] Creado en (" + x + ", " + y + ") direccion: " + direccion);
+        reiniciar(x, y, scale, handler, direccion);
+    }
+    
+    /**
+     * Constructor usado por el pool (el estado se asigna en reiniciar)
+     */
+    private Barril() {
+        super(0, 0, ObjetosID.Barril, WIDTH, HEIGHT, 1);
+        cargarSprites();
+        inicializarAnimaciones();
+    }
+    
+    /**
+     * Obtiene un barril del pool, listo para agregar al Handler
+     */
+    public static Barril obtener(float x, float y, int scale, Handler handler, int direccion) {
+        Barril barril = POOL.adquirir();
+        barril.reiniciar(x, y, scale, handler, direccion);
+        return barril;
+    }
+    
+    /**
+     * Deja el barril como recién creado
+     */
+    private void reiniciar(float x, float y, int scale, Handler handler, int direccion) {
+        setX(x * scale);
+        setY(y * scale);
+        setWidth(WIDTH * scale);
+        setHeight(HEIGHT * scale);
+        setVely(0);
+        this.handler = handler;
+        this.direccion = direccion;
+        
+        rodando = true;
+        cayendo = false;
+        enSuelo = false;
+        puedeTomarEscalera = true;
+        ticksSinEscalera = 0;
+        
+        if (barrilRodando != null) barrilRodando.reiniciar();
+        if (barrilCayendo != null) barrilCayendo.reiniciar();
+        
+        // Establecer velocidad inicial
+        setVelX(VELOCIDAD_RODAR * direccion);
+    }
+    
+    @Override
+    public void liberar() {
+        POOL.liberar(this);
+    }
+    
+    public static PoolObjetos<Barril> getPool() {
+        return POOL;
+    }
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirEstadoBase(buf);
+        buf.put((byte) direccion);
+        buf.put((byte) ((rodando ? 1 : 0) | (cayendo ? 2 : 0)
+                      | (enSuelo ? 4 : 0) | (puedeTomarEscalera ? 8 : 0)));
+        buf.putInt(ticksSinEscalera);
+        if (barrilRodando != null) barrilRodando.escribirEstado(buf);
+        if (barrilCayendo != null) barrilCayendo.escribirEstado(buf);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerEstadoBase(buf);
+        direccion = buf.get();
+        byte banderas = buf.get();
+        rodando = (banderas & 1) != 0;
+        cayendo = (banderas & 2) != 0;
+        enSuelo = (banderas & 4) != 0;
+        puedeTomarEscalera = (banderas & 8) != 0;
+        ticksSinEscalera = buf.getInt();
+        if (barrilRodando != null) barrilRodando.leerEstado(buf);
+        if (barrilCayendo != null) barrilCayendo.leerEstado(buf);
     }
     
     /**
@@ -87,8 +188,6 @@ public class Barril extends JuegoObjetos {
             
             if (barrilSprites == null || barrilSprites.length == 0) {
                 System.err.println("[ERROR] No se pudieron cargar sprites de barril desde Texturas");
-            } else {
-                System.out.println("[BARRIL] Sprites cargados correctamente: " + barrilSprites.length);
             }
             
         } catch (Exception e) {
@@ -108,7 +207,7 @@ public class Barril extends JuegoObjetos {
         }
         
         // Animación de rodar (primeros 4 frames)
-        barrilRodando = new Animacion(3, 
+        barrilRodando = new Animacion(0.067f, 
             barrilSprites[0], 
             barrilSprites[1], 
             barrilSprites[2], 
@@ -117,7 +216,7 @@ public class Barril extends JuegoObjetos {
         
         // Animación de caer (frames 4-7 o reutilizar los primeros)
         if (barrilSprites.length >= 8) {
-            barrilCayendo = new Animacion(4, 
+            barrilCayendo = new Animacion(0.083f, 
                 barrilSprites[3], 
                 barrilSprites[4],
                 barrilSprites[5],
@@ -127,8 +226,6 @@ public class Barril extends JuegoObjetos {
             // Usar los mismos sprites si no hay suficientes
             barrilCayendo = barrilRodando;
         }
-        
-        System.out.println("[BARRIL] Animaciones inicializadas");
     }
 
     @Override
@@ -139,6 +236,7 @@ public class Barril extends JuegoObjetos {
         // Aplicar movimiento
         setX(getX() + getVelX());
         setY(getY() + getVely());
+        completarGravedad();
         
         // Limitar velocidad de caída
         if (getVely() > VELOCIDAD_CAIDA_MAX) {
@@ -179,54 +277,66 @@ public class Barril extends JuegoObjetos {
     private void manejarColisiones() {
         enSuelo = false;
         
-        for (JuegoObjetos obj : handler.getGameObjs()) {
-            if (obj.getId() == ObjetosID.Tile || obj.getId() == ObjetosID.Pipe) {
-                
-                // Colisión inferior (aterrizar en plataforma)
-                if (getBounds().intersects(obj.getBounds())) {
-                    setY(obj.getY() - getHeight());
-                    
-                    if (cayendo) {
-                        cayendo = false;
-                        rodando = true;
-                        
-                        if (Math.abs(getVely()) > 5) {
-                            setVely(REBOTE / 2);
-                        } else {
-                            setVely(0);
-                            enSuelo = true;
-                        }
-                    } else {
-                        setVely(0);
-                        enSuelo = true;
-                    }
-                }
+        areaBarril.setBounds(
+            (int) getX(), (int) getY(), (int) getWidth(), (int) getHeight()
+        );
+        
+        handler.resolverSolidos(areaBarril, resolutor);
+        
+        if (!enSuelo && !cayendo && Math.abs(getVely()) > VELOCIDAD_MIN_CAIDA) {
+            cayendo = true;
+            rodando = false;
+        }
+    }
+    
+    /**
+     * Empuja la entidad fuera de un bloque sólido
+     */
+    private void resolverColision(Rectangle bloque, float bx, float by, float bw, float bh) {
+        // Colisión inferior (aterrizar en plataforma)
+        if (getLimites().intersects(bloque)) {
+            setY(by - getHeight());
+            
+            if (cayendo) {
+                cayendo = false;
+                rodando = true;
                 
-                // Colisión superior
-                if (getBoundsTop().intersects(obj.getBounds())) {
-                    setY(obj.getY() + obj.getHeight());
+                if (Math.abs(getVely()) > VELOCIDAD_MIN_REBOTE) {
+                    setVely(REBOTE / 2);
+                } else {
                     setVely(0);
+                    enSuelo = true;
                 }
-                
-                // Colisión derecha
-                if (getBoundsRight().intersects(obj.getBounds())) {
-                    setX(obj.getX() - getWidth());
-                    direccion = -1;
-                    setVelX(VELOCIDAD_RODAR * direccion);
-                }
-                
-                // Colisión izquierda
-                if (getBoundsLeft().intersects(obj.getBounds())) {
-                    setX(obj.getX() + obj.getWidth());
-                    direccion = 1;
-                    setVelX(VELOCIDAD_RODAR * direccion);
-                }
+            } else {
+                setVely(0);
+                enSuelo = true;
             }
         }
         
-        if (!enSuelo && !cayendo && Math.abs(getVely()) > 1) {
-            cayendo = true;
-            rodando = false;
+        // Colisión superior
+        if (getLimitesArriba().intersects(bloque)) {
+            setY(by + bh);
+            setVely(0);
+        }
+        
+        // Un bloque que no llega a la mitad superior es un escalón de la viga:
+        // se sube con la colisión inferior, no es una pared
+        if (by > getY() + getHeight() / 2) {
+            return;
+        }
+        
+        // Colisión derecha
+        if (getLimitesDerecha().intersects(bloque)) {
+            setX(bx - getWidth());
+            direccion = -1;
+            setVelX(VELOCIDAD_RODAR * direccion);
+        }
+        
+        // Colisión izquierda
+        if (getLimitesIzquierda().intersects(bloque)) {
+            setX(bx + bw);
+            direccion = 1;
+            setVelX(VELOCIDAD_RODAR * direccion);
         }
     }
     
@@ -238,19 +348,21 @@ public class Barril extends JuegoObjetos {
             return;
         }
         
-        for (JuegoObjetos obj : handler.getGameObjs()) {
+        areaBusqueda.setBounds(
+            (int) getX() - 10,
+            (int) (getY() + getHeight()),
+            (int) getWidth() + 20,
+            10
+        );
+        
+        handler.consultarArea(areaBusqueda, candidatos, ESCALERAS);
+        for (int i = 0; i < candidatos.size(); i++) {
+            JuegoObjetos obj = candidatos.get(i);
             if (obj.getId() == ObjetosID.Escalera) {
                 Escalera escalera = (Escalera) obj;
                 
-                Rectangle areaBusqueda = new Rectangle(
-                    (int) getX() - 10,
-                    (int) (getY() + getHeight()),
-                    (int) getWidth() + 20,
-                    10
-                );
-                
-                if (areaBusqueda.intersects(escalera.getBounds())) {
-                    if (Math.random() * 100 < PROBABILIDAD_ESCALERA) {
+                if (areaBusqueda.intersects(escalera.getLimites())) {
+                    if (handler.getAleatorio().getIA().probabilidad(PROBABILIDAD_ESCALERA)) {
                         tomarEscalera(escalera);
                     }
                     break;
@@ -272,12 +384,12 @@ public class Barril extends JuegoObjetos {
         setX(centroEscalera - getWidth() / 2);
         
         setVelX(0);
-        setVely(4f);
+        setVely(VELOCIDAD_BAJAR_ESCALERA);
     }
     
     @Override
     public void aplicarGravedad() {
-        setVely(getVely() + GRAVEDAD);
+        acelerarGravedad(GRAVEDAD);
     }
 
     @Override
@@ -315,8 +427,8 @@ public class Barril extends JuegoObjetos {
     }
 
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle(
+    public void calcularLimites(Rectangle destino) {
+        destino.setBounds(
             (int) getX() + 2,
             (int) getY() + 2,
             (int) getWidth() - 4,
@@ -324,31 +436,34 @@ public class Barril extends JuegoObjetos {
         );
     }
     
-    public Rectangle getBoundsTop() {
-        return new Rectangle(
+    public Rectangle getLimitesArriba() {
+        limitesArriba.setBounds(
             (int) getX() + 4,
             (int) getY(),
             (int) getWidth() - 8,
             (int) getHeight() / 2
         );
+        return limitesArriba;
     }
     
-    public Rectangle getBoundsRight() {
-        return new Rectangle(
+    public Rectangle getLimitesDerecha() {
+        limitesDerecha.setBounds(
             (int) (getX() + getWidth() - 5),
             (int) getY() + 5,
             5,
             (int) getHeight() - 10
         );
+        return limitesDerecha;
     }
     
-    public Rectangle getBoundsLeft() {
-        return new Rectangle(
+    public Rectangle getLimitesIzquierda() {
+        limitesIzquierda.setBounds(
             (int) getX(),
             (int) getY() + 5,
             5,
             (int) getHeight() - 10
         );
+        return limitesIzquierda;
     }
     
     public void destruir() {
@@ -357,7 +472,7 @@ public class Barril extends JuegoObjetos {
     }
     
     public boolean colisionaConJugador(Jugador player) {
-        return getBounds().intersects(player.getBounds());
+        return getLimites().intersects(player.getLimites());
     }
     
     public boolean isRodando() {
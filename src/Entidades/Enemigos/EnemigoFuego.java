@@ -2,12 +2,16 @@ package Entidades.Enemigos;
 
 import Entidades.JuegoObjetos;
 import Entidades.Jugador;
+import SistemaDeNiveles.MapaColision;
 import SistemaGFX.Animacion;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
+import java.nio.ByteBuffer;
 
 /**
  * Clase Base Abstracta: EnemigoFuego
@@ -30,7 +34,7 @@ import java.awt.image.BufferedImage;
  * @author LENOVO
  * @version 2.0 - Refactorizada con Template Method
  */
-public abstract class EnemigoFuego extends JuegoObjetos {
+public abstract class EnemigoFuego extends JuegoObjetos implements Persistente {
     
     // ==================== ENUMERACIÓN DE COMPORTAMIENTOS ====================
     
@@ -47,20 +51,22 @@ public abstract class EnemigoFuego extends JuegoObjetos {
     
     // ==================== CONSTANTES COMPARTIDAS ====================
     
-    protected static final float VELOCIDAD_BASE = 2.0f;
-    protected static final float VELOCIDAD_RAPIDA = 3.5f;
-    protected static final float VELOCIDAD_CAIDA_MAX = 12f;
-    protected static final float GRAVEDAD = 0.5f;
-    protected static final float FUERZA_SALTO = -6f;
+    // px/s y px/s², convertidos a la unidad del tick
+    protected static final float VELOCIDAD_BASE = Tiempo.velocidad(120f);
+    protected static final float VELOCIDAD_RAPIDA = Tiempo.velocidad(210f);
+    protected static final float VELOCIDAD_CAIDA_MAX = Tiempo.velocidad(720f);
+    protected static final float GRAVEDAD = Tiempo.aceleracion(1800f);
+    protected static final float FUERZA_SALTO = Tiempo.velocidad(-360f);
     
     // Comportamiento de salto (solo para tipos que saltan)
-    protected static final int COOLDOWN_SALTO = 120;
-    protected static final int PROBABILIDAD_SALTO = 5;
+    protected static final int COOLDOWN_SALTO = Tiempo.ticks(2f);
+    // Probabilidad de saltar en cada tick en el suelo (5% a 60 Hz)
+    protected static final double PROBABILIDAD_SALTO = Tiempo.probabilidadPorTick(0.05);
     
     // ==================== ATRIBUTOS COMPARTIDOS ====================
     
     protected Handler handler;
-    protected BufferedImage[] sprites;
+    protected Sprite[] sprites;
     protected Animacion animacion;
     
     // Estado de movimiento
@@ -69,6 +75,15 @@ public abstract class EnemigoFuego extends JuegoObjetos {
     protected int direccion = 1; // 1 = derecha, -1 = izquierda
     protected float velocidadActual;
     
+    // Hitboxes de contacto reutilizadas (ver getLimites())
+    private final Rectangle limitesArriba = new Rectangle();
+    private final Rectangle limitesDerecha = new Rectangle();
+    private final Rectangle limitesIzquierda = new Rectangle();
+    
+    // Reutilizados en cada tick por manejarColisiones()
+    private final Rectangle areaFuego = new Rectangle();
+    private final MapaColision.ResolutorColision resolutor = this::resolverColision;
+    
     // Control de salto (solo para tipos que saltan)
     protected int ticksEnSuelo = 0;
     protected boolean puedeSaltar = true;
@@ -111,6 +126,76 @@ public abstract class EnemigoFuego extends JuegoObjetos {
         }
     }
     
+    /**
+     * Devuelve el enemigo al estado de recién creado
+     * (para subclases que se reutilizan desde un pool)
+     */
+    protected void reiniciarEstado(float x, float y, float width, float height, int scale,
+                                   Handler handler, ComportamientoFuego comportamiento, int direccion) {
+        setX(x * scale);
+        setY(y * scale);
+        setWidth(width * scale);
+        setHeight(height * scale);
+        setVely(0);
+        this.handler = handler;
+        this.comportamiento = comportamiento;
+        this.direccion = direccion;
+        
+        enSuelo = false;
+        ticksEnSuelo = 0;
+        puedeSaltar = true;
+        ticksVivo = 0;
+        ticksAnimacion = 0;
+        puedeGirar = true;
+        
+        if (animacion != null) {
+            animacion.reiniciar();
+        }
+        
+        configurarVelocidad();
+        if (comportamiento != ComportamientoFuego.ESTATICO) {
+            setVelX(velocidadActual * direccion);
+        } else {
+            setVelX(0);
+        }
+    }
+    
+    // ==================== INSTANTÁNEAS ====================
+    
+    /**
+     * Estado de movimiento común; las subclases agregan el suyo
+     * después de llamar a super
+     */
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirEstadoBase(buf);
+        buf.put((byte) comportamiento.ordinal()).put((byte) direccion);
+        buf.put((byte) ((enSuelo ? 1 : 0) | (puedeSaltar ? 2 : 0) | (puedeGirar ? 4 : 0)));
+        buf.putFloat(velocidadActual);
+        buf.putInt(ticksEnSuelo).putInt(ticksVivo).putInt(ticksAnimacion);
+        if (animacion != null) {
+            animacion.escribirEstado(buf);
+        }
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerEstadoBase(buf);
+        comportamiento = ComportamientoFuego.values()[buf.get()];
+        direccion = buf.get();
+        byte banderas = buf.get();
+        enSuelo = (banderas & 1) != 0;
+        puedeSaltar = (banderas & 2) != 0;
+        puedeGirar = (banderas & 4) != 0;
+        velocidadActual = buf.getFloat();
+        ticksEnSuelo = buf.getInt();
+        ticksVivo = buf.getInt();
+        ticksAnimacion = buf.getInt();
+        if (animacion != null) {
+            animacion.leerEstado(buf);
+        }
+    }
+    
     // ==================== MÉTODOS ABSTRACTOS (implementados por subclases) ====================
     
     /**
@@ -268,7 +353,7 @@ public abstract class EnemigoFuego extends JuegoObjetos {
             }
             
             // Intentar saltar ocasionalmente
-            if (puedeSaltar && Math.random() * 100 < PROBABILIDAD_SALTO) {
+            if (puedeSaltar && handler.getAleatorio().getIA().probabilidad(PROBABILIDAD_SALTO)) {
                 ejecutarSalto();
             }
             
@@ -303,6 +388,7 @@ public abstract class EnemigoFuego extends JuegoObjetos {
         // Aplicar movimiento
         setX(getX() + getVelX());
         setY(getY() + getVely());
+        completarGravedad();
         
         // Limitar velocidad de caída
         if (getVely() > VELOCIDAD_CAIDA_MAX) {
@@ -313,7 +399,7 @@ public abstract class EnemigoFuego extends JuegoObjetos {
     @Override
     public void aplicarGravedad() {
         if (comportamiento != ComportamientoFuego.ESTATICO && !enSuelo) {
-            setVely(getVely() + GRAVEDAD);
+            acelerarGravedad(GRAVEDAD);
         }
     }
     
@@ -325,44 +411,50 @@ public abstract class EnemigoFuego extends JuegoObjetos {
     protected void manejarColisiones() {
         enSuelo = false;
         
-        for (JuegoObjetos obj : handler.getGameObjs()) {
-            if (obj.getId() == ObjetosID.Tile || obj.getId() == ObjetosID.Pipe) {
-                
-                // Colisión inferior (aterrizar en plataforma)
-                if (getBounds().intersects(obj.getBounds())) {
-                    setY(obj.getY() - getHeight());
-                    setVely(0);
-                    enSuelo = true;
-                    
-                    // Asegurar velocidad horizontal
-                    if (Math.abs(getVelX()) < velocidadActual && comportamiento != ComportamientoFuego.ESTATICO) {
-                        setVelX(velocidadActual * direccion);
-                    }
-                }
-                
-                // Colisión superior
-                if (getBoundsTop().intersects(obj.getBounds())) {
-                    setY(obj.getY() + obj.getHeight());
-                    setVely(0);
-                }
-                
-                // Colisión derecha (girar)
-                if (getBoundsRight().intersects(obj.getBounds())) {
-                    setX(obj.getX() - getWidth());
-                    if (puedeGirar) {
-                        direccion = -1;
-                        setVelX(velocidadActual * direccion);
-                    }
-                }
-                
-                // Colisión izquierda (girar)
-                if (getBoundsLeft().intersects(obj.getBounds())) {
-                    setX(obj.getX() + obj.getWidth());
-                    if (puedeGirar) {
-                        direccion = 1;
-                        setVelX(velocidadActual * direccion);
-                    }
-                }
+        areaFuego.setBounds(
+            (int) getX(), (int) getY(), (int) getWidth(), (int) getHeight()
+        );
+        
+        handler.resolverSolidos(areaFuego, resolutor);
+    }
+    
+    /**
+     * Empuja la entidad fuera de un bloque sólido
+     */
+    private void resolverColision(Rectangle bloque, float bx, float by, float bw, float bh) {
+        // Colisión inferior (aterrizar en plataforma)
+        if (getLimites().intersects(bloque)) {
+            setY(by - getHeight());
+            setVely(0);
+            enSuelo = true;
+            
+            // Asegurar velocidad horizontal
+            if (Math.abs(getVelX()) < velocidadActual && comportamiento != ComportamientoFuego.ESTATICO) {
+                setVelX(velocidadActual * direccion);
+            }
+        }
+        
+        // Colisión superior
+        if (getLimitesArriba().intersects(bloque)) {
+            setY(by + bh);
+            setVely(0);
+        }
+        
+        // Colisión derecha (girar)
+        if (getLimitesDerecha().intersects(bloque)) {
+            setX(bx - getWidth());
+            if (puedeGirar) {
+                direccion = -1;
+                setVelX(velocidadActual * direccion);
+            }
+        }
+        
+        // Colisión izquierda (girar)
+        if (getLimitesIzquierda().intersects(bloque)) {
+            setX(bx + bw);
+            if (puedeGirar) {
+                direccion = 1;
+                setVelX(velocidadActual * direccion);
             }
         }
     }
@@ -386,10 +478,10 @@ public abstract class EnemigoFuego extends JuegoObjetos {
     // ==================== HITBOXES ====================
     
     @Override
-    public Rectangle getBounds() {
+    public void calcularLimites(Rectangle destino) {
         if (comportamiento == ComportamientoFuego.ESTATICO) {
             // Hitbox completa (trampa fija)
-            return new Rectangle(
+            destino.setBounds(
                 (int)(getX() + 3),
                 (int)(getY() + 3),
                 (int)(getWidth() - 6),
@@ -397,7 +489,7 @@ public abstract class EnemigoFuego extends JuegoObjetos {
             );
         } else {
             // Hitbox ajustada para móviles
-            return new Rectangle(
+            destino.setBounds(
                 (int)(getX() + 3),
                 (int)(getY() + getHeight()/2),
                 (int)(getWidth() - 6),
@@ -406,31 +498,34 @@ public abstract class EnemigoFuego extends JuegoObjetos {
         }
     }
     
-    public Rectangle getBoundsTop() {
-        return new Rectangle(
+    public Rectangle getLimitesArriba() {
+        limitesArriba.setBounds(
             (int)(getX() + 4),
             (int)getY(),
             (int)(getWidth() - 8),
             (int)(getHeight() / 2)
         );
+        return limitesArriba;
     }
     
-    public Rectangle getBoundsRight() {
-        return new Rectangle(
+    public Rectangle getLimitesDerecha() {
+        limitesDerecha.setBounds(
             (int)(getX() + getWidth() - 5),
             (int)(getY() + 5),
             5,
             (int)(getHeight() - 10)
         );
+        return limitesDerecha;
     }
     
-    public Rectangle getBoundsLeft() {
-        return new Rectangle(
+    public Rectangle getLimitesIzquierda() {
+        limitesIzquierda.setBounds(
             (int)getX(),
             (int)(getY() + 5),
             5,
             (int)(getHeight() - 10)
         );
+        return limitesIzquierda;
     }
     
     // ==================== GESTIÓN ====================
@@ -442,7 +537,7 @@ public abstract class EnemigoFuego extends JuegoObjetos {
     }
     
     public boolean colisionaConJugador(Jugador player) {
-        return getBounds().intersects(player.getBounds());
+        return getLimites().intersects(player.getLimites());
     }
     
     /**
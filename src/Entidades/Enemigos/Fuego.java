@@ -1,11 +1,13 @@
 package Entidades.Enemigos;
 
-import Entidades.EfectosVisuales.ParticulaFuego;
 import SistemaDeSoporte.Handler;
+import SistemaDeSoporte.PoolObjetos;
+import SistemaDeSoporte.Reutilizable;
+import SistemaDeSoporte.Tiempo;
 import mariotest.Juego;
 import java.awt.Color;
 import java.awt.Graphics;
-import java.util.Random;
+import java.nio.ByteBuffer;
 
 /**
  * Clase Fuego - Enemigo tipo fuego pequeño (16x16)
@@ -17,21 +19,24 @@ import java.util.Random;
  * - Genera partículas de fuego
  * - NO puede saltar
  * - Tamaño: 16x16 píxeles
+ * - Se reutiliza desde un pool (factory methods y obtener)
  * 
  * @author LENOVO
  * @version 2.0 - Refactorizada heredando de EnemigoFuego
  */
-public class Fuego extends EnemigoFuego {
+public class Fuego extends EnemigoFuego implements Reutilizable {
     
     // ==================== CONSTANTES ESPECÍFICAS ====================
     
     private static final float WIDTH = 16F;
     private static final float HEIGHT = 16F;
     
+    private static final PoolObjetos<Fuego> POOL =
+        new PoolObjetos<>("Fuego", 16, Fuego::new);
+    
     // Control de partículas
-    private Random random;
     private int ticksParticula = 0;
-    private static final int FRECUENCIA_PARTICULA = 3; // Cada 3 ticks
+    private static final int FRECUENCIA_PARTICULA = Tiempo.ticks(0.05f); // 3 ticks a 60 Hz
     
     // ==================== CONSTRUCTORES ====================
     
@@ -42,14 +47,47 @@ public class Fuego extends EnemigoFuego {
                  ComportamientoFuego comportamiento, int direccion) {
         super(x, y, WIDTH, HEIGHT, scale, handler, comportamiento, direccion);
         
-        this.random = new Random();
-        
         cargarSprites();
         inicializarAnimacion();
-        
-        System.out.println("[FUEGO] Creado en (" + x + ", " + y + ") " +
-                          "comportamiento: " + comportamiento + 
-                          " dirección: " + (direccion > 0 ? "DERECHA" : "IZQUIERDA"));
+    }
+    
+    /**
+     * Constructor usado por el pool (el estado se asigna en reiniciarEstado)
+     */
+    private Fuego() {
+        this(0, 0, 1, null, ComportamientoFuego.PATRULLA, 1);
+    }
+    
+    /**
+     * Obtiene un fuego del pool, listo para agregar al Handler
+     */
+    public static Fuego obtener(float x, float y, int scale, Handler handler,
+                                ComportamientoFuego comportamiento, int direccion) {
+        Fuego fuego = POOL.adquirir();
+        fuego.reiniciarEstado(x, y, WIDTH, HEIGHT, scale, handler, comportamiento, direccion);
+        fuego.ticksParticula = 0;
+        return fuego;
+    }
+    
+    @Override
+    public void liberar() {
+        POOL.liberar(this);
+    }
+    
+    public static PoolObjetos<Fuego> getPool() {
+        return POOL;
+    }
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        super.escribirEstado(buf);
+        buf.putInt(ticksParticula);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        super.leerEstado(buf);
+        ticksParticula = buf.getInt();
     }
     
     /**
@@ -63,21 +101,21 @@ public class Fuego extends EnemigoFuego {
      * Factory method para fuego ESTATICO
      */
     public static Fuego crearEstatico(float x, float y, int scale, Handler handler) {
-        return new Fuego(x, y, scale, handler, ComportamientoFuego.ESTATICO, 1);
+        return obtener(x, y, scale, handler, ComportamientoFuego.ESTATICO, 1);
     }
     
     /**
      * Factory method para fuego RAPIDO
      */
     public static Fuego crearRapido(float x, float y, int scale, Handler handler, int direccion) {
-        return new Fuego(x, y, scale, handler, ComportamientoFuego.RAPIDO, direccion);
+        return obtener(x, y, scale, handler, ComportamientoFuego.RAPIDO, direccion);
     }
     
     /**
      * Factory method para fuego PERSEGUIDOR
      */
     public static Fuego crearPerseguidor(float x, float y, int scale, Handler handler) {
-        return new Fuego(x, y, scale, handler, ComportamientoFuego.PERSEGUIDOR, 1);
+        return obtener(x, y, scale, handler, ComportamientoFuego.PERSEGUIDOR, 1);
     }
     
     // ==================== IMPLEMENTACIÓN DE MÉTODOS ABSTRACTOS ====================
@@ -89,8 +127,6 @@ public class Fuego extends EnemigoFuego {
             
             if (sprites == null || sprites.length == 0) {
                 System.err.println("[ERROR] No se pudieron cargar sprites de fuego");
-            } else {
-                System.out.println("[FUEGO] Sprites cargados: " + sprites.length);
             }
             
         } catch (Exception e) {
@@ -108,20 +144,18 @@ public class Fuego extends EnemigoFuego {
         
         // Animación de fuego (usar todos los frames disponibles)
         if (sprites.length >= 4) {
-            animacion = new SistemaGFX.Animacion(4, 
+            animacion = new SistemaGFX.Animacion(0.083f, 
                 sprites[0], 
                 sprites[1]
             );
         } else {
-            animacion = new SistemaGFX.Animacion(5, 
+            animacion = new SistemaGFX.Animacion(0.1f, 
                 sprites[0], 
                 sprites[1],
                 sprites[2], 
                 sprites[3]
             );
         }
-        
-        System.out.println("[FUEGO] Animación inicializada");
     }
     
     @Override
@@ -137,17 +171,10 @@ public class Fuego extends EnemigoFuego {
             ticksParticula = 0;
             
             // Crear partícula de fuego
-            float particulaX = getX() + getWidth() / 2 + (random.nextFloat() - 0.5f) * 8;
+            float particulaX = getX() + getWidth() / 2 + (handler.getAleatorio().getCosmetico().nextFloat() - 0.5f) * 8;
             float particulaY = getY() + getHeight() / 2;
             
-            ParticulaFuego particula = new ParticulaFuego(
-                particulaX, 
-                particulaY, 
-                1, 
-                handler
-            );
-            
-            handler.addObj(particula);
+            handler.getParticulas().emitirFuego(particulaX, particulaY, 1);
         }
     }
     
@@ -99,13 +99,13 @@ public class Llama extends EnemigoFuego {
         
         // Animación de llama (todos los frames disponibles)
         if (sprites.length >= 3) {
-            animacion = new SistemaGFX.Animacion(3, 
+            animacion = new SistemaGFX.Animacion(0.067f, 
                 sprites[0], 
                 sprites[1], 
                 sprites[2]
             );
         } else {
-            animacion = new SistemaGFX.Animacion(4, 
+            animacion = new SistemaGFX.Animacion(0.083f, 
                 sprites[0], 
                 sprites[1]
             );
@@ -141,10 +141,10 @@ public class Llama extends EnemigoFuego {
      * Hitbox personalizada para la llama (más alta)
      */
     @Override
-    public java.awt.Rectangle getBounds() {
+    public void calcularLimites(java.awt.Rectangle destino) {
         if (getComportamiento() == ComportamientoFuego.ESTATICO) {
             // Hitbox completa (trampa fija)
-            return new java.awt.Rectangle(
+            destino.setBounds(
                 (int)(getX() + 4),
                 (int)(getY() + 4),
                 (int)(getWidth() - 8),
@@ -152,7 +152,7 @@ public class Llama extends EnemigoFuego {
             );
         } else {
             // Hitbox solo en la parte inferior (móvil)
-            return new java.awt.Rectangle(
+            destino.setBounds(
                 (int)(getX() + 4),
                 (int)(getY() + getHeight()/2),
                 (int)(getWidth() - 8),
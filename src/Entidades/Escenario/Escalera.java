@@ -27,6 +27,11 @@ public class Escalera extends JuegoObjetos {
         // Aquí podrías agregar animaciones o efectos especiales
     }
 
+    @Override
+    public boolean esEstatico() {
+        return true;
+    }
+
     @Override
     public void render(Graphics g) {
         // Dibujar la escalera
@@ -61,8 +66,8 @@ public class Escalera extends JuegoObjetos {
     }
 
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle((int) getX(), (int) getY(), (int) getWidth(), (int) getHeight());
+    public void calcularLimites(Rectangle destino) {
+        destino.setBounds((int) getX(), (int) getY(), (int) getWidth(), (int) getHeight());
     }
     
     /**
@@ -76,10 +81,12 @@ public class Escalera extends JuegoObjetos {
     /**
      * Obtiene el área donde el jugador puede interactuar con la escalera
      * Útil para detectar cuando el jugador está cerca y puede subir/bajar
+     * 
+     * @param destino Rectángulo donde se escribe el área (se reutiliza)
      */
-    public Rectangle getAreaInteraccion() {
+    public void calcularAreaInteraccion(Rectangle destino) {
         int margen = 4; // Píxeles de margen para facilitar la interacción
-        return new Rectangle(
+        destino.setBounds(
             (int) getX() - margen, 
             (int) getY(), 
             (int) getWidth() + (margen * 2), 
@@ -91,7 +98,7 @@ public class Escalera extends JuegoObjetos {
      * Verifica si una posición está dentro del área de la escalera
      */
     public boolean contienePositcion(float x, float y) {
-        return getBounds().contains(x, y);
+        return getLimites().contains(x, y);
     }
     
     // Getters y setters
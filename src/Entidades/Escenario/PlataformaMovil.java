@@ -1,10 +1,13 @@
 package Entidades.Escenario;
 
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 import mariotest.Juego;
 
 /**
@@ -13,7 +16,7 @@ import mariotest.Juego;
  * 
  * @author LENOVO
  */
-public class PlataformaMovil extends Tile {
+public class PlataformaMovil extends Tile implements Persistente {
     
     // Movimiento
     private float velocidadX;
@@ -36,7 +39,8 @@ public class PlataformaMovil extends Tile {
     private int alphaActual;          // Transparencia para efecto fade
     private boolean fadeOut;          // Si está desapareciendo
     private boolean fadeIn;           // Si está apareciendo
-    private static final int FADE_SPEED = 5;
+    private static final int FADE_SPEED = Math.max(1, Math.round(Tiempo.velocidad(300f)));  // alfa por tick
+    private static final int TICKS_FADE = Tiempo.ticks(0.5f);
     
     // Configuración
     private boolean cicloActivo;      // Si el ciclo de aparecer/desaparecer está activo
@@ -151,8 +155,8 @@ public class PlataformaMovil extends Tile {
             // Mientras está visible
             ticksVisible++;
             
-            // Tiempo de empezar a desaparecer (30 ticks antes)
-            if (ticksVisible >= duracionVisible - 30 && !fadeOut) {
+            // Tiempo de empezar a desaparecer (medio segundo antes)
+            if (ticksVisible >= duracionVisible - TICKS_FADE && !fadeOut) {
                 fadeOut = true;
             }
             
@@ -168,8 +172,8 @@ public class PlataformaMovil extends Tile {
             // Mientras está invisible
             ticksInvisible++;
             
-            // Tiempo de empezar a aparecer (30 ticks antes)
-            if (ticksInvisible >= duracionInvisible - 30 && !fadeIn) {
+            // Tiempo de empezar a aparecer (medio segundo antes)
+            if (ticksInvisible >= duracionInvisible - TICKS_FADE && !fadeIn) {
                 fadeIn = true;
             }
             
@@ -349,14 +353,49 @@ public class PlataformaMovil extends Tile {
         }
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirEstadoBase(buf);
+        buf.putFloat(velocidadX).putFloat(velocidadY);
+        buf.put((byte) ((visible ? 1 : 0) | (fadeOut ? 2 : 0) | (fadeIn ? 4 : 0) | (cicloActivo ? 8 : 0)));
+        buf.putInt(ticksVisible).putInt(ticksInvisible).putInt(ticksActuales);
+        buf.putInt(duracionVisible).putInt(duracionInvisible).putInt(alphaActual);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerEstadoBase(buf);
+        velocidadX = buf.getFloat();
+        velocidadY = buf.getFloat();
+        byte banderas = buf.get();
+        visible = (banderas & 1) != 0;
+        fadeOut = (banderas & 2) != 0;
+        fadeIn = (banderas & 4) != 0;
+        cicloActivo = (banderas & 8) != 0;
+        ticksVisible = buf.getInt();
+        ticksInvisible = buf.getInt();
+        ticksActuales = buf.getInt();
+        duracionVisible = buf.getInt();
+        duracionInvisible = buf.getInt();
+        alphaActual = buf.getInt();
+    }
+    
+    @Override
+    public boolean esEstatico() {
+        // A diferencia de Tile, se mueve: el Handler debe re-indexarla
+        return false;
+    }
+    
     @Override
-    public Rectangle getBounds() {
+    public void calcularLimites(Rectangle destino) {
         // Solo tiene colisión si está visible
         if (visible && alphaActual > 100) {
-            return super.getBounds();
+            super.calcularLimites(destino);
         } else {
-            // Retornar rectángulo vacío (sin colisión)
-            return new Rectangle(0, 0, 0, 0);
+            // Rectángulo vacío (sin colisión)
+            destino.setBounds(0, 0, 0, 0);
         }
     }
     
@@ -1,12 +1,15 @@
 package Entidades.Escenario;
 
 import Entidades.JuegoObjetos;
+import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaGFX.CapaPreRenderizada;
+import SistemaGFX.Texturas;
 import mariotest.Juego;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
 
 /**
  * 
@@ -18,9 +21,11 @@ public class Tile extends JuegoObjetos {
     // ==================== ATRIBUTOS ====================
     
     private int tileID;                // ID del tile en Tiled
-    private BufferedImage sprite;      // Sprite a renderizar
+    private Sprite sprite;      // Sprite a renderizar
     private boolean tieneColision;     // ¿Es sólido? (LA DIFERENCIA CLAVE)
     private boolean esFondo;           // ¿Es parte del fondo lejano?
+    private CapaPreRenderizada capa;   // Capa horneada que lo contiene (null = se dibuja solo)
+    private Handler handler;           // Handler que lo registró (null = aún no está en juego)
     
     // ==================== CONSTRUCTORES ====================
     
@@ -42,7 +47,20 @@ public class Tile extends JuegoObjetos {
         this.tileID = tileID;
         this.tieneColision = tieneColision;
         this.esFondo = esFondo;
-        cargarSprite();
+        cargarSprite(Juego.getTextura().getNivelActual());
+    }
+    
+    /**
+     * Igual que el constructor completo, con el sprite de un nivel dado
+     * (para construir un nivel que todavía no es el activo)
+     */
+    private Tile(int x, int y, int width, int height, int scale, 
+                 int tileID, boolean tieneColision, boolean esFondo, int nivelTexturas) {
+        super(x, y, ObjetosID.Tile, width, height, scale);
+        this.tileID = tileID;
+        this.tieneColision = tieneColision;
+        this.esFondo = esFondo;
+        cargarSprite(nivelTexturas);
     }
     
     // ==================== FACTORY METHODS ====================
@@ -82,16 +100,28 @@ public class Tile extends JuegoObjetos {
         return new Tile(x, y, width, height, scale, tileID, tieneColision, esFondo);
     }
     
+    /**
+     * Crea un tile con el sprite del nivel indicado (no el activo).
+     * No toca el Handler: se puede llamar desde el hilo de precarga.
+     */
+    public static Tile crear(int x, int y, int width, int height, int scale,
+                            int tileID, boolean tieneColision, boolean esFondo,
+                            int nivelTexturas) {
+        return new Tile(x, y, width, height, scale, tileID, tieneColision, esFondo, nivelTexturas);
+    }
+    
     // ==================== CARGA DE RECURSOS ====================
     
     /**
      * Carga el sprite correspondiente al tile ID desde Texturas
      */
-    private void cargarSprite() {
-        this.sprite = Juego.getTextura().getSpritePorID(this.tileID);
+    private void cargarSprite(int nivelTexturas) {
+        this.sprite = Juego.getTextura().getSpritePorID(nivelTexturas, this.tileID);
         
         // Advertencia solo para tiles con ID válido sin sprite
-        if (this.sprite == null && this.tileID > 0 && this.tileID != -1) {
+        // (en modo sin imágenes ningún tile tiene sprite)
+        if (this.sprite == null && this.tileID > 0 && this.tileID != -1
+                && !Texturas.isModoSinImagenes()) {
             System.err.println(String.format(
                 "[TILE] Advertencia: No se encontró sprite para tileID: %d (%s)",
                 this.tileID,
@@ -107,16 +137,20 @@ public class Tile extends JuegoObjetos {
         // Los tiles son estáticos (no tienen comportamiento por tick)
     }
     
+    @Override
+    public boolean esEstatico() {
+        return true;
+    }
+    
     // ==================== RENDERIZADO ====================
     
     @Override
     public void render(Graphics g) {
         // Renderizar sprite si existe
         if (sprite != null) {
-            g.drawImage(sprite, 
+            sprite.dibujar(g, 
                 (int)getX(), (int)getY(), 
-                (int)getWidth(), (int)getHeight(), 
-                null
+                (int)getWidth(), (int)getHeight()
             );
         } else {
             // Placeholder solo para bloques con colisión
@@ -161,19 +195,19 @@ public class Tile extends JuegoObjetos {
     // ==================== COLISIÓN (LA MAGIA) ====================
     
     /**
-     * Retorna el área de colisión del tile
+     * Calcula el área de colisión del tile
      * 
      * COMPORTAMIENTO:
-     * - Si tieneColision = true:  Retorna rectángulo real (jugador colisiona)
-     * - Si tieneColision = false: Retorna rectángulo vacío (jugador atraviesa)
+     * - Si tieneColision = true:  Rectángulo real (jugador colisiona)
+     * - Si tieneColision = false: Rectángulo vacío (jugador atraviesa)
      * 
      * Esta es LA ÚNICA diferencia entre Bloque y TileVisual
      */
     @Override
-    public Rectangle getBounds() {
+    public void calcularLimites(Rectangle destino) {
         if (tieneColision) {
             // Comportamiento de Bloque (CON colisión)
-            return new Rectangle(
+            destino.setBounds(
                 (int)getX(), 
                 (int)getY(), 
                 (int)getWidth(), 
@@ -181,7 +215,7 @@ public class Tile extends JuegoObjetos {
             );
         } else {
             // Comportamiento de TileVisual (SIN colisión)
-            return new Rectangle(0, 0, 0, 0);
+            destino.setBounds(0, 0, 0, 0);
         }
     }
     
@@ -202,11 +236,16 @@ public class Tile extends JuegoObjetos {
     
     /**
      * Cambia si el tile tiene colisión (útil para tiles dinámicos)
-     * NOTA: Cambiar colisión en runtime puede causar bugs si no se usa con cuidado
+     * Actualiza también el mapa de colisión del Handler, que es donde
+     * se resuelven los tiles estáticos.
      */
     public void setTieneColision(boolean tieneColision) {
         if (this.tieneColision != tieneColision) {
             this.tieneColision = tieneColision;
+            invalidarCapa();
+            if (handler != null) {
+                handler.actualizarColision(this);
+            }
             System.out.println(String.format(
                 "[TILE] TileID %d cambió colisión: %s → %s",
                 tileID,
@@ -220,8 +259,11 @@ public class Tile extends JuegoObjetos {
      * Cambia el sprite dinámicamente
      * Útil para animaciones de tiles o cambios de estado
      */
-    public void setSprite(BufferedImage nuevoSprite) {
-        this.sprite = nuevoSprite;
+    public void setSprite(Sprite nuevoSprite) {
+        if (this.sprite != nuevoSprite) {
+            this.sprite = nuevoSprite;
+            invalidarCapa();
+        }
     }
     
     /**
@@ -229,7 +271,43 @@ public class Tile extends JuegoObjetos {
      * Útil después de cambiar nivel
      */
     public void recargarSprite() {
-        cargarSprite();
+        cargarSprite(Juego.getTextura().getNivelActual());
+        invalidarCapa();
+    }
+    
+    /**
+     * Avisa a la capa pre-renderizada que debe recomponerse
+     */
+    private void invalidarCapa() {
+        if (capa != null) {
+            capa.invalidar();
+        }
+    }
+    
+    /**
+     * Vincula el tile a una capa pre-renderizada.
+     * Mientras esté horneado, el Handler no lo dibuja individualmente.
+     */
+    public void setCapa(CapaPreRenderizada capa) {
+        this.capa = capa;
+    }
+    
+    public CapaPreRenderizada getCapa() {
+        return capa;
+    }
+    
+    /**
+     * Vincula el tile al Handler que lo registró (lo llama Handler.addObj)
+     */
+    public void setHandler(Handler handler) {
+        this.handler = handler;
+    }
+    
+    /**
+     * ¿Se dibuja como parte de una capa pre-renderizada?
+     */
+    public boolean estaHorneado() {
+        return capa != null;
     }
     
     // ==================== GETTERS ====================
@@ -272,7 +350,7 @@ public class Tile extends JuegoObjetos {
     /**
      * Obtiene el sprite actual (puede ser null)
      */
-    public BufferedImage getSprite() {
+    public Sprite getSprite() {
         return sprite;
     }
     
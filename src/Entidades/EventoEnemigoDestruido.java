@@ -0,0 +1,38 @@
+package Entidades;
+
+import SistemaDeSoporte.ObjetosID;
+
+/**
+ * Evento: el jugador destruyó un enemigo con el martillo
+ *
+ * Guarda tipo y posición en vez del enemigo: cuando se despacha
+ * (diferido) el enemigo ya pudo volver a su pool y reutilizarse.
+ *
+ * @author LENOVO
+ */
+public class EventoEnemigoDestruido extends EventoJugador {
+    public static final TipoEvento<EventoEnemigoDestruido> TIPO = new TipoEvento<>(
+        EventoEnemigoDestruido.class, EventoEnemigoDestruido::new, TipoEvento.Despacho.DIFERIDO);
+    
+    private ObjetosID tipoEnemigo;
+    private float x;
+    private float y;
+    private int puntos;
+    
+    public EventoEnemigoDestruido preparar(Jugador source, JuegoObjetos enemigo, int puntos) {
+        setSource(source);
+        this.tipoEnemigo = enemigo.getId();
+        this.x = enemigo.getX();
+        this.y = enemigo.getY();
+        this.puntos = puntos;
+        return this;
+    }
+    
+    @Override
+    public TipoEvento<EventoEnemigoDestruido> getTipo() { return TIPO; }
+    
+    public ObjetosID getTipoEnemigo() { return tipoEnemigo; }
+    public float getX() { return x; }
+    public float getY() { return y; }
+    public int getPuntos() { return puntos; }
+}
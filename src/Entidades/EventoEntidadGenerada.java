@@ -0,0 +1,34 @@
+package Entidades;
+
+import SistemaDeSoporte.ObjetosID;
+
+/**
+ * Evento: un spawner agregó una entidad al Handler
+ *
+ * Guarda tipo y posición (igual que EventoEnemigoDestruido): la entidad
+ * puede eliminarse en el mismo tick, antes de que se despache.
+ *
+ * @author LENOVO
+ */
+public class EventoEntidadGenerada extends EventoJuego {
+    public static final TipoEvento<EventoEntidadGenerada> TIPO = new TipoEvento<>(
+        EventoEntidadGenerada.class, EventoEntidadGenerada::new, TipoEvento.Despacho.DIFERIDO);
+    
+    private ObjetosID tipoEntidad;
+    private float x;
+    private float y;
+    
+    public EventoEntidadGenerada preparar(JuegoObjetos entidad) {
+        this.tipoEntidad = entidad.getId();
+        this.x = entidad.getX();
+        this.y = entidad.getY();
+        return this;
+    }
+    
+    @Override
+    public TipoEvento<EventoEntidadGenerada> getTipo() { return TIPO; }
+    
+    public ObjetosID getTipoEntidad() { return tipoEntidad; }
+    public float getX() { return x; }
+    public float getY() { return y; }
+}
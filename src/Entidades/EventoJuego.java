@@ -5,18 +5,30 @@
 package Entidades;
 
 /**
+ * Evento base del AdministradorEventos
  *
+ * Las instancias se reutilizan: se piden con obtener(TIPO), se llenan
+ * con preparar(...) y vuelven al pool del tipo después de despacharse.
+ * 
  * @author LENOVO
  */
 public abstract class EventoJuego {
-    private final long marcaTiempo;
-    private final Jugador source;
+    private long marcaTiempo;
     
-    protected EventoJuego(Jugador source) {
-        this.source = source;
+    /**
+     * Tipo con el que se publica (la constante TIPO de la subclase)
+     */
+    public abstract TipoEvento<?> getTipo();
+    
+    /**
+     * Suelta las referencias antes de volver al pool
+     */
+    protected void limpiar() {
+    }
+    
+    void marcar() {
         this.marcaTiempo = System.currentTimeMillis();
     }
     
-    public Jugador getSource() { return source; }
     public long getMarcaTiempo() { return marcaTiempo; }
 }
@@ -0,0 +1,21 @@
+package Entidades;
+
+/**
+ * Evento emitido por el Jugador (daño, muerte, respawn, power-ups...)
+ *
+ * @author LENOVO
+ */
+public abstract class EventoJugador extends EventoJuego {
+    private Jugador source;
+    
+    protected void setSource(Jugador source) {
+        this.source = source;
+    }
+    
+    @Override
+    protected void limpiar() {
+        source = null;
+    }
+    
+    public Jugador getSource() { return source; }
+}
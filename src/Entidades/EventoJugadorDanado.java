@@ -0,0 +1,40 @@
+/*
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Licenses/license-default.txt to change this license
+ * Click nbfs://nbhost/SystemFileSystem/Templates/Classes/Class.java to edit this template
+ */
+package Entidades;
+
+/**
+ *
+ * @author LENOVO
+ */
+/**
+ * Evento: Jugador recibió daño
+ */
+public class EventoJugadorDanado extends EventoJugador {
+    public static final TipoEvento<EventoJugadorDanado> TIPO = new TipoEvento<>(
+        EventoJugadorDanado.class, EventoJugadorDanado::new, TipoEvento.Despacho.INMEDIATO);
+    
+    private JuegoObjetos atacante; // Puede ser null (caída)
+    private int cantidadDano;
+    
+    public EventoJugadorDanado preparar(Jugador source, JuegoObjetos atacante) {
+        setSource(source);
+        this.atacante = atacante;
+        this.cantidadDano = 1; // Por ahora siempre es 1
+        return this;
+    }
+    
+    @Override
+    public TipoEvento<EventoJugadorDanado> getTipo() { return TIPO; }
+    
+    @Override
+    protected void limpiar() {
+        super.limpiar();
+        atacante = null;
+    }
+    
+    public JuegoObjetos getAtacante() { return atacante; }
+    public int getCantidadDano() { return cantidadDano; }
+    public boolean isDanoPorCaida() { return atacante == null; }
+}
@@ -8,13 +8,20 @@ package Entidades;
  *
  * @author LENOVO
  */
-public class EventoJugadorPoder extends EventoJuego {
-    private final String powerUpType;
+public class EventoJugadorPoder extends EventoJugador {
+    public static final TipoEvento<EventoJugadorPoder> TIPO = new TipoEvento<>(
+        EventoJugadorPoder.class, EventoJugadorPoder::new, TipoEvento.Despacho.INMEDIATO);
     
-    public EventoJugadorPoder(Jugador source, String powerUpType) {
-        super(source);
+    private String powerUpType;
+    
+    public EventoJugadorPoder preparar(Jugador source, String powerUpType) {
+        setSource(source);
         this.powerUpType = powerUpType;
+        return this;
     }
     
+    @Override
+    public TipoEvento<EventoJugadorPoder> getTipo() { return TIPO; }
+    
     public String getPowerUpType() { return powerUpType; }
 }
@@ -11,16 +11,23 @@ package Entidades;
 /**
  * Evento: Jugador coleccionó item
  */
-public class EventoJugadorRecogeObjeto extends EventoJuego {
-    private final String tipoObjeto;
-    private final int puntosGanados;
+public class EventoJugadorRecogeObjeto extends EventoJugador {
+    public static final TipoEvento<EventoJugadorRecogeObjeto> TIPO = new TipoEvento<>(
+        EventoJugadorRecogeObjeto.class, EventoJugadorRecogeObjeto::new, TipoEvento.Despacho.INMEDIATO);
     
-    public EventoJugadorRecogeObjeto(Jugador source, String tipoObjeto, int puntosGanados) {
-        super(source);
+    private String tipoObjeto;
+    private int puntosGanados;
+    
+    public EventoJugadorRecogeObjeto preparar(Jugador source, String tipoObjeto, int puntosGanados) {
+        setSource(source);
         this.tipoObjeto = tipoObjeto;
         this.puntosGanados = puntosGanados;
+        return this;
     }
     
+    @Override
+    public TipoEvento<EventoJugadorRecogeObjeto> getTipo() { return TIPO; }
+    
     public String getTipoObjeto() { return tipoObjeto; }
     public int getPuntosGanados() { return puntosGanados; }
 }
@@ -11,13 +11,26 @@ package Entidades;
 /**
  * Evento: Jugador murió
  */
-public class EventoMuerteJugador extends EventoJuego {
-    private final JuegoObjetos muerte;
+public class EventoMuerteJugador extends EventoJugador {
+    public static final TipoEvento<EventoMuerteJugador> TIPO = new TipoEvento<>(
+        EventoMuerteJugador.class, EventoMuerteJugador::new, TipoEvento.Despacho.INMEDIATO);
     
-    public EventoMuerteJugador(Jugador source, JuegoObjetos killer) {
-        super(source);
+    private JuegoObjetos muerte;
+    
+    public EventoMuerteJugador preparar(Jugador source, JuegoObjetos killer) {
+        setSource(source);
         this.muerte = killer;
+        return this;
+    }
+    
+    @Override
+    public TipoEvento<EventoMuerteJugador> getTipo() { return TIPO; }
+    
+    @Override
+    protected void limpiar() {
+        super.limpiar();
+        muerte = null;
     }
     
     public JuegoObjetos getMuerte() { return muerte; }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package Entidades;
+
+/**
+ * Evento: se sumaron puntos al marcador (items, enemigos, bonus)
+ *
+ * Alta frecuencia: se despacha diferido, en la tanda del final del tick.
+ *
+ * @author LENOVO
+ */
+public class EventoPuntos extends EventoJuego {
+    public static final TipoEvento<EventoPuntos> TIPO = new TipoEvento<>(
+        EventoPuntos.class, EventoPuntos::new, TipoEvento.Despacho.DIFERIDO);
+    
+    private int cantidad;
+    private int total;
+    
+    public EventoPuntos preparar(int cantidad, int total) {
+        this.cantidad = cantidad;
+        this.total = total;
+        return this;
+    }
+    
+    @Override
+    public TipoEvento<EventoPuntos> getTipo() { return TIPO; }
+    
+    public int getCantidad() { return cantidad; }
+    public int getTotal() { return total; }
+}
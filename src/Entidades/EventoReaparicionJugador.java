@@ -11,16 +11,23 @@ package Entidades;
 /**
  * Evento: Jugador respawneó
  */
-public class EventoReaparicionJugador extends EventoJuego {
-    private final float spawnX;
-    private final float spawnY;
+public class EventoReaparicionJugador extends EventoJugador {
+    public static final TipoEvento<EventoReaparicionJugador> TIPO = new TipoEvento<>(
+        EventoReaparicionJugador.class, EventoReaparicionJugador::new, TipoEvento.Despacho.INMEDIATO);
     
-    public EventoReaparicionJugador(Jugador source, float x, float y) {
-        super(source);
+    private float spawnX;
+    private float spawnY;
+    
+    public EventoReaparicionJugador preparar(Jugador source, float x, float y) {
+        setSource(source);
         this.spawnX = x;
         this.spawnY = y;
+        return this;
     }
     
+    @Override
+    public TipoEvento<EventoReaparicionJugador> getTipo() { return TIPO; }
+    
     public float getSpawnX() { return spawnX; }
     public float getSpawnY() { return spawnY; }
 }
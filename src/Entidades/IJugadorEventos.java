@@ -9,7 +9,7 @@ package Entidades;
  * @author LENOVO
  */
 public interface IJugadorEventos {
-    void onJugadordanado(EventoJugadorDañado event);
+    void onJugadordanado(EventoJugadorDanado event);
     void onJugadorMuerto(EventoMuerteJugador event);
     void onJuegadorReaparece(EventoReaparicionJugador event);
     void onJugadorRecogeObjeto(EventoJugadorRecogeObjeto event);
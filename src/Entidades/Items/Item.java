@@ -4,14 +4,18 @@ package Entidades.Items;
 import Entidades.JuegoObjetos;
 import Entidades.Jugador;
 import Entidades.EfectosVisuales.TextoPuntos;
+import SistemaDeNiveles.MapaColision;
 import SistemaGFX.Animacion;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Tiempo;
 import mariotest.Juego;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
+import java.nio.ByteBuffer;
 
 /**
  * Clase base para Items coleccionables
@@ -19,10 +23,10 @@ import java.awt.image.BufferedImage;
  * 
  * @author LENOVO
  */
-public abstract class Item extends JuegoObjetos {
+public abstract class Item extends JuegoObjetos implements Persistente {
     
     protected Handler handler;
-    protected BufferedImage[] sprites;
+    protected Sprite[] sprites;
     protected Animacion animacion;
     
     // Propiedades del item
@@ -43,6 +47,13 @@ public abstract class Item extends JuegoObjetos {
     protected boolean brillar;
     protected int ticksBrillo;
     
+    // Reutilizados en cada tick por manejarColisiones()
+    private final Rectangle areaItem = new Rectangle();
+    private final MapaColision.ResolutorColision apoyo = this::apoyarSobre;
+    
+    // Parpadeo del brillo: encendido la primera mitad de cada período
+    private static final int PERIODO_BRILLO = Tiempo.ticks(0.333f);
+    
     /**
      * Constructor base de Item
      */
@@ -60,7 +71,7 @@ public abstract class Item extends JuegoObjetos {
         this.tieneGravedad = true;
         this.flotar = false;
         this.amplitudFlotacion = 0f;
-        this.velocidadFlotacion = 0.05f;
+        this.velocidadFlotacion = Tiempo.velocidad(3f); // radianes por tick
         this.offsetFlotacion = 0f;
         
         this.brillar = true;
@@ -91,6 +102,7 @@ public abstract class Item extends JuegoObjetos {
         // Aplicar movimiento
         setX(getX() + getVelX());
         setY(getY() + getVely());
+        completarGravedad();
         
         // Actualizar animación
         if (animacion != null) {
@@ -101,6 +113,41 @@ public abstract class Item extends JuegoObjetos {
         verificarRecoleccion();
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirEstadoBase(buf);
+        buf.put((byte) ((recolectado ? 1 : 0) | (desapareceDespuesDeRecoger ? 2 : 0)
+                      | (tieneGravedad ? 4 : 0) | (flotar ? 8 : 0) | (brillar ? 16 : 0)));
+        buf.putInt(valorPuntos).putInt(ticksVida).putInt(ticksMaxVida).putInt(ticksBrillo);
+        buf.putFloat(amplitudFlotacion).putFloat(velocidadFlotacion).putFloat(offsetFlotacion);
+        if (animacion != null) {
+            animacion.escribirEstado(buf);
+        }
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerEstadoBase(buf);
+        byte banderas = buf.get();
+        recolectado = (banderas & 1) != 0;
+        desapareceDespuesDeRecoger = (banderas & 2) != 0;
+        tieneGravedad = (banderas & 4) != 0;
+        flotar = (banderas & 8) != 0;
+        brillar = (banderas & 16) != 0;
+        valorPuntos = buf.getInt();
+        ticksVida = buf.getInt();
+        ticksMaxVida = buf.getInt();
+        ticksBrillo = buf.getInt();
+        amplitudFlotacion = buf.getFloat();
+        velocidadFlotacion = buf.getFloat();
+        offsetFlotacion = buf.getFloat();
+        if (animacion != null) {
+            animacion.leerEstado(buf);
+        }
+    }
+    
     /**
      * Aplica efecto de flotación (movimiento ondulatorio)
      */
@@ -113,17 +160,33 @@ public abstract class Item extends JuegoObjetos {
     
     /**
      * Maneja colisiones con bloques
+     * Con mapa de colisión, la caída se recorta con un barrido vertical
+     * (el item queda apoyado justo sobre el bloque, sin atravesarlo)
      */
     protected void manejarColisiones() {
-        for (JuegoObjetos obj : handler.getGameObjs()) {
-            if (obj.getId() == ObjetosID.Tile || obj.getId() == ObjetosID.Pipe) {
-                // Colisión inferior
-                if (getBounds().intersects(obj.getBounds())) {
-                    setY(obj.getY() - getHeight());
-                    setVely(0);
-                }
+        MapaColision mapa = handler.getMapaColision();
+        if (mapa != null && getVely() > 0) {
+            float dy = mapa.barrerVertical(getX(), getY(), getWidth(), getHeight(), getVely());
+            if (dy < getVely()) {
+                setVely(dy);
             }
         }
+        
+        areaItem.setBounds(
+            (int) getX(), (int) getY(), (int) getWidth(), (int) getHeight()
+        );
+        
+        handler.resolverSolidosDinamicos(areaItem, apoyo);
+    }
+    
+    /**
+     * Colisión inferior: deja el item apoyado sobre el bloque
+     */
+    private void apoyarSobre(Rectangle bloque, float bx, float by, float bw, float bh) {
+        if (getLimites().intersects(bloque)) {
+            setY(by - getHeight());
+            setVely(0);
+        }
     }
     
     /**
@@ -133,7 +196,7 @@ public abstract class Item extends JuegoObjetos {
         Jugador player = handler.getPlayer();
         if (player == null) return;
         
-        if (getBounds().intersects(player.getBounds())) {
+        if (getLimites().intersects(player.getLimites())) {
             recolectar(player);
         }
     }
@@ -176,7 +239,7 @@ public abstract class Item extends JuegoObjetos {
      * Crea un efecto visual mostrando los puntos ganados
      */
     protected void crearEfectoPuntos() {
-        TextoPuntos texto = new TextoPuntos(
+        TextoPuntos texto = TextoPuntos.obtener(
             getX(), 
             getY(), 
             "+" + valorPuntos, 
@@ -213,10 +276,9 @@ public abstract class Item extends JuegoObjetos {
         // PRIORIDAD 2: Sprite estático (sin animación)
         // ========================================
         else if (sprites != null && sprites.length > 0 && sprites[0] != null) {
-            g.drawImage(sprites[0], 
+            sprites[0].dibujar(g, 
                 (int)getX(), (int)getY(), 
-                (int)getWidth(), (int)getHeight(), 
-                null
+                (int)getWidth(), (int)getHeight()
             );
         }
         // ========================================
@@ -229,7 +291,7 @@ public abstract class Item extends JuegoObjetos {
         // ========================================
         // Efecto de brillo (siempre encima)
         // ========================================
-        if (brillar && ticksBrillo % 20 < 10) {
+        if (brillar && ticksBrillo % PERIODO_BRILLO < PERIODO_BRILLO / 2) {
             g.setColor(new Color(255, 255, 255, 100));
             g.fillOval(
                 (int)(getX() - 2), 
@@ -246,8 +308,8 @@ public abstract class Item extends JuegoObjetos {
     protected abstract void renderPlaceholder(Graphics g);
     
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle(
+    public void calcularLimites(Rectangle destino) {
+        destino.setBounds(
             (int)getX(),
             (int)getY(),
             (int)getWidth(),
@@ -272,8 +334,8 @@ public abstract class Item extends JuegoObjetos {
         }
     }
     
-    public void setTiempoVida(int ticks) {
-        this.ticksMaxVida = ticks;
+    public void setTiempoVida(float segundos) {
+        this.ticksMaxVida = Tiempo.ticks(segundos);
     }
     
     public void setDesapareceDespuesDeRecoger(boolean desaparece) {
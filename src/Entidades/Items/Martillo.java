@@ -20,7 +20,7 @@ public class Martillo extends Item {
     private static final float WIDTH = 16f;
     private static final float HEIGHT = 16f;
     private static final int VALOR_PUNTOS = 300;
-    private static final int DURACION_PODER = 600; // 10 segundos
+    private static final int DURACION_PODER = 10; // segundos
     
     public Martillo(float x, float y, int scale, Handler handler) {
         super(x, y, WIDTH, HEIGHT, scale, handler, VALOR_PUNTOS);
@@ -50,10 +50,10 @@ public class Martillo extends Item {
     @Override
     protected void aplicarEfecto(Jugador player) {
         // Activar el poder del martillo
-        player.activarMartillo(DURACION_PODER / 60); // Convertir ticks a segundos
+        player.activarMartillo(DURACION_PODER);
         
         System.out.println("[MARTILLO] ¡Power-up activado! Duración: " + 
-                          (DURACION_PODER / 60) + " segundos");
+                          DURACION_PODER + " segundos");
     }
     
     @Override
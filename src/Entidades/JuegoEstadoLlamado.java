@@ -18,7 +18,7 @@ public class JuegoEstadoLlamado extends AdaptadorEventosJugador {
     }
     
     @Override
-    public void onJugadordanado(EventoJugadorDañado event) {
+    public void onJugadordanado(EventoJugadorDanado event) {
         System.out.println("[GAME STATE] Player recibió daño");
         estadoJuego.perderVida();
         estadoJuego.resetearRacha();
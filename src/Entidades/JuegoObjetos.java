@@ -1,8 +1,10 @@
 package Entidades;
 
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Graphics;
 import java.awt.Rectangle;
+import java.nio.ByteBuffer;
 /**
  *
  * @author LENOVO
@@ -11,9 +13,21 @@ public abstract class JuegoObjetos {
     private float x;
     private float y;
     private ObjetosID id;
-    private float velX , vely; //velocidad
+    private float velX , vely; //velocidad (píxeles por tick)
     private float width , height;
     private int scale;
+    
+    // Posición al inicio del tick actual (para interpolar el render)
+    private float xAnterior, yAnterior;
+    
+    // Gravedad genérica: 1800 px/s²
+    private static final float GRAVEDAD = Tiempo.aceleracion(1800f);
+    
+    // Gravedad que falta sumar después de mover (ver aplicarGravedad)
+    private float gravedadPendiente;
+    
+    // Hitbox reutilizada por getLimites() (una por entidad, sin asignar por tick)
+    private final Rectangle limites = new Rectangle();
 
     public JuegoObjetos(float x, float y, ObjetosID id, float width, float height, int scale) {
         this.x = x *scale;
@@ -22,14 +36,130 @@ public abstract class JuegoObjetos {
         this.width = width * scale;
         this.height = height * scale;
         this.scale = scale;
+        this.xAnterior = this.x;
+        this.yAnterior = this.y;
     }
     
     public abstract void tick();
     public abstract void render(Graphics g);
-    public abstract Rectangle getBounds();
     
+    // ==================== HITBOX (AABB) ====================
+    
+    /**
+     * Escribe la hitbox actual del objeto en destino (sin crear objetos).
+     * Un rectángulo vacío (0, 0, 0, 0) significa "sin colisión".
+     */
+    public abstract void calcularLimites(Rectangle destino);
+    
+    /**
+     * Hitbox actual en un rectángulo propio de la entidad, reutilizado.
+     * Es lo que usan tick() y las colisiones: no guardarla ni modificarla,
+     * la próxima llamada la pisa.
+     */
+    public final Rectangle getLimites(){
+        calcularLimites(limites);
+        return limites;
+    }
+    
+    /**
+     * Copia nueva de la hitbox, para quien necesite conservarla.
+     * En los caminos por tick usar getLimites() o calcularLimites().
+     */
+    public final Rectangle getBounds(){
+        Rectangle copia = new Rectangle();
+        calcularLimites(copia);
+        return copia;
+    }
+    
+    /**
+     * Primera parte del paso de gravedad: se llama antes de mover
+     * 
+     * Se suma Tiempo.FRACCION_GRAVEDAD_ANTES de la gravedad ahora y el
+     * resto en completarGravedad(), después: la trayectoria (altura del
+     * salto, tiempo en el aire) es la misma a cualquier TPS y a 60 Hz
+     * es la de siempre (toda la gravedad antes de mover).
+     */
     public void aplicarGravedad(){
-         vely += 0.5F;
+         acelerarGravedad(GRAVEDAD);
+    }
+    
+    /**
+     * Parte de la aceleración ahora y el resto pendiente para completarGravedad()
+     */
+    protected final void acelerarGravedad(float gravedad) {
+        float antes = gravedad * Tiempo.FRACCION_GRAVEDAD_ANTES;
+        vely += antes;
+        gravedadPendiente += gravedad - antes;
+    }
+    
+    /**
+     * Resto del paso de gravedad: justo después de mover
+     * (antes de las colisiones, que pueden frenar en seco)
+     */
+    public final void completarGravedad() {
+        // A 60 Hz no queda nada pendiente: no tocar vely (ni un -0.0)
+        if (gravedadPendiente != 0) {
+            vely += gravedadPendiente;
+            gravedadPendiente = 0;
+        }
+    }
+
+    /**
+     * Indica si el objeto nunca cambia de posición ni de tamaño.
+     * El Handler no re-indexa en la grilla espacial a los objetos estáticos.
+     */
+    public boolean esEstatico(){
+        return false;
+    }
+
+    /**
+     * Recuerda la posición actual como la del tick anterior.
+     * El Handler la llama antes de cada paso de simulación.
+     */
+    public void guardarPosicionAnterior(){
+        xAnterior = x;
+        yAnterior = y;
+    }
+    
+    /**
+     * Posición X entre el tick anterior (alfa = 0) y el actual (alfa = 1)
+     */
+    public float getXInterpolada(float alfa){
+        return xAnterior + (x - xAnterior) * alfa;
+    }
+    
+    /**
+     * Posición Y entre el tick anterior (alfa = 0) y el actual (alfa = 1)
+     */
+    public float getYInterpolada(float alfa){
+        return yAnterior + (y - yAnterior) * alfa;
+    }
+
+    // ==================== INSTANTÁNEAS ====================
+
+    /**
+     * Escribe posición, velocidad y tamaño (24 bytes).
+     * Las entidades persistentes lo llaman antes de su propio estado.
+     */
+    public void escribirEstadoBase(ByteBuffer buf){
+        buf.putFloat(x).putFloat(y)
+           .putFloat(velX).putFloat(vely)
+           .putFloat(width).putFloat(height);
+    }
+
+    /**
+     * Lee lo escrito por escribirEstadoBase(); el tick anterior queda
+     * igual al actual para que el render no interpole el salto
+     */
+    public void leerEstadoBase(ByteBuffer buf){
+        x = buf.getFloat();
+        y = buf.getFloat();
+        velX = buf.getFloat();
+        vely = buf.getFloat();
+        width = buf.getFloat();
+        height = buf.getFloat();
+        xAnterior = x;
+        yAnterior = y;
     }
 
     public float getX() {
@@ -55,6 +185,10 @@ public abstract class JuegoObjetos {
         return id;
     }
 
+    public int getScale() {
+        return scale;
+    }
+
     public void setId(ObjetosID id) {
         this.id = id;
     }
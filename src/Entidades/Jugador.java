@@ -8,12 +8,14 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Point;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 /**
  * 
  * 
  */
-public class Jugador extends JuegoObjetos {
+public class Jugador extends JuegoObjetos implements Persistente {
     private static final float WIDTH = 16;
     private static final float HEIGHT = 16;
     
@@ -44,11 +46,20 @@ public class Jugador extends JuegoObjetos {
     private Animacion muerteAnimacion;
     private Animacion currAnimacion;
     
-    private BufferedImage[] spriteS;
-    private BufferedImage[] spriteMartillo;
-    private BufferedImage[] spriteMuerte;
+    private Sprite[] spriteS;
+    private Sprite[] spriteMartillo;
+    private Sprite[] spriteMuerte;
     private boolean adelante = true;
     
+    // Hitboxes de contacto reutilizadas (ver getLimites())
+    private final Rectangle limitesArriba = new Rectangle();
+    private final Rectangle limitesDerecha = new Rectangle();
+    private final Rectangle limitesIzquierda = new Rectangle();
+    
+    // Candidatos de la grilla para el chequeo de enemigos (reutilizada)
+    private final List<JuegoObjetos> candidatos = new ArrayList<>();
+    private static final ObjetosID[] ENEMIGOS = {ObjetosID.Barril, ObjetosID.Fuego, ObjetosID.DiegoKong};
+    
     // ==================== CONSTRUCTOR CON INYECCIÓN ====================
     
     /**
@@ -99,15 +110,15 @@ public class Jugador extends JuegoObjetos {
         spriteMartillo = textura.getMarioMartillo();
         spriteS = textura.getMarioS();
         
-        playerCaminaS = new Animacion(5, spriteS[1], spriteS[2], spriteS[3]);
-        playerSubeEscalera = new Animacion(5, spriteS[5], spriteS[6], spriteS[7], 
+        playerCaminaS = new Animacion(0.1f, spriteS[1], spriteS[2], spriteS[3]);
+        playerSubeEscalera = new Animacion(0.1f, spriteS[5], spriteS[6], spriteS[7], 
                                            spriteS[8], spriteS[9], spriteS[10], spriteS[11]);
-        playerBajaEscalera = new Animacion(5, spriteS[5], spriteS[6], spriteS[7], 
+        playerBajaEscalera = new Animacion(0.1f, spriteS[5], spriteS[6], spriteS[7], 
                                            spriteS[8], spriteS[9], spriteS[10], spriteS[11]);
-        playerCaminaMartillo = new Animacion(5, spriteMartillo[0], spriteMartillo[1],
+        playerCaminaMartillo = new Animacion(0.1f, spriteMartillo[0], spriteMartillo[1],
                                              spriteMartillo[2], spriteMartillo[3],
                                              spriteMartillo[4], spriteMartillo[5]);
-        muerteAnimacion = new Animacion(50, spriteMuerte[0], spriteMuerte[1],
+        muerteAnimacion = new Animacion(0.85f, spriteMuerte[0], spriteMuerte[1],
                                        spriteMuerte[2], spriteMuerte[3], spriteMuerte[4]);
         
         currAnimacion = playerCaminaS;
@@ -128,8 +139,12 @@ public class Jugador extends JuegoObjetos {
         estadoVida.tick();
         
         // Si está muerto o muriendo, no ejecutar lógica normal
-        if (estadoVida instanceof EstadoVidaJugador.Muerto || 
-            estadoVida instanceof EstadoVidaJugador.Muriendo) {
+        if (estadoVida instanceof EstadoVidaJugador.Muriendo) {
+            // La animación de muerte avanza con el tick, no con cada frame dibujado
+            muerteAnimacion.runAnimacion();
+            return;
+        }
+        if (estadoVida instanceof EstadoVidaJugador.Muerto) {
             return;
         }
         
@@ -194,15 +209,13 @@ public class Jugador extends JuegoObjetos {
                           (enemigo != null ? enemigo.getId() : "CAÍDA") + "!");
         
         //  EMITIR EVENTO (Notificar a observadores)
-        EventoJugadorDañado event = new EventoJugadorDañado(this, enemigo);
-        eventManager.firePlayerDamaged(event);
+        eventManager.publicar(eventManager.obtener(EventoJugadorDanado.TIPO).preparar(this, enemigo));
         
         //  Cambiar solo MI estado (SRP)
         cambiarEstadoVida(new EstadoVidaJugador.Muriendo(this));
         
         // Emitir evento de muerte
-        EventoMuerteJugador deathEvent = new EventoMuerteJugador(this, enemigo);
-        eventManager.firePlayerDeath(deathEvent);
+        eventManager.publicar(eventManager.obtener(EventoMuerteJugador.TIPO).preparar(this, enemigo));
     }
     
     /**
@@ -240,10 +253,8 @@ public class Jugador extends JuegoObjetos {
         adelante = true;
         
         // ✅ EMITIR EVENTO de respawn
-        EventoReaparicionJugador event = new EventoReaparicionJugador(
-            this, puntoSpawn.x, puntoSpawn.y
-        );
-        eventManager.firePlayerRespawn(event);
+        eventManager.publicar(eventManager.obtener(EventoReaparicionJugador.TIPO)
+            .preparar(this, puntoSpawn.x, puntoSpawn.y));
         
         System.out.println("[PLAYER] Respawn completado");
     }
@@ -255,10 +266,8 @@ public class Jugador extends JuegoObjetos {
         System.out.println("[PLAYER] Colectó: " + itemType + " (+" + puntos + " pts)");
         
         // ✅ EMITIR EVENTO (Los listeners manejarán puntos, sonido, etc.)
-        EventoJugadorRecogeObjeto event = new EventoJugadorRecogeObjeto(
-            this, itemType, puntos
-        );
-        eventManager.firePlayerCollectItem(event);
+        eventManager.publicar(eventManager.obtener(EventoJugadorRecogeObjeto.TIPO)
+            .preparar(this, itemType, puntos));
     }
     
     // ==================== VERIFICAR COLISIONES ENEMIGOS ====================
@@ -275,7 +284,11 @@ public class Jugador extends JuegoObjetos {
         }
         
         try {
-            for (JuegoObjetos obj : handler.getGameObjs()) {
+            Rectangle bounds = getLimites();
+            
+            handler.consultarArea(bounds, candidatos, ENEMIGOS);
+            for (int i = 0; i < candidatos.size(); i++) {
+                JuegoObjetos obj = candidatos.get(i);
                 if (obj == null) continue;
                 
                 ObjetosID id = obj.getId();
@@ -285,7 +298,7 @@ public class Jugador extends JuegoObjetos {
                                     id == ObjetosID.Fuego || 
                                     id == ObjetosID.DiegoKong);
                 
-                if (esEnemigo && getBounds().intersects(obj.getBounds())) {
+                if (esEnemigo && bounds.intersects(obj.getLimites())) {
                     recibirDanio(obj);
                     break;
                 }
@@ -349,7 +362,7 @@ public class Jugador extends JuegoObjetos {
         }
         
         // Renderizado normal
-        BufferedImage[] spritesActuales;
+        Sprite[] spritesActuales;
         Animacion animacionCaminar;
         int anchoRender, altoRender;
         int xRender, yRender;
@@ -384,17 +397,17 @@ public class Jugador extends JuegoObjetos {
             if (ladder.isSubiendoEscalera() || ladder.isBajandoEscalera()) {
                 currAnimacion.drawAnimacion(g, (int) getX(), (int) getY(), 
                                            (int) getWidth(), (int) getHeight());
-            } else {
-                g.drawImage(spriteS[5], (int) getX(), (int) getY(), 
-                           (int) getWidth(), (int) getHeight(), null);
+            } else if (spriteS[5] != null) {
+                spriteS[5].dibujar(g, (int) getX(), (int) getY(), 
+                           (int) getWidth(), (int) getHeight());
             }
         } else if (physics.hasSalto()) {
-            BufferedImage spriteJump = spritesActuales[3];
-            if (adelante) {
-                g.drawImage(spriteJump, xRender, yRender, anchoRender, altoRender, null);
-            } else {
-                g.drawImage(spriteJump, xRender + anchoRender, yRender, 
-                           -anchoRender, altoRender, null);
+            Sprite spriteJump = spritesActuales[3];
+            if (spriteJump != null && adelante) {
+                spriteJump.dibujar(g, xRender, yRender, anchoRender, altoRender);
+            } else if (spriteJump != null) {
+                spriteJump.dibujar(g, xRender + anchoRender, yRender, 
+                           -anchoRender, altoRender);
             }
         } else if (getVelX() > 0) {
             animacionCaminar.drawAnimacion(g, xRender, yRender, anchoRender, altoRender);
@@ -404,12 +417,12 @@ public class Jugador extends JuegoObjetos {
                                            -anchoRender, altoRender);
             adelante = false;
         } else {
-            BufferedImage spriteReposo = spritesActuales[0];
-            if (adelante) {
-                g.drawImage(spriteReposo, xRender, yRender, anchoRender, altoRender, null);
-            } else {
-                g.drawImage(spriteReposo, xRender + anchoRender, yRender, 
-                           -anchoRender, altoRender, null);
+            Sprite spriteReposo = spritesActuales[0];
+            if (spriteReposo != null && adelante) {
+                spriteReposo.dibujar(g, xRender, yRender, anchoRender, altoRender);
+            } else if (spriteReposo != null) {
+                spriteReposo.dibujar(g, xRender + anchoRender, yRender, 
+                           -anchoRender, altoRender);
             }
         }
         
@@ -427,8 +440,6 @@ public class Jugador extends JuegoObjetos {
     }
     
     private void renderAnimacionMuerte(Graphics g) {
-        muerteAnimacion.runAnimacion();
-        
         if (adelante) {
             muerteAnimacion.drawAnimacion(g, 
                 (int)getX(), (int)getY(), 
@@ -460,8 +471,7 @@ public class Jugador extends JuegoObjetos {
             tieneMartillo = true;
             
             // ✅ EMITIR EVENTO
-            EventoJugadorPoder event = new EventoJugadorPoder(this, "MARTILLO");
-            eventManager.firePlayerPowerUp(event);
+            eventManager.publicar(eventManager.obtener(EventoJugadorPoder.TIPO).preparar(this, "MARTILLO"));
             
             System.out.println("[PLAYER] ¡Martillo activado!");
         }
@@ -469,12 +479,11 @@ public class Jugador extends JuegoObjetos {
 
     public void activarMartillo(int duracionSegundos) {
         if (poderMartillo != null) {
-            poderMartillo.activar(duracionSegundos * 60);
+            poderMartillo.activar(Tiempo.ticks(duracionSegundos));
             tieneMartillo = true;
             
             // ✅ EMITIR EVENTO
-            EventoJugadorPoder event = new EventoJugadorPoder(this, "MARTILLO");
-            eventManager.firePlayerPowerUp(event);
+            eventManager.publicar(eventManager.obtener(EventoJugadorPoder.TIPO).preparar(this, "MARTILLO"));
         }
     }
     
@@ -541,8 +550,8 @@ public class Jugador extends JuegoObjetos {
     // ==================== HITBOXES ====================
     
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle(
+    public void calcularLimites(Rectangle destino) {
+        destino.setBounds(
             (int)(getX() + getWidth() / 4),
             (int)(getY() + getHeight() / 2),
             (int) getWidth() / 2,
@@ -550,31 +559,34 @@ public class Jugador extends JuegoObjetos {
         );
     }
     
-    public Rectangle getBoundsTop() {
-        return new Rectangle(
+    public Rectangle getLimitesArriba() {
+        limitesArriba.setBounds(
             (int) (getX() + getWidth() / 4),
             (int) getY(),
             (int) getWidth() / 2,
             (int) getHeight() / 2
         );
+        return limitesArriba;
     }
     
-    public Rectangle getBoundsRight() {
-        return new Rectangle(
+    public Rectangle getLimitesDerecha() {
+        limitesDerecha.setBounds(
             (int) (getX() + getWidth() - 5),
             (int) getY() + 5,
             5,
             (int) getHeight() - 10
         );
+        return limitesDerecha;
     }
     
-    public Rectangle getBoundsLeft() {
-        return new Rectangle(
+    public Rectangle getLimitesIzquierda() {
+        limitesIzquierda.setBounds(
             (int) getX(),
             (int) (getY() + 5),
             5,
             (int) (getHeight() - 10)
         );
+        return limitesIzquierda;
     }
     
     // ==================== ESTADO DE VIDA ====================
@@ -604,6 +616,64 @@ public class Jugador extends JuegoObjetos {
         return estadoVida instanceof EstadoVidaJugador.Muerto;
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirEstadoBase(buf);
+        buf.put((byte) ((adelante ? 1 : 0) | (invulnerable ? 2 : 0)
+                      | (tieneMartillo ? 4 : 0) | (physics.hasSalto() ? 8 : 0)));
+        buf.putInt(puntoSpawn.x).putInt(puntoSpawn.y);
+        
+        buf.put((byte) estadoVida.getCodigo());
+        estadoVida.escribirEstado(buf);
+        
+        ladder.escribirEstado(buf);
+        poderMartillo.escribirEstado(buf);
+        
+        Animacion[] animaciones = getAnimaciones();
+        byte actual = 0;
+        for (int i = 0; i < animaciones.length; i++) {
+            animaciones[i].escribirEstado(buf);
+            if (animaciones[i] == currAnimacion) {
+                actual = (byte) i;
+            }
+        }
+        buf.put(actual);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerEstadoBase(buf);
+        byte banderas = buf.get();
+        adelante = (banderas & 1) != 0;
+        invulnerable = (banderas & 2) != 0;
+        tieneMartillo = (banderas & 4) != 0;
+        physics.setSalto((banderas & 8) != 0);
+        puntoSpawn = new Point(buf.getInt(), buf.getInt());
+        
+        // Se reemplaza el estado sin entrar()/salir(): sus efectos ya
+        // están en los valores guardados
+        estadoVida = EstadoVidaJugador.crear(buf.get(), this);
+        estadoVida.leerEstado(buf);
+        
+        ladder.leerEstado(buf);
+        poderMartillo.leerEstado(buf);
+        
+        Animacion[] animaciones = getAnimaciones();
+        for (Animacion animacion : animaciones) {
+            animacion.leerEstado(buf);
+        }
+        currAnimacion = animaciones[buf.get()];
+    }
+    
+    private Animacion[] getAnimaciones() {
+        return new Animacion[] {
+            playerCaminaS, playerSubeEscalera, playerBajaEscalera,
+            playerCaminaMartillo, muerteAnimacion
+        };
+    }
+    
     // ==================== GETTERS/SETTERS ====================
     
     public void setPuntoSpawn(int x, int y) {
@@ -5,23 +5,26 @@ import Entidades.Jugador;
 import SistemaGFX.Animacion;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Tiempo;
 import mariotest.Juego;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
+import java.nio.ByteBuffer;
 
 /**
  * 
  */
-public class DiegoKong extends JuegoObjetos {
+public class DiegoKong extends JuegoObjetos implements Persistente {
     
     private static final float WIDTH = 48;
     private static final float HEIGHT = 32;
     private static final float HEIGHT_AGARRA_PRINCESA = 40; // 48x40
     
     private Handler handler;
-    private BufferedImage[] dkSprites;
+    private Sprite[] dkSprites;
     
     // Animaciones
     private Animacion dkReposo;
@@ -38,16 +41,22 @@ public class DiegoKong extends JuegoObjetos {
     
     // Control de lanzamiento
     private int ticksDesdeUltimoLanzamiento = 0;
-    private int ticksEntrelanzamientos = 180;
+    private int ticksEntrelanzamientos = Tiempo.ticks(3f);
     private boolean preparandoLanzamiento = false;
     private int ticksAnimacionLanzar = 0;
-    private static final int DURACION_ANIMACION_LANZAR = 30;
+    private static final int DURACION_ANIMACION_LANZAR = Tiempo.ticks(0.5f);
+    private static final int DURACION_AGARRAR = Tiempo.ticks(0.25f);
+    private static final int DURACION_GOLPE_PECHO = Tiempo.ticks(0.667f);
+    private static final int DURACION_ENOJO = Tiempo.ticks(1f);
     
     private float offsetBarrilX = 20f;
     private float offsetBarrilY = 10f;
     
-    private static final int TICKS_MIN_LANZAMIENTO = 120;
-    private static final int TICKS_MAX_LANZAMIENTO = 240;
+    private static final int TICKS_MIN_LANZAMIENTO = Tiempo.ticks(2f);
+    private static final int TICKS_MAX_LANZAMIENTO = Tiempo.ticks(4f);
+    
+    // Probabilidad de enojarse en cada tick con el jugador cerca (10% a 60 Hz)
+    private static final double PROBABILIDAD_ENOJO = Tiempo.probabilidadPorTick(0.1);
     
     public enum EstadoDK {
         REPOSO,
@@ -94,15 +103,15 @@ public class DiegoKong extends JuegoObjetos {
         }
         
         // Fila 1 (Índices 0-3): Animaciones normales
-        dkReposo = new Animacion(15, dkSprites[0], dkSprites[1]);
-        dkGolpeaPecho = new Animacion(8, dkSprites[2], dkSprites[3], dkSprites[2]);
+        dkReposo = new Animacion(0.267f, dkSprites[0], dkSprites[1]);
+        dkGolpeaPecho = new Animacion(0.15f, dkSprites[2], dkSprites[3], dkSprites[2]);
         
         // Fila 2 (Índices 4-7): Agarrar barril y lanzar
-        dkAgarra = new Animacion(8, dkSprites[5], dkSprites[5]);
-        dkLanza = new Animacion(6, dkSprites[4], dkSprites[4], dkSprites[6], dkSprites[6]);
+        dkAgarra = new Animacion(0.15f, dkSprites[5], dkSprites[5]);
+        dkLanza = new Animacion(0.117f, dkSprites[4], dkSprites[4], dkSprites[6], dkSprites[6]);
         
         // ANIMACIÓN DE AGARRAR PRINCESA (6 frames, 48x40)
-        BufferedImage[] spritesAgarrar = Juego.getTextura().getDKAgarraSprites();
+        Sprite[] spritesAgarrar = Juego.getTextura().getDKAgarraSprites();
         
         if (spritesAgarrar != null && spritesAgarrar.length == 6) {
             // Verificar que todos los frames son válidos
@@ -115,15 +124,15 @@ public class DiegoKong extends JuegoObjetos {
                 }
                 
                 // Verificar dimensiones
-                if (spritesAgarrar[i].getWidth() != 48 || spritesAgarrar[i].getHeight() != 40) {
+                if (spritesAgarrar[i].getAncho() != 48 || spritesAgarrar[i].getAlto() != 40) {
                     System.err.println("[DK] ️ Frame " + i + " dimensiones incorrectas: " +
-                        spritesAgarrar[i].getWidth() + "x" + spritesAgarrar[i].getHeight());
+                        spritesAgarrar[i].getAncho() + "x" + spritesAgarrar[i].getAlto());
                 }
             }
             
             if (todosValidos) {
                 //  ANIMACIÓN CON 6 FRAMES 
-                dkAgarraPrincesa = new Animacion(8,
+                dkAgarraPrincesa = new Animacion(0.15f,
                     spritesAgarrar[0],
                     spritesAgarrar[1],
                     spritesAgarrar[2],
@@ -191,7 +200,7 @@ public class DiegoKong extends JuegoObjetos {
         animacionActual = dkAgarra;
         ticksAnimacionLanzar++;
         
-        if (ticksAnimacionLanzar >= 15) {
+        if (ticksAnimacionLanzar >= DURACION_AGARRAR) {
             estado = EstadoDK.LANZANDO;
             ticksAnimacionLanzar = 0;
         }
@@ -205,14 +214,14 @@ public class DiegoKong extends JuegoObjetos {
             ticksAnimacionLanzar = 0;
             ticksDesdeUltimoLanzamiento = 0;
             
-            if (Math.random() < 0.3) {
+            if (handler.getAleatorio().getIA().nextDouble() < 0.3) {
                 estado = EstadoDK.GOLPEANDO_PECHO;
             } else {
                 estado = EstadoDK.REPOSO;
             }
             
             ticksEntrelanzamientos = TICKS_MIN_LANZAMIENTO + 
-                (int)(Math.random() * (TICKS_MAX_LANZAMIENTO - TICKS_MIN_LANZAMIENTO));
+                handler.getAleatorio().getIA().nextInt(TICKS_MAX_LANZAMIENTO - TICKS_MIN_LANZAMIENTO);
         }
     }
     
@@ -220,7 +229,7 @@ public class DiegoKong extends JuegoObjetos {
         animacionActual = dkGolpeaPecho;
         ticksAnimacionLanzar++;
         
-        if (ticksAnimacionLanzar >= 40) {
+        if (ticksAnimacionLanzar >= DURACION_GOLPE_PECHO) {
             estado = EstadoDK.REPOSO;
             ticksAnimacionLanzar = 0;
         }
@@ -230,7 +239,7 @@ public class DiegoKong extends JuegoObjetos {
         animacionActual = dkGolpeaPecho;
         ticksAnimacionLanzar++;
         
-        if (ticksAnimacionLanzar >= 60) {
+        if (ticksAnimacionLanzar >= DURACION_ENOJO) {
             iniciarLanzamiento();
             ticksAnimacionLanzar = 0;
         }
@@ -249,8 +258,8 @@ public class DiegoKong extends JuegoObjetos {
         animacionActual = dkAgarraPrincesa;
         ticksAnimacionLanzar++;
         
-        // Debug cada 60 ticks
-        if (ticksAnimacionLanzar % 60 == 0) {
+        // Debug cada segundo
+        if (ticksAnimacionLanzar % Tiempo.TPS == 0) {
             System.out.println("[DK] Agarrando princesa... tick: " + ticksAnimacionLanzar +
                 " | Animación: " + (animacionActual != null ? "OK" : "NULL"));
         }
@@ -270,7 +279,7 @@ public class DiegoKong extends JuegoObjetos {
         float distanciaY = Math.abs(player.getY() - getY());
         
         if (distanciaX < 200 && distanciaY < 100 && estado == EstadoDK.REPOSO) {
-            if (Math.random() < 0.1) {
+            if (handler.getAleatorio().getIA().nextDouble() < PROBABILIDAD_ENOJO) {
                 estado = EstadoDK.ENOJADO;
                 ticksAnimacionLanzar = 0;
             }
@@ -355,20 +364,21 @@ public class DiegoKong extends JuegoObjetos {
      *  Hitbox ajustado para altura de 40px
      */
     @Override
-    public Rectangle getBounds() {
+    public void calcularLimites(Rectangle destino) {
         if (estado == EstadoDK.AGARRANDO_PRINCESA) {
             float boundsHeight = HEIGHT_AGARRA_PRINCESA;
             float boundsY = getY() - (HEIGHT_AGARRA_PRINCESA - HEIGHT);
             
-            return new Rectangle(
+            destino.setBounds(
                 (int) getX(),
                 (int) boundsY,
                 (int) WIDTH,
                 (int) boundsHeight
             );
+            return;
         }
         
-        return new Rectangle(
+        destino.setBounds(
             (int) getX(),
             (int) getY(),
             (int) getWidth(),
@@ -382,10 +392,12 @@ public class DiegoKong extends JuegoObjetos {
         }
     }
     
-    public void setVelocidadLanzamiento(int ticksMin, int ticksMax) {
+    public void setVelocidadLanzamiento(float segundosMin, float segundosMax) {
+        int ticksMin = Tiempo.ticks(segundosMin);
+        int ticksMax = Tiempo.ticks(segundosMax);
         if (ticksMin > 0 && ticksMax > ticksMin) {
             ticksEntrelanzamientos = ticksMin + 
-                (int)(Math.random() * (ticksMax - ticksMin));
+                handler.getAleatorio().getIA().nextInt(ticksMax - ticksMin);
         }
     }
     
@@ -396,6 +408,52 @@ public class DiegoKong extends JuegoObjetos {
         }
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirEstadoBase(buf);
+        buf.put((byte) estado.ordinal());
+        buf.put((byte) ((mirandoDerecha ? 1 : 0) | (preparandoLanzamiento ? 2 : 0)));
+        buf.putInt(ticksDesdeUltimoLanzamiento).putInt(ticksEntrelanzamientos);
+        buf.putInt(ticksAnimacionLanzar);
+        
+        Animacion[] animaciones = getAnimaciones();
+        byte actual = -1;
+        for (int i = 0; i < animaciones.length; i++) {
+            if (animaciones[i] != null) {
+                animaciones[i].escribirEstado(buf);
+                if (animaciones[i] == animacionActual) actual = (byte) i;
+            }
+        }
+        buf.put(actual);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerEstadoBase(buf);
+        estado = EstadoDK.values()[buf.get()];
+        byte banderas = buf.get();
+        mirandoDerecha = (banderas & 1) != 0;
+        preparandoLanzamiento = (banderas & 2) != 0;
+        ticksDesdeUltimoLanzamiento = buf.getInt();
+        ticksEntrelanzamientos = buf.getInt();
+        ticksAnimacionLanzar = buf.getInt();
+        
+        Animacion[] animaciones = getAnimaciones();
+        for (Animacion animacion : animaciones) {
+            if (animacion != null) animacion.leerEstado(buf);
+        }
+        byte actual = buf.get();
+        animacionActual = actual >= 0 ? animaciones[actual] : null;
+    }
+    
+    private Animacion[] getAnimaciones() {
+        return new Animacion[] {
+            dkReposo, dkAgarra, dkLanza, dkGolpeaPecho, dkAgarraPrincesa
+        };
+    }
+    
     public EstadoDK getEstado() { return estado; }
     public boolean isMirandoDerecha() { return mirandoDerecha; }
     public void setMirandoDerecha(boolean mirandoDerecha) { this.mirandoDerecha = mirandoDerecha; }
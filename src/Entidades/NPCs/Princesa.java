@@ -5,23 +5,28 @@ import Entidades.Jugador;
 import SistemaGFX.Animacion;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import mariotest.Juego;
 
 /**
  * Clase Princesa con animación de movimiento hacia DK
  * * @author LENOVO
  */
-public class Princesa extends JuegoObjetos {
+public class Princesa extends JuegoObjetos implements Persistente {
     
     private static final float WIDTH = 16;
     private static final float HEIGHT = 32;
     
     private Handler handler;
-    private BufferedImage[] princesaSprites;
+    private Sprite[] princesaSprites;
     
     private Animacion princesaEspera;
     private Animacion princesaPideAyuda;
@@ -31,15 +36,23 @@ public class Princesa extends JuegoObjetos {
     private boolean mirandoDerecha = true;
     
     private int ticksDesdeUltimaAnimacion = 0;
-    private int ticksEntreAnimaciones = 160;
-    private static final int DURACION_PEDIR_AYUDA = 60;
+    private int ticksEntreAnimaciones = Tiempo.ticks(2.667f);
+    private static final int DURACION_PEDIR_AYUDA = Tiempo.ticks(1f);
+    private static final int ESPERA_MIN = Tiempo.ticks(1f);
+    private static final int ESPERA_VARIACION = Tiempo.ticks(3f);
+    private static final int DURACION_EN_PELIGRO = Tiempo.ticks(2f);
     
     private boolean rescatada = false;
     
     // Sistema de movimiento
     private boolean moviendose = false;
     private float destinoX, destinoY;
-    private static final float VELOCIDAD_MOVIMIENTO = 1.5f;
+    private static final float VELOCIDAD_MOVIMIENTO = Tiempo.velocidad(90f);
+    
+    // Reutilizados en cada tick por la búsqueda de DK
+    private final Rectangle areaDeteccionDK = new Rectangle();
+    private final List<JuegoObjetos> candidatos = new ArrayList<>();
+    private static final ObjetosID[] DIEGO_KONG = {ObjetosID.DiegoKong};
     
     public enum EstadoPrincesa {
         ESPERANDO,
@@ -75,8 +88,8 @@ public class Princesa extends JuegoObjetos {
             return;
         }
         
-        princesaEspera = new Animacion(15, princesaSprites[0], princesaSprites[1]);
-        princesaPideAyuda = new Animacion(8, princesaSprites[2], princesaSprites[3]);
+        princesaEspera = new Animacion(0.267f, princesaSprites[0], princesaSprites[1]);
+        princesaPideAyuda = new Animacion(0.15f, princesaSprites[2], princesaSprites[3]);
         
         animacionActual = princesaEspera;
         
@@ -138,7 +151,7 @@ public class Princesa extends JuegoObjetos {
             estado = EstadoPrincesa.ESPERANDO;
             ticksDesdeUltimaAnimacion = 0;
             
-            ticksEntreAnimaciones = 60 + (int)(Math.random() * 180);
+            ticksEntreAnimaciones = ESPERA_MIN + handler.getAleatorio().getCosmetico().nextInt(ESPERA_VARIACION);
         }
     }
     
@@ -150,7 +163,7 @@ public class Princesa extends JuegoObjetos {
         animacionActual = princesaPideAyuda;
         ticksDesdeUltimaAnimacion++;
         
-        if (ticksDesdeUltimaAnimacion >= 120 && !diegoKongCerca()) {
+        if (ticksDesdeUltimaAnimacion >= DURACION_EN_PELIGRO && !diegoKongCerca()) {
             estado = EstadoPrincesa.ESPERANDO;
             ticksDesdeUltimaAnimacion = 0;
         }
@@ -229,7 +242,9 @@ public class Princesa extends JuegoObjetos {
         
         boolean dkCerca = false;
         
-        for (JuegoObjetos obj : handler.getGameObjs()) {
+        handler.consultarArea(getAreaDeteccionDK(), candidatos, DIEGO_KONG);
+        for (int i = 0; i < candidatos.size(); i++) {
+            JuegoObjetos obj = candidatos.get(i);
             if (obj.getId() == ObjetosID.DiegoKong) {
                 float distanciaX = Math.abs(obj.getX() - getX());
                 float distanciaY = Math.abs(obj.getY() - getY());
@@ -248,7 +263,9 @@ public class Princesa extends JuegoObjetos {
     }
     
     private boolean diegoKongCerca() {
-        for (JuegoObjetos obj : handler.getGameObjs()) {
+        handler.consultarArea(getAreaDeteccionDK(), candidatos, DIEGO_KONG);
+        for (int i = 0; i < candidatos.size(); i++) {
+            JuegoObjetos obj = candidatos.get(i);
             if (obj.getId() == ObjetosID.DiegoKong) {
                 float distanciaX = Math.abs(obj.getX() - getX());
                 float distanciaY = Math.abs(obj.getY() - getY());
@@ -261,6 +278,14 @@ public class Princesa extends JuegoObjetos {
         return false;
     }
     
+    /**
+     * Área de búsqueda de DK (±150px alrededor de la princesa)
+     */
+    private Rectangle getAreaDeteccionDK() {
+        areaDeteccionDK.setBounds((int) getX() - 150, (int) getY() - 150, 300, 300);
+        return areaDeteccionDK;
+    }
+    
     public void rescatar() {
         if (!rescatada) {
             rescatada = true;
@@ -311,8 +336,8 @@ public class Princesa extends JuegoObjetos {
     }
 
     @Override
-    public Rectangle getBounds() {
-        return new Rectangle(
+    public void calcularLimites(Rectangle destino) {
+        destino.setBounds(
             (int) getX(),
             (int) getY(),
             (int) getWidth(),
@@ -320,6 +345,47 @@ public class Princesa extends JuegoObjetos {
         );
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirEstadoBase(buf);
+        buf.put((byte) estado.ordinal());
+        buf.put((byte) ((mirandoDerecha ? 1 : 0) | (rescatada ? 2 : 0) | (moviendose ? 4 : 0)));
+        buf.putInt(ticksDesdeUltimaAnimacion).putInt(ticksEntreAnimaciones);
+        buf.putFloat(destinoX).putFloat(destinoY);
+        
+        byte actual = -1;
+        if (princesaEspera != null) {
+            princesaEspera.escribirEstado(buf);
+            if (animacionActual == princesaEspera) actual = 0;
+        }
+        if (princesaPideAyuda != null) {
+            princesaPideAyuda.escribirEstado(buf);
+            if (animacionActual == princesaPideAyuda) actual = 1;
+        }
+        buf.put(actual);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerEstadoBase(buf);
+        estado = EstadoPrincesa.values()[buf.get()];
+        byte banderas = buf.get();
+        mirandoDerecha = (banderas & 1) != 0;
+        rescatada = (banderas & 2) != 0;
+        moviendose = (banderas & 4) != 0;
+        ticksDesdeUltimaAnimacion = buf.getInt();
+        ticksEntreAnimaciones = buf.getInt();
+        destinoX = buf.getFloat();
+        destinoY = buf.getFloat();
+        
+        if (princesaEspera != null) princesaEspera.leerEstado(buf);
+        if (princesaPideAyuda != null) princesaPideAyuda.leerEstado(buf);
+        byte actual = buf.get();
+        animacionActual = actual == 0 ? princesaEspera : actual == 1 ? princesaPideAyuda : null;
+    }
+    
     public EstadoPrincesa getEstado() {
         return estado;
     }
@@ -0,0 +1,16 @@
+package Entidades;
+
+/**
+ * Oyente de un tipo de evento del AdministradorEventos
+ * Patrón: Observer
+ *
+ * El evento es del pool del bus: vale solo durante la llamada.
+ * Si hace falta algún dato después, hay que copiarlo.
+ *
+ * @author LENOVO
+ */
+@FunctionalInterface
+public interface OyenteEvento<E extends EventoJuego> {
+
+    void alRecibir(E evento);
+}
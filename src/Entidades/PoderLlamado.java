@@ -11,7 +11,7 @@ package Entidades;
  */
 public class PoderLlamado extends AdaptadorEventosJugador{
     @Override
-    public void onJugadordanado(EventoJugadorDañado event) {
+    public void onJugadordanado(EventoJugadorDanado event) {
         Jugador player = event.getSource();
         
         if (player.tieneMartillo()) {
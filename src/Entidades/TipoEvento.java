@@ -0,0 +1,69 @@
+package Entidades;
+
+import SistemaDeSoporte.PoolObjetos;
+import java.util.function.Supplier;
+
+/**
+ * Clave de un tipo de evento en el AdministradorEventos
+ *
+ * Cada clase de evento declara una constante TIPO:
+ *   public static final TipoEvento<EventoPuntos> TIPO =
+ *       new TipoEvento<>(EventoPuntos.class, EventoPuntos::new, Despacho.DIFERIDO);
+ *
+ * - El índice es denso (0, 1, 2...): el bus busca el canal en un arreglo,
+ *   sin hash por publicación
+ * - Las instancias salen de un PoolObjetos propio del tipo y vuelven
+ *   a él después de despacharse
+ * - El modo de despacho es el de arranque; el bus lo puede cambiar
+ *
+ * @author LENOVO
+ */
+public final class TipoEvento<E extends EventoJuego> {
+
+    /**
+     * Cuándo reciben los oyentes el evento
+     */
+    public enum Despacho {
+        /** Dentro de publicar(), antes de que vuelva el emisor */
+        INMEDIATO,
+        /** En la tanda de despacharPendientes(), después del Handler.tick */
+        DIFERIDO
+    }
+
+    private static final int CAPACIDAD_POOL = 64;
+    private static int siguienteIndice;
+
+    private final int indice;
+    private final Class<E> clase;
+    private final Despacho despacho;
+    private final PoolObjetos<E> pool;
+
+    public TipoEvento(Class<E> clase, Supplier<E> fabrica, Despacho despacho) {
+        synchronized (TipoEvento.class) {
+            this.indice = siguienteIndice++;
+        }
+        this.clase = clase;
+        this.despacho = despacho;
+        this.pool = new PoolObjetos<>(clase.getSimpleName(), CAPACIDAD_POOL, fabrica);
+    }
+
+    int getIndice() {
+        return indice;
+    }
+
+    PoolObjetos<E> getPool() {
+        return pool;
+    }
+
+    public Class<E> getClase() {
+        return clase;
+    }
+
+    public Despacho getDespacho() {
+        return despacho;
+    }
+
+    public String getNombre() {
+        return clase.getSimpleName();
+    }
+}
@@ -0,0 +1,228 @@
+package SistemaDeNiveles;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import mariotest.Configuracion;
+
+/**
+ * Cache en disco de niveles compilados (NivelCompilado), por contenido
+ *
+ * CLAVE:
+ * - El archivo se llama como el SHA-256 del TMX: si el mapa cambia,
+ *   la entrada vieja simplemente deja de usarse
+ * - Adentro se guarda el hash de cada TSX del que dependía; si alguno
+ *   cambió (o apareció/desapareció) la entrada no vale y se recompila
+ *
+ * LECTURA:
+ * - El archivo se mapea en memoria (MappedByteBuffer) y se lee directo,
+ *   sin parser de XML
+ * - Un archivo corrupto o de otra versión cuenta como ausente
+ *
+ * ESCRITURA:
+ * - A un temporal y después un move atómico: un cierre a mitad de
+ *   camino nunca deja una entrada a medias
+ * - Si el directorio no se puede escribir el juego sigue sin cache
+ *
+ * FORMATO (big endian):
+ *   int   "DKNV"
+ *   int   versión
+ *   32 B  SHA-256 del TMX
+ *   short cantidad de dependencias
+ *   por dependencia, en el orden del nivel: 32 B SHA-256 (ceros = no existía)
+ *   NivelCompilado
+ *
+ * @author LENOVO
+ */
+public final class CacheNiveles {
+
+    private static final int MAGIA = 0x444B4E56;  // "DKNV"
+    // Subir si cambia el formato o lo que el parser produce del mismo TMX
+    private static final int VERSION = 1;
+    private static final int TAMANO_HASH = 32;
+    private static final String EXTENSION = ".dkn";
+
+    private final Path directorio;
+
+    public CacheNiveles(Path directorio) {
+        this.directorio = directorio;
+    }
+
+    /**
+     * Cache en Configuracion.DIRECTORIO_CACHE_NIVELES (null = desactivada)
+     */
+    public static CacheNiveles predeterminada() {
+        String ruta = Configuracion.DIRECTORIO_CACHE_NIVELES;
+        return ruta.isEmpty() ? null : new CacheNiveles(Paths.get(ruta));
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Busca el nivel compilado de un TMX
+     *
+     * @param tmx Contenido del TMX
+     * @return El nivel, o null si no está en cache o ya no vale
+     */
+    NivelCompilado leer(byte[] tmx) {
+        byte[] hashTMX = hash(tmx);
+        Path archivo = archivoPara(hashTMX);
+        if (!Files.isRegularFile(archivo)) {
+            return null;
+        }
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+            if (buf.getInt() != MAGIA || buf.getInt() != VERSION
+                    || !Arrays.equals(leerHash(buf), hashTMX)) {
+                return null;
+            }
+
+            // Los hashes de los TSX van antes que el nivel (que trae sus rutas)
+            byte[][] hashesTSX = new byte[buf.getShort() & 0xFFFF][];
+            for (int i = 0; i < hashesTSX.length; i++) {
+                hashesTSX[i] = leerHash(buf);
+            }
+            NivelCompilado nivel = NivelCompilado.leer(buf);
+            if (nivel.getDependencias().size() != hashesTSX.length) {
+                throw new IllegalArgumentException("Dependencias incoherentes");
+            }
+
+            for (int i = 0; i < hashesTSX.length; i++) {
+                String dependencia = nivel.getDependencias().get(i);
+                if (!Arrays.equals(hashesTSX[i], hashRecurso(dependencia))) {
+                    System.out.println("[CACHE] Cambió " + dependencia + ": se recompila");
+                    return null;
+                }
+            }
+            return nivel;
+
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.err.println("[CACHE] Entrada ilegible " + archivo.getFileName() + ": " + e);
+            return null;
+        }
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Guarda el nivel compilado de un TMX (los errores solo se informan)
+     */
+    void guardar(byte[] tmx, NivelCompilado nivel) {
+        byte[] hashTMX = hash(tmx);
+        Path archivo = archivoPara(hashTMX);
+
+        int cantidadHashes = nivel.getDependencias().size();
+        ByteBuffer buf = ByteBuffer.allocate(
+            8 + TAMANO_HASH + 2 + TAMANO_HASH * cantidadHashes + nivel.calcularTamano());
+        buf.putInt(MAGIA).putInt(VERSION).put(hashTMX);
+        buf.putShort((short) cantidadHashes);
+        for (String dependencia : nivel.getDependencias()) {
+            buf.put(hashRecurso(dependencia));
+        }
+        nivel.escribir(buf);
+        buf.flip();
+
+        try {
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, "nivel", ".tmp");
+            try {
+                try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE)) {
+                    while (buf.hasRemaining()) {
+                        canal.write(buf);
+                    }
+                }
+                mover(temporal, archivo);
+            } finally {
+                Files.deleteIfExists(temporal);
+            }
+            System.out.println("[CACHE] Nivel compilado en " + archivo + " (" + buf.limit() + " bytes)");
+        } catch (IOException e) {
+            System.err.println("[CACHE] No se pudo guardar el nivel compilado: " + e.getMessage());
+        }
+    }
+
+    private static void mover(Path origen, Path destino) throws IOException {
+        try {
+            Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE,
+                       StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // ==================== PASO OFFLINE ====================
+
+    /**
+     * Compila un TMX y lo deja en cache sin crear ningún objeto del juego
+     *
+     * @return true si quedó guardado
+     */
+    public boolean precompilar(String rutaTMX) {
+        byte[] tmx = TiledTMXParser.leerRecurso(rutaTMX);
+        if (tmx == null) {
+            System.err.println("[CACHE] No se encontró " + rutaTMX);
+            return false;
+        }
+        if (leer(tmx) != null) {
+            System.out.println("[CACHE] " + rutaTMX + " ya estaba compilado");
+            return true;
+        }
+        try {
+            guardar(tmx, new TiledTMXParser(null, null).compilar(tmx));
+            return Files.isRegularFile(archivoPara(hash(tmx)));
+        } catch (Exception e) {
+            System.err.println("[CACHE] No se pudo compilar " + rutaTMX + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ==================== HASH ====================
+
+    private Path archivoPara(byte[] hashTMX) {
+        StringBuilder nombre = new StringBuilder(TAMANO_HASH * 2 + EXTENSION.length());
+        for (byte b : hashTMX) {
+            nombre.append(Character.forDigit((b >> 4) & 0xF, 16))
+                  .append(Character.forDigit(b & 0xF, 16));
+        }
+        return directorio.resolve(nombre.append(EXTENSION).toString());
+    }
+
+    private static byte[] leerHash(ByteBuffer buf) {
+        byte[] hash = new byte[TAMANO_HASH];
+        buf.get(hash);
+        return hash;
+    }
+
+    /**
+     * SHA-256 de un recurso del classpath (ceros si no existe)
+     */
+    private static byte[] hashRecurso(String ruta) {
+        byte[] contenido = TiledTMXParser.leerRecurso(ruta);
+        return contenido != null ? hash(contenido) : new byte[TAMANO_HASH];
+    }
+
+    private static byte[] hash(byte[] contenido) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(contenido);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+}
@@ -179,9 +179,9 @@ public abstract class ConfiguracionNivel {
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.VERTICAL,   // Tipo
-                1.5f,                                      // Velocidad
+                90f,                                       // Velocidad (px/s)
                 190, 670,                                  // Límites
-                900, 120                                   // Duraciones
+                15f, 2f                                    // Duraciones (s)
             ));
             
             // Plataforma vertical 2
@@ -190,9 +190,9 @@ public abstract class ConfiguracionNivel {
                 8, 8,
                 3, 1,
                 PlataformaMovil.TipoMovimiento.VERTICAL,
-                -1.5f,
+                -90f,
                 190, 670,
-                980, 120
+                16.333f, 2f
             ));
             
             return plataformas;
@@ -319,9 +319,9 @@ public abstract class ConfiguracionNivel {
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.HORIZONTAL,   // Tipo
-                1.5f,                                      // Velocidad
+                90f,                                       // Velocidad (px/s)
                 80, 800,                                  // Límites
-                1900, 120                                   // Duraciones
+                31.667f, 2f                                 // Duraciones (s)
             ));
             
             plataformas2.add(new PlataformaConfig(
@@ -329,9 +329,9 @@ public abstract class ConfiguracionNivel {
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.HORIZONTAL,   // Tipo
-                1.5f,                                      // Velocidad
+                90f,                                       // Velocidad (px/s)
                 80, 800,                                  // Límites
-                1900, 120                                   // Duraciones
+                31.667f, 2f                                 // Duraciones (s)
             ));
             
             plataformas2.add(new PlataformaConfig(
@@ -339,18 +339,18 @@ public abstract class ConfiguracionNivel {
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.HORIZONTAL,   // Tipo
-                1.5f,                                      // Velocidad
+                90f,                                       // Velocidad (px/s)
                 80, 800,                                  // Límites
-                1900, 120                                   // Duraciones
+                31.667f, 2f                                 // Duraciones (s)
             ));
             plataformas2.add(new PlataformaConfig(
                 178, 150,                                    // Posición inicial
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.HORIZONTAL,   // Tipo
-                1.5f,                                      // Velocidad
+                90f,                                       // Velocidad (px/s)
                 80, 800,                                  // Límites
-                1900, 120                                   // Duraciones
+                31.667f, 2f                                 // Duraciones (s)
             ));
             
             plataformas2.add(new PlataformaConfig(
@@ -358,9 +358,9 @@ public abstract class ConfiguracionNivel {
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.HORIZONTAL,   // Tipo
-                -1.5f,                                      // Velocidad
+                -90f,                                       // Velocidad (px/s)
                 80, 800,                                  // Límites
-                1900, 120                                   // Duraciones
+                31.667f, 2f                                 // Duraciones (s)
             ));
             
             plataformas2.add(new PlataformaConfig(
@@ -368,9 +368,9 @@ public abstract class ConfiguracionNivel {
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.HORIZONTAL,   // Tipo
-                -1.5f,                                      // Velocidad
+                -90f,                                       // Velocidad (px/s)
                 80, 800,                                  // Límites
-                1900, 120                                   // Duraciones
+                31.667f, 2f                                 // Duraciones (s)
             ));
             
             plataformas2.add(new PlataformaConfig(
@@ -378,9 +378,9 @@ public abstract class ConfiguracionNivel {
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.HORIZONTAL,   // Tipo
-                -1.5f,                                      // Velocidad
+                -90f,                                       // Velocidad (px/s)
                 80, 800,                                  // Límites
-                1900, 120                                   // Duraciones
+                31.667f, 2f                                 // Duraciones (s)
             ));
             
             plataformas2.add(new PlataformaConfig(
@@ -388,9 +388,9 @@ public abstract class ConfiguracionNivel {
                 8, 8,                                      // Tamaño
                 3, 1,                                      // Scale, TileID
                 PlataformaMovil.TipoMovimiento.HORIZONTAL,   // Tipo
-                -1.5f,                                      // Velocidad
+                -90f,                                       // Velocidad (px/s)
                 80, 800,                                  // Límites
-                1900, 120                                   // Duraciones
+                31.667f, 2f                                 // Duraciones (s)
             ));
             return plataformas2;
         }
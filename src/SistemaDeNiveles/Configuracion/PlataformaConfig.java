@@ -7,6 +7,8 @@ package SistemaDeNiveles.Configuracion;
 import Entidades.Escenario.PlataformaMovil;
 
 /**
+ * Datos de una plataforma móvil del nivel, en unidades del mundo
+ * (GestorNiveles los pasa a la unidad del tick al crearla)
  *
  * @author LENOVO
  */
@@ -15,16 +17,16 @@ public class PlataformaConfig {
     public int width, height;
     public int scale, tileID;
     public PlataformaMovil.TipoMovimiento tipo;
-    public float velocidad;
+    public float velocidad;                             // píxeles/s
     public float limiteMin, limiteMax;
-    public int duracionVisible, duracionInvisible;
+    public float duracionVisible, duracionInvisible;    // segundos
     
     public PlataformaConfig(int x, int y, int width, int height,
                            int scale, int tileID,
                            PlataformaMovil.TipoMovimiento tipo,
                            float velocidad,
                            float limiteMin, float limiteMax,
-                           int duracionVisible, int duracionInvisible) {
+                           float duracionVisible, float duracionInvisible) {
         this.x = x;
         this.y = y;
         this.width = width;
@@ -0,0 +1,222 @@
+package SistemaDeNiveles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Datos crudos de una capa de tiles del TMX y su decodificación a GIDs
+ *
+ * El parser junta el texto de <data> mientras lee el XML (sin espacios,
+ * como bytes ASCII) y la decodificación se hace después, por separado:
+ * capas distintas se pueden decodificar en paralelo.
+ *
+ * FORMATOS DE TILED SOPORTADOS:
+ * - encoding="csv": se escanea sin crear Strings ni partir el texto
+ * - encoding="base64": enteros de 32 bits little endian
+ * - base64 + compression="zlib" o "gzip"
+ *
+ * Los bits de espejado/rotación de cada GID se descartan (el juego
+ * no dibuja tiles espejados).
+ *
+ * @author LENOVO
+ */
+final class DatosCapa {
+
+    // Bits altos de un GID: espejado horizontal, vertical, diagonal y hexagonal
+    private static final int MASCARA_GID = 0x0FFFFFFF;
+
+    private final String nombre;
+    private final String codificacion;
+    private final String compresion;
+    private final int ancho;
+    private final int alto;
+
+    // Texto de <data> sin espacios
+    private byte[] texto;
+    private int longitud;
+
+    // Resultado de decodificar()
+    private int[] gids;
+    private String error;
+
+    /**
+     * @param codificacion Atributo encoding de <data> ("" si no tiene)
+     * @param compresion Atributo compression de <data> ("" si no tiene)
+     */
+    DatosCapa(String nombre, int ancho, int alto, String codificacion, String compresion) {
+        this.nombre = nombre;
+        this.ancho = ancho;
+        this.alto = alto;
+        this.codificacion = codificacion;
+        this.compresion = compresion;
+        this.texto = new byte[Math.max(64, ancho * alto * 2)];
+    }
+
+    /**
+     * Agrega texto de <data> tal como lo entrega el lector de XML
+     */
+    void agregarTexto(char[] caracteres, int inicio, int cantidad) {
+        if (longitud + cantidad > texto.length) {
+            byte[] mayor = new byte[Math.max(texto.length * 2, longitud + cantidad)];
+            System.arraycopy(texto, 0, mayor, 0, longitud);
+            texto = mayor;
+        }
+        for (int i = inicio, fin = inicio + cantidad; i < fin; i++) {
+            char c = caracteres[i];
+            if (c > ' ') {
+                texto[longitud++] = (byte) c;
+            }
+        }
+    }
+
+    // ==================== DECODIFICACIÓN ====================
+
+    /**
+     * Convierte el texto en GIDs. No toca el Handler: se puede llamar
+     * desde cualquier hilo. Si falla, getError() explica por qué.
+     */
+    void decodificar() {
+        try {
+            int[] destino = new int[ancho * alto];
+            switch (codificacion) {
+                case "csv":
+                    leerCSV(destino);
+                    break;
+                case "base64":
+                    leerBinario(descomprimir(Base64.getDecoder().decode(
+                        ByteBuffer.wrap(texto, 0, longitud))), destino);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Codificación no soportada: '"
+                        + (codificacion.isEmpty() ? "xml" : codificacion) + "'");
+            }
+            gids = destino;
+        } catch (IllegalArgumentException | IOException | DataFormatException e) {
+            error = e.getMessage();
+        } finally {
+            texto = null;  // ya no hace falta, que lo junte el GC
+        }
+    }
+
+    /**
+     * Escanea "12,0,3,..." directo sobre los bytes, sin Strings intermedios
+     */
+    private void leerCSV(int[] destino) {
+        int indice = 0;
+        int valor = 0;
+        boolean hayDigitos = false;
+
+        for (int i = 0; i < longitud; i++) {
+            int c = texto[i];
+            if (c >= '0' && c <= '9') {
+                // Desborda igual que un unsigned de 32 bits: los bits bajos quedan bien
+                valor = valor * 10 + (c - '0');
+                hayDigitos = true;
+            } else if (c == ',') {
+                indice = guardarGid(destino, indice, valor, hayDigitos);
+                valor = 0;
+                hayDigitos = false;
+            } else {
+                throw new IllegalArgumentException("Carácter inválido en CSV: '" + (char) c + "'");
+            }
+        }
+        if (hayDigitos) {
+            indice = guardarGid(destino, indice, valor, true);
+        }
+        verificarCantidad(indice, destino.length);
+    }
+
+    private static int guardarGid(int[] destino, int indice, int valor, boolean hayDigitos) {
+        if (!hayDigitos) {
+            throw new IllegalArgumentException("Valor vacío en CSV (posición " + indice + ")");
+        }
+        if (indice >= destino.length) {
+            throw new IllegalArgumentException("La capa tiene más de " + destino.length + " tiles");
+        }
+        destino[indice] = valor & MASCARA_GID;
+        return indice + 1;
+    }
+
+    private ByteBuffer descomprimir(ByteBuffer datos) throws IOException, DataFormatException {
+        int esperado = ancho * alto * 4;
+        switch (compresion) {
+            case "":
+                return datos;
+            case "zlib": {
+                byte[] salida = new byte[esperado];
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(datos);
+                    int leidos = 0;
+                    while (leidos < esperado && !inflater.finished()) {
+                        int n = inflater.inflate(salida, leidos, esperado - leidos);
+                        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        leidos += n;
+                    }
+                    verificarCantidad(leidos / 4, ancho * alto);
+                } finally {
+                    inflater.end();
+                }
+                return ByteBuffer.wrap(salida);
+            }
+            case "gzip": {
+                try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(
+                        datos.array(), datos.arrayOffset() + datos.position(), datos.remaining()))) {
+                    byte[] salida = gzip.readNBytes(esperado);
+                    verificarCantidad(salida.length / 4, ancho * alto);
+                    return ByteBuffer.wrap(salida);
+                }
+            }
+            default:
+                throw new IllegalArgumentException("Compresión no soportada: '" + compresion + "'");
+        }
+    }
+
+    private void leerBinario(ByteBuffer datos, int[] destino) {
+        verificarCantidad(datos.remaining() / 4, destino.length);
+        datos.order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] = datos.getInt() & MASCARA_GID;
+        }
+    }
+
+    private static void verificarCantidad(int encontrados, int esperados) {
+        if (encontrados != esperados) {
+            throw new IllegalArgumentException("Se esperaban " + esperados
+                + " tiles y hay " + encontrados);
+        }
+    }
+
+    // ==================== GETTERS ====================
+
+    String getNombre() {
+        return nombre;
+    }
+
+    int getAncho() {
+        return ancho;
+    }
+
+    int getAlto() {
+        return alto;
+    }
+
+    /**
+     * GIDs en orden de fila (null si la decodificación falló)
+     */
+    int[] getGids() {
+        return gids;
+    }
+
+    String getError() {
+        return error;
+    }
+}
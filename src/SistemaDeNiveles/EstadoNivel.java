@@ -2,6 +2,7 @@ package SistemaDeNiveles;
 
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Tiempo;
 import Entidades.NPCs.DiegoKong;
 import Entidades.NPCs.Princesa;
 import Entidades.JuegoObjetos;
@@ -9,7 +10,7 @@ import Entidades.Jugador;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
 import mariotest.Juego;
 
 /**
@@ -80,7 +81,7 @@ public abstract class EstadoNivel {
     public static class Victoria extends EstadoNivel {
         
         private int ticksAnimacion;
-        private static final int DURACION_ANIMACION = 240; // 4 segundos
+        private static final int DURACION_ANIMACION = Tiempo.ticks(4f);
         
         private DiegoKong diegoKong;
         private Princesa princesa;
@@ -88,13 +89,19 @@ public abstract class EstadoNivel {
         
         // Fases de animación
         private int faseActual;
-        private static final int FASE_CORAZON = 0;          // 0-60 ticks
-        private static final int FASE_DK_AGARRA = 1;        // 60-90 ticks
-        private static final int FASE_MOVIMIENTO = 2;       // 90-180 ticks (DK sube)
-        private static final int FASE_CORAZON_ROTO = 3;     // 180-240 ticks
+        private static final int FASE_CORAZON = 0;          // 0-1 s
+        private static final int FASE_DK_AGARRA = 1;        // 1-1.5 s
+        private static final int FASE_MOVIMIENTO = 2;       // 1.5-3 s (DK sube)
+        private static final int FASE_CORAZON_ROTO = 3;     // 3-4 s
+        
+        // Comienzo de cada fase (en ticks desde que empezó la animación)
+        private static final int TICK_AGARRA = Tiempo.ticks(1f);
+        private static final int TICK_MOVIMIENTO = Tiempo.ticks(1.5f);
+        private static final int TICK_PRINCESA_LIBRE = Tiempo.ticks(2f);
+        private static final int TICK_FINAL = Tiempo.ticks(3f);
         
         // Velocidad de escape
-        private static final float VELOCIDAD_ESCAPE = -1.0f;
+        private static final float VELOCIDAD_ESCAPE = Tiempo.velocidad(-60f);
         
         public Victoria(Juego juego, GestorNiveles gestorNiveles) {
             super(juego, gestorNiveles);
@@ -111,6 +118,9 @@ public abstract class EstadoNivel {
             
             gestorNiveles.detenerSpawners();
             
+            // El nivel siguiente se arma mientras dura la animación
+            gestorNiveles.precargarSiguienteNivel();
+            
             if (juego.getHandler().getPlayer() != null) {
                 juego.getHandler().getPlayer().detenerMovimiento();
             }
@@ -166,7 +176,7 @@ public abstract class EstadoNivel {
          * Animación de escape (niveles 1-2): DK agarra princesa y sube
          */
         private void tickAnimacionEscape() {
-            if (ticksAnimacion == 60) {
+            if (ticksAnimacion == TICK_AGARRA) {
                 // FASE 1: DK agarra a la princesa
                 faseActual = FASE_DK_AGARRA;
                 if (diegoKong != null && princesa != null) {
@@ -175,12 +185,12 @@ public abstract class EstadoNivel {
                     System.out.println("[VICTORIA] DK agarra a la princesa");
                 }
             } 
-            else if (ticksAnimacion >= 90 && ticksAnimacion < 180) {
+            else if (ticksAnimacion >= TICK_MOVIMIENTO && ticksAnimacion < TICK_FINAL) {
                 // FASE 2: MOVIMIENTO HACIA ARRIBA
                 faseActual = FASE_MOVIMIENTO;
                 moverDKYPrincesaHaciaArriba();
             } 
-            else if (ticksAnimacion == 180) {
+            else if (ticksAnimacion == TICK_FINAL) {
                 // FASE 3: Corazón roto
                 faseActual = FASE_CORAZON_ROTO;
                 System.out.println("[VICTORIA] Corazón roto - ella escapa otra vez");
@@ -191,11 +201,11 @@ public abstract class EstadoNivel {
          * Animación de derrota final (nivel 3): Princesa libre
          */
         private void tickAnimacionDerrotaFinal() {
-            if (ticksAnimacion == 60) {
+            if (ticksAnimacion == TICK_AGARRA) {
                 faseActual = FASE_DK_AGARRA; // Reutilizado como "DK derrotado"
                 System.out.println("[VICTORIA] Diego Kong derrotado");
             } 
-            else if (ticksAnimacion == 120) {
+            else if (ticksAnimacion == TICK_PRINCESA_LIBRE) {
                 faseActual = FASE_MOVIMIENTO; // Reutilizado como "Princesa libre"
                 if (princesa != null && juego.getHandler().getPlayer() != null) {
                     Jugador mario = juego.getHandler().getPlayer();
@@ -203,7 +213,7 @@ public abstract class EstadoNivel {
                     System.out.println("[VICTORIA] Princesa moviéndose hacia Mario");
                 }
             } 
-            else if (ticksAnimacion == 180) {
+            else if (ticksAnimacion == TICK_FINAL) {
                 faseActual = FASE_CORAZON_ROTO; // Reutilizado como "Victoria total"
                 System.out.println("[VICTORIA] ¡Victoria total!");
             }
@@ -270,10 +280,10 @@ public abstract class EstadoNivel {
             }
             
             // Contador de tiempo
-            if (ticksAnimacion > 180) {
+            if (ticksAnimacion > TICK_FINAL) {
                 g.setColor(Color.CYAN);
                 g.setFont(new Font("Arial", Font.BOLD, 18));
-                String texto = "SIGUIENTE NIVEL EN " + ((DURACION_ANIMACION - ticksAnimacion) / 60 + 1) + "...";
+                String texto = "SIGUIENTE NIVEL EN " + ((DURACION_ANIMACION - ticksAnimacion) / Tiempo.TPS + 1) + "...";
                 int w = g.getFontMetrics().stringWidth(texto);
                 g.drawString(texto, centerX - w/2, Juego.getVentanaHeight() - 50);
             }
@@ -337,7 +347,7 @@ public abstract class EstadoNivel {
          */
         private void renderCorazon(Graphics g, int centerX, int centerY, boolean roto) {
             // Obtener sprite desde GestorNiveles
-            BufferedImage sprite = roto ? 
+            Sprite sprite = roto ? 
                 gestorNiveles.getSpriteCorazonRoto() : 
                 gestorNiveles.getSpriteCorazon();
             
@@ -347,7 +357,7 @@ public abstract class EstadoNivel {
                 int x = centerX - size/2;
                 int y = centerY - size/2;
                 
-                g.drawImage(sprite, x, y, size, size, null);
+                sprite.dibujar(g, x, y, size, size);
                 
             } else {
                 
@@ -417,7 +427,7 @@ public abstract class EstadoNivel {
     public static class Transicion extends EstadoNivel {
         
         private int ticksTransicion;
-        private static final int DURACION_FADE = 60;
+        private static final int DURACION_FADE = Tiempo.ticks(1f);
         private float alphaFade;
         
         public Transicion(Juego juego, GestorNiveles gestorNiveles) {
@@ -429,6 +439,7 @@ public abstract class EstadoNivel {
         @Override
         public void entrar() {
             System.out.println("[ESTADO NIVEL] → TRANSICION");
+            gestorNiveles.precargarSiguienteNivel();
         }
         
         @Override
@@ -4,6 +4,9 @@ import SistemaDeNiveles.Configuracion.*;
 import SistemaDeSoporte.Handler;
 import SistemaSoporte.Spawners.*;
 import SistemaDeSoporte.EstadoJuego;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Tiempo;
+import SistemaGFX.CapaPreRenderizada;
 import Entidades.NPCs.*;
 import Entidades.Escenario.PlataformaMovil;
 import Entidades.Jugador;
@@ -11,8 +14,14 @@ import Entidades.Items.*;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Point;
-import java.awt.image.BufferedImage;
+import SistemaGFX.Sprite;
+import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import mariotest.Juego;
 
 /**
@@ -20,9 +29,12 @@ import mariotest.Juego;
  * Maneja carga, configuración y transiciones entre niveles
  * CORREGIDO: Recarga sprites de victoria después de cambiar nivel
  * 
+ * PRECARGA: al empezar la victoria se arma el nivel siguiente en un
+ * hilo aparte (NivelPreparado); CargandoNivel solo lo instala.
+ * 
  * @author LENOVO
  */
-public class GestorNiveles {
+public class GestorNiveles implements Persistente {
     
     private Juego juego;
     private Handler handler;
@@ -43,9 +55,9 @@ public class GestorNiveles {
     private TiledTMXParser tmxParser;
     
     // Sprites de animación de victoria
-    private BufferedImage spriteCorazon;
-    private BufferedImage spriteCorazonRoto;
-    private BufferedImage[] spritesDKAgarra;
+    private Sprite spriteCorazon;
+    private Sprite spriteCorazonRoto;
+    private Sprite[] spritesDKAgarra;
     
     // Referencias a entidades clave
     private DiegoKong diegoKong;
@@ -55,8 +67,20 @@ public class GestorNiveles {
     private boolean animacionVictoriaActiva;
     private int frameAnimacionDK;
     
+    // Cuántas veces se cargó un nivel (las instantáneas no cruzan cargas)
+    private int cargasNivel;
+    
+    // Precarga del nivel siguiente (un solo hilo, creado al primer uso)
+    private ExecutorService hiloPrecarga;
+    private Future<NivelPreparado> precarga;
+    private int nivelPrecargado;
+    
     // CONSTANTE PARA MOVIMIENTO DE VICTORIA
-    private static final float VELOCIDAD_ESCAPE_VICTORIA = -1.0f;
+    private static final float VELOCIDAD_ESCAPE_VICTORIA = Tiempo.velocidad(-60f);
+    
+    // Parpadeo de las estrellas de celebración
+    private static final int PERIODO_ESTRELLA = Tiempo.ticks(0.5f);
+    private static final int DESFASE_ESTRELLA = Tiempo.ticks(0.083f);
     
     /**
      * Constructor
@@ -75,6 +99,13 @@ public class GestorNiveles {
         inicializarNivel(NIVEL_INICIAL);
     }
     
+    /**
+     * Último nivel del juego (los niveles van de 1 a este valor)
+     */
+    public static int getNivelMaximo() {
+        return NIVEL_MAXIMO;
+    }
+    
     /**
      * Reinicia el juego al nivel 1
      */
@@ -118,6 +149,7 @@ public class GestorNiveles {
         System.out.println("========================================");
         
         this.nivelActual = nivel;
+        this.cargasNivel++;
         
         // Actualizar el estado global del juego
         EstadoJuego.getInstance().setNivelActual(nivel);
@@ -134,8 +166,13 @@ public class GestorNiveles {
         // Cargar configuración del nivel
         configActual = ConfiguracionNivel.crear(nivel);
         
-        // Cargar mapa TMX
-        cargarMapa(configActual.getRutaTMX());
+        // Mapa TMX y capas horneadas: precargados o, si no hay, ahora mismo
+        NivelPreparado preparado = tomarPrecarga(nivel);
+        if (preparado == null) {
+            System.out.println("[GESTOR] Cargando mapa: " + configActual.getRutaTMX());
+            preparado = NivelPreparado.preparar(nivel, handler);
+        }
+        instalarMapa(preparado);
         
         // Configurar elementos específicos del nivel
         configurarNivel(configActual);
@@ -162,7 +199,7 @@ public class GestorNiveles {
         
         // Limpiar todos los objetos excepto el jugador
         Jugador player = handler.getPlayer();
-        handler.getGameObjs().clear();
+        handler.limpiarObjetos();
         
         // Re-agregar jugador
         if (player != null) {
@@ -175,11 +212,89 @@ public class GestorNiveles {
     }
     
     /**
-     * Carga el mapa TMX del nivel
+     * Instala un nivel ya preparado: tiles, colisiones y capas horneadas
+     */
+    private void instalarMapa(NivelPreparado preparado) {
+        long inicio = System.nanoTime();
+        
+        tmxParser = preparado.getParser();
+        tmxParser.instalarMapa();
+        handler.setMapaColision(tmxParser.getMapaColision());
+        
+        CapaPreRenderizada fondo = preparado.getFondo();
+        CapaPreRenderizada bloques = preparado.getBloques();
+        handler.setCapasPreRenderizadas(fondo, bloques);
+        
+        System.out.println("[GESTOR] Capas horneadas: fondo=" + fondo.getCantidadTiles() + 
+                          " tiles, bloques=" + bloques.getCantidadTiles() + " tiles");
+        System.out.println(String.format(
+            "[GESTOR] Nivel %d preparado en %.1f ms, instalado en %.1f ms",
+            preparado.getNivel(), preparado.getNanosPreparacion() / 1e6,
+            (System.nanoTime() - inicio) / 1e6));
+    }
+    
+    // ==================== PRECARGA ====================
+    
+    /**
+     * Empieza a armar el nivel siguiente en segundo plano.
+     * Se puede llamar varias veces: solo lanza una precarga por nivel.
      */
-    private void cargarMapa(String rutaTMX) {
-        System.out.println("[GESTOR] Cargando mapa: " + rutaTMX);
-        tmxParser.cargarMapa(rutaTMX);
+    public void precargarSiguienteNivel() {
+        int siguienteNivel = (nivelActual >= NIVEL_MAXIMO) ? NIVEL_INICIAL : nivelActual + 1;
+        if (precarga != null && nivelPrecargado == siguienteNivel) {
+            return;
+        }
+        descartarPrecarga();
+        
+        if (hiloPrecarga == null) {
+            hiloPrecarga = Executors.newSingleThreadExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "Precarga-Niveles");
+                hilo.setDaemon(true);
+                hilo.setPriority(Thread.MIN_PRIORITY);
+                return hilo;
+            });
+        }
+        
+        System.out.println("[GESTOR] Precargando nivel " + siguienteNivel + " en segundo plano");
+        nivelPrecargado = siguienteNivel;
+        precarga = hiloPrecarga.submit(() -> NivelPreparado.preparar(siguienteNivel, handler));
+    }
+    
+    /**
+     * Devuelve la precarga del nivel pedido (esperándola si no terminó)
+     * 
+     * @return El nivel preparado, o null si no hay precarga de ese nivel o falló
+     */
+    private NivelPreparado tomarPrecarga(int nivel) {
+        if (precarga == null) {
+            return null;
+        }
+        if (nivelPrecargado != nivel) {
+            descartarPrecarga();
+            return null;
+        }
+        
+        Future<NivelPreparado> pendiente = precarga;
+        precarga = null;
+        try {
+            if (!pendiente.isDone()) {
+                System.out.println("[GESTOR] Esperando la precarga del nivel " + nivel + "...");
+            }
+            return pendiente.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | CancellationException e) {
+            System.err.println("[ERROR] Falló la precarga del nivel " + nivel + ": " + e.getCause());
+            return null;
+        }
+    }
+    
+    private void descartarPrecarga() {
+        if (precarga != null) {
+            precarga.cancel(false);
+            precarga = null;
+        }
     }
     
     /**
@@ -288,9 +403,9 @@ public class GestorNiveles {
                 pConfig.x, pConfig.y,
                 pConfig.width, pConfig.height,
                 pConfig.scale, pConfig.tileID,
-                pConfig.tipo, pConfig.velocidad,
+                pConfig.tipo, Tiempo.velocidad(pConfig.velocidad),
                 pConfig.limiteMin, pConfig.limiteMax,
-                pConfig.duracionVisible, pConfig.duracionInvisible
+                Tiempo.ticks(pConfig.duracionVisible), Tiempo.ticks(pConfig.duracionInvisible)
             );
             handler.addObj(plataforma);
         }
@@ -458,7 +573,7 @@ public class GestorNiveles {
         java.util.Random rand = new java.util.Random(42);
         
         for (int i = 0; i < 20; i++) {
-            if ((ticks + i * 5) % 30 < 15) {
+            if ((ticks + i * DESFASE_ESTRELLA) % PERIODO_ESTRELLA < PERIODO_ESTRELLA / 2) {
                 int x = rand.nextInt(Juego.getVentanaWidth());
                 int y = rand.nextInt(Juego.getVentanaHeight());
                 
@@ -476,12 +591,12 @@ public class GestorNiveles {
      * CORREGIDO: Verificación mejorada de sprites
      */
     private void renderCorazon(Graphics g, int centerX, int centerY, boolean roto) {
-        BufferedImage sprite = roto ? spriteCorazonRoto : spriteCorazon;
+        Sprite sprite = roto ? spriteCorazonRoto : spriteCorazon;
         
         if (sprite != null) {
             // Escala 4x para que sea grande y visible
             int size = 64;
-            g.drawImage(sprite, centerX - size/2, centerY - size/2, size, size, null);
+            sprite.dibujar(g, centerX - size/2, centerY - size/2, size, size);
       
         } else {
             g.setColor(roto ? new Color(139, 0, 0) : Color.RED);
@@ -582,6 +697,63 @@ public class GestorNiveles {
         }
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    /**
+     * Solo se capturan instantáneas durante el juego normal del nivel
+     * (no en las animaciones de victoria ni en transiciones)
+     */
+    public boolean admiteInstantanea() {
+        return estadoActual instanceof EstadoNivel.Jugando;
+    }
+    
+    /**
+     * Estado de los spawners (el nivel en sí lo escribe la instantánea)
+     */
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        escribirSpawner(buf, barrelSpawner);
+        escribirSpawner(buf, fuegoSpawner);
+        escribirSpawner(buf, itemSpawner);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        leerSpawner(buf, barrelSpawner);
+        leerSpawner(buf, fuegoSpawner);
+        leerSpawner(buf, itemSpawner);
+        
+        // Volver al juego normal si se restaura durante la victoria
+        animacionVictoriaActiva = false;
+        frameAnimacionDK = 0;
+        if (!admiteInstantanea()) {
+            cambiarEstado(new EstadoNivel.Jugando(juego, this));
+        }
+    }
+    
+    private static void escribirSpawner(ByteBuffer buf, Spawner<?> spawner) {
+        buf.put((byte) (spawner != null ? 1 : 0));
+        if (spawner != null) {
+            spawner.escribirEstado(buf);
+        }
+    }
+    
+    private static void leerSpawner(ByteBuffer buf, Spawner<?> spawner) {
+        if (buf.get() != 0) {
+            if (spawner == null) {
+                throw new IllegalStateException("La instantánea tiene un spawner que el nivel no tiene");
+            }
+            spawner.leerEstado(buf);
+        }
+    }
+    
+    /**
+     * Aumenta cada vez que se carga un nivel (incluye reiniciar el mismo)
+     */
+    public int getCargasNivel() {
+        return cargasNivel;
+    }
+    
     // ==================== GETTERS ====================
     
     public int getNivelActual() {
@@ -611,7 +783,7 @@ public class GestorNiveles {
     /**
      * Obtiene el sprite de corazón (para uso en EstadoNivel.Victoria)
      */
-    public BufferedImage getSpriteCorazon() {
+    public Sprite getSpriteCorazon() {
         // Verificar y recargar si es necesario
         if (spriteCorazon == null) {
             System.err.println("[GESTOR] ⚠ spriteCorazon es NULL, intentando recargar...");
@@ -623,7 +795,7 @@ public class GestorNiveles {
     /**
      * Obtiene el sprite de corazón roto (para uso en EstadoNivel.Victoria)
      */
-    public BufferedImage getSpriteCorazonRoto() {
+    public Sprite getSpriteCorazonRoto() {
         // Verificar y recargar si es necesario
         if (spriteCorazonRoto == null) {
             System.err.println("[GESTOR] ⚠ spriteCorazonRoto es NULL, intentando recargar...");
@@ -0,0 +1,345 @@
+package SistemaDeNiveles;
+
+import java.awt.Rectangle;
+
+/**
+ * Mapa de colisión estático del nivel
+ *
+ * Representa la geometría sólida del TMX como un bitset por fila:
+ * bit tx de la fila ty = 1  ⇔  la celda (tx, ty) tiene colisión.
+ *
+ * CONSULTAS:
+ * - esSolido(tx, ty)        → O(1)
+ * - intersectaSolido(área)  → AABB contra el mapa (palabras de 64 celdas)
+ * - barrerHorizontal/Vertical → cuánto puede moverse una caja antes de chocar
+ *
+ * Fuera de los límites del mapa todo se considera NO sólido
+ * (mismo criterio que TiledTMXParser.esTileSolido).
+ *
+ * Los sólidos dinámicos (PlataformaMovil) no están aquí:
+ * se siguen consultando como objetos en el Handler.
+ *
+ * Solo cambia con setSolido, que usa Handler.actualizarColision
+ * cuando un Tile cambia su colisión en runtime.
+ *
+ * @author LENOVO
+ */
+public final class MapaColision {
+
+    private final int ancho;           // En tiles
+    private final int alto;            // En tiles
+    private final int tamanoTile;      // En píxeles de mundo
+    private final int palabrasPorFila;
+    private final long[] bits;
+    private int totalSolidos;
+
+    // Rectángulo reutilizado para las celdas que recibe resolverCeldas
+    private final Rectangle celda = new Rectangle();
+
+    /**
+     * Empuja una entidad fuera de un bloque sólido
+     * (celda del mapa o sólido dinámico del Handler).
+     * El rectángulo es reutilizado: no guardarlo.
+     */
+    public interface ResolutorColision {
+        void resolver(Rectangle bloque, float bx, float by, float bw, float bh);
+    }
+
+    private MapaColision(int ancho, int alto, int tamanoTile, long[] bits, int totalSolidos) {
+        this.ancho = ancho;
+        this.alto = alto;
+        this.tamanoTile = tamanoTile;
+        this.palabrasPorFila = (ancho + 63) >>> 6;
+        this.bits = bits;
+        this.totalSolidos = totalSolidos;
+    }
+
+    // ==================== CONSTRUCCIÓN ====================
+
+    /**
+     * Construye el mapa a partir de la matriz del parser
+     *
+     * @param tilesSolidos Matriz [x][y] (formato de TiledTMXParser)
+     * @param tamanoTile Tamaño de cada celda en píxeles de mundo
+     */
+    public static MapaColision desde(boolean[][] tilesSolidos, int tamanoTile) {
+        int ancho = tilesSolidos.length;
+        int alto = ancho > 0 ? tilesSolidos[0].length : 0;
+        int palabras = (ancho + 63) >>> 6;
+
+        long[] bits = new long[palabras * alto];
+        int total = 0;
+
+        for (int ty = 0; ty < alto; ty++) {
+            int base = ty * palabras;
+            for (int tx = 0; tx < ancho; tx++) {
+                if (tilesSolidos[tx][ty]) {
+                    bits[base + (tx >>> 6)] |= 1L << (tx & 63);
+                    total++;
+                }
+            }
+        }
+
+        return new MapaColision(ancho, alto, tamanoTile, bits, total);
+    }
+
+    // ==================== MODIFICACIÓN ====================
+
+    /**
+     * Marca o desmarca la celda (tx, ty) como sólida.
+     * Fuera de los límites del mapa no hace nada.
+     */
+    public void setSolido(int tx, int ty, boolean solido) {
+        if (tx < 0 || tx >= ancho || ty < 0 || ty >= alto) {
+            return;
+        }
+        int indice = ty * palabrasPorFila + (tx >>> 6);
+        long mascara = 1L << (tx & 63);
+        boolean antes = (bits[indice] & mascara) != 0;
+        if (antes == solido) {
+            return;
+        }
+        if (solido) {
+            bits[indice] |= mascara;
+            totalSolidos++;
+        } else {
+            bits[indice] &= ~mascara;
+            totalSolidos--;
+        }
+    }
+
+    // ==================== CONSULTAS PUNTUALES ====================
+
+    /**
+     * ¿La celda (tx, ty) es sólida?
+     */
+    public boolean esSolido(int tx, int ty) {
+        if (tx < 0 || tx >= ancho || ty < 0 || ty >= alto) {
+            return false;
+        }
+        return (bits[ty * palabrasPorFila + (tx >>> 6)] & (1L << (tx & 63))) != 0;
+    }
+
+    /**
+     * ¿El punto de mundo (x, y) cae en una celda sólida?
+     */
+    public boolean esSolidoEnMundo(float x, float y) {
+        return esSolido(columnaDe(x), filaDe(y));
+    }
+
+    /**
+     * Columna de tile que contiene la coordenada X de mundo
+     */
+    public int columnaDe(float x) {
+        return Math.floorDiv((int) Math.floor(x), tamanoTile);
+    }
+
+    /**
+     * Fila de tile que contiene la coordenada Y de mundo
+     */
+    public int filaDe(float y) {
+        return Math.floorDiv((int) Math.floor(y), tamanoTile);
+    }
+
+    // ==================== CONSULTAS AABB ====================
+
+    /**
+     * ¿La caja (x, y, w, h) se superpone con alguna celda sólida?
+     * Tocar un borde no cuenta como superposición (igual que Rectangle.intersects).
+     */
+    public boolean intersectaSolido(float x, float y, float w, float h) {
+        if (w <= 0 || h <= 0) {
+            return false;
+        }
+
+        int tx0 = Math.max(0, columnaDe(x));
+        int ty0 = Math.max(0, filaDe(y));
+        int tx1 = Math.min(ancho - 1, ultimaCelda(x + w));
+        int ty1 = Math.min(alto - 1, ultimaCelda(y + h));
+
+        for (int ty = ty0; ty <= ty1; ty++) {
+            if (haySolidoEnFila(ty, tx0, tx1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean intersectaSolido(Rectangle r) {
+        return intersectaSolido(r.x, r.y, r.width, r.height);
+    }
+
+    /**
+     * Llama al resolutor con cada celda sólida que toca el área
+     * (bordes incluidos, así las hitboxes de contacto también las ven)
+     */
+    public void resolverCeldas(Rectangle area, ResolutorColision resolutor) {
+        int tx0 = columnaDe(area.x);
+        int tx1 = columnaDe(area.x + area.width);
+        int ty0 = filaDe(area.y);
+        int ty1 = filaDe(area.y + area.height);
+
+        for (int ty = ty0; ty <= ty1; ty++) {
+            for (int tx = tx0; tx <= tx1; tx++) {
+                if (esSolido(tx, ty)) {
+                    celda.setBounds(tx * tamanoTile, ty * tamanoTile, tamanoTile, tamanoTile);
+                    resolutor.resolver(celda, celda.x, celda.y, tamanoTile, tamanoTile);
+                }
+            }
+        }
+    }
+
+    // ==================== BARRIDOS ====================
+
+    /**
+     * Desplaza la caja dx píxeles en X y devuelve cuánto puede moverse
+     * realmente antes de tocar una celda sólida.
+     * Las celdas que la caja ya ocupa se ignoran.
+     *
+     * @return Desplazamiento permitido (mismo signo que dx, |resultado| ≤ |dx|)
+     */
+    public float barrerHorizontal(float x, float y, float w, float h, float dx) {
+        if (dx == 0 || h <= 0) {
+            return dx;
+        }
+
+        int ty0 = filaDe(y);
+        int ty1 = ultimaCelda(y + h);
+
+        if (dx > 0) {
+            float borde = x + w;
+            for (int tx = primeraCeldaDesde(borde); tx * tamanoTile < borde + dx; tx++) {
+                if (haySolidoEnColumna(tx, ty0, ty1)) {
+                    return tx * tamanoTile - borde;
+                }
+            }
+        } else {
+            for (int tx = columnaDe(x) - 1; (tx + 1) * tamanoTile > x + dx; tx--) {
+                if (haySolidoEnColumna(tx, ty0, ty1)) {
+                    return (tx + 1) * tamanoTile - x;
+                }
+            }
+        }
+        return dx;
+    }
+
+    /**
+     * Desplaza la caja dy píxeles en Y y devuelve cuánto puede moverse
+     * realmente antes de tocar una celda sólida (dy > 0 = caer).
+     * Las celdas que la caja ya ocupa se ignoran.
+     *
+     * @return Desplazamiento permitido (mismo signo que dy, |resultado| ≤ |dy|)
+     */
+    public float barrerVertical(float x, float y, float w, float h, float dy) {
+        if (dy == 0 || w <= 0) {
+            return dy;
+        }
+
+        int tx0 = Math.max(0, columnaDe(x));
+        int tx1 = Math.min(ancho - 1, ultimaCelda(x + w));
+
+        if (dy > 0) {
+            float borde = y + h;
+            for (int ty = primeraCeldaDesde(borde); ty * tamanoTile < borde + dy; ty++) {
+                if (haySolidoEnFila(ty, tx0, tx1)) {
+                    return ty * tamanoTile - borde;
+                }
+            }
+        } else {
+            for (int ty = filaDe(y) - 1; (ty + 1) * tamanoTile > y + dy; ty--) {
+                if (haySolidoEnFila(ty, tx0, tx1)) {
+                    return (ty + 1) * tamanoTile - y;
+                }
+            }
+        }
+        return dy;
+    }
+
+    // ==================== AUXILIARES ====================
+
+    /**
+     * ¿Hay alguna celda sólida en la fila ty entre tx0 y tx1 (inclusive)?
+     * Recorre palabras de 64 bits en vez de celda por celda.
+     */
+    private boolean haySolidoEnFila(int ty, int tx0, int tx1) {
+        if (ty < 0 || ty >= alto) {
+            return false;
+        }
+        tx0 = Math.max(0, tx0);
+        tx1 = Math.min(ancho - 1, tx1);
+        if (tx0 > tx1) {
+            return false;
+        }
+
+        int base = ty * palabrasPorFila;
+        int w0 = tx0 >>> 6;
+        int w1 = tx1 >>> 6;
+        long mascaraInicio = -1L << (tx0 & 63);
+        long mascaraFin = -1L >>> (63 - (tx1 & 63));
+
+        if (w0 == w1) {
+            return (bits[base + w0] & mascaraInicio & mascaraFin) != 0;
+        }
+        if ((bits[base + w0] & mascaraInicio) != 0) {
+            return true;
+        }
+        for (int w = w0 + 1; w < w1; w++) {
+            if (bits[base + w] != 0) {
+                return true;
+            }
+        }
+        return (bits[base + w1] & mascaraFin) != 0;
+    }
+
+    private boolean haySolidoEnColumna(int tx, int ty0, int ty1) {
+        if (tx < 0 || tx >= ancho) {
+            return false;
+        }
+        for (int ty = Math.max(0, ty0), fin = Math.min(alto - 1, ty1); ty <= fin; ty++) {
+            if (esSolido(tx, ty)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Primera celda cuyo borde inicial está en o después de la coordenada
+     */
+    private int primeraCeldaDesde(float coordenada) {
+        return Math.floorDiv((int) Math.ceil(coordenada) + tamanoTile - 1, tamanoTile);
+    }
+
+    /**
+     * Última celda que cubre un rango que termina (exclusivo) en la coordenada
+     */
+    private int ultimaCelda(float finExclusivo) {
+        return Math.floorDiv((int) Math.ceil(finExclusivo) - 1, tamanoTile);
+    }
+
+    // ==================== GETTERS ====================
+
+    public int getAncho() {
+        return ancho;
+    }
+
+    public int getAlto() {
+        return alto;
+    }
+
+    public int getTamanoTile() {
+        return tamanoTile;
+    }
+
+    public int getTotalSolidos() {
+        return totalSolidos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "MapaColision[%dx%d tiles, tile=%dpx, sólidos=%d]",
+            ancho, alto, tamanoTile, totalSolidos
+        );
+    }
+}
@@ -0,0 +1,246 @@
+package SistemaDeNiveles;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Nivel ya resuelto a partir del TMX y sus TSX, listo para crear el mundo
+ *
+ * Es todo lo que TiledTMXParser saca del XML: dimensiones, GIDs con
+ * colisión, grillas de tiles por capa y objetos (spawns). Las escaleras,
+ * la matriz de sólidos y los puntos de aparición salen de acá al aplicarlo.
+ *
+ * FORMATO BINARIO (big endian, ver escribir/leer):
+ *   int × 4   ancho, alto, ancho y alto de tile (en tiles / px del TMX)
+ *   short     dependencias (ruta de cada TSX)
+ *   int       palabras + long[] bitmap de GIDs con colisión
+ *   short     capas: nombre, ancho, alto, int[] GIDs por fila
+ *   short     objetos: tipo, x, y (ya escalados)
+ *
+ * @author LENOVO
+ */
+final class NivelCompilado {
+
+    private int ancho;
+    private int alto;
+    private int anchoTile;
+    private int altoTile;
+
+    private BitSet colisiones;
+    private final List<String> dependencias;
+    private final List<Capa> capas;
+    private final List<Objeto> objetos;
+
+    NivelCompilado() {
+        this.colisiones = new BitSet();
+        this.dependencias = new ArrayList<>();
+        this.capas = new ArrayList<>();
+        this.objetos = new ArrayList<>();
+    }
+
+    // ==================== CONSTRUCCIÓN (parser) ====================
+
+    void setDimensiones(int ancho, int alto, int anchoTile, int altoTile) {
+        this.ancho = ancho;
+        this.alto = alto;
+        this.anchoTile = anchoTile;
+        this.altoTile = altoTile;
+    }
+
+    void marcarColision(int gid) {
+        colisiones.set(gid);
+    }
+
+    /**
+     * @param rutaRecurso Ruta del TSX en el classpath (exista o no)
+     */
+    void agregarDependencia(String rutaRecurso) {
+        dependencias.add(rutaRecurso);
+    }
+
+    void agregarCapa(String nombre, int ancho, int alto, int[] gids) {
+        capas.add(new Capa(nombre, ancho, alto, gids));
+    }
+
+    void agregarObjeto(String tipo, float x, float y) {
+        objetos.add(new Objeto(tipo, x, y));
+    }
+
+    // ==================== FORMATO BINARIO ====================
+
+    /**
+     * Bytes que ocupará escribir() (para dimensionar el buffer)
+     */
+    int calcularTamano() {
+        int tamano = 4 * 4 + 2 + 4 + colisiones.toLongArray().length * 8 + 2 + 2;
+        for (String dependencia : dependencias) {
+            tamano += 2 + dependencia.length() * 2;
+        }
+        for (Capa capa : capas) {
+            tamano += 2 + capa.nombre.length() * 2 + 8 + capa.gids.length * 4;
+        }
+        for (Objeto objeto : objetos) {
+            tamano += 2 + objeto.tipo.length() * 2 + 8;
+        }
+        return tamano;
+    }
+
+    void escribir(ByteBuffer buf) {
+        buf.putInt(ancho).putInt(alto).putInt(anchoTile).putInt(altoTile);
+
+        buf.putShort((short) dependencias.size());
+        for (String dependencia : dependencias) {
+            escribirTexto(buf, dependencia);
+        }
+
+        long[] palabras = colisiones.toLongArray();
+        buf.putInt(palabras.length);
+        buf.asLongBuffer().put(palabras);
+        buf.position(buf.position() + palabras.length * 8);
+
+        buf.putShort((short) capas.size());
+        for (Capa capa : capas) {
+            escribirTexto(buf, capa.nombre);
+            buf.putInt(capa.ancho).putInt(capa.alto);
+            buf.asIntBuffer().put(capa.gids);
+            buf.position(buf.position() + capa.gids.length * 4);
+        }
+
+        buf.putShort((short) objetos.size());
+        for (Objeto objeto : objetos) {
+            escribirTexto(buf, objeto.tipo);
+            buf.putFloat(objeto.x).putFloat(objeto.y);
+        }
+    }
+
+    /**
+     * Lee un nivel escrito con escribir()
+     *
+     * @throws java.nio.BufferUnderflowException si el buffer está truncado
+     * @throws IllegalArgumentException si los datos no son coherentes
+     */
+    static NivelCompilado leer(ByteBuffer buf) {
+        NivelCompilado nivel = new NivelCompilado();
+        nivel.setDimensiones(buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt());
+
+        for (int i = 0, n = buf.getShort(); i < n; i++) {
+            nivel.dependencias.add(leerTexto(buf));
+        }
+
+        long[] palabras = new long[leerCantidad(buf.getInt(), buf.remaining() / 8)];
+        buf.asLongBuffer().get(palabras);
+        buf.position(buf.position() + palabras.length * 8);
+        nivel.colisiones = BitSet.valueOf(palabras);
+
+        for (int i = 0, n = buf.getShort(); i < n; i++) {
+            String nombre = leerTexto(buf);
+            int ancho = buf.getInt();
+            int alto = buf.getInt();
+            int[] gids = new int[leerCantidad(ancho * alto, buf.remaining() / 4)];
+            buf.asIntBuffer().get(gids);
+            buf.position(buf.position() + gids.length * 4);
+            nivel.agregarCapa(nombre, ancho, alto, gids);
+        }
+
+        for (int i = 0, n = buf.getShort(); i < n; i++) {
+            nivel.agregarObjeto(leerTexto(buf), buf.getFloat(), buf.getFloat());
+        }
+        return nivel;
+    }
+
+    private static int leerCantidad(int cantidad, int maximo) {
+        if (cantidad < 0 || cantidad > maximo) {
+            throw new IllegalArgumentException("Cantidad inválida en el nivel compilado: " + cantidad);
+        }
+        return cantidad;
+    }
+
+    private static void escribirTexto(ByteBuffer buf, String texto) {
+        buf.putShort((short) texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            buf.putChar(texto.charAt(i));
+        }
+    }
+
+    private static String leerTexto(ByteBuffer buf) {
+        char[] caracteres = new char[leerCantidad(buf.getShort(), buf.remaining() / 2)];
+        for (int i = 0; i < caracteres.length; i++) {
+            caracteres[i] = buf.getChar();
+        }
+        return new String(caracteres);
+    }
+
+    // ==================== GETTERS ====================
+
+    int getAncho() {
+        return ancho;
+    }
+
+    int getAlto() {
+        return alto;
+    }
+
+    int getAnchoTile() {
+        return anchoTile;
+    }
+
+    int getAltoTile() {
+        return altoTile;
+    }
+
+    /**
+     * GIDs con colisión (bit encendido = sólido). No modificar.
+     */
+    BitSet getColisiones() {
+        return colisiones;
+    }
+
+    List<String> getDependencias() {
+        return Collections.unmodifiableList(dependencias);
+    }
+
+    List<Capa> getCapas() {
+        return Collections.unmodifiableList(capas);
+    }
+
+    List<Objeto> getObjetos() {
+        return Collections.unmodifiableList(objetos);
+    }
+
+    // ==================== PARTES ====================
+
+    /**
+     * Capa de tiles: GIDs en orden de fila (0 = vacío)
+     */
+    static final class Capa {
+        final String nombre;
+        final int ancho;
+        final int alto;
+        final int[] gids;
+
+        Capa(String nombre, int ancho, int alto, int[] gids) {
+            this.nombre = nombre;
+            this.ancho = ancho;
+            this.alto = alto;
+            this.gids = gids;
+        }
+    }
+
+    /**
+     * Objeto de una capa de objetos (spawns, triggers, etc.)
+     */
+    static final class Objeto {
+        final String tipo;
+        final float x;   // ya escalado a píxeles de pantalla
+        final float y;
+
+        Objeto(String tipo, float x, float y) {
+            this.tipo = tipo;
+            this.x = x;
+            this.y = y;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package SistemaDeNiveles;
+
+import Entidades.Escenario.Tile;
+import Entidades.JuegoObjetos;
+import SistemaDeNiveles.Configuracion.ConfiguracionNivel;
+import SistemaDeSoporte.Handler;
+import SistemaGFX.CapaPreRenderizada;
+
+/**
+ * Mundo de un nivel armado por adelantado, listo para instalar
+ *
+ * preparar() hace todo el trabajo pesado sin tocar el Handler ni el
+ * estado compartido, así que puede correr en el hilo de precarga:
+ * - Lee el TMX (o su versión en cache) y crea tiles, escaleras y colisiones
+ * - Hornea las capas estáticas (fondo y bloques) en sus imágenes
+ *
+ * Lo que usa el generador de números aleatorios (spawners, DK, items)
+ * no se arma acá: se configura al instalar, en el hilo del juego, para
+ * que los replays sigan siendo deterministas.
+ *
+ * @author LENOVO
+ */
+final class NivelPreparado {
+
+    private final int nivel;
+    private final TiledTMXParser parser;
+    private final CapaPreRenderizada fondo;
+    private final CapaPreRenderizada bloques;
+    private final long nanosPreparacion;
+
+    private NivelPreparado(int nivel, TiledTMXParser parser, CapaPreRenderizada fondo,
+                           CapaPreRenderizada bloques, long nanosPreparacion) {
+        this.nivel = nivel;
+        this.parser = parser;
+        this.fondo = fondo;
+        this.bloques = bloques;
+        this.nanosPreparacion = nanosPreparacion;
+    }
+
+    /**
+     * Arma el nivel sin instalarlo (desde cualquier hilo)
+     *
+     * @param handler Handler en el que se instalará después (no se modifica)
+     */
+    static NivelPreparado preparar(int nivel, Handler handler) {
+        long inicio = System.nanoTime();
+
+        String ruta = ConfiguracionNivel.crear(nivel).getRutaTMX();
+        TiledTMXParser parser = new TiledTMXParser(handler);
+        parser.prepararMapa(ruta, nivel);
+
+        // Hornear los tiles estáticos (las plataformas móviles no son estáticas)
+        CapaPreRenderizada fondo = new CapaPreRenderizada(
+            "fondo", parser.getMapaAnchoPixels(), parser.getMapaAltoPixels());
+        CapaPreRenderizada bloques = new CapaPreRenderizada(
+            "bloques", parser.getMapaAnchoPixels(), parser.getMapaAltoPixels());
+
+        for (JuegoObjetos obj : parser.getObjetosPreparados()) {
+            if (obj.esEstatico() && obj instanceof Tile) {
+                Tile tile = (Tile) obj;
+                if (tile.isEsFondo()) {
+                    fondo.agregarTile(tile);
+                } else {
+                    bloques.agregarTile(tile);
+                }
+            }
+        }
+        fondo.componer();
+        bloques.componer();
+
+        return new NivelPreparado(nivel, parser, fondo, bloques, System.nanoTime() - inicio);
+    }
+
+    // ==================== GETTERS ====================
+
+    int getNivel() {
+        return nivel;
+    }
+
+    /**
+     * Parser con el mapa preparado (falta instalarMapa())
+     */
+    TiledTMXParser getParser() {
+        return parser;
+    }
+
+    CapaPreRenderizada getFondo() {
+        return fondo;
+    }
+
+    CapaPreRenderizada getBloques() {
+        return bloques;
+    }
+
+    long getNanosPreparacion() {
+        return nanosPreparacion;
+    }
+}
@@ -6,20 +6,23 @@ import Entidades.NPCs.Princesa;
 import Entidades.Jugador;
 import Entidades.Escenario.Escalera;
 import Entidades.Escenario.Tile;
+import Entidades.JuegoObjetos;
 import SistemaDeSoporte.ObjetosID;
 
 import java.awt.Point;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import mariotest.Juego;
 
 /**
  * Parser completo para archivos TMX (mapa) y TSX (tileset)
@@ -32,11 +35,33 @@ import org.w3c.dom.NodeList;
  * - Solo crea bloques sólidos donde hay colisión definida
  * - Maneja escaleras, spawns y objetos especiales
  * 
+ * LECTURA EN STREAMING (StAX):
+ * - El TMX y los TSX se recorren una sola vez, sin armar un árbol DOM
+ * - Capas csv, base64, base64+zlib y base64+gzip (ver DatosCapa)
+ * - Las capas se decodifican en paralelo; los tiles se crean después,
+ *   en este hilo y en el orden del archivo
+ * 
+ * CACHE DE NIVELES COMPILADOS:
+ * - Lo que sale del XML queda en un NivelCompilado (ver CacheNiveles)
+ * - Si el TMX y sus TSX no cambiaron, se lee ese binario y no se toca
+ *   el XML; si cambiaron, se recompila y se vuelve a guardar
+ * 
+ * PREPARAR / INSTALAR (precarga en segundo plano):
+ * - prepararMapa() lee el nivel y crea tiles, escaleras y colisiones
+ *   sin tocar el Handler ni el jugador: puede correr en otro hilo
+ * - instalarMapa() los agrega al Handler y procesa los objetos de Tiled
+ *   (spawns, DK, princesa); solo en el hilo del juego
+ * - cargarMapa() hace las dos cosas seguidas
+ * 
  * @author LENOVO
  */
 public class TiledTMXParser {
     
+    // Sin DTDs ni entidades externas: los mapas solo traen XML plano
+    private static final XMLInputFactory FABRICA_XML = crearFabricaXML();
+    
     private Handler handler;
+    private final CacheNiveles cache;  // null = siempre leer el XML
     private java.awt.Point playerSpawnPoint;
     // Configuración del mapa
     public static final int TILE_SIZE = 8;
@@ -49,8 +74,8 @@ public class TiledTMXParser {
     private int tileWidth;
     private int tileHeight;
     
-    // Mapeo de tiles con colisión (clave = tileID global, valor = tiene colisión)
-    private Map<Integer, Boolean> tilesConColision;
+    // Tiles con colisión (bit encendido = el tileID global tiene colisión)
+    private BitSet tilesConColision;
     
     // NUEVO: Mapeo de tiles especiales
     private Map<Integer, String> tilesEspeciales; // tileID → tipo ("escalera", "escalera_rota", etc.)
@@ -68,13 +93,38 @@ public class TiledTMXParser {
     private Point posicionInicioDK;
     private Point posicionPrincesa;
     private boolean[][] tilesSolidos;
+    private MapaColision mapaColision;
+    
+    // Mundo preparado, pendiente de instalar en el Handler
+    private final List<JuegoObjetos> objetosPreparados;
+    private final List<Point> spawnsMarioPendientes;
+    private NivelCompilado nivelPreparado;  // null = mapa por defecto (sin objetos de Tiled)
+    private boolean moverJugadorPorDefecto;
+    private int nivelTexturas;
     
     public TiledTMXParser(Handler handler) {
+        this(handler, CacheNiveles.predeterminada());
+    }
+    
+    /**
+     * @param cache Cache de niveles compilados (null = siempre leer el XML)
+     */
+    public TiledTMXParser(Handler handler, CacheNiveles cache) {
         this.handler = handler;
+        this.cache = cache;
         this.barrilSpawns = new ArrayList<>();
         this.escalerasPos = new ArrayList<>();
-        this.tilesConColision = new HashMap<>();
+        this.tilesConColision = new BitSet();
         this.tilesetFirstGids = new HashMap<>();
+        this.objetosPreparados = new ArrayList<>();
+        this.spawnsMarioPendientes = new ArrayList<>();
+    }
+    
+    private static XMLInputFactory crearFabricaXML() {
+        XMLInputFactory fabrica = XMLInputFactory.newInstance();
+        fabrica.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        fabrica.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return fabrica;
     }
     
     /**
@@ -83,25 +133,82 @@ public class TiledTMXParser {
      * @param rutaArchivo Ruta al TMX (ej: "/Imagenes/test1.tmx")
      */
     public void cargarMapa(String rutaArchivo) {
+        prepararMapa(rutaArchivo, Juego.getTextura().getNivelActual());
+        instalarMapa();
+    }
+    
+    /**
+     * Lee el mapa y crea sus tiles y escaleras sin agregarlos al Handler
+     * 
+     * @param rutaArchivo Ruta al TMX (ej: "/Imagenes/test1.tmx")
+     * @param nivelTexturas Nivel del que se toman los sprites de los tiles
+     */
+    public void prepararMapa(String rutaArchivo, int nivelTexturas) {
+        this.nivelTexturas = nivelTexturas;
+        objetosPreparados.clear();
+        spawnsMarioPendientes.clear();
+        nivelPreparado = null;
+        moverJugadorPorDefecto = false;
+        
         try {
             System.out.println("\n========================================");
             System.out.println("  CARGANDO MAPA TILED");
             System.out.println("========================================");
             System.out.println("[TMX] Archivo: " + rutaArchivo);
             
-            // Cargar y parsear el XML del TMX
-            InputStream is = getClass().getResourceAsStream(rutaArchivo);
-            if (is == null) {
+            byte[] tmx = leerRecurso(rutaArchivo);
+            if (tmx == null) {
                 throw new Exception("No se encontró el archivo: " + rutaArchivo);
             }
             
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(is);
-            doc.getDocumentElement().normalize();
+            // Nivel ya compilado: sin XML ni TSX
+            long inicio = System.nanoTime();
+            NivelCompilado nivel = cache != null ? cache.leer(tmx) : null;
+            if (nivel != null) {
+                System.out.println("[TMX] Leído de la cache de niveles en " + 
+                                 (System.nanoTime() - inicio) / 1000 + " µs");
+            } else {
+                nivel = compilar(tmx);
+                if (cache != null) {
+                    cache.guardar(tmx, nivel);
+                }
+            }
+            
+            aplicar(nivel);
+            nivelPreparado = nivel;
             
-            // Parsear el mapa
-            parsearMapa(doc);
+            // Compactar la geometría sólida en el mapa de colisión
+            mapaColision = MapaColision.desde(tilesSolidos, TILE_RENDER_SIZE);
+            
+        } catch (Exception e) {
+            System.err.println("[ERROR] No se pudo cargar el TMX: " + e.getMessage());
+            e.printStackTrace();
+            crearMapaPorDefecto();
+        }
+    }
+    
+    /**
+     * Agrega al Handler lo preparado por prepararMapa() y procesa los
+     * objetos de Tiled. Solo en el hilo del juego.
+     */
+    public void instalarMapa() {
+        for (JuegoObjetos obj : objetosPreparados) {
+            handler.addObj(obj);
+        }
+        for (Point spawn : spawnsMarioPendientes) {
+            posicionarMario(spawn.x, spawn.y);
+        }
+        if (moverJugadorPorDefecto && handler.getPlayer() != null) {
+            handler.getPlayer().setX(100);
+            handler.getPlayer().setY(400);
+        }
+        
+        // PASO 3: Objetos (spawns, triggers, etc.)
+        if (nivelPreparado != null) {
+            System.out.println("\n[PASO 3] Parseando capas de objetos...");
+            for (NivelCompilado.Objeto objeto : nivelPreparado.getObjetos()) {
+                procesarObjeto(objeto);
+            }
             
             System.out.println("\n========================================");
             System.out.println("  MAPA CARGADO EXITOSAMENTE");
@@ -110,82 +217,150 @@ public class TiledTMXParser {
             System.out.println("[STATS] Escaleras: " + escalerasPos.size());
             System.out.println("[STATS] Spawns barriles: " + barrilSpawns.size());
             System.out.println("[STATS] Tiles con colisión: " + contarTilesConColision());
+            System.out.println("[STATS] " + mapaColision);
             System.out.println("========================================\n");
-            
-        } catch (Exception e) {
-            System.err.println("[ERROR] No se pudo cargar el TMX: " + e.getMessage());
-            e.printStackTrace();
-            crearMapaPorDefecto();
         }
+        
+        objetosPreparados.clear();
+        spawnsMarioPendientes.clear();
+        nivelPreparado = null;
     }
     
     /**
-     * Parsea el documento XML del mapa TMX
+     * Tiles y escaleras creados por prepararMapa() (en orden de creación)
      */
-    private void parsearMapa(Document doc) {
-        // Obtener el elemento raíz <map>
-        Element mapElement = doc.getDocumentElement();
-        
-        // Leer dimensiones del mapa
-        mapaAncho = Integer.parseInt(mapElement.getAttribute("width"));
-        mapaAlto = Integer.parseInt(mapElement.getAttribute("height"));
-        tileWidth = Integer.parseInt(mapElement.getAttribute("tilewidth"));
-        tileHeight = Integer.parseInt(mapElement.getAttribute("tileheight"));
-        
-        tilesSolidos = new boolean[mapaAncho][mapaAlto];
+    public List<JuegoObjetos> getObjetosPreparados() {
+        return java.util.Collections.unmodifiableList(objetosPreparados);
+    }
+    
+    /**
+     * Lee un TMX y lo resuelve a un NivelCompilado, sin tocar el Handler
+     * 
+     * @param tmx Contenido del archivo
+     */
+    NivelCompilado compilar(byte[] tmx) throws XMLStreamException {
+        NivelCompilado nivel = new NivelCompilado();
+        XMLStreamReader lector = FABRICA_XML.createXMLStreamReader(new ByteArrayInputStream(tmx));
+        try {
+            parsearMapa(lector, nivel);
+        } finally {
+            lector.close();
+        }
+        return nivel;
+    }
+    
+    /**
+     * Recorre el TMX una sola vez, en orden de documento
+     * 
+     * Los tilesets se procesan al leerlos (Tiled siempre los escribe antes
+     * que las capas). Las capas se decodifican al final, todas juntas.
+     */
+    private void parsearMapa(XMLStreamReader lector, NivelCompilado nivel) throws XMLStreamException {
+        List<DatosCapa> capas = new ArrayList<>();
         
-        System.out.println("[TMX] Dimensiones: " + mapaAncho + "x" + mapaAlto + " tiles");
-        System.out.println("[TMX] Tamaño tile: " + tileWidth + "x" + tileHeight + " px");
+        // Atributos de la última <layer> (su <data> viene adentro)
+        String nombreCapa = null;
+        int anchoCapa = 0;
+        int altoCapa = 0;
         
-        // PASO 1: Parsear tilesets (CRÍTICO - debe ir primero)
-        System.out.println("\n[PASO 1] Parseando tilesets...");
-        parsearTilesets(doc);
+        boolean enMapa = false;
         
-        // PASO 2: Parsear capas de tiles
-        System.out.println("\n[PASO 2] Parseando capas de tiles...");
-        NodeList capas = doc.getElementsByTagName("layer");
-        for (int i = 0; i < capas.getLength(); i++) {
-            Node nodo = capas.item(i);
-            if (nodo.getNodeType() == Node.ELEMENT_NODE) {
-                Element capa = (Element) nodo;
-                parsearCapa(capa);
+        while (lector.hasNext()) {
+            if (lector.next() != XMLStreamConstants.START_ELEMENT) {
+                continue;
             }
+            
+            switch (lector.getLocalName()) {
+                case "map":
+                    leerDimensiones(lector, nivel);
+                    enMapa = true;
+                    // PASO 1: Los tilesets vienen a continuación
+                    System.out.println("\n[PASO 1] Parseando tilesets...");
+                    break;
+                    
+                case "tileset":
+                    parsearTileset(lector, nivel);
+                    break;
+                    
+                case "layer":
+                    nombreCapa = atributo(lector, "name");
+                    anchoCapa = atributoEntero(lector, "width", nivel.getAncho());
+                    altoCapa = atributoEntero(lector, "height", nivel.getAlto());
+                    break;
+                    
+                case "data":
+                    if (nombreCapa != null) {
+                        capas.add(leerDatosCapa(lector, nombreCapa, anchoCapa, altoCapa));
+                        nombreCapa = null;
+                    }
+                    break;
+                    
+                case "objectgroup":
+                    System.out.println("[OBJETOS] Capa encontrada: " + atributo(lector, "name"));
+                    break;
+                    
+                case "object":
+                    nivel.agregarObjeto(
+                        atributo(lector, "type"),
+                        atributoDecimal(lector, "x") * ESCALA_VISUAL,
+                        atributoDecimal(lector, "y") * ESCALA_VISUAL
+                    );
+                    break;
+                    
+                default:
+                    break;
+            }
+        }
+        
+        if (!enMapa) {
+            throw new XMLStreamException("El archivo no tiene un elemento <map>");
         }
         
-        // PASO 3: Parsear capas de objetos (spawns, triggers, etc.)
-        System.out.println("\n[PASO 3] Parseando capas de objetos...");
-        NodeList capasObjetos = doc.getElementsByTagName("objectgroup");
-        for (int i = 0; i < capasObjetos.getLength(); i++) {
-            Node nodo = capasObjetos.item(i);
-            if (nodo.getNodeType() == Node.ELEMENT_NODE) {
-                Element capaObjetos = (Element) nodo;
-                parsearCapaObjetos(capaObjetos);
+        // Decodificar las capas (en paralelo si hay varias)
+        if (capas.size() > 1) {
+            capas.parallelStream().forEach(DatosCapa::decodificar);
+        } else {
+            capas.forEach(DatosCapa::decodificar);
+        }
+        for (DatosCapa capa : capas) {
+            if (capa.getGids() != null) {
+                nivel.agregarCapa(capa.getNombre(), capa.getAncho(), capa.getAlto(), capa.getGids());
+            } else {
+                System.err.println("[ERROR] Capa '" + capa.getNombre() + "': " + capa.getError());
             }
         }
     }
     
     /**
-     * Parsea los tilesets y carga los TSX externos
+     * Lee las dimensiones del elemento <map>
+     */
+    private void leerDimensiones(XMLStreamReader lector, NivelCompilado nivel) {
+        nivel.setDimensiones(
+            atributoEntero(lector, "width", 0),
+            atributoEntero(lector, "height", 0),
+            atributoEntero(lector, "tilewidth", TILE_SIZE),
+            atributoEntero(lector, "tileheight", TILE_SIZE)
+        );
+        
+        System.out.println("[TMX] Dimensiones: " + nivel.getAncho() + "x" + nivel.getAlto() + " tiles");
+        System.out.println("[TMX] Tamaño tile: " + nivel.getAnchoTile() + "x" + nivel.getAltoTile() + " px");
+    }
+    
+    /**
+     * Procesa un <tileset> del TMX: externo (.tsx) o embebido en el mapa
      * CRÍTICO: Detecta colisiones desde los archivos .tsx
      */
-    private void parsearTilesets(Document doc) {
-        NodeList tilesets = doc.getElementsByTagName("tileset");
+    private void parsearTileset(XMLStreamReader lector, NivelCompilado nivel) throws XMLStreamException {
+        int firstGid = atributoEntero(lector, "firstgid", 1);
+        String source = atributo(lector, "source");
         
-        for (int i = 0; i < tilesets.getLength(); i++) {
-            Node nodo = tilesets.item(i);
-            if (nodo.getNodeType() == Node.ELEMENT_NODE) {
-                Element tileset = (Element) nodo;
-                
-                int firstGid = Integer.parseInt(tileset.getAttribute("firstgid"));
-                String source = tileset.getAttribute("source");
-                
-                System.out.println("[TILESET] firstgid=" + firstGid + ", source=" + source);
-                
-                // Si el tileset es externo (.tsx), cargarlo
-                if (source != null && !source.isEmpty()) {
-                    cargarTSXExterno(source, firstGid);
-                }
-            }
+        System.out.println("[TILESET] firstgid=" + firstGid + ", source=" + source);
+        
+        // Si el tileset es externo (.tsx), cargarlo
+        if (!source.isEmpty()) {
+            cargarTSXExterno(source, firstGid, nivel);
+        } else {
+            leerTiles(lector, firstGid, nivel);
         }
     }
     
@@ -195,137 +370,189 @@ public class TiledTMXParser {
      * @param rutaTSX Ruta relativa al TSX (ej: "bloques21.tsx")
      * @param firstGid Primer GID del tileset
      */
-    private void cargarTSXExterno(String rutaTSX, int firstGid) {
-        try {
-            System.out.println("[TSX] Cargando: " + rutaTSX);
-            
-            // Construir ruta completa (asumiendo que está en /Imagenes/)
-            String rutaCompleta = "/Imagenes/" + rutaTSX;
-            
-            InputStream is = getClass().getResourceAsStream(rutaCompleta);
+    private void cargarTSXExterno(String rutaTSX, int firstGid, NivelCompilado nivel) {
+        System.out.println("[TSX] Cargando: " + rutaTSX);
+        
+        // Construir ruta completa (asumiendo que está en /Imagenes/)
+        String rutaCompleta = "/Imagenes/" + rutaTSX;
+        nivel.agregarDependencia(rutaCompleta);  // también si falta: la cache lo vigila
+        
+        try (InputStream is = getClass().getResourceAsStream(rutaCompleta)) {
             if (is == null) {
                 System.err.println("[ERROR] No se encontro TSX: " + rutaCompleta);
                 return;
             }
             
-            // Parsear el TSX
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document tsxDoc = builder.parse(is);
-            tsxDoc.getDocumentElement().normalize();
-            
-            Element tilesetElement = tsxDoc.getDocumentElement();
-            
-            // Leer información del tileset
-            String nombre = tilesetElement.getAttribute("name");
-            int tilecount = Integer.parseInt(tilesetElement.getAttribute("tilecount"));
-            
-            System.out.println("[TSX] Nombre: " + nombre);
-            System.out.println("[TSX] Total tiles: " + tilecount);
-            System.out.println("[TSX] firstgid: " + firstGid);
-            
-            // Guardar firstgid para este tileset
-            tilesetFirstGids.put(nombre, firstGid);
+            XMLStreamReader lector = FABRICA_XML.createXMLStreamReader(is);
+            try {
+                lector.nextTag();  // <tileset>
+                leerTiles(lector, firstGid, nivel);
+            } finally {
+                lector.close();
+            }
             
-            // DETECTAR COLISIONES: Buscar todos los <tile> con <objectgroup>
-            NodeList tiles = tsxDoc.getElementsByTagName("tile");
-            int tilesConColisionEncontrados = 0;
+        } catch (Exception e) {
+            System.err.println("[ERROR] Fallo al cargar TSX '" + rutaTSX + "': " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Lee un <tileset> hasta su cierre buscando tiles con colisión
+     * (un <tile> con <objectgroup> adentro)
+     * 
+     * @param lector Posicionado en el inicio de <tileset>
+     */
+    private void leerTiles(XMLStreamReader lector, int firstGid, NivelCompilado nivel) throws XMLStreamException {
+        String nombre = atributo(lector, "name");
+        int tilecount = atributoEntero(lector, "tilecount", 0);
+        
+        System.out.println("[TSX] Nombre: " + nombre);
+        System.out.println("[TSX] Total tiles: " + tilecount);
+        System.out.println("[TSX] firstgid: " + firstGid);
+        
+        // Guardar firstgid para este tileset
+        tilesetFirstGids.put(nombre, firstGid);
+        
+        int tilesConColisionEncontrados = 0;
+        int localId = -1;  // <tile> abierto (-1 = ninguno)
+        int profundidad = 1;
+        
+        while (profundidad > 0) {
+            int evento = lector.next();
             
-            for (int i = 0; i < tiles.getLength(); i++) {
-                Node nodo = tiles.item(i);
-                if (nodo.getNodeType() == Node.ELEMENT_NODE) {
-                    Element tile = (Element) nodo;
-                    
-                    // ID local del tile (dentro del tileset)
-                    int localId = Integer.parseInt(tile.getAttribute("id"));
+            if (evento == XMLStreamConstants.START_ELEMENT) {
+                profundidad++;
+                String elemento = lector.getLocalName();
+                
+                if (elemento.equals("tile")) {
+                    localId = atributoEntero(lector, "id", -1);
                     
-                    // ID global del tile (sumando firstgid)
+                } else if (elemento.equals("objectgroup") && localId >= 0) {
+                    // Este tile tiene colisión
                     int globalId = firstGid + localId;
+                    nivel.marcarColision(globalId);
+                    tilesConColisionEncontrados++;
                     
-                    // Buscar si tiene <objectgroup> (indica colisión)
-                    NodeList objectgroups = tile.getElementsByTagName("objectgroup");
-                    
-                    if (objectgroups.getLength() > 0) {
-                        // Este tile tiene colisión
-                        tilesConColision.put(globalId, true);
-                        tilesConColisionEncontrados++;
-                        
-                        System.out.println("[TSX] Tile con colisión: localID=" + localId + 
-                                         " → globalID=" + globalId);
-                    }
+                    System.out.println("[TSX] Tile con colisión: localID=" + localId + 
+                                     " → globalID=" + globalId);
+                    localId = -1;  // contar cada tile una sola vez
+                }
+                
+            } else if (evento == XMLStreamConstants.END_ELEMENT) {
+                profundidad--;
+                if (lector.getLocalName().equals("tile")) {
+                    localId = -1;
                 }
             }
-            
-            System.out.println("[TSX] Tiles con colisión encontrados: " + tilesConColisionEncontrados);
-            
-        } catch (Exception e) {
-            System.err.println("[ERROR] Fallo al cargar TSX '" + rutaTSX + "': " + e.getMessage());
-            e.printStackTrace();
         }
+        
+        System.out.println("[TSX] Tiles con colisión encontrados: " + tilesConColisionEncontrados);
     }
     
     /**
-     * Parsea una capa de tiles
+     * Junta el texto de un <data> hasta su cierre (sin decodificarlo)
+     * 
+     * @param lector Posicionado en el inicio de <data>
      */
-    private void parsearCapa(Element capa) {
-        String nombreCapa = capa.getAttribute("name");
-        System.out.println("[CAPA] Procesando: " + nombreCapa);
+    private DatosCapa leerDatosCapa(XMLStreamReader lector, String nombreCapa,
+                                    int ancho, int alto) throws XMLStreamException {
+        DatosCapa capa = new DatosCapa(
+            nombreCapa, ancho, alto,
+            atributo(lector, "encoding"),
+            atributo(lector, "compression")
+        );
         
-        // Obtener los datos de la capa
-        NodeList dataNodes = capa.getElementsByTagName("data");
-        if (dataNodes.getLength() == 0) return;
+        int profundidad = 1;
+        while (profundidad > 0) {
+            switch (lector.next()) {
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                    capa.agregarTexto(lector.getTextCharacters(),
+                                      lector.getTextStart(), lector.getTextLength());
+                    break;
+                case XMLStreamConstants.START_ELEMENT:
+                    profundidad++;  // <tile>/<chunk>: formatos no soportados
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    profundidad--;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return capa;
+    }
+    
+    /**
+     * Crea los tiles y escaleras del nivel
+     * (el parser se reutiliza entre niveles: todo arranca de cero)
+     */
+    private void aplicar(NivelCompilado nivel) {
+        mapaAncho = nivel.getAncho();
+        mapaAlto = nivel.getAlto();
+        tileWidth = nivel.getAnchoTile();
+        tileHeight = nivel.getAltoTile();
+        tilesSolidos = new boolean[mapaAncho][mapaAlto];
+        tilesConColision = nivel.getColisiones();
         
-        Element dataElement = (Element) dataNodes.item(0);
-        String encoding = dataElement.getAttribute("encoding");
+        barrilSpawns.clear();
+        escalerasPos.clear();
+        posicionInicioDK = null;
+        posicionPrincesa = null;
         
-        if (encoding.equals("csv")) {
-            parsearCapaCSV(dataElement, nombreCapa);
-        } else {
-            System.err.println("[ERROR] Solo se soporta encoding='csv'");
+        // PASO 2: Crear los tiles de cada capa (los objetos van al instalar)
+        System.out.println("\n[PASO 2] Parseando capas de tiles...");
+        for (NivelCompilado.Capa capa : nivel.getCapas()) {
+            aplicarCapa(capa);
         }
     }
     
     /**
-     * Parsea una capa con encoding CSV
+     * Crea los tiles de una capa ya decodificada
      * CRÍTICO: Crea bloques sólidos O tiles visuales según colisión del TSX
      */
-   private void parsearCapaCSV(Element dataElement , String nombreCapa) {
-        String csvData = dataElement.getTextContent().trim();
-        String[] valores = csvData.split(",");
+    private void aplicarCapa(NivelCompilado.Capa capa) {
+        String nombreCapa = capa.nombre;
+        System.out.println("[CAPA] Procesando: " + nombreCapa);
         
-        int bloquesCreados = 0;
-        int tilesVisualesCreados = 0;
-        int index = 0;
+        int[] gids = capa.gids;
         
         boolean estaCapaEsFondo = nombreCapa.toLowerCase().contains("fondo");
         if (estaCapaEsFondo) {
-        System.out.println("[CSV] Detectada capa de fondo: " + nombreCapa);
+            System.out.println("[CAPA] Detectada capa de fondo: " + nombreCapa);
         }
         
-        for (int y = 0; y < mapaAlto; y++) {
-        for (int x = 0; x < mapaAncho; x++) {
-            int tileID = Integer.parseInt(valores[index].trim());
-            index++;
-            
-            if (tileID == 0) continue;
-            
-            int worldX = x * TILE_RENDER_SIZE;
-            int worldY = y * TILE_RENDER_SIZE;
-            
-            // Verificar si tiene colisión
-            boolean tieneColision = tilesConColision.getOrDefault(tileID, false);
-            
-            // ✅ CREAR TILE UNIFICADO
-            crearTile(worldX, worldY, tileID, tieneColision, estaCapaEsFondo);
-            
-            procesarTileEspecial(tileID, worldX, worldY);
+        int ancho = Math.min(capa.ancho, mapaAncho);
+        int alto = Math.min(capa.alto, mapaAlto);
+        int tilesCreados = 0;
+        
+        for (int y = 0; y < alto; y++) {
+            int fila = y * capa.ancho;
+            for (int x = 0; x < ancho; x++) {
+                int tileID = gids[fila + x];
+                if (tileID == 0) continue;
+                
+                int worldX = x * TILE_RENDER_SIZE;
+                int worldY = y * TILE_RENDER_SIZE;
+                
+                // Verificar si tiene colisión
+                boolean tieneColision = tilesConColision.get(tileID);
+                if (tieneColision) {
+                    tilesSolidos[x][y] = true;
+                }
+                
+                // ✅ CREAR TILE UNIFICADO
+                crearTile(worldX, worldY, tileID, tieneColision, estaCapaEsFondo);
+                tilesCreados++;
+                
+                procesarTileEspecial(tileID, worldX, worldY);
+            }
         }
+        
+        System.out.println("[CAPA] Tiles creados: " + tilesCreados);
     }
     
-    System.out.println("[CSV] Tiles creados: " + 
-                      "(sólidos + decorativos = total)");
-}
-   
    private void crearTile(int x, int y, int tileID, boolean tieneColision , boolean esFondo) {
     Tile tile = Tile.crear(
         x, y, 
@@ -333,9 +560,10 @@ public class TiledTMXParser {
         1, 
         tileID, 
         tieneColision, 
-        esFondo  // esFondo = false (primer plano por defecto)
+        esFondo,  // esFondo = false (primer plano por defecto)
+        nivelTexturas
     );
-    handler.addObj(tile);
+    objetosPreparados.add(tile);
 }
     
     /**
@@ -351,59 +579,80 @@ public class TiledTMXParser {
         
         // Spawn de Mario (ajusta el ID según tu tileset)
         if (tileID == TILE_SPAWN_MARIO) {
-            posicionarMario(worldX, worldY);
+            spawnsMarioPendientes.add(new Point(worldX, worldY));
         }
     }
     
     /**
-     * Parsea una capa de objetos (spawns, triggers, etc.)
+     * Procesa un objeto de una capa de objetos (spawns, triggers, etc.)
      */
-    private void parsearCapaObjetos(Element capaObjetos) {
-        String nombreCapa = capaObjetos.getAttribute("name");
-        System.out.println("[OBJETOS] Procesando capa: " + nombreCapa);
+    private void procesarObjeto(NivelCompilado.Objeto objeto) {
+        float x = objeto.x;
+        float y = objeto.y;
         
-        NodeList objetos = capaObjetos.getElementsByTagName("object");
-        
-        for (int i = 0; i < objetos.getLength(); i++) {
-            Node nodo = objetos.item(i);
-            if (nodo.getNodeType() == Node.ELEMENT_NODE) {
-                Element objeto = (Element) nodo;
+        // Procesar según el tipo
+        switch (objeto.tipo.toLowerCase()) {
+            case "spawn_barril":
+                barrilSpawns.add(new Point((int)x, (int)y));
+                System.out.println("[OBJETO] Spawn barril: (" + x + ", " + y + ")");
+                break;
                 
-                String tipo = objeto.getAttribute("type");
-                float x = Float.parseFloat(objeto.getAttribute("x")) * ESCALA_VISUAL;
-                float y = Float.parseFloat(objeto.getAttribute("y")) * ESCALA_VISUAL;
+            case "spawn_mario":
+                posicionarMario((int)x, (int)y);
+                break;
                 
-                // Procesar según el tipo
-                switch (tipo.toLowerCase()) {
-                    case "spawn_barril":
-                        barrilSpawns.add(new Point((int)x, (int)y));
-                        System.out.println("[OBJETO] Spawn barril: (" + x + ", " + y + ")");
-                        break;
-                        
-                    case "spawn_mario":
-                        posicionarMario((int)x, (int)y);
-                        break;
-                        
-                    case "spawn_dk":
-                        crearDiegoKong((int)x, (int)y);
-                        break;
-                        
-                    case "princesa":
-                        posicionPrincesa = new Point((int)x, (int)y);
-                        crearPrincesa((int)x, (int)y);
-                        break;
-                }
-            }
+            case "spawn_dk":
+                crearDiegoKong((int)x, (int)y);
+                break;
+                
+            case "princesa":
+                posicionPrincesa = new Point((int)x, (int)y);
+                crearPrincesa((int)x, (int)y);
+                break;
         }
     }
     
+    // ==================== LECTURA DE RECURSOS ====================
+    
+    /**
+     * Contenido de un recurso del classpath (null si no existe o falla)
+     */
+    static byte[] leerRecurso(String ruta) {
+        try (InputStream is = TiledTMXParser.class.getResourceAsStream(ruta)) {
+            return is != null ? is.readAllBytes() : null;
+        } catch (IOException e) {
+            System.err.println("[ERROR] No se pudo leer " + ruta + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    // ==================== ATRIBUTOS XML ====================
+    
+    /**
+     * Valor de un atributo ("" si no está, como Element.getAttribute)
+     */
+    private static String atributo(XMLStreamReader lector, String nombre) {
+        String valor = lector.getAttributeValue(null, nombre);
+        return valor != null ? valor : "";
+    }
+    
+    private static int atributoEntero(XMLStreamReader lector, String nombre, int porDefecto) {
+        String valor = lector.getAttributeValue(null, nombre);
+        return valor != null ? Integer.parseInt(valor) : porDefecto;
+    }
+    
+    private static float atributoDecimal(XMLStreamReader lector, String nombre) {
+        String valor = lector.getAttributeValue(null, nombre);
+        return valor != null ? Float.parseFloat(valor) : 0f;
+    }
+    
     
     /**
      * Crea una escalera
      */
     private void crearEscalera(int x, int y, boolean esRota) {
         Escalera escalera = new Escalera(x, y, TILE_RENDER_SIZE, TILE_RENDER_SIZE, esRota);
-        handler.addObj(escalera);
+        objetosPreparados.add(escalera);
     }
     
     /**
@@ -451,6 +700,11 @@ public class TiledTMXParser {
     private void crearMapaPorDefecto() {
         System.out.println("[DEFAULT] Creando mapa por defecto...");
         
+        objetosPreparados.clear();
+        spawnsMarioPendientes.clear();
+        nivelPreparado = null;
+        escalerasPos.clear();
+        
         mapaAncho = 32;
         mapaAlto = 30;
         tilesSolidos = new boolean[mapaAncho][mapaAlto];
@@ -463,10 +717,10 @@ public class TiledTMXParser {
             tilesSolidos[i][mapaAlto - 1] = true;
         }
         
-        if (handler.getPlayer() != null) {
-            handler.getPlayer().setX(100);
-            handler.getPlayer().setY(400);
-        }
+        mapaColision = MapaColision.desde(tilesSolidos, TILE_RENDER_SIZE);
+        
+        // El jugador se mueve al instalar (acá puede no ser el hilo del juego)
+        moverJugadorPorDefecto = true;
     }
     
     /**
@@ -514,55 +768,6 @@ public class TiledTMXParser {
         return tiles;
     }
     
-    private void procesarObjetosSpawn(org.w3c.dom.Document doc) {
-    try {
-        // Buscar capa de objetos "Spawns" o "Objetos"
-        org.w3c.dom.NodeList capasObjetos = doc.getElementsByTagName("objectgroup");
-        
-        for (int i = 0; i < capasObjetos.getLength(); i++) {
-            org.w3c.dom.Element capa = (org.w3c.dom.Element) capasObjetos.item(i);
-            String nombreCapa = capa.getAttribute("name");
-            
-            // Solo procesar capa de spawns
-            if (!nombreCapa.equalsIgnoreCase("spawns") && 
-                !nombreCapa.equalsIgnoreCase("objetos")) {
-                continue;
-            }
-            
-            // Procesar objetos dentro de la capa
-            org.w3c.dom.NodeList objetos = capa.getElementsByTagName("object");
-            
-            for (int j = 0; j < objetos.getLength(); j++) {
-                org.w3c.dom.Element objeto = (org.w3c.dom.Element) objetos.item(j);
-                
-                String tipo = objeto.getAttribute("type");
-                String nombre = objeto.getAttribute("name");
-                
-                int x = (int)(Float.parseFloat(objeto.getAttribute("x")) * ESCALA_VISUAL);
-                int y = (int)(Float.parseFloat(objeto.getAttribute("y")) * ESCALA_VISUAL);
-                
-                // Detectar spawn point del jugador
-                if (tipo.equalsIgnoreCase("PlayerSpawn") || 
-                    nombre.equalsIgnoreCase("PlayerSpawn")) {
-                    
-                    playerSpawnPoint = new java.awt.Point(x, y);
-                    System.out.println("[TMX] Player spawn detectado: (" + x + ", " + y + ")");
-                    
-                    // Reposicionar jugador si ya existe
-                    if (handler.getPlayer() != null) {
-                        handler.getPlayer().setX(x);
-                        handler.getPlayer().setY(y);
-                        handler.getPlayer().setPuntoSpawn(x, y);
-                    }
-                }
-            }
-        }
-        
-    } catch (Exception e) {
-        System.err.println("[ERROR] Fallo procesando spawns: " + e.getMessage());
-    }
-}
-    
     // ==================== GETTERS ====================
     
     public List<Point> getBarrilSpawns() {
@@ -601,6 +806,13 @@ public class TiledTMXParser {
         return tilesSolidos;
     }
     
+    /**
+     * Mapa de colisión del último TMX cargado (null si aún no se cargó ninguno)
+     */
+    public MapaColision getMapaColision() {
+        return mapaColision;
+    }
+    
     public java.awt.Point getPlayerSpawnPoint() {
     return playerSpawnPoint;
 }
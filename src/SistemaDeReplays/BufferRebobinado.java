@@ -0,0 +1,87 @@
+package SistemaDeReplays;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Buffer circular con las últimas N instantáneas del mundo
+ *
+ * Cada ranura conserva su ByteBuffer directo entre vueltas: una vez
+ * lleno el anillo, capturar solo sobrescribe la instantánea más vieja.
+ * retroceder() saca la más nueva (rebobinado paso a paso).
+ *
+ * @author LENOVO
+ */
+public final class BufferRebobinado {
+
+    private final ByteBuffer[] ranuras;
+
+    // Índice de la instantánea más vieja y cuántas hay
+    private int inicio;
+    private int cantidad;
+
+    /**
+     * @param capacidad Cantidad máxima de instantáneas guardadas
+     */
+    public BufferRebobinado(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva");
+        }
+        this.ranuras = new ByteBuffer[capacidad];
+    }
+
+    /**
+     * Captura el mundo en la ranura siguiente (pisa la más vieja si está lleno)
+     */
+    public void agregar(InstantaneaMundo mundo) {
+        int indice;
+        if (cantidad == ranuras.length) {
+            indice = inicio;
+            inicio = (inicio + 1) % ranuras.length;
+        } else {
+            indice = (inicio + cantidad) % ranuras.length;
+            cantidad++;
+        }
+        ranuras[indice] = mundo.capturar(ranuras[indice]);
+    }
+
+    /**
+     * Saca la instantánea más nueva (null si no hay).
+     * El buffer sigue siendo válido hasta la próxima llamada a agregar().
+     */
+    public ByteBuffer retroceder() {
+        if (cantidad == 0) {
+            return null;
+        }
+        cantidad--;
+        return ranuras[(inicio + cantidad) % ranuras.length];
+    }
+
+    /**
+     * Descarta todas las instantáneas (los buffers se conservan)
+     */
+    public void vaciar() {
+        inicio = 0;
+        cantidad = 0;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public int getCapacidad() {
+        return ranuras.length;
+    }
+
+    /**
+     * Memoria directa reservada por todas las ranuras
+     */
+    public long getBytesReservados() {
+        long total = 0;
+        for (ByteBuffer ranura : ranuras) {
+            if (ranura != null) {
+                total += ranura.capacity();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,239 @@
+package SistemaDeReplays;
+
+import SistemaDeNiveles.GestorNiveles;
+import SistemaDeSoporte.Handler;
+import SistemaDeSoporte.HistogramaTiempos;
+import SistemaDeSoporte.Teclas;
+import java.nio.ByteBuffer;
+import mariotest.Configuracion;
+import mariotest.GestorEstados;
+
+/**
+ * Guardado rápido, rebobinado y reintento instantáneo
+ *
+ * INSTANTÁNEAS QUE MANTIENE:
+ * - Anillo de rebobinado: una cada TICKS_ENTRE_INSTANTANEAS ticks,
+ *   las de los últimos SEGUNDOS_REBOBINADO segundos del nivel actual
+ * - Guardado rápido: la que se pidió con guardarRapido()
+ * - Inicio de nivel: se toma sola en el primer tick de cada nivel;
+ *   reintentar() vuelve a ella sin recargar el TMX
+ *
+ * HILOS:
+ * - Los pedidos llegan desde el hilo de AWT (teclas) como banderas
+ * - antesDelTick() los atiende en el hilo del juego, entre ticks
+ *
+ * Con una grabación de replay en curso no se restaura nada (el replay
+ * dejaría de coincidir con la partida).
+ *
+ * @author LENOVO
+ */
+public final class GestorInstantaneas {
+
+    private final InstantaneaMundo mundo;
+    private final BufferRebobinado rebobinado;
+    private final GestorNiveles gestorNiveles;
+    private final GestorEstados gestorEstados;
+    private final Teclas teclas;
+
+    private ByteBuffer guardadoRapido;
+    private ByteBuffer inicioNivel;
+    private int cargasVistas = -1;
+    private int ticksDesdeCaptura;
+
+    // Duración de cada captura y restauración (solo hilo del juego)
+    private final HistogramaTiempos tiemposCaptura;
+    private final HistogramaTiempos tiemposRestauracion;
+
+    // Pedidos desde el hilo de AWT
+    private volatile boolean pedidoGuardar;
+    private volatile boolean pedidoCargar;
+    private volatile boolean pedidoReintentar;
+    private volatile boolean rebobinando;
+
+    public GestorInstantaneas(Handler handler, GestorNiveles gestorNiveles,
+                              GestorEstados gestorEstados, Teclas teclas) {
+        this.mundo = new InstantaneaMundo(handler, gestorNiveles);
+        this.rebobinado = new BufferRebobinado(
+            Configuracion.SEGUNDOS_REBOBINADO * Configuracion.TICKS_POR_SEGUNDO
+                / Configuracion.TICKS_ENTRE_INSTANTANEAS);
+        this.gestorNiveles = gestorNiveles;
+        this.gestorEstados = gestorEstados;
+        this.teclas = teclas;
+        this.tiemposCaptura = new HistogramaTiempos();
+        this.tiemposRestauracion = new HistogramaTiempos();
+    }
+
+    // ==================== PEDIDOS (cualquier hilo) ====================
+
+    public void guardarRapido() {
+        pedidoGuardar = true;
+    }
+
+    public void cargarRapido() {
+        pedidoCargar = true;
+    }
+
+    /**
+     * Vuelve al comienzo del nivel actual (también desde Game Over)
+     */
+    public void reintentar() {
+        pedidoReintentar = true;
+    }
+
+    /**
+     * Mientras está activo el juego corre hacia atrás en lugar de avanzar
+     */
+    public void setRebobinando(boolean rebobinando) {
+        this.rebobinando = rebobinando;
+    }
+
+    // ==================== HILO DEL JUEGO ====================
+
+    /**
+     * Atiende los pedidos y toma las instantáneas automáticas.
+     * Llamar al comienzo de cada tick, antes de simular.
+     *
+     * @return false si este tick no debe simular (rebobinando)
+     */
+    public boolean antesDelTick() {
+        if (pedidoReintentar) {
+            pedidoReintentar = false;
+            atenderReintento();
+        }
+
+        if (!gestorEstados.estaJugando()) {
+            return true;
+        }
+
+        if (pedidoCargar) {
+            pedidoCargar = false;
+            if (guardadoRapido == null) {
+                System.out.println("[INSTANTANEA] No hay guardado rápido");
+            } else {
+                restaurar(guardadoRapido, "Carga rápida");
+            }
+        }
+
+        if (rebobinando) {
+            if (++ticksDesdeCaptura >= Configuracion.TICKS_ENTRE_INSTANTANEAS) {
+                ticksDesdeCaptura = 0;
+                ByteBuffer anterior = rebobinado.retroceder();
+                if (anterior != null) {
+                    restaurar(anterior, null);
+                }
+            }
+            return false;
+        }
+
+        // Nada de capturas en la animación de victoria o las transiciones
+        if (!gestorNiveles.admiteInstantanea()) {
+            return true;
+        }
+
+        if (gestorNiveles.getCargasNivel() != cargasVistas) {
+            cargasVistas = gestorNiveles.getCargasNivel();
+            rebobinado.vaciar();
+            inicioNivel = capturar(inicioNivel);
+            ticksDesdeCaptura = 0;
+            System.out.println("[INSTANTANEA] Punto de reintento del nivel "
+                + gestorNiveles.getNivelActual() + " (" + inicioNivel.limit() + " bytes)");
+        }
+
+        if (pedidoGuardar) {
+            pedidoGuardar = false;
+            long inicio = System.nanoTime();
+            guardadoRapido = capturar(guardadoRapido);
+            System.out.println(String.format("[INSTANTANEA] Guardado rápido: %d bytes en %d µs",
+                guardadoRapido.limit(), (System.nanoTime() - inicio) / 1000));
+        }
+
+        if (++ticksDesdeCaptura >= Configuracion.TICKS_ENTRE_INSTANTANEAS) {
+            ticksDesdeCaptura = 0;
+            long inicio = System.nanoTime();
+            rebobinado.agregar(mundo);
+            tiemposCaptura.registrar(System.nanoTime() - inicio);
+        }
+        return true;
+    }
+
+    private void atenderReintento() {
+        if (inicioNivel == null) {
+            System.out.println("[INSTANTANEA] No hay punto de reintento");
+            return;
+        }
+        if (restaurar(inicioNivel, "Reintento") && !gestorEstados.estaJugando()) {
+            gestorEstados.reintentarNivel();
+        }
+    }
+
+    private ByteBuffer capturar(ByteBuffer destino) {
+        long inicio = System.nanoTime();
+        ByteBuffer buf = mundo.capturar(destino);
+        tiemposCaptura.registrar(System.nanoTime() - inicio);
+        return buf;
+    }
+
+    /**
+     * @param descripcion Texto para el log (null = sin log, p. ej. al rebobinar)
+     * @return true si se restauró
+     */
+    private boolean restaurar(ByteBuffer instantanea, String descripcion) {
+        if (teclas != null && teclas.getGrabador() != null) {
+            if (descripcion != null) {
+                System.out.println("[INSTANTANEA] " + descripcion + " ignorado: hay una grabación en curso");
+            }
+            return false;
+        }
+
+        int cargasAntes = gestorNiveles.getCargasNivel();
+        long inicio = System.nanoTime();
+        mundo.restaurar(instantanea);
+        long nanos = System.nanoTime() - inicio;
+        tiemposRestauracion.registrar(nanos);
+
+        // Las teclas quedan sueltas: lo pulsado antes no sigue valiendo
+        if (teclas != null) {
+            teclas.resetKeys();
+        }
+        ticksDesdeCaptura = 0;
+
+        // Se cargó otro nivel: el rebobinado anterior ya no sirve
+        if (gestorNiveles.getCargasNivel() != cargasAntes) {
+            cargasVistas = gestorNiveles.getCargasNivel();
+            rebobinado.vaciar();
+            if (instantanea != inicioNivel) {
+                inicioNivel = capturar(inicioNivel);
+            }
+        }
+
+        if (descripcion != null) {
+            System.out.println(String.format("[INSTANTANEA] %s: %d bytes en %d µs",
+                descripcion, instantanea.limit(), nanos / 1000));
+        }
+        return true;
+    }
+
+    // ==================== CONSULTA ====================
+
+    public boolean isRebobinando() {
+        return rebobinando;
+    }
+
+    /**
+     * Segundos que se pueden rebobinar ahora mismo
+     */
+    public float getSegundosDisponibles() {
+        return rebobinado.getCantidad() * Configuracion.TICKS_ENTRE_INSTANTANEAS
+            / (float) Configuracion.TICKS_POR_SEGUNDO;
+    }
+
+    public String getResumen() {
+        return String.format(
+            "[INSTANTANEA] Captura p50 %d µs / max %d µs | Restauración p50 %d µs / max %d µs | " +
+            "Rebobinado %.1f s (%d KB reservados)%n",
+            tiemposCaptura.percentil(0.5) / 1000, tiemposCaptura.getMaximo() / 1000,
+            tiemposRestauracion.percentil(0.5) / 1000, tiemposRestauracion.getMaximo() / 1000,
+            getSegundosDisponibles(), rebobinado.getBytesReservados() / 1024
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package SistemaDeReplays;
+
+import java.util.Arrays;
+
+/**
+ * Graba la entrada del jugador tick a tick (solo los cambios)
+ *
+ * Teclas llama a registrar() una vez por tick de juego; terminar()
+ * devuelve el Replay listo para guardar. Los métodos están
+ * sincronizados para poder terminar la grabación desde otro hilo
+ * (por ejemplo al cerrar la ventana).
+ *
+ * @author LENOVO
+ */
+public final class GrabadorEntradas {
+
+    private final long semilla;
+    private final int nivel;
+
+    private long ticks;
+    private int ultimaMascara;
+
+    private long[] ticksCambio;
+    private byte[] mascaras;
+    private int cantidad;
+
+    /**
+     * @param semilla Semilla del mundo al comenzar la grabación
+     * @param nivel Nivel en el que comienza la grabación
+     */
+    public GrabadorEntradas(long semilla, int nivel) {
+        this.semilla = semilla;
+        this.nivel = nivel;
+        this.ticksCambio = new long[256];
+        this.mascaras = new byte[256];
+    }
+
+    /**
+     * Entrada de un tick (bits Teclas.BOTON_*)
+     */
+    public synchronized void registrar(int mascara) {
+        if (mascara != ultimaMascara) {
+            if (cantidad == ticksCambio.length) {
+                ticksCambio = Arrays.copyOf(ticksCambio, cantidad * 2);
+                mascaras = Arrays.copyOf(mascaras, cantidad * 2);
+            }
+            ticksCambio[cantidad] = ticks;
+            mascaras[cantidad] = (byte) mascara;
+            cantidad++;
+            ultimaMascara = mascara;
+        }
+        ticks++;
+    }
+
+    /**
+     * Copia de lo grabado hasta ahora (se puede seguir grabando)
+     */
+    public synchronized Replay terminar() {
+        return new Replay(semilla, nivel, ticks,
+            Arrays.copyOf(ticksCambio, cantidad),
+            Arrays.copyOf(mascaras, cantidad));
+    }
+
+    public synchronized long getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,240 @@
+package SistemaDeReplays;
+
+import Entidades.EfectosVisuales.TextoPuntos;
+import Entidades.Enemigos.Barril;
+import Entidades.Enemigos.EnemigoFuego.ComportamientoFuego;
+import Entidades.Enemigos.Fuego;
+import Entidades.Enemigos.Llama;
+import Entidades.Escenario.PlataformaMovil;
+import Entidades.Items.BolsoDama;
+import Entidades.Items.Martillo;
+import Entidades.Items.Paraguas;
+import Entidades.Items.Sombrero;
+import Entidades.JuegoObjetos;
+import Entidades.Jugador;
+import Entidades.NPCs.DiegoKong;
+import Entidades.NPCs.Princesa;
+import SistemaDeNiveles.GestorNiveles;
+import SistemaDeSoporte.EstadoJuego;
+import SistemaDeSoporte.Handler;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Reutilizable;
+import java.awt.Color;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Instantánea binaria del mundo: captura y restauración
+ *
+ * Se escribe en ByteBuffers directos que el llamador reutiliza; capturar
+ * no crea objetos (salvo al agrandar un buffer que quedó chico).
+ *
+ * FORMATO (big endian):
+ *   int    "DKSN"
+ *   byte   versión
+ *   byte   nivel
+ *   EstadoJuego, GestorNiveles (spawners)
+ *   short  cantidad de objetos dinámicos
+ *   por objeto, en orden de tick: byte tipo + su estado (Persistente)
+ *   SistemaParticulas
+ *   GeneradorAleatorio
+ *
+ * QUÉ NO SE GUARDA:
+ * - Tiles, escaleras y mapa de colisión: vienen del TMX y no cambian
+ *   durante el nivel (restaurar en otro nivel lo carga primero)
+ * - Sprites y referencias: cada objeto los reconstruye solo
+ *
+ * AL RESTAURAR:
+ * - Se reutilizan las instancias que no son de un pool (jugador, DK,
+ *   princesa, plataformas, llamas, items) en el orden guardado
+ * - Barriles, fuegos y textos se piden a su PoolObjetos
+ * - Las partículas se copian directo a los arreglos del SistemaParticulas
+ * - El azar se restaura al final: pedir objetos a un pool lo consume
+ *
+ * Solo hilo del juego y fuera de Handler.tick().
+ *
+ * @author LENOVO
+ */
+public final class InstantaneaMundo {
+
+    private static final int MAGIA = 0x444B534E;  // "DKSN"
+    private static final int VERSION = 2;
+    private static final int TAMANO_INICIAL = 4 * 1024;  // un nivel típico ocupa ~1 KB
+
+    /**
+     * Tipos de objeto dinámico que entran en la instantánea.
+     * Sin fábrica = siempre existe en el nivel y se reutiliza.
+     */
+    enum TipoEntidad {
+        JUGADOR(Jugador.class, null),
+        DIEGO_KONG(DiegoKong.class, null),
+        PRINCESA(Princesa.class, null),
+        PLATAFORMA(PlataformaMovil.class, null),
+        BARRIL(Barril.class, h -> Barril.obtener(0, 0, 1, h, 1)),
+        FUEGO(Fuego.class, h -> Fuego.obtener(0, 0, 1, h, ComportamientoFuego.PATRULLA, 1)),
+        LLAMA(Llama.class, h -> new Llama(0, 0, 1, h, ComportamientoFuego.ESTATICO, 1)),
+        TEXTO_PUNTOS(TextoPuntos.class, h -> TextoPuntos.obtener(0, 0, "", Color.WHITE, h)),
+        MARTILLO(Martillo.class, h -> new Martillo(0, 0, 1, h)),
+        PARAGUAS(Paraguas.class, h -> new Paraguas(0, 0, 1, h)),
+        SOMBRERO(Sombrero.class, h -> new Sombrero(0, 0, 1, h)),
+        BOLSO(BolsoDama.class, h -> new BolsoDama(0, 0, 1, h));
+
+        private final Class<? extends JuegoObjetos> clase;
+        private final Function<Handler, JuegoObjetos> fabrica;
+
+        TipoEntidad(Class<? extends JuegoObjetos> clase, Function<Handler, JuegoObjetos> fabrica) {
+            this.clase = clase;
+            this.fabrica = fabrica;
+        }
+
+        private static final TipoEntidad[] TODOS = values();
+
+        static TipoEntidad de(JuegoObjetos obj) {
+            Class<?> clase = obj.getClass();
+            for (TipoEntidad tipo : TODOS) {
+                if (tipo.clase == clase) {
+                    return tipo;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Handler handler;
+    private final GestorNiveles gestorNiveles;
+
+    // Instancias existentes que se reutilizan al restaurar (una lista por tipo)
+    private final List<List<JuegoObjetos>> reutilizables;
+    private final int[] siguienteReutilizable;
+
+    public InstantaneaMundo(Handler handler, GestorNiveles gestorNiveles) {
+        this.handler = handler;
+        this.gestorNiveles = gestorNiveles;
+        this.reutilizables = new ArrayList<>();
+        for (int i = 0; i < TipoEntidad.TODOS.length; i++) {
+            reutilizables.add(new ArrayList<>());
+        }
+        this.siguienteReutilizable = new int[TipoEntidad.TODOS.length];
+    }
+
+    // ==================== CAPTURA ====================
+
+    /**
+     * Escribe el mundo en destino (o en uno nuevo más grande si no entra)
+     *
+     * @param destino Buffer a reutilizar (null = crear uno)
+     * @return Buffer con la instantánea, listo para leer
+     */
+    public ByteBuffer capturar(ByteBuffer destino) {
+        ByteBuffer buf = destino != null ? destino : ByteBuffer.allocateDirect(TAMANO_INICIAL);
+        while (true) {
+            try {
+                buf.clear();
+                escribir(buf);
+                buf.flip();
+                return buf;
+            } catch (BufferOverflowException e) {
+                buf = ByteBuffer.allocateDirect(buf.capacity() * 2);
+            }
+        }
+    }
+
+    private void escribir(ByteBuffer buf) {
+        buf.putInt(MAGIA).put((byte) VERSION).put((byte) gestorNiveles.getNivelActual());
+        EstadoJuego.getInstance().escribirEstado(buf);
+        gestorNiveles.escribirEstado(buf);
+
+        int posicionCantidad = buf.position();
+        buf.putShort((short) 0);
+        int cantidad = 0;
+        for (int i = 0, n = handler.contarDinamicos(); i < n; i++) {
+            JuegoObjetos obj = handler.getDinamico(i);
+            TipoEntidad tipo = TipoEntidad.de(obj);
+            if (tipo == null) {
+                continue;  // tipo sin estado persistente: no vuelve al restaurar
+            }
+            buf.put((byte) tipo.ordinal());
+            ((Persistente) obj).escribirEstado(buf);
+            cantidad++;
+        }
+        buf.putShort(posicionCantidad, (short) cantidad);
+
+        handler.getParticulas().escribirEstado(buf);
+        handler.getAleatorio().escribirEstado(buf);
+    }
+
+    // ==================== RESTAURACIÓN ====================
+
+    /**
+     * Deja el mundo exactamente como estaba al capturar la instantánea
+     *
+     * @throws IllegalArgumentException si el buffer no es una instantánea
+     */
+    public void restaurar(ByteBuffer buf) {
+        buf.rewind();
+        if (buf.getInt() != MAGIA) {
+            throw new IllegalArgumentException("El buffer no contiene una instantánea");
+        }
+        int version = buf.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Versión de instantánea no soportada: " + version);
+        }
+
+        // Otro nivel: cargar su mapa primero (los objetos se reemplazan abajo)
+        int nivel = buf.get();
+        if (nivel != gestorNiveles.getNivelActual()) {
+            gestorNiveles.inicializarNivel(nivel);
+        }
+
+        EstadoJuego.getInstance().leerEstado(buf);
+        gestorNiveles.leerEstado(buf);
+
+        juntarReutilizables();
+        handler.quitarDinamicos();
+
+        int cantidad = buf.getShort() & 0xFFFF;
+        for (int i = 0; i < cantidad; i++) {
+            TipoEntidad tipo = TipoEntidad.TODOS[buf.get()];
+            JuegoObjetos obj = tomarInstancia(tipo);
+            ((Persistente) obj).leerEstado(buf);
+            handler.addObj(obj);
+        }
+
+        for (List<JuegoObjetos> lista : reutilizables) {
+            lista.clear();
+        }
+
+        handler.getParticulas().leerEstado(buf);
+        handler.getAleatorio().leerEstado(buf);
+    }
+
+    /**
+     * Separa por tipo los objetos actuales que no vuelven a un pool
+     */
+    private void juntarReutilizables() {
+        for (int i = 0, n = handler.contarDinamicos(); i < n; i++) {
+            JuegoObjetos obj = handler.getDinamico(i);
+            TipoEntidad tipo = TipoEntidad.de(obj);
+            if (tipo != null && !(obj instanceof Reutilizable)) {
+                reutilizables.get(tipo.ordinal()).add(obj);
+            }
+        }
+        Arrays.fill(siguienteReutilizable, 0);
+    }
+
+    private JuegoObjetos tomarInstancia(TipoEntidad tipo) {
+        List<JuegoObjetos> lista = reutilizables.get(tipo.ordinal());
+        int indice = siguienteReutilizable[tipo.ordinal()]++;
+        if (indice < lista.size()) {
+            return lista.get(indice);
+        }
+        if (tipo.fabrica == null) {
+            throw new IllegalStateException("La instantánea tiene un " + tipo + " que el nivel no tiene");
+        }
+        return tipo.fabrica.apply(handler);
+    }
+}
@@ -0,0 +1,171 @@
+package SistemaDeReplays;
+
+import SistemaDeSoporte.Tiempo;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Partida grabada: semilla + nivel inicial + entrada de cada tick
+ *
+ * Solo se guardan los ticks en los que la entrada cambia
+ * (la entrada inicial es "nada pulsado").
+ *
+ * FORMATO (.dkr, big endian):
+ *   int    "DKRP"
+ *   byte   versión
+ *   short  ticks por segundo de la grabación (desde la versión 2)
+ *   long   semilla
+ *   byte   nivel
+ *   varint ticks totales
+ *   varint cantidad de cambios
+ *   por cambio: varint ticks desde el cambio anterior, byte máscara
+ *
+ * Una partida de varios minutos ocupa unos pocos KB.
+ *
+ * Un replay solo se reproduce a la misma frecuencia con la que se grabó
+ * (-Dtps): con otra, cada tick avanza otro intervalo y la partida diverge.
+ * Los de la versión 1 son todos de 60 Hz.
+ *
+ * @author LENOVO
+ */
+public final class Replay {
+
+    private static final int MAGIA = 0x444B5250;  // "DKRP"
+    private static final int VERSION = 2;
+    private static final int TPS_VERSION_1 = 60;
+
+    private final long semilla;
+    private final int nivel;
+    private final long ticks;
+
+    // Cambios ordenados por tick
+    private final long[] ticksCambio;
+    private final byte[] mascaras;
+
+    Replay(long semilla, int nivel, long ticks, long[] ticksCambio, byte[] mascaras) {
+        this.semilla = semilla;
+        this.nivel = nivel;
+        this.ticks = ticks;
+        this.ticksCambio = ticksCambio;
+        this.mascaras = mascaras;
+    }
+
+    // ==================== ARCHIVO ====================
+
+    public void guardar(File archivo) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(archivo)))) {
+            out.writeInt(MAGIA);
+            out.writeByte(VERSION);
+            out.writeShort(Tiempo.TPS);
+            out.writeLong(semilla);
+            out.writeByte(nivel);
+            escribirVarint(out, ticks);
+            escribirVarint(out, ticksCambio.length);
+
+            long anterior = 0;
+            for (int i = 0; i < ticksCambio.length; i++) {
+                escribirVarint(out, ticksCambio[i] - anterior);
+                out.writeByte(mascaras[i]);
+                anterior = ticksCambio[i];
+            }
+        }
+        System.out.println("[REPLAY] Guardado " + archivo.getName() + ": " + getInfo());
+    }
+
+    public static Replay cargar(File archivo) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(archivo)))) {
+            if (in.readInt() != MAGIA) {
+                throw new IOException("No es un archivo de replay: " + archivo);
+            }
+            int version = in.readUnsignedByte();
+            if (version != 1 && version != VERSION) {
+                throw new IOException("Versión de replay no soportada: " + version);
+            }
+            int tps = version == 1 ? TPS_VERSION_1 : in.readUnsignedShort();
+            if (tps != Tiempo.TPS) {
+                throw new IOException("El replay se grabó a " + tps + " ticks/s y el juego corre a "
+                    + Tiempo.TPS + ": reproducirlo con -Dtps=" + tps);
+            }
+
+            long semilla = in.readLong();
+            int nivel = in.readUnsignedByte();
+            long ticks = leerVarint(in);
+            int cantidad = (int) leerVarint(in);
+
+            long[] ticksCambio = new long[cantidad];
+            byte[] mascaras = new byte[cantidad];
+            long tick = 0;
+            for (int i = 0; i < cantidad; i++) {
+                tick += leerVarint(in);
+                ticksCambio[i] = tick;
+                mascaras[i] = in.readByte();
+            }
+
+            Replay replay = new Replay(semilla, nivel, ticks, ticksCambio, mascaras);
+            System.out.println("[REPLAY] Cargado " + archivo.getName() + ": " + replay.getInfo());
+            return replay;
+        }
+    }
+
+    private static void escribirVarint(DataOutputStream out, long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            out.writeByte((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        out.writeByte((int) valor);
+    }
+
+    private static long leerVarint(DataInputStream in) throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int b = in.readUnsignedByte();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+
+    // ==================== CONSULTA ====================
+
+    int getCantidadCambios() {
+        return ticksCambio.length;
+    }
+
+    long getTickCambio(int indice) {
+        return ticksCambio[indice];
+    }
+
+    int getMascara(int indice) {
+        return mascaras[indice] & 0xFF;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public int getNivel() {
+        return nivel;
+    }
+
+    /**
+     * Ticks de juego grabados (Tiempo.TPS = 1 segundo)
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    public String getInfo() {
+        return String.format("semilla %d | nivel %d | %d ticks (%.1f s a %d Hz) | %d cambios",
+            semilla, nivel, ticks, Tiempo.segundos(ticks), Tiempo.TPS, ticksCambio.length);
+    }
+}
@@ -0,0 +1,57 @@
+package SistemaDeReplays;
+
+import SistemaDeSoporte.FuenteEntradas;
+
+/**
+ * Devuelve la entrada grabada tick a tick, en lugar del teclado
+ *
+ * Se asigna con Teclas.setFuente(); al terminar el replay
+ * la entrada queda en "nada pulsado".
+ *
+ * @author LENOVO
+ */
+public final class ReproductorReplay implements FuenteEntradas {
+
+    private final Replay replay;
+
+    private long tick;
+    private int indiceCambio;
+    private int mascaraActual;
+
+    public ReproductorReplay(Replay replay) {
+        this.replay = replay;
+    }
+
+    @Override
+    public int siguienteEstado() {
+        if (tick >= replay.getTicks()) {
+            mascaraActual = 0;
+            tick++;
+            return 0;
+        }
+
+        while (indiceCambio < replay.getCantidadCambios()
+                && replay.getTickCambio(indiceCambio) <= tick) {
+            mascaraActual = replay.getMascara(indiceCambio);
+            indiceCambio++;
+        }
+
+        tick++;
+        return mascaraActual;
+    }
+
+    /**
+     * true cuando ya se entregaron todos los ticks grabados
+     */
+    public boolean isTerminado() {
+        return tick >= replay.getTicks();
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+}
@@ -1,15 +1,24 @@
 package SistemaDeSoporte;
 
+import Entidades.AdministradorEventos;
+import Entidades.EventoPuntos;
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 
 /**
  * Gestiona el estado del juego: puntos, vidas, nivel, tiempo
  * Patrón Singleton para acceso global
  * * @author LENOVO
  */
-public final class EstadoJuego {
+public final class EstadoJuego implements Persistente {
     
     private static EstadoJuego instancia;
     
@@ -40,6 +49,14 @@ public final class EstadoJuego {
     private Font fuentePuntos;
     private Font fuenteInfo;
     
+    // HUD cacheado: franjas superior e inferior de la pantalla
+    private static final int ALTO_FRANJA_SUPERIOR = 40;
+    private static final int ALTO_FRANJA_INFERIOR = 44;
+    private BufferedImage hudSuperior;
+    private BufferedImage hudInferior;
+    private boolean hudInferiorVisible;
+    private boolean hudSucio = true;
+    
     /**
      * Constructor privado (Singleton)
      */
@@ -75,6 +92,7 @@ public final class EstadoJuego {
         this.tiempoActivo = false;
         this.racha = 0;
         this.mejorRacha = 0;
+        this.hudSucio = true;
         
         System.out.println("[ESTADO] Juego reiniciado");
     }
@@ -87,10 +105,11 @@ public final class EstadoJuego {
         if (tiempoActivo) {
             ticksTiempo++;
             
-            // Decrementar cada segundo (60 ticks)
-            if (ticksTiempo >= 60) {
+            // Decrementar cada segundo
+            if (ticksTiempo >= Tiempo.TPS) {
                 ticksTiempo = 0;
                 tiempoRestante--;
+                hudSucio = true;
                 
                 // Tiempo agotado
                 if (tiempoRestante <= 0) {
@@ -112,6 +131,7 @@ public final class EstadoJuego {
     public void sumarPuntos(int cantidad) {
         int puntosGanados = cantidad * multiplicador;
         puntos += puntosGanados;
+        hudSucio = true;
         
         // Actualizar máximo
         if (puntos > puntosMaximos) {
@@ -120,6 +140,9 @@ public final class EstadoJuego {
         
         System.out.println("[PUNTOS] +" + puntosGanados + " (Total: " + puntos + ")");
         
+        AdministradorEventos eventos = AdministradorEventos.getInstance();
+        eventos.publicar(eventos.obtener(EventoPuntos.TIPO).preparar(puntosGanados, puntos));
+        
         // Verificar vida extra por puntos
         verificarVidaExtra();
     }
@@ -130,6 +153,7 @@ public final class EstadoJuego {
     public void enemigoEliminado(int puntosBase) {
         enemigosEliminados++;
         racha++;
+        hudSucio = true;
         
         // Actualizar mejor racha
         if (racha > mejorRacha) {
@@ -150,6 +174,7 @@ public final class EstadoJuego {
         if (racha > 0) {
             System.out.println("[RACHA] Perdida (era " + racha + ")");
             racha = 0;
+            hudSucio = true;
         }
     }
     
@@ -159,6 +184,7 @@ public final class EstadoJuego {
     public void perderVida() {
         if (vidas > 0) {
             vidas--;
+            hudSucio = true;
             resetearRacha();
             
             System.out.println("[VIDAS] Perdida! Quedan: " + vidas);
@@ -175,6 +201,7 @@ public final class EstadoJuego {
     public void ganarVida() {
         if (vidas < VIDAS_MAXIMAS) {
             vidas++;
+            hudSucio = true;
             System.out.println("[VIDAS] ¡Vida extra! Total: " + vidas);
         }
     }
@@ -197,6 +224,7 @@ public final class EstadoJuego {
         this.tiempoRestante = segundos;
         this.ticksTiempo = 0;
         this.tiempoActivo = true;
+        this.hudSucio = true;
         
         System.out.println("[TIEMPO] Iniciado: " + segundos + " segundos");
     }
@@ -206,6 +234,7 @@ public final class EstadoJuego {
      */
     public void detenerTiempo() {
         this.tiempoActivo = false;
+        this.hudSucio = true;
     }
     
     /**
@@ -238,6 +267,7 @@ public final class EstadoJuego {
             resetearRacha();
         }
         this.nivelActual = nivel;
+        this.hudSucio = true;
         System.out.println("[ESTADO] Nivel actualizado a: " + this.nivelActual);
     }
     
@@ -264,9 +294,78 @@ public final class EstadoJuego {
     
     /**
      * Renderiza el HUD del juego
+     * 
+     * Los textos se rasterizan en dos franjas (arriba: puntos, vidas, nivel,
+     * tiempo; abajo: racha y multiplicador) solo cuando cambió algún valor
+     * (hudSucio). El resto de los frames el HUD es un blit por franja.
+     * Las fuentes, sobre todo el fallback de emoji, son lo caro de dibujar.
      */
-    
     public void renderHUD(Graphics g, int screenWidth, int screenHeight) {
+        if (hudSucio || hudSuperior == null || hudSuperior.getWidth() != screenWidth) {
+            rasterizarHUD(screenWidth, screenHeight);
+        }
+        
+        g.drawImage(hudSuperior, 0, 0, null);
+        if (hudInferiorVisible) {
+            g.drawImage(hudInferior, 0, screenHeight - ALTO_FRANJA_INFERIOR, null);
+        }
+    }
+    
+    /**
+     * Vuelve a dibujar los textos del HUD en las franjas cacheadas
+     */
+    private void rasterizarHUD(int screenWidth, int screenHeight) {
+        if (hudSuperior == null || hudSuperior.getWidth() != screenWidth) {
+            if (hudSuperior != null) {
+                hudSuperior.flush();
+                hudInferior.flush();
+            }
+            hudSuperior = crearImagenHUD(screenWidth, ALTO_FRANJA_SUPERIOR);
+            hudInferior = crearImagenHUD(screenWidth, ALTO_FRANJA_INFERIOR);
+        }
+        
+        // Cada franja recibe el HUD completo en coordenadas de pantalla;
+        // lo que cae fuera de ella se recorta
+        dibujarFranja(hudSuperior, 0, screenWidth, screenHeight);
+        hudInferiorVisible = racha > 1 || multiplicador > 1;
+        if (hudInferiorVisible) {
+            dibujarFranja(hudInferior, screenHeight - ALTO_FRANJA_INFERIOR, screenWidth, screenHeight);
+        }
+        
+        hudSucio = false;
+    }
+    
+    private void dibujarFranja(BufferedImage franja, int yPantalla, int screenWidth, int screenHeight) {
+        Graphics2D g2d = franja.createGraphics();
+        try {
+            // Limpiar a transparente
+            g2d.setComposite(AlphaComposite.Clear);
+            g2d.fillRect(0, 0, franja.getWidth(), franja.getHeight());
+            g2d.setComposite(AlphaComposite.SrcOver);
+            
+            g2d.translate(0, -yPantalla);
+            dibujarTextosHUD(g2d, screenWidth, screenHeight);
+        } finally {
+            g2d.dispose();
+        }
+    }
+    
+    private static BufferedImage crearImagenHUD(int ancho, int alto) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            try {
+                GraphicsConfiguration configuracion = GraphicsEnvironment
+                    .getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice()
+                    .getDefaultConfiguration();
+                return configuracion.createCompatibleImage(ancho, alto, Transparency.TRANSLUCENT);
+            } catch (Exception e) {
+                // Sin pantalla usable: imagen ARGB común
+            }
+        }
+        return new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+    }
+    
+    private void dibujarTextosHUD(Graphics g, int screenWidth, int screenHeight) {
         // Puntos
         g.setFont(fuentePuntos);
         g.setColor(Color.YELLOW);
@@ -309,6 +408,32 @@ public final class EstadoJuego {
         return String.format("%,d", numero);
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        buf.putInt(puntos).putInt(puntosMaximos).putInt(multiplicador);
+        buf.putInt(vidas).putInt(nivelActual).putInt(enemigosEliminados);
+        buf.putInt(tiempoRestante).putInt(ticksTiempo).put((byte) (tiempoActivo ? 1 : 0));
+        buf.putInt(racha).putInt(mejorRacha);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        puntos = buf.getInt();
+        puntosMaximos = buf.getInt();
+        multiplicador = buf.getInt();
+        vidas = buf.getInt();
+        nivelActual = buf.getInt();
+        enemigosEliminados = buf.getInt();
+        tiempoRestante = buf.getInt();
+        ticksTiempo = buf.getInt();
+        tiempoActivo = buf.get() != 0;
+        racha = buf.getInt();
+        mejorRacha = buf.getInt();
+        hudSucio = true;
+    }
+    
     // ==================== GETTERS Y SETTERS ====================
     
     public int getPuntos() {
@@ -337,6 +462,7 @@ public final class EstadoJuego {
     
     public void setMultiplicador(int multiplicador) {
         this.multiplicador = Math.max(1, multiplicador);
+        this.hudSucio = true;
         System.out.println("[MULT] Multiplicador: x" + this.multiplicador);
     }
     
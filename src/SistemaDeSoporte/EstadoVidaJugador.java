@@ -2,6 +2,7 @@ package SistemaDeSoporte;
 
 import Entidades.Jugador;
 import java.awt.Graphics;
+import java.nio.ByteBuffer;
 
 /**
  * Patrón STATE para manejar estados de vida del jugador
@@ -40,6 +41,37 @@ public abstract class EstadoVidaJugador {
      */
     public abstract boolean tieneColision();
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    public static final int VIVO = 0;
+    public static final int MURIENDO = 1;
+    public static final int MUERTO = 2;
+    public static final int RESPAWNEANDO = 3;
+    
+    /**
+     * Código del estado para las instantáneas del mundo
+     */
+    public abstract int getCodigo();
+    
+    /**
+     * Contadores propios del estado (por defecto ninguno)
+     */
+    public void escribirEstado(ByteBuffer buf) {}
+    
+    public void leerEstado(ByteBuffer buf) {}
+    
+    /**
+     * Crea el estado correspondiente a un código (sin llamar a entrar())
+     */
+    public static EstadoVidaJugador crear(int codigo, Jugador player) {
+        switch (codigo) {
+            case MURIENDO:     return new Muriendo(player);
+            case MUERTO:       return new Muerto(player);
+            case RESPAWNEANDO: return new Respawneando(player);
+            default:           return new Vivo(player);
+        }
+    }
+    
     // ==================== ESTADO: VIVO ====================
     
     public static class Vivo extends EstadoVidaJugador {
@@ -48,6 +80,11 @@ public abstract class EstadoVidaJugador {
             super(player);
         }
         
+        @Override
+        public int getCodigo() {
+            return VIVO;
+        }
+        
         @Override
         public void entrar() {
             System.out.println("[ESTADO] Player: VIVO");
@@ -89,11 +126,17 @@ public abstract class EstadoVidaJugador {
 public static class Muriendo extends EstadoVidaJugador {
         
         private int ticksAnimacion;
-        private static final int DURACION_ANIMACION = 120; // 2 segundos (más tiempo)
+        private static final int DURACION_ANIMACION = Tiempo.ticks(2f); // más tiempo
         
         // Control de animación de muerte
         private int frameActual;
-        private static final int TICKS_POR_FRAME = 20; // Más lento (0.33 seg por frame)
+        private static final int TICKS_POR_FRAME = Tiempo.ticks(0.333f); // Más lento
+        
+        // Fases de la muerte y su física (px/s)
+        private static final int FIN_SALTO = Tiempo.ticks(0.333f);
+        private static final int FIN_CAIDA = Tiempo.ticks(1.5f);
+        private static final float VELOCIDAD_SALTO = Tiempo.velocidad(-360f);
+        private static final float VELOCIDAD_CAIDA_MAX = Tiempo.velocidad(600f);
         
         public Muriendo(Jugador player) {
             super(player);
@@ -101,6 +144,22 @@ public static class Muriendo extends EstadoVidaJugador {
             this.frameActual = 0;
         }
         
+        @Override
+        public int getCodigo() {
+            return MURIENDO;
+        }
+        
+        @Override
+        public void escribirEstado(ByteBuffer buf) {
+            buf.putInt(ticksAnimacion).putInt(frameActual);
+        }
+        
+        @Override
+        public void leerEstado(ByteBuffer buf) {
+            ticksAnimacion = buf.getInt();
+            frameActual = buf.getInt();
+        }
+        
         @Override
         public void entrar() {
             System.out.println("[ESTADO] Player: MURIENDO - Iniciando animación");
@@ -110,7 +169,7 @@ public static class Muriendo extends EstadoVidaJugador {
             player.setSalto(false);
             
             // Impulso inicial hacia arriba (estilo Donkey Kong)
-            player.setVely(-6);
+            player.setVely(VELOCIDAD_SALTO);
             
         }
         
@@ -119,33 +178,34 @@ public static class Muriendo extends EstadoVidaJugador {
             ticksAnimacion++;
             
             // ==================== FÍSICA DE MUERTE ====================
-            // Fase 1 (0-20 ticks): Salto inicial hacia arriba
-            if (ticksAnimacion < 20) {
-                player.setVely(-6);
+            // Fase 1 (0-0.33 s): Salto inicial hacia arriba
+            if (ticksAnimacion < FIN_SALTO) {
+                player.setVely(VELOCIDAD_SALTO);
             } 
-            // Fase 2 (20-90 ticks): Caída con gravedad
-            else if (ticksAnimacion < 90) {
+            // Fase 2 (0.33-1.5 s): Caída con gravedad
+            else if (ticksAnimacion < FIN_CAIDA) {
                 player.aplicarGravedad();
                 
                 // Limitar velocidad de caída
-                if (player.getVely() > 10) {
-                    player.setVely(10);
+                if (player.getVely() > VELOCIDAD_CAIDA_MAX) {
+                    player.setVely(VELOCIDAD_CAIDA_MAX);
                 }
             }
-            // Fase 3 (90-120 ticks): PARADO EN EL ÚLTIMO FRAME
+            // Fase 3 (1.5-2 s): PARADO EN EL ÚLTIMO FRAME
             else {
                 player.setVely(0);
                 frameActual = 5; // ultimo frame (índice 5 = frame 6)
             }
             
             // Aplicar movimiento vertical solo en fases 1 y 2
-            if (ticksAnimacion < 90) {
+            if (ticksAnimacion < FIN_CAIDA) {
                 player.setY(player.getY() + player.getVely());
+                player.completarGravedad();
             }
             
             // ==================== CONTROL DE ANIMACIÓN ====================
             // Actualizar frame de animación cada X ticks (solo en fases 1-2)
-            if (ticksAnimacion < 90) {
+            if (ticksAnimacion < FIN_CAIDA) {
                 frameActual = ticksAnimacion / TICKS_POR_FRAME;
                 
                 // Limitar al último frame si excede
@@ -200,13 +260,28 @@ public static class Muriendo extends EstadoVidaJugador {
 public static class Muerto extends EstadoVidaJugador {
         
         private int ticksEspera;
-        private static final int DURACION_ESPERA = 90; // 1.5 segundos (antes solo 1 seg)
+        private static final int DURACION_ESPERA = Tiempo.ticks(1.5f); // (antes solo 1 seg)
         
         public Muerto(Jugador player) {
             super(player);
             this.ticksEspera = 0;
         }
         
+        @Override
+        public int getCodigo() {
+            return MUERTO;
+        }
+        
+        @Override
+        public void escribirEstado(ByteBuffer buf) {
+            buf.putInt(ticksEspera);
+        }
+        
+        @Override
+        public void leerEstado(ByteBuffer buf) {
+            ticksEspera = buf.getInt();
+        }
+        
         @Override
         public void entrar() {
             System.out.println("[ESTADO] Player: MUERTO");
@@ -268,7 +343,8 @@ public static class Muerto extends EstadoVidaJugador {
     public static class Respawneando extends EstadoVidaJugador {
         
         private int ticksInvulnerabilidad;
-        private static final int DURACION_INVULNERABILIDAD = 120; // 2 segundos
+        private static final int DURACION_INVULNERABILIDAD = Tiempo.ticks(2f);
+        private static final int PERIODO_PARPADEO = Tiempo.ticks(0.167f);
         private boolean parpadeando;
         
         public Respawneando(Jugador player) {
@@ -277,6 +353,22 @@ public static class Muerto extends EstadoVidaJugador {
             this.parpadeando = false;
         }
         
+        @Override
+        public int getCodigo() {
+            return RESPAWNEANDO;
+        }
+        
+        @Override
+        public void escribirEstado(ByteBuffer buf) {
+            buf.putInt(ticksInvulnerabilidad).put((byte) (parpadeando ? 1 : 0));
+        }
+        
+        @Override
+        public void leerEstado(ByteBuffer buf) {
+            ticksInvulnerabilidad = buf.getInt();
+            parpadeando = buf.get() != 0;
+        }
+        
         @Override
         public void entrar() {
             System.out.println("[ESTADO] Player: RESPAWNEANDO (invulnerable)");
@@ -287,8 +379,8 @@ public static class Muerto extends EstadoVidaJugador {
         public void tick() {
             ticksInvulnerabilidad++;
             
-            // Efecto de parpadeo (alternancia cada 5 ticks)
-            if (ticksInvulnerabilidad % 10 < 5) {
+            // Efecto de parpadeo (alternancia cada 1/12 s)
+            if (ticksInvulnerabilidad % PERIODO_PARPADEO < PERIODO_PARPADEO / 2) {
                 parpadeando = true;
             } else {
                 parpadeando = false;
@@ -0,0 +1,94 @@
+package SistemaDeSoporte;
+
+/**
+ * Secuencia pseudoaleatoria reproducible (SplitMix64)
+ *
+ * - Misma semilla = misma secuencia, en cualquier máquina
+ * - Sin sincronización ni reservas de memoria
+ * - reiniciar() cambia la semilla sin reemplazar la instancia
+ *   (quien guardó la referencia sigue usando el mismo flujo)
+ *
+ * No es seguro entre hilos: cada flujo pertenece al hilo del game loop.
+ *
+ * @author LENOVO
+ */
+public final class FlujoAleatorio {
+
+    private static final long INCREMENTO = 0x9E3779B97F4A7C15L;
+    private static final float UNIDAD_FLOAT = 0x1.0p-24f;
+    private static final double UNIDAD_DOUBLE = 0x1.0p-53;
+
+    private final String nombre;
+    private long estado;
+
+    FlujoAleatorio(String nombre, long semilla) {
+        this.nombre = nombre;
+        this.estado = semilla;
+    }
+
+    void reiniciar(long semilla) {
+        this.estado = semilla;
+    }
+
+    /**
+     * Posición en la secuencia (reiniciar(getEstado()) la retoma)
+     */
+    long getEstado() {
+        return estado;
+    }
+
+    /**
+     * Siguiente valor de 64 bits
+     */
+    public long nextLong() {
+        return mezclar(estado += INCREMENTO);
+    }
+
+    /**
+     * Entero uniforme en [0, limite)
+     */
+    public int nextInt(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser positivo: " + limite);
+        }
+        // Multiplicación en vez de módulo: sin sesgo apreciable para límites chicos
+        return (int) (((nextLong() >>> 32) * limite) >>> 32);
+    }
+
+    /**
+     * Float uniforme en [0, 1)
+     */
+    public float nextFloat() {
+        return (nextLong() >>> 40) * UNIDAD_FLOAT;
+    }
+
+    /**
+     * Double uniforme en [0, 1)
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * UNIDAD_DOUBLE;
+    }
+
+    /**
+     * true con probabilidad p (una sola extracción)
+     * 
+     * Para p = N / 100 da lo mismo que nextInt(100) < N con el mismo estado
+     */
+    public boolean probabilidad(double p) {
+        return (nextLong() >>> 32) < p * 0x1.0p32;
+    }
+
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
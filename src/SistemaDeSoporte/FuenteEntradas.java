@@ -0,0 +1,16 @@
+package SistemaDeSoporte;
+
+/**
+ * Origen alternativo de la entrada del jugador (replays, bots)
+ *
+ * Teclas la consulta una vez por tick en lugar de leer el teclado.
+ *
+ * @author LENOVO
+ */
+public interface FuenteEntradas {
+
+    /**
+     * Máscara de botones de este tick (bits Teclas.BOTON_*)
+     */
+    int siguienteEstado();
+}
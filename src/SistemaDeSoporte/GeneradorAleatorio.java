@@ -0,0 +1,85 @@
+package SistemaDeSoporte;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Servicio de azar del mundo: una semilla, flujos independientes
+ *
+ * FLUJOS:
+ * - IA:        decisiones de DK, barriles en escaleras, saltos de fuegos
+ * - SPAWN:     tiempos y tipos de los spawners
+ * - COSMÉTICO: partículas y animaciones (no afectan la jugabilidad)
+ *
+ * Cada flujo deriva su semilla de la del mundo, así un efecto visual
+ * extra no cambia lo que decide la IA. Misma semilla + mismas entradas
+ * = misma simulación.
+ *
+ * Se crea en JuegoBuilder y se comparte por ContextoJuego y Handler.
+ *
+ * @author LENOVO
+ */
+public final class GeneradorAleatorio implements Persistente {
+
+    private long semilla;
+
+    private final FlujoAleatorio ia;
+    private final FlujoAleatorio spawn;
+    private final FlujoAleatorio cosmetico;
+
+    public GeneradorAleatorio(long semilla) {
+        this.ia = new FlujoAleatorio("IA", 0);
+        this.spawn = new FlujoAleatorio("Spawn", 0);
+        this.cosmetico = new FlujoAleatorio("Cosmetico", 0);
+        reiniciar(semilla);
+    }
+
+    /**
+     * Semilla tomada del reloj (partidas normales)
+     */
+    public static GeneradorAleatorio conSemillaDelReloj() {
+        return new GeneradorAleatorio(System.nanoTime());
+    }
+
+    /**
+     * Vuelve todos los flujos al comienzo de la secuencia de la semilla dada
+     */
+    public void reiniciar(long semilla) {
+        this.semilla = semilla;
+        ia.reiniciar(FlujoAleatorio.mezclar(semilla ^ 0x1A1A1A1A1A1A1A1AL));
+        spawn.reiniciar(FlujoAleatorio.mezclar(semilla ^ 0x5B5B5B5B5B5B5B5BL));
+        cosmetico.reiniciar(FlujoAleatorio.mezclar(semilla ^ 0xC0C0C0C0C0C0C0C0L));
+    }
+
+    /**
+     * Guarda en qué punto de su secuencia está cada flujo
+     */
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        buf.putLong(semilla);
+        buf.putLong(ia.getEstado()).putLong(spawn.getEstado()).putLong(cosmetico.getEstado());
+    }
+
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        semilla = buf.getLong();
+        ia.reiniciar(buf.getLong());
+        spawn.reiniciar(buf.getLong());
+        cosmetico.reiniciar(buf.getLong());
+    }
+
+    public FlujoAleatorio getIA() {
+        return ia;
+    }
+
+    public FlujoAleatorio getSpawn() {
+        return spawn;
+    }
+
+    public FlujoAleatorio getCosmetico() {
+        return cosmetico;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+}
@@ -0,0 +1,247 @@
+package SistemaDeSoporte;
+
+import Entidades.JuegoObjetos;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indice espacial de grilla uniforme (spatial hash) para el Handler
+ *
+ * FUNCIONAMIENTO:
+ * - El mundo se divide en celdas cuadradas de tamanoCelda px
+ * - Cada objeto se registra en todas las celdas que cubre su caja (x, y, width, height)
+ * - Las celdas se mapean a un arreglo fijo de cubetas por hash, así el mundo
+ *   puede crecer (o tener coordenadas negativas) sin redimensionar nada
+ * - Una consulta solo recorre las cubetas de las celdas que toca el área
+ *
+ * La grilla es un BROADPHASE: devuelve candidatos cercanos.
+ * El llamador sigue haciendo su intersects() exacto con getLimites().
+ *
+ * @author LENOVO
+ */
+public class GrillaEspacial {
+
+    // Número de cubetas (potencia de 2 para usar máscara en vez de módulo)
+    private static final int NUM_CUBETAS = 4096;
+    private static final int MASCARA = NUM_CUBETAS - 1;
+
+    private final int tamanoCelda;
+
+    // Margen con el que se expanden las consultas: algunos hitboxes
+    // (DK agarrando, área de interacción de escaleras) sobresalen de la caja del objeto
+    private final int margenConsulta;
+
+    private final List<Entrada>[] cubetas;
+    private final Map<JuegoObjetos, Entrada> entradas;
+
+    // Marca de consulta para no devolver dos veces un objeto que ocupa varias celdas
+    private int marcaConsulta;
+
+    /**
+     * Registro de un objeto dentro de la grilla
+     */
+    private static final class Entrada {
+        final JuegoObjetos obj;
+        int minCx, minCy, maxCx, maxCy;
+        int marca;
+
+        Entrada(JuegoObjetos obj) {
+            this.obj = obj;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public GrillaEspacial(int tamanoCelda) {
+        if (tamanoCelda <= 0) {
+            throw new IllegalArgumentException("El tamaño de celda debe ser positivo");
+        }
+        this.tamanoCelda = tamanoCelda;
+        this.margenConsulta = tamanoCelda / 2;
+        this.cubetas = new List[NUM_CUBETAS];
+        for (int i = 0; i < NUM_CUBETAS; i++) {
+            cubetas[i] = new ArrayList<>(4);
+        }
+        this.entradas = new IdentityHashMap<>();
+        this.marcaConsulta = 0;
+    }
+
+    // ==================== REGISTRO ====================
+
+    /**
+     * Registra un objeto en las celdas que cubre
+     */
+    public void insertar(JuegoObjetos obj) {
+        if (obj == null || entradas.containsKey(obj)) {
+            return;
+        }
+
+        Entrada entrada = new Entrada(obj);
+        calcularRango(obj, entrada);
+        agregarEnCeldas(entrada);
+        entradas.put(obj, entrada);
+    }
+
+    /**
+     * Elimina un objeto de la grilla
+     */
+    public void remover(JuegoObjetos obj) {
+        Entrada entrada = entradas.remove(obj);
+        if (entrada != null) {
+            quitarDeCeldas(entrada);
+        }
+    }
+
+    /**
+     * Re-indexa un objeto que pudo haberse movido.
+     * Solo toca las cubetas si cambió el rango de celdas que cubre.
+     * Objetos no registrados se ignoran (ej: eliminados a mitad de tick).
+     */
+    public void actualizar(JuegoObjetos obj) {
+        Entrada entrada = entradas.get(obj);
+        if (entrada == null) {
+            return;
+        }
+
+        int x = (int) Math.floor(obj.getX());
+        int y = (int) Math.floor(obj.getY());
+        int minCx = Math.floorDiv(x, tamanoCelda);
+        int minCy = Math.floorDiv(y, tamanoCelda);
+        int maxCx = Math.max(minCx, Math.floorDiv(x + (int) Math.ceil(obj.getWidth()) - 1, tamanoCelda));
+        int maxCy = Math.max(minCy, Math.floorDiv(y + (int) Math.ceil(obj.getHeight()) - 1, tamanoCelda));
+
+        if (minCx == entrada.minCx && minCy == entrada.minCy
+                && maxCx == entrada.maxCx && maxCy == entrada.maxCy) {
+            return;
+        }
+
+        quitarDeCeldas(entrada);
+        entrada.minCx = minCx;
+        entrada.minCy = minCy;
+        entrada.maxCx = maxCx;
+        entrada.maxCy = maxCy;
+        agregarEnCeldas(entrada);
+    }
+
+    /**
+     * Vacía la grilla por completo
+     */
+    public void limpiar() {
+        for (List<Entrada> cubeta : cubetas) {
+            cubeta.clear();
+        }
+        entradas.clear();
+    }
+
+    public boolean contiene(JuegoObjetos obj) {
+        return entradas.containsKey(obj);
+    }
+
+    public int getCantidadObjetos() {
+        return entradas.size();
+    }
+
+    public int getTamanoCelda() {
+        return tamanoCelda;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Agrega a destino los objetos cuya caja cae en las celdas que toca el área
+     *
+     * @param area Área de búsqueda en coordenadas de mundo
+     * @param tipos Filtro por ObjetosID (vacío = todos los tipos)
+     * @param destino Lista donde se agregan los candidatos (no se limpia)
+     */
+    public void consultar(Rectangle area, ObjetosID[] tipos, List<JuegoObjetos> destino) {
+        if (area == null) {
+            return;
+        }
+
+        int minCx = Math.floorDiv(area.x - margenConsulta, tamanoCelda);
+        int minCy = Math.floorDiv(area.y - margenConsulta, tamanoCelda);
+        int maxCx = Math.floorDiv(area.x + Math.max(area.width, 1) - 1 + margenConsulta, tamanoCelda);
+        int maxCy = Math.floorDiv(area.y + Math.max(area.height, 1) - 1 + margenConsulta, tamanoCelda);
+
+        int marca = ++marcaConsulta;
+
+        for (int cy = minCy; cy <= maxCy; cy++) {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                List<Entrada> cubeta = cubetas[indiceCubeta(cx, cy)];
+
+                for (int i = 0, n = cubeta.size(); i < n; i++) {
+                    Entrada e = cubeta.get(i);
+
+                    if (e.marca == marca) continue;
+
+                    // La cubeta puede compartirse con otras celdas (colisión de hash)
+                    if (e.maxCx < minCx || e.minCx > maxCx || e.maxCy < minCy || e.minCy > maxCy) {
+                        continue;
+                    }
+
+                    e.marca = marca;
+
+                    if (coincideTipo(e.obj.getId(), tipos)) {
+                        destino.add(e.obj);
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private static boolean coincideTipo(ObjetosID id, ObjetosID[] tipos) {
+        if (tipos == null || tipos.length == 0) {
+            return true;
+        }
+        for (ObjetosID tipo : tipos) {
+            if (tipo == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void calcularRango(JuegoObjetos obj, Entrada entrada) {
+        int x = (int) Math.floor(obj.getX());
+        int y = (int) Math.floor(obj.getY());
+        entrada.minCx = Math.floorDiv(x, tamanoCelda);
+        entrada.minCy = Math.floorDiv(y, tamanoCelda);
+        entrada.maxCx = Math.max(entrada.minCx, Math.floorDiv(x + (int) Math.ceil(obj.getWidth()) - 1, tamanoCelda));
+        entrada.maxCy = Math.max(entrada.minCy, Math.floorDiv(y + (int) Math.ceil(obj.getHeight()) - 1, tamanoCelda));
+    }
+
+    private void agregarEnCeldas(Entrada entrada) {
+        for (int cy = entrada.minCy; cy <= entrada.maxCy; cy++) {
+            for (int cx = entrada.minCx; cx <= entrada.maxCx; cx++) {
+                cubetas[indiceCubeta(cx, cy)].add(entrada);
+            }
+        }
+    }
+
+    private void quitarDeCeldas(Entrada entrada) {
+        for (int cy = entrada.minCy; cy <= entrada.maxCy; cy++) {
+            for (int cx = entrada.minCx; cx <= entrada.maxCx; cx++) {
+                List<Entrada> cubeta = cubetas[indiceCubeta(cx, cy)];
+                // Quitar una sola ocurrencia por celda (se agregó una por celda)
+                for (int i = cubeta.size() - 1; i >= 0; i--) {
+                    if (cubeta.get(i) == entrada) {
+                        int ultimo = cubeta.size() - 1;
+                        cubeta.set(i, cubeta.get(ultimo));
+                        cubeta.remove(ultimo);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int indiceCubeta(int cx, int cy) {
+        int h = cx * 73856093 ^ cy * 19349663;
+        return (h ^ (h >>> 16)) & MASCARA;
+    }
+}
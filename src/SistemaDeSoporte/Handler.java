@@ -1,11 +1,21 @@
 package SistemaDeSoporte;
-import java.util.concurrent.CopyOnWriteArrayList;
+import Entidades.EfectosVisuales.SistemaParticulas;
 import Entidades.JuegoObjetos;
 import Entidades.Jugador;
+import Entidades.Escenario.Tile;
+import SistemaDeNiveles.MapaColision;
+import SistemaDeNiveles.TiledTMXParser;
+import SistemaGFX.CapaPreRenderizada;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Handler mejorado con sistema de capas de renderizado
@@ -15,25 +25,163 @@ import java.util.List;
  * 2. BLOQUES    - Bloques sólidos, escaleras, plataformas
  * 3. ENTIDADES  - Jugador, enemigos, barriles, NPCs
  * 4. EFECTOS    - Explosiones, partículas, efectos visuales
+ * 5. ITEMS      - Objetos recolectables
+ * 
+ * Las chispas de fuego no son objetos: viven en un SistemaParticulas
+ * (arreglos paralelos) que se tickea antes que los objetos y se dibuja
+ * al final de la capa de efectos.
+ * 
+ * Cada capa y cada ObjetosID tiene su propia lista densa,
+ * mantenida al agregar/quitar objetos: renderizar una capa o contar
+ * un tipo solo recorre sus propios miembros.
+ * 
+ * CAMBIOS DIFERIDOS:
+ * - Durante tick() addObj/removeObj solo se encolan
+ * - Se aplican todos juntos al terminar el tick (una compactación por lista)
+ * - La grilla espacial sí se actualiza al instante, así un objeto
+ *   eliminado deja de colisionar en el mismo tick
+ * - Los objetos Reutilizable que salen definitivamente vuelven a su pool
+ * 
+ * CONSULTAS ESPACIALES:
+ * - Todos los objetos se indexan en una GrillaEspacial (celdas de un tile)
+ * - Los objetos dinámicos se re-indexan tras su tick()
+ * - consultarArea() reemplaza los recorridos completos de gameobjs
+ * 
+ * AZAR:
+ * - getAleatorio() da el GeneradorAleatorio del mundo a las entidades
+ *   (todas lo reciben por el Handler; ninguna crea su propio Random)
+ * 
+ * PERFILADO:
+ * - Con un PerfiladorFrames asignado, cada capa de render se mide por separado
+ * 
+ * INTERPOLACIÓN:
+ * - guardarPosicionesAnteriores() antes de cada paso de simulación
+ * - render(g, alfa) dibuja los objetos dinámicos entre su posición
+ *   anterior y la actual (movimiento suave a cualquier FPS)
  * 
  * @author LENOVO
  */
 public class Handler {
-    // Lista principal de objetos
-    private List<JuegoObjetos> gameobjs;
+    // Desplazamientos mayores en un tick se consideran teletransporte (sin interpolar)
+    private static final float SALTO_MAXIMO_INTERPOLACION = 64f;
+    
+    private static final PerfiladorFrames.Etapa[] ETAPA_POR_CAPA = {
+        PerfiladorFrames.Etapa.RENDER_FONDO,
+        PerfiladorFrames.Etapa.RENDER_BLOQUES,
+        PerfiladorFrames.Etapa.RENDER_ENTIDADES,
+        PerfiladorFrames.Etapa.RENDER_EFECTOS,
+        PerfiladorFrames.Etapa.RENDER_ITEMS
+    };
+    
+    private PerfiladorFrames perfilador;  // opcional (overlay de debug)
+    private final GeneradorAleatorio aleatorio;
+    
+    // Lista principal de objetos (arreglo plano) y su vista de solo lectura
+    private final ListaDensa gameobjs;
+    private final List<JuegoObjetos> vistaGameObjs;
     private Jugador player;
     private EstadoJuego estadoJuego;
+    
+    // Índice espacial (broadphase) y objetos que deben re-indexarse cada tick
+    private final GrillaEspacial grilla;
+    private final ListaDensa objetosDinamicos;
+    
+    // Cola de cambios estructurales mientras se ejecuta tick()
+    private boolean enTick;
+    private final ListaDensa pendientesAgregar;
+    private final Set<JuegoObjetos> pendientesEliminar;
+    private final boolean[] tiposTocados;
+    
+    // Geometría sólida estática del nivel actual (null = sin mapa cargado)
+    private MapaColision mapaColision;
+    
+    // Candidatos reutilizados por resolverSolidos (sólidos que frenan entidades)
+    private final List<JuegoObjetos> candidatosSolidos = new ArrayList<>();
+    private static final ObjetosID[] SOLIDOS = {ObjetosID.Tile, ObjetosID.Pipe};
+    
+    // Capas de tiles estáticos horneadas al cargar el nivel (null = dibujar tile por tile)
+    private CapaPreRenderizada capaFondo;
+    private CapaPreRenderizada capaBloques;
+    
+    // Cubetas densas mantenidas en addObj/removeObj
+    private final EnumMap<ObjetosID, ListaDensa> porTipo;
+    private final EnumMap<CapaRender, ListaDensa> porCapa;
+    
+    // Partículas (fuera de las listas de objetos)
+    private final SistemaParticulas particulas;
+    
+    /**
+     * Capas de renderizado, de atrás hacia adelante
+     */
+    public enum CapaRender {
+        FONDO, BLOQUES, ENTIDADES, EFECTOS, ITEMS
+    }
 
     
     public Handler(){
-        gameobjs = new CopyOnWriteArrayList<JuegoObjetos>();
+        this(GeneradorAleatorio.conSemillaDelReloj());
+    }
+    
+    /**
+     * @param aleatorio Azar del mundo (compartido con ContextoJuego)
+     */
+    public Handler(GeneradorAleatorio aleatorio){
+        this.aleatorio = aleatorio;
+        this.gameobjs = new ListaDensa();
+        this.vistaGameObjs = new VistaObjetos();
         this.estadoJuego = EstadoJuego.getInstance();
+        this.grilla = new GrillaEspacial(TiledTMXParser.TILE_RENDER_SIZE);
+        this.objetosDinamicos = new ListaDensa();
+        
+        this.enTick = false;
+        this.pendientesAgregar = new ListaDensa();
+        this.pendientesEliminar = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.tiposTocados = new boolean[ObjetosID.values().length];
+        
+        this.porTipo = new EnumMap<>(ObjetosID.class);
+        for (ObjetosID id : ObjetosID.values()) {
+            porTipo.put(id, new ListaDensa());
+        }
+        this.porCapa = new EnumMap<>(CapaRender.class);
+        for (CapaRender capa : CapaRender.values()) {
+            porCapa.put(capa, new ListaDensa());
+        }
+        this.particulas = new SistemaParticulas(aleatorio);
     }
     
     public void tick(){
-        for(JuegoObjetos obj : gameobjs){ 
-            obj.tick();
+        enTick = true;
+        try {
+            // Objetos movidos desde fuera del tick (estados de nivel, respawn)
+            JuegoObjetos[] dinamicos = objetosDinamicos.arreglo();
+            for (int i = 0, n = Math.min(objetosDinamicos.tamano(), dinamicos.length); i < n; i++) {
+                if (dinamicos[i] != null) {
+                    grilla.actualizar(dinamicos[i]);
+                }
+            }
+            
+            // Antes que los objetos: lo emitido en este tick se mueve desde el próximo
+            particulas.tick();
+            
+            // La lista no cambia durante el recorrido: lo agregado se
+            // tickea desde el próximo tick, lo eliminado termina este
+            JuegoObjetos[] objs = gameobjs.arreglo();
+            for (int i = 0, n = Math.min(gameobjs.tamano(), objs.length); i < n; i++) {
+                JuegoObjetos obj = objs[i];
+                if (obj == null) continue;
+                
+                obj.tick();
+                if (!obj.esEstatico()) {
+                    grilla.actualizar(obj);
+                }
+            }
+        } finally {
+            enTick = false;
         }
+        
+        // Único punto donde cambia la lista de objetos durante el juego
+        aplicarCambiosPendientes();
+        
         if (estadoJuego != null) {
         estadoJuego.tick();
     }
@@ -41,22 +189,48 @@ public class Handler {
     
     /**
      * Renderizado por capas para control correcto del Z-order
-     * Orden: Fondo → Bloques → Entidades → Efectos
+     * Orden: Fondo → Bloques → Entidades → Efectos → Items
+     * Cada capa recorre solo su propia lista (sin copias ni filtrado)
      */
     public void render(Graphics g){
-        // CAPA 1: FONDO (TileVisual marcados como fondo)
-        renderCapa(g, ObjetosID.Tile, true);
+        render(g, 1f);
+    }
+    
+    /**
+     * Renderiza interpolando los objetos dinámicos
+     * 
+     * @param alfa Fracción del tick actual ya transcurrida (0 = tick anterior, 1 = actual)
+     */
+    public void render(Graphics g, float alfa){
+        PerfiladorFrames p = perfilador;
+        long t = p != null ? p.inicio() : 0;
+        
+        // CAPA 1: FONDO (horneado + TileVisual de fondo no horneados)
+        if (capaFondo != null) {
+            capaFondo.render(g);
+        }
+        renderCapa(g, CapaRender.FONDO, alfa);
+        t = medirCapa(p, CapaRender.FONDO, t);
         
         // CAPA 2: BLOQUES Y ESTRUCTURAS (sólidos y decorativos de primer plano)
-        renderBloques(g);
+        if (capaBloques != null) {
+            capaBloques.render(g);
+        }
+        renderCapa(g, CapaRender.BLOQUES, alfa);
+        t = medirCapa(p, CapaRender.BLOQUES, t);
         
         // CAPA 3: ENTIDADES (jugador, enemigos, NPCs)
-        renderEntidades(g);
+        renderCapa(g, CapaRender.ENTIDADES, alfa);
+        t = medirCapa(p, CapaRender.ENTIDADES, t);
         
         // CAPA 4: EFECTOS (explosiones, partículas)
-        renderEfectos(g);
+        renderCapa(g, CapaRender.EFECTOS, alfa);
+        particulas.render(g, alfa);
+        t = medirCapa(p, CapaRender.EFECTOS, t);
+        
+        renderCapa(g, CapaRender.ITEMS, alfa);
+        t = medirCapa(p, CapaRender.ITEMS, t);
         
-        renderItems(g);
         // Renderizar HUD
         if (estadoJuego != null) {
         estadoJuego.renderHUD(g, 
@@ -64,96 +238,108 @@ public class Handler {
             mariotest.Juego.getVentanaHeight()
         );
     }
-    }
-    
-    private void renderItems(Graphics g) {
-    for (JuegoObjetos obj : new LinkedList<JuegoObjetos>(gameobjs)) {
-        if (obj.getId() == ObjetosID.Item) {
-            obj.render(g);
+        if (p != null) {
+            p.medir(PerfiladorFrames.Etapa.RENDER_HUD, t);
         }
     }
-}
     
     /**
-     * Renderiza una capa específica de TileVisual
+     * Registra la capa y devuelve la marca de inicio de la siguiente
      */
-    private void renderCapa(Graphics g, ObjetosID id, boolean esFondo) {
-        for (JuegoObjetos obj : new LinkedList<JuegoObjetos>(gameobjs)) {
-            if (obj.getId() == id) {
-                // Para TileVisual, verificar si es fondo o no
-                if (id == ObjetosID.Tile) {
-                    try {
-                        Entidades.Escenario.Tile tile = (Entidades.Escenario.Tile) obj;
-                        if (tile.isEsFondo() == esFondo) {
-                            obj.render(g);
-                        }
-                    } catch (ClassCastException e) {
-                        // Si falla el cast, renderizar normalmente
-                        obj.render(g);
-                    }
-                } else {
-                    obj.render(g);
-                }
-                
-            }
+    private static long medirCapa(PerfiladorFrames p, CapaRender capa, long inicio) {
+        if (p == null) {
+            return 0;
         }
+        p.medir(ETAPA_POR_CAPA[capa.ordinal()], inicio);
+        return p.inicio();
     }
     
     /**
-     * Renderiza bloques sólidos y escaleras (CAPA 2)
+     * Renderiza los objetos de una capa en orden de inserción
      */
-private void renderBloques(Graphics g) {
-    for (JuegoObjetos obj : new LinkedList<JuegoObjetos>(gameobjs)) {
-        ObjetosID id = obj.getId();
+    private void renderCapa(Graphics g, CapaRender capa, float alfa) {
+        ListaDensa lista = porCapa.get(capa);
+        JuegoObjetos[] objs = lista.arreglo();
+        int n = Math.min(lista.tamano(), objs.length);
+        boolean interpolar = alfa < 1f && g instanceof Graphics2D;
         
-        // ✅ Renderizar tiles (sólidos y decorativos)
-        if (id == ObjetosID.Tile) {
-            Entidades.Escenario.Tile tile = (Entidades.Escenario.Tile) obj;
-            if (!tile.isEsFondo()) {
+        for (int i = 0; i < n; i++) {
+            JuegoObjetos obj = objs[i];
+            if (obj == null) continue;
+            
+            if (!interpolar || obj.esEstatico()) {
                 obj.render(g);
+                continue;
+            }
+            
+            // Desplazar el dibujo en vez de mover el objeto (la lógica no se entera)
+            float dx = obj.getXInterpolada(alfa) - obj.getX();
+            float dy = obj.getYInterpolada(alfa) - obj.getY();
+            
+            if ((dx == 0 && dy == 0)
+                    || Math.abs(dx) > SALTO_MAXIMO_INTERPOLACION
+                    || Math.abs(dy) > SALTO_MAXIMO_INTERPOLACION) {
+                obj.render(g);
+                continue;
+            }
+            
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.translate(dx, dy);
+            try {
+                obj.render(g2d);
+            } finally {
+                g2d.translate(-dx, -dy);
             }
-        }
-        
-        // Escaleras y pipes (sin cambios)
-        if (id == ObjetosID.Pipe || 
-            id == ObjetosID.Escalera || 
-            id == ObjetosID.EscaleraRota) {
-            obj.render(g);
         }
     }
-}
     
     /**
-     * Renderiza entidades (jugador, enemigos, NPCs) - CAPA 3
-     * Esta capa está ENCIMA de bloques y tiles visuales
+     * Determina en qué capa se dibuja un objeto
+     * 
+     * @return La capa, o null si no se dibuja individualmente
+     *         (tiles horneados, spawn points, etc.)
      */
-    private void renderEntidades(Graphics g) {
-        for (JuegoObjetos obj : gameobjs) {
-            ObjetosID id = obj.getId();
-            
-            if (id == ObjetosID.Jugador || 
-                id == ObjetosID.DiegoKong || 
-                id == ObjetosID.Barril || 
-                id == ObjetosID.Princesa || 
-                id == ObjetosID.Fuego) {
-                obj.render(g);
-            }
+    private CapaRender capaDe(JuegoObjetos obj) {
+        switch (obj.getId()) {
+            case Tile:
+                if (obj instanceof Tile) {
+                    Tile tile = (Tile) obj;
+                    if (tile.estaHorneado()) {
+                        return null;
+                    }
+                    return tile.isEsFondo() ? CapaRender.FONDO : CapaRender.BLOQUES;
+                }
+                return CapaRender.FONDO;
+            case Pipe:
+            case Escalera:
+            case EscaleraRota:
+                return CapaRender.BLOQUES;
+            case Jugador:
+            case DiegoKong:
+            case Barril:
+            case Princesa:
+            case Fuego:
+                return CapaRender.ENTIDADES;
+            case Explosion:
+            case Particula:
+            case Puntos:
+                return CapaRender.EFECTOS;
+            case Item:
+                return CapaRender.ITEMS;
+            default:
+                return null;
         }
     }
     
     /**
-     * Renderiza efectos visuales (CAPA 4)
-     * Siempre en primer plano
+     * Vuelve a calcular la capa de un objeto ya registrado
+     * (ej: un Tile que pasó a formar parte de una capa horneada)
      */
-    private void renderEfectos(Graphics g) {
-        for (JuegoObjetos obj : new LinkedList<JuegoObjetos>(gameobjs)) {
-            ObjetosID id = obj.getId();
-            
-            if (id == ObjetosID.Explosion || 
-                id == ObjetosID.Particula || 
-                id == ObjetosID.Puntos) {
-                obj.render(g);
-            }
+    public void reclasificar(JuegoObjetos obj) {
+        quitarDeCapas(obj);
+        CapaRender capa = capaDe(obj);
+        if (capa != null) {
+            porCapa.get(capa).agregar(obj);
         }
     }
     
@@ -162,7 +348,7 @@ private void renderBloques(Graphics g) {
      * (Mantener como fallback si el sistema de capas falla)
      */
     public void renderSimple(Graphics g) {
-        for(JuegoObjetos obj : new LinkedList<JuegoObjetos>(gameobjs)){
+        for(JuegoObjetos obj : vistaGameObjs){
             obj.render(g);
         }
     }
@@ -170,17 +356,384 @@ private void renderBloques(Graphics g) {
     // ==================== MÉTODOS ORIGINALES ====================
     
     public void addObj(JuegoObjetos obj){
-        gameobjs.add(obj);
+        // La grilla se actualiza al instante (consultas del mismo tick lo ven)
+        grilla.insertar(obj);
+        
+        // El tile avisa aquí si cambia su colisión (mapa de colisión)
+        if (obj instanceof Tile) {
+            ((Tile) obj).setHandler(this);
+        }
+        
+        if (enTick) {
+            pendientesAgregar.agregar(obj);
+        } else {
+            registrar(obj);
+        }
     }
     
     public void removeObj(JuegoObjetos obj){
-        gameobjs.remove(obj);
+        encolarEliminacion(obj);
+        
+        if (!enTick) {
+            aplicarCambiosPendientes();
+        }
+    }
+    
+    public GeneradorAleatorio getAleatorio() {
+        return aleatorio;
+    }
+    
+    public SistemaParticulas getParticulas() {
+        return particulas;
+    }
+    
+    public void setPerfilador(PerfiladorFrames perfilador) {
+        this.perfilador = perfilador;
     }
     
+    /**
+     * Guarda la posición de cada objeto dinámico como "tick anterior".
+     * Se llama al comienzo de cada paso de simulación, antes de mover nada.
+     */
+    public void guardarPosicionesAnteriores() {
+        JuegoObjetos[] dinamicos = objetosDinamicos.arreglo();
+        for (int i = 0, n = Math.min(objetosDinamicos.tamano(), dinamicos.length); i < n; i++) {
+            if (dinamicos[i] != null) {
+                dinamicos[i].guardarPosicionAnterior();
+            }
+        }
+    }
+    
+    // ==================== INSTANTÁNEAS ====================
+    
+    /**
+     * Cantidad de objetos no estáticos (los que guarda una instantánea)
+     */
+    public int contarDinamicos() {
+        return objetosDinamicos.tamano();
+    }
+    
+    /**
+     * Objeto no estático por índice, en orden de tick
+     */
+    public JuegoObjetos getDinamico(int indice) {
+        return objetosDinamicos.get(indice);
+    }
+    
+    /**
+     * Quita todos los objetos no estáticos de una vez (los reutilizables
+     * vuelven a su pool). Los tiles y escaleras del nivel no se tocan.
+     * Solo fuera de tick(): la instantánea los vuelve a agregar en orden.
+     */
+    public void quitarDinamicos() {
+        if (enTick) {
+            throw new IllegalStateException("No se puede restaurar durante tick()");
+        }
+        JuegoObjetos[] dinamicos = objetosDinamicos.arreglo();
+        for (int i = 0, n = objetosDinamicos.tamano(); i < n; i++) {
+            encolarEliminacion(dinamicos[i]);
+        }
+        aplicarCambiosPendientes();
+    }
+    
+    // ==================== CAMBIOS DIFERIDOS ====================
+    
+    /**
+     * Agrega el objeto a la lista principal y a sus cubetas
+     */
+    private void registrar(JuegoObjetos obj) {
+        // Sin interpolar desde una posición vieja (objetos reutilizados de un pool)
+        obj.guardarPosicionAnterior();
+        
+        gameobjs.agregar(obj);
+        if (!obj.esEstatico()) {
+            objetosDinamicos.agregar(obj);
+        }
+        
+        porTipo.get(obj.getId()).agregar(obj);
+        CapaRender capa = capaDe(obj);
+        if (capa != null) {
+            porCapa.get(capa).agregar(obj);
+        }
+    }
+    
+    private void encolarEliminacion(JuegoObjetos obj) {
+        grilla.remover(obj);
+        
+        // Agregado y eliminado en el mismo tick: nunca llega a la lista
+        if (pendientesAgregar.quitar(obj)) {
+            return;
+        }
+        pendientesEliminar.add(obj);
+    }
+    
+    /**
+     * Aplica los cambios encolados: una compactación por lista
+     * para todas las eliminaciones y luego las altas en orden
+     */
+    private void aplicarCambiosPendientes() {
+        if (!pendientesEliminar.isEmpty()) {
+            int quitados = gameobjs.quitarTodos(pendientesEliminar);
+            objetosDinamicos.quitarTodos(pendientesEliminar);
+            
+            // Solo compactar las cubetas de los tipos afectados
+            for (JuegoObjetos obj : pendientesEliminar) {
+                tiposTocados[obj.getId().ordinal()] = true;
+            }
+            int quitadosPorTipo = 0;
+            for (ObjetosID id : ObjetosID.values()) {
+                if (tiposTocados[id.ordinal()]) {
+                    quitadosPorTipo += porTipo.get(id).quitarTodos(pendientesEliminar);
+                    tiposTocados[id.ordinal()] = false;
+                }
+            }
+            // Si alguno cambió su ID estando registrado, revisar todas
+            if (quitadosPorTipo < quitados) {
+                for (ListaDensa lista : porTipo.values()) {
+                    lista.quitarTodos(pendientesEliminar);
+                }
+            }
+            
+            for (ListaDensa lista : porCapa.values()) {
+                lista.quitarTodos(pendientesEliminar);
+            }
+        }
+        
+        if (pendientesAgregar.tamano() > 0) {
+            JuegoObjetos[] nuevos = pendientesAgregar.arreglo();
+            for (int i = 0, n = pendientesAgregar.tamano(); i < n; i++) {
+                registrar(nuevos[i]);
+            }
+            pendientesAgregar.limpiar();
+        }
+        
+        if (!pendientesEliminar.isEmpty()) {
+            // Devolver al pool lo que no se volvió a agregar (sigue fuera de la grilla)
+            for (JuegoObjetos obj : pendientesEliminar) {
+                if (obj instanceof Reutilizable && !grilla.contiene(obj)) {
+                    ((Reutilizable) obj).liberar();
+                }
+            }
+            pendientesEliminar.clear();
+        }
+    }
+    
+    private static void liberarReutilizables(ListaDensa lista) {
+        JuegoObjetos[] objs = lista.arreglo();
+        for (int i = 0, n = lista.tamano(); i < n; i++) {
+            if (objs[i] instanceof Reutilizable) {
+                ((Reutilizable) objs[i]).liberar();
+            }
+        }
+    }
+    
+    /**
+     * Vista de solo lectura sobre el arreglo principal (sin copias)
+     */
+    private final class VistaObjetos extends AbstractList<JuegoObjetos> {
+        @Override
+        public JuegoObjetos get(int indice) {
+            return gameobjs.get(indice);
+        }
+        
+        @Override
+        public int size() {
+            return gameobjs.tamano();
+        }
+    }
+    
+    private void quitarDeCapas(JuegoObjetos obj) {
+        CapaRender capa = capaDe(obj);
+        if (capa != null && porCapa.get(capa).quitar(obj)) {
+            return;
+        }
+        for (ListaDensa lista : porCapa.values()) {
+            if (lista.quitar(obj)) return;
+        }
+    }
+    
+    /**
+     * Lista de objetos (vista de solo lectura, sin copia).
+     * Para agregar o quitar usar addObj/removeObj/limpiarObjetos,
+     * así la grilla espacial y las cubetas se mantienen sincronizadas.
+     */
     public List<JuegoObjetos> getGameObjs(){
-        return gameobjs;
+        return vistaGameObjs;
     } 
     
+    /**
+     * Elimina todos los objetos (incluido el jugador) y vacía la grilla
+     */
+    public void limpiarObjetos() {
+        liberarReutilizables(gameobjs);
+        liberarReutilizables(pendientesAgregar);
+        
+        gameobjs.limpiar();
+        objetosDinamicos.limpiar();
+        pendientesAgregar.limpiar();
+        pendientesEliminar.clear();
+        grilla.limpiar();
+        for (ListaDensa lista : porTipo.values()) {
+            lista.limpiar();
+        }
+        for (ListaDensa lista : porCapa.values()) {
+            lista.limpiar();
+        }
+        particulas.vaciar();
+        setCapasPreRenderizadas(null, null);
+    }
+    
+    // ==================== MAPA DE COLISIÓN ====================
+    
+    /**
+     * Instala el mapa de colisión del nivel.
+     * Con mapa, los Tile estáticos se resuelven contra él y solo los
+     * sólidos dinámicos (plataformas móviles) se consultan como objetos.
+     */
+    public void setMapaColision(MapaColision mapaColision) {
+        this.mapaColision = mapaColision;
+    }
+    
+    public MapaColision getMapaColision() {
+        return mapaColision;
+    }
+    
+    /**
+     * Recalcula las celdas del mapa que cubre un Tile después de que
+     * cambió su colisión (Tile.setTieneColision). Una celda queda sólida
+     * si algún Tile sólido la sigue cubriendo: las capas del TMX pueden
+     * superponerse, así que no basta con copiar el valor del tile.
+     */
+    public void actualizarColision(Tile tile) {
+        if (mapaColision == null) {
+            return;
+        }
+        
+        int t = mapaColision.getTamanoTile();
+        int tx0 = mapaColision.columnaDe(tile.getX());
+        int tx1 = mapaColision.columnaDe(tile.getX() + tile.getWidth() - 1);
+        int ty0 = mapaColision.filaDe(tile.getY());
+        int ty1 = mapaColision.filaDe(tile.getY() + tile.getHeight() - 1);
+        
+        Rectangle celda = new Rectangle();
+        List<JuegoObjetos> cercanos = new ArrayList<>();
+        for (int ty = ty0; ty <= ty1; ty++) {
+            for (int tx = tx0; tx <= tx1; tx++) {
+                celda.setBounds(tx * t, ty * t, t, t);
+                boolean solido = false;
+                for (JuegoObjetos obj : consultarArea(celda, cercanos, ObjetosID.Tile)) {
+                    if (obj.getLimites().intersects(celda)) {
+                        solido = true;
+                        break;
+                    }
+                }
+                mapaColision.setSolido(tx, ty, solido);
+            }
+        }
+    }
+    
+    /**
+     * Resuelve un área contra todo lo sólido: primero las celdas del mapa
+     * de colisión y después los sólidos dinámicos de la grilla.
+     * 
+     * @param area Área de la entidad en coordenadas de mundo
+     * @param resolutor Empuja la entidad fuera de cada bloque que toque
+     */
+    public void resolverSolidos(Rectangle area, MapaColision.ResolutorColision resolutor) {
+        if (mapaColision != null) {
+            mapaColision.resolverCeldas(area, resolutor);
+        }
+        resolverSolidosDinamicos(area, resolutor);
+    }
+    
+    /**
+     * Solo la parte de la grilla de resolverSolidos: con mapa cargado los
+     * Tile estáticos se saltean porque ya están en él (o en un barrido).
+     * Sin mapa se resuelven todos los tiles como objetos.
+     */
+    public void resolverSolidosDinamicos(Rectangle area, MapaColision.ResolutorColision resolutor) {
+        consultarArea(area, candidatosSolidos, SOLIDOS);
+        for (int i = 0; i < candidatosSolidos.size(); i++) {
+            JuegoObjetos obj = candidatosSolidos.get(i);
+            if (obj == null) continue;
+            if (mapaColision != null && obj.esEstatico()) continue; // Ya resuelto en el mapa
+            
+            resolutor.resolver(obj.getLimites(), obj.getX(), obj.getY(), obj.getWidth(), obj.getHeight());
+        }
+    }
+    
+    // ==================== CAPAS PRE-RENDERIZADAS ====================
+    
+    /**
+     * Instala las capas horneadas del nivel (libera las anteriores)
+     */
+    public void setCapasPreRenderizadas(CapaPreRenderizada fondo, CapaPreRenderizada bloques) {
+        if (capaFondo != null && capaFondo != fondo) {
+            capaFondo.liberar();
+        }
+        if (capaBloques != null && capaBloques != bloques) {
+            capaBloques.liberar();
+        }
+        this.capaFondo = fondo;
+        this.capaBloques = bloques;
+        
+        // Los tiles horneados salen de las listas de render (y los liberados vuelven)
+        JuegoObjetos[] tiles = porTipo.get(ObjetosID.Tile).arreglo();
+        for (int i = 0, n = porTipo.get(ObjetosID.Tile).tamano(); i < n; i++) {
+            reclasificar(tiles[i]);
+        }
+    }
+    
+    public CapaPreRenderizada getCapaFondo() {
+        return capaFondo;
+    }
+    
+    public CapaPreRenderizada getCapaBloques() {
+        return capaBloques;
+    }
+    
+    // ==================== CONSULTAS ESPACIALES ====================
+    
+    /**
+     * Obtiene los objetos cercanos a un área (broadphase por grilla)
+     * 
+     * Devuelve CANDIDATOS: el llamador debe seguir verificando
+     * intersects() con getLimites() del objeto.
+     * 
+     * @param area Área de búsqueda en coordenadas de mundo
+     * @param tipos Tipos a incluir (sin tipos = todos)
+     * @return Lista nueva con los candidatos
+     */
+    public List<JuegoObjetos> consultarArea(Rectangle area, ObjetosID... tipos) {
+        List<JuegoObjetos> resultado = new ArrayList<>();
+        grilla.consultar(area, tipos, resultado);
+        return resultado;
+    }
+    
+    /**
+     * Igual que consultarArea(area, tipos) pero sin asignar: vacía destino
+     * y lo llena con los candidatos. Es la versión para tick() y colisiones,
+     * con una lista propia del llamador y los tipos en un arreglo constante
+     * (así el varargs tampoco crea un arreglo por llamada).
+     * 
+     * @param destino Lista reutilizada del llamador (se vacía primero)
+     * @return La misma lista destino
+     */
+    public List<JuegoObjetos> consultarArea(Rectangle area, List<JuegoObjetos> destino,
+                                            ObjetosID... tipos) {
+        destino.clear();
+        grilla.consultar(area, tipos, destino);
+        return destino;
+    }
+    
+    /**
+     * Re-indexa un objeto en la grilla tras moverlo fuera de su tick()
+     * (teletransportes, reposicionamiento al cargar nivel, etc.)
+     */
+    public void actualizarPosicion(JuegoObjetos obj) {
+        grilla.actualizar(obj);
+    }
+    
     public int setPlayer(Jugador player){
         if(this.player != null){
             return -1;
@@ -211,33 +764,40 @@ private void renderBloques(Graphics g) {
      * Obtiene todos los objetos de un tipo específico
      */
     public List<JuegoObjetos> getObjetosPorTipo(ObjetosID tipo) {
-        List<JuegoObjetos> resultado = new ArrayList<>();
-        for (JuegoObjetos obj : gameobjs) {
-            if (obj.getId() == tipo) {
-                resultado.add(obj);
-            }
-        }
+        ListaDensa lista = porTipo.get(tipo);
+        List<JuegoObjetos> resultado = new ArrayList<>(lista.tamano());
+        lista.copiarEn(resultado);
         return resultado;
     }
     
     /**
-     * Cuenta cuántos objetos hay de un tipo
+     * Cuenta cuántos objetos hay de un tipo (O(1))
      */
     public int contarObjetosPorTipo(ObjetosID tipo) {
-        int count = 0;
-        for (JuegoObjetos obj : gameobjs) {
-            if (obj.getId() == tipo) {
-                count++;
-            }
-        }
-        return count;
+        return porTipo.get(tipo).tamano();
     }
     
     /**
      * Elimina todos los objetos de un tipo específico
      */
     public void eliminarObjetosPorTipo(ObjetosID tipo) {
-        gameobjs.removeIf(obj -> obj.getId() == tipo);
+        ListaDensa lista = porTipo.get(tipo);
+        JuegoObjetos[] objs = lista.arreglo();
+        for (int i = 0, n = lista.tamano(); i < n; i++) {
+            encolarEliminacion(objs[i]);
+        }
+        
+        // Los pendientes de agregar de ese tipo tampoco deben llegar
+        JuegoObjetos[] nuevos = pendientesAgregar.arreglo();
+        for (int i = pendientesAgregar.tamano() - 1; i >= 0; i--) {
+            if (nuevos[i].getId() == tipo) {
+                encolarEliminacion(nuevos[i]);
+            }
+        }
+        
+        if (!enTick) {
+            aplicarCambiosPendientes();
+        }
     }
     
     /**
@@ -246,7 +806,7 @@ private void renderBloques(Graphics g) {
     public String getInfoDebug() {
         return String.format(
             "Handler [Total: %d | Jugador: %s | Bloques: %d | Enemigos: %d]",
-            gameobjs.size(),
+            gameobjs.tamano(),
             player != null ? "✓" : "✗",
             contarObjetosPorTipo(ObjetosID.Tile),
             contarObjetosPorTipo(ObjetosID.Barril)
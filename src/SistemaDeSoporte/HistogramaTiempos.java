@@ -0,0 +1,108 @@
+package SistemaDeSoporte;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de duraciones en nanosegundos con cubetas logarítmicas
+ *
+ * - 16 sub-cubetas por potencia de 2 (error relativo < 7%)
+ * - registrar() es O(1) y no reserva memoria
+ * - Rango: 0 ns a ~17 s (los valores mayores caen en la última cubeta)
+ * - El máximo se guarda exacto
+ *
+ * @author LENOVO
+ */
+public final class HistogramaTiempos {
+
+    private static final int BITS_SUB = 4;
+    private static final int SUB_CUBETAS = 1 << BITS_SUB;
+    private static final int EXPONENTE_MAXIMO = 34;
+    private static final int CUBETAS = (EXPONENTE_MAXIMO - BITS_SUB + 2) * SUB_CUBETAS;
+
+    private final long[] cuentas;
+    private long total;
+    private long maximo;
+    private long suma;
+
+    public HistogramaTiempos() {
+        this.cuentas = new long[CUBETAS];
+    }
+
+    /**
+     * Agrega una muestra (negativos cuentan como 0)
+     */
+    public void registrar(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        cuentas[indice(nanos)]++;
+        total++;
+        suma += nanos;
+        if (nanos > maximo) {
+            maximo = nanos;
+        }
+    }
+
+    /**
+     * Valor bajo el cual cae la fracción p de las muestras
+     *
+     * @param p Percentil entre 0 y 1 (0.5 = mediana, 0.99 = p99)
+     * @return Límite superior de la cubeta (ns), 0 si no hay muestras
+     */
+    public long percentil(double p) {
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(total * p));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cuentas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public long getPromedio() {
+        return total > 0 ? suma / total : 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void reiniciar() {
+        Arrays.fill(cuentas, 0);
+        total = 0;
+        maximo = 0;
+        suma = 0;
+    }
+
+    // ==================== CUBETAS ====================
+
+    private static int indice(long nanos) {
+        if (nanos < SUB_CUBETAS) {
+            return (int) nanos;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponente > EXPONENTE_MAXIMO) {
+            return CUBETAS - 1;
+        }
+        int mantisa = (int) (nanos >>> (exponente - BITS_SUB)) & (SUB_CUBETAS - 1);
+        return (exponente - BITS_SUB + 1) * SUB_CUBETAS + mantisa;
+    }
+
+    private static long limiteSuperior(int indice) {
+        if (indice < SUB_CUBETAS) {
+            return indice;
+        }
+        int exponente = indice / SUB_CUBETAS + BITS_SUB - 1;
+        int mantisa = indice % SUB_CUBETAS;
+        return ((long) (SUB_CUBETAS + mantisa + 1) << (exponente - BITS_SUB)) - 1;
+    }
+}
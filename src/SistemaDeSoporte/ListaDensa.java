@@ -0,0 +1,101 @@
+package SistemaDeSoporte;
+
+import Entidades.JuegoObjetos;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Arreglo denso de objetos usado por el Handler para sus cubetas
+ * (por tipo y por capa de render)
+ *
+ * - Recorrido por índice sobre un arreglo plano (sin iteradores ni copias)
+ * - Conserva el orden de inserción (importa para el Z-order dentro de una capa)
+ * - Solo crece; limpiar() conserva la capacidad
+ *
+ * @author LENOVO
+ */
+final class ListaDensa {
+
+    private JuegoObjetos[] elementos;
+    private int tamano;
+
+    ListaDensa() {
+        this.elementos = new JuegoObjetos[16];
+        this.tamano = 0;
+    }
+
+    void agregar(JuegoObjetos obj) {
+        if (tamano == elementos.length) {
+            elementos = Arrays.copyOf(elementos, elementos.length * 2);
+        }
+        elementos[tamano++] = obj;
+    }
+
+    /**
+     * Quita el objeto conservando el orden del resto.
+     * Busca desde el final: lo más reciente suele ser lo primero en morir.
+     */
+    boolean quitar(JuegoObjetos obj) {
+        for (int i = tamano - 1; i >= 0; i--) {
+            if (elementos[i] == obj) {
+                int mover = tamano - i - 1;
+                if (mover > 0) {
+                    System.arraycopy(elementos, i + 1, elementos, i, mover);
+                }
+                elementos[--tamano] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quita en una sola pasada todos los objetos marcados (conserva el orden)
+     *
+     * @return Cantidad de objetos quitados
+     */
+    int quitarTodos(Set<JuegoObjetos> marcados) {
+        int destino = 0;
+        for (int i = 0; i < tamano; i++) {
+            JuegoObjetos obj = elementos[i];
+            if (!marcados.contains(obj)) {
+                elementos[destino++] = obj;
+            }
+        }
+        int quitados = tamano - destino;
+        Arrays.fill(elementos, destino, tamano, null);
+        tamano = destino;
+        return quitados;
+    }
+
+    void limpiar() {
+        Arrays.fill(elementos, 0, tamano, null);
+        tamano = 0;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    JuegoObjetos get(int indice) {
+        if (indice < 0 || indice >= tamano) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", tamaño: " + tamano);
+        }
+        return elementos[indice];
+    }
+
+    /**
+     * Arreglo interno para recorrerlo con un for indexado.
+     * Solo son válidas las posiciones [0, tamano()).
+     */
+    JuegoObjetos[] arreglo() {
+        return elementos;
+    }
+
+    void copiarEn(List<JuegoObjetos> destino) {
+        for (int i = 0; i < tamano; i++) {
+            destino.add(elementos[i]);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package SistemaDeSoporte;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Tiempos por etapa del frame (ticks de cada subsistema, capas de render, show)
+ *
+ * USO:
+ *   long t = perfilador.inicio();
+ *   ... trabajo ...
+ *   perfilador.medir(Etapa.HANDLER_TICK, t);
+ *
+ * - Desactivado no mide nada (inicio() devuelve 0 sin leer el reloj)
+ * - Cada etapa acumula en un HistogramaTiempos durante una ventana;
+ *   cerrarVentana() (una vez por segundo) la publica para el overlay
+ * - Los últimos frames se guardan en un anillo para el gráfico
+ *
+ * @author LENOVO
+ */
+public final class PerfiladorFrames {
+
+    /**
+     * Etapas medidas, en el orden en que se muestran
+     */
+    public enum Etapa {
+        ESTADOS_TICK("Estados.tick"),
+        NIVELES_TICK("Niveles.tick"),
+        HANDLER_TICK("Handler.tick"),
+        RENDER_FONDO("Render fondo"),
+        RENDER_BLOQUES("Render bloques"),
+        RENDER_ENTIDADES("Render entidades"),
+        RENDER_EFECTOS("Render efectos"),
+        RENDER_ITEMS("Render items"),
+        RENDER_HUD("Render HUD"),
+        BUFFER_SHOW("buffer.show"),
+        FRAME("Frame total");
+
+        private final String etiqueta;
+
+        Etapa(String etiqueta) {
+            this.etiqueta = etiqueta;
+        }
+
+        public String getEtiqueta() {
+            return etiqueta;
+        }
+    }
+
+    private static final long PRESUPUESTO_FRAME = 16666667L;  // 60 FPS
+    private static final int FRAMES_GRAFICO = 120;
+    private static final Font FUENTE = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+
+    // Ventana en curso y última ventana cerrada (la que se muestra)
+    private Map<Etapa, HistogramaTiempos> actual;
+    private Map<Etapa, HistogramaTiempos> publicada;
+
+    private final long[] historialFrames;
+    private int posicionHistorial;
+
+    private boolean activo;
+
+    public PerfiladorFrames() {
+        this.actual = crearHistogramas();
+        this.publicada = crearHistogramas();
+        this.historialFrames = new long[FRAMES_GRAFICO];
+        this.posicionHistorial = 0;
+        this.activo = false;
+    }
+
+    private static Map<Etapa, HistogramaTiempos> crearHistogramas() {
+        Map<Etapa, HistogramaTiempos> mapa = new EnumMap<>(Etapa.class);
+        for (Etapa etapa : Etapa.values()) {
+            mapa.put(etapa, new HistogramaTiempos());
+        }
+        return mapa;
+    }
+
+    // ==================== MEDICIÓN ====================
+
+    /**
+     * Marca de tiempo para medir() (0 si está desactivado)
+     */
+    public long inicio() {
+        return activo ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Registra el tiempo transcurrido desde una marca de inicio()
+     */
+    public void medir(Etapa etapa, long inicio) {
+        if (!activo || inicio == 0) {
+            return;
+        }
+        long duracion = System.nanoTime() - inicio;
+        actual.get(etapa).registrar(duracion);
+
+        if (etapa == Etapa.FRAME) {
+            historialFrames[posicionHistorial] = duracion;
+            posicionHistorial = (posicionHistorial + 1) % FRAMES_GRAFICO;
+        }
+    }
+
+    /**
+     * Publica la ventana en curso y empieza una nueva
+     */
+    public void cerrarVentana() {
+        Map<Etapa, HistogramaTiempos> cerrada = actual;
+        actual = publicada;
+        publicada = cerrada;
+
+        for (HistogramaTiempos histograma : actual.values()) {
+            histograma.reiniciar();
+        }
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Histograma de la última ventana cerrada
+     */
+    public HistogramaTiempos getHistograma(Etapa etapa) {
+        return publicada.get(etapa);
+    }
+
+    public boolean isActivo() {
+        return activo;
+    }
+
+    public void setActivo(boolean activo) {
+        if (activo && !this.activo) {
+            for (HistogramaTiempos histograma : actual.values()) {
+                histograma.reiniciar();
+            }
+        }
+        this.activo = activo;
+    }
+
+    /**
+     * Resumen de una línea por etapa (para consola)
+     */
+    public String getResumen() {
+        StringBuilder sb = new StringBuilder();
+        for (Etapa etapa : Etapa.values()) {
+            HistogramaTiempos h = publicada.get(etapa);
+            if (h.getTotal() == 0) continue;
+            sb.append(String.format("  %-17s p50 %6.2f ms | p99 %6.2f ms | max %6.2f ms (%d)%n",
+                etapa.getEtiqueta(), ms(h.percentil(0.5)), ms(h.percentil(0.99)),
+                ms(h.getMaximo()), h.getTotal()));
+        }
+        return sb.toString();
+    }
+
+    // ==================== RENDER ====================
+
+    /**
+     * Dibuja la tabla p50/p99/max y el gráfico de los últimos frames
+     *
+     * @return Coordenada y debajo de lo dibujado
+     */
+    public int render(Graphics g, int x, int y) {
+        Font fuenteAnterior = g.getFont();
+        g.setFont(FUENTE);
+
+        g.setColor(Color.WHITE);
+        g.drawString("Etapa              p50     p99     max (ms)", x, y);
+        y += 15;
+
+        for (Etapa etapa : Etapa.values()) {
+            HistogramaTiempos h = publicada.get(etapa);
+            long max = h.getMaximo();
+            g.setColor(max > PRESUPUESTO_FRAME ? Color.RED : Color.LIGHT_GRAY);
+            g.drawString(String.format("%-17s %6.2f  %6.2f  %6.2f",
+                etapa.getEtiqueta(), ms(h.percentil(0.5)), ms(h.percentil(0.99)), ms(max)), x, y);
+            y += 15;
+        }
+
+        y = renderGrafico(g, x, y + 5);
+        g.setFont(fuenteAnterior);
+        return y;
+    }
+
+    /**
+     * Barras de los últimos FRAMES_GRAFICO frames; la línea marca 16.6 ms
+     */
+    private int renderGrafico(Graphics g, int x, int y) {
+        final int alto = 50;
+        final int escala = 2;  // el gráfico llega a 2 × presupuesto
+        int base = y + alto;
+
+        g.setColor(Color.DARK_GRAY);
+        g.drawRect(x, y, FRAMES_GRAFICO * 2, alto);
+
+        for (int i = 0; i < FRAMES_GRAFICO; i++) {
+            long duracion = historialFrames[(posicionHistorial + i) % FRAMES_GRAFICO];
+            int barra = (int) Math.min(alto, duracion * alto / (PRESUPUESTO_FRAME * escala));
+            g.setColor(duracion > PRESUPUESTO_FRAME ? Color.RED : Color.GREEN);
+            g.fillRect(x + i * 2, base - barra, 2, barra);
+        }
+
+        g.setColor(Color.YELLOW);
+        g.drawLine(x, base - alto / escala, x + FRAMES_GRAFICO * 2, base - alto / escala);
+
+        return base + 15;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1000000.0;
+    }
+}
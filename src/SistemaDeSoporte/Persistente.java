@@ -0,0 +1,20 @@
+package SistemaDeSoporte;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Objeto cuyo estado de simulación entra en una instantánea del mundo
+ *
+ * Solo se escribe lo que cambia de un tick a otro (posición, contadores,
+ * banderas); sprites, animaciones y referencias se reconstruyen solas.
+ * leerEstado() debe consumir exactamente los bytes que escribió
+ * escribirEstado(), en el mismo orden.
+ *
+ * @author LENOVO
+ */
+public interface Persistente {
+
+    void escribirEstado(ByteBuffer buf);
+
+    void leerEstado(ByteBuffer buf);
+}
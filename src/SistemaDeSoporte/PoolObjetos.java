@@ -0,0 +1,169 @@
+package SistemaDeSoporte;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Pool genérico de instancias reutilizables
+ *
+ * PATRÓN: OBJECT POOL
+ * - adquirir() devuelve una instancia libre o crea una nueva con la fábrica
+ * - liberar() la devuelve a la pila de libres (hasta capacidadMaxima)
+ * - Quien adquiere es responsable de reiniciar el estado del objeto
+ *
+ * Liberar dos veces el mismo objeto se ignora (no queda duplicado en la pila).
+ * Todos los pools se registran para mostrarse en el overlay de debug.
+ *
+ * @author LENOVO
+ */
+public class PoolObjetos<T> {
+
+    private static final List<PoolObjetos<?>> REGISTRADOS = new ArrayList<>();
+
+    private final String nombre;
+    private final int capacidadMaxima;
+    private final Supplier<T> fabrica;
+
+    // Pila de libres + conjunto para detectar dobles liberaciones
+    private Object[] libres;
+    private int cantidadLibres;
+    private final Set<T> enPool;
+
+    // Estadísticas
+    private long solicitudes;
+    private long aciertos;
+    private int creados;
+    private int descartados;
+    private int picoLibres;
+
+    /**
+     * @param nombre Nombre del pool (para debug)
+     * @param capacidadMaxima Máximo de instancias libres que se conservan
+     * @param fabrica Crea una instancia nueva cuando no hay libres
+     */
+    public PoolObjetos(String nombre, int capacidadMaxima, Supplier<T> fabrica) {
+        if (capacidadMaxima <= 0) {
+            throw new IllegalArgumentException("La capacidad del pool debe ser positiva");
+        }
+        this.nombre = nombre;
+        this.capacidadMaxima = capacidadMaxima;
+        this.fabrica = fabrica;
+        this.libres = new Object[Math.min(capacidadMaxima, 16)];
+        this.cantidadLibres = 0;
+        this.enPool = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        synchronized (REGISTRADOS) {
+            REGISTRADOS.add(this);
+        }
+    }
+
+    // ==================== ADQUIRIR / LIBERAR ====================
+
+    /**
+     * Toma una instancia libre o crea una nueva
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T adquirir() {
+        solicitudes++;
+
+        if (cantidadLibres > 0) {
+            aciertos++;
+            T obj = (T) libres[--cantidadLibres];
+            libres[cantidadLibres] = null;
+            enPool.remove(obj);
+            return obj;
+        }
+
+        creados++;
+        return fabrica.get();
+    }
+
+    /**
+     * Devuelve una instancia al pool
+     *
+     * @return false si ya estaba en el pool o el pool está lleno
+     */
+    public synchronized boolean liberar(T obj) {
+        if (obj == null || enPool.contains(obj)) {
+            return false;
+        }
+        if (cantidadLibres >= capacidadMaxima) {
+            descartados++;
+            return false;
+        }
+
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, Math.min(capacidadMaxima, libres.length * 2));
+        }
+        libres[cantidadLibres++] = obj;
+        enPool.add(obj);
+
+        if (cantidadLibres > picoLibres) {
+            picoLibres = cantidadLibres;
+        }
+        return true;
+    }
+
+    /**
+     * Crea instancias por adelantado (por ejemplo al cargar el nivel)
+     */
+    public synchronized void precalentar(int cantidad) {
+        for (int i = 0; i < cantidad && cantidadLibres < capacidadMaxima; i++) {
+            creados++;
+            liberar(fabrica.get());
+        }
+    }
+
+    // ==================== ESTADÍSTICAS ====================
+
+    /**
+     * Porcentaje de solicitudes atendidas sin crear objetos (0-100)
+     */
+    public synchronized float getTasaAciertos() {
+        return solicitudes == 0 ? 0f : (aciertos * 100f) / solicitudes;
+    }
+
+    public synchronized int getLibres() {
+        return cantidadLibres;
+    }
+
+    public synchronized int getPicoLibres() {
+        return picoLibres;
+    }
+
+    public synchronized int getCreados() {
+        return creados;
+    }
+
+    public synchronized long getSolicitudes() {
+        return solicitudes;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Información de debug (una línea para el overlay)
+     */
+    public synchronized String getInfo() {
+        return String.format(
+            "Pool %s [Aciertos: %.0f%% | Libres: %d | Pico: %d | Creados: %d | Descartados: %d]",
+            nombre, getTasaAciertos(), cantidadLibres, picoLibres, creados, descartados
+        );
+    }
+
+    /**
+     * Pools creados hasta ahora (copia)
+     */
+    public static List<PoolObjetos<?>> getRegistrados() {
+        synchronized (REGISTRADOS) {
+            return new ArrayList<>(REGISTRADOS);
+        }
+    }
+}
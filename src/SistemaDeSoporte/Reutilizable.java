@@ -0,0 +1,18 @@
+package SistemaDeSoporte;
+
+/**
+ * Objeto de juego que vuelve a un PoolObjetos en vez de descartarse
+ *
+ * El Handler llama a liberar() cuando el objeto sale definitivamente
+ * de la lista (eliminado y no re-agregado en el mismo tick).
+ * El estado se reinicia al adquirirlo de nuevo, no al liberarlo.
+ *
+ * @author LENOVO
+ */
+public interface Reutilizable {
+
+    /**
+     * Devuelve el objeto a su pool
+     */
+    void liberar();
+}
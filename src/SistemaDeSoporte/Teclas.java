@@ -1,90 +1,78 @@
 package SistemaDeSoporte;
 
+import Entidades.Jugador;
+import SistemaDeReplays.GrabadorEntradas;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import mariotest.GestorEstados;
 
 /**
  * Manejo de teclas mejorado
- * @author LENOVO 
+ *
+ * ENTRADA POR TICK:
+ * - Los eventos de teclado (hilo de AWT) solo marcan bits en una máscara
+ * - tickEntrada() (hilo del juego) toma la máscara una vez por tick
+ *   y la aplica al jugador comparando con la del tick anterior
+ * - Una tecla pulsada y soltada dentro del mismo tick cuenta un tick
+ * - Con una FuenteEntradas asignada (replay) se ignora el teclado;
+ *   con un GrabadorEntradas asignado se graba cada tick
+ *
+ * @author LENOVO
  */
 public class Teclas extends KeyAdapter {
     private boolean[] keyAbajo = new boolean[5];
     private Handler handler;
     private GestorEstados gestorEstados;
-    
+
     // Índices de las teclas
     private static final int KEY_SPACE = 0;
     private static final int KEY_W = 1;
     private static final int KEY_S = 2;
     private static final int KEY_A = 3;
     private static final int KEY_D = 4;
-    
+
+    // Bits de la máscara de entrada (bit = 1 << índice de la tecla)
+    public static final int BOTON_SALTO = 1 << KEY_SPACE;
+    public static final int BOTON_ARRIBA = 1 << KEY_W;
+    public static final int BOTON_ABAJO = 1 << KEY_S;
+    public static final int BOTON_IZQUIERDA = 1 << KEY_A;
+    public static final int BOTON_DERECHA = 1 << KEY_D;
+
+    // Escrito por el hilo de AWT, leído por el del juego (protegido por this)
+    private int mascaraTeclado;
+    private int pulsadasSinMuestrear;
+
+    // Solo hilo del juego
+    private int mascaraAplicada;
+    private FuenteEntradas fuente;
+    private GrabadorEntradas grabador;
+
     public Teclas(Handler handler, GestorEstados gestorEstados) {
         this.handler = handler;
         this.gestorEstados = gestorEstados;
     }
-    
+
     @Override
     public void keyPressed(KeyEvent e) {
         // ✅ CRÍTICO: Delegar PRIMERO al gestor de estados
         if (gestorEstados != null) {
             gestorEstados.keyPressed(e);
         }
-        
+
         // ✅ Si NO estamos jugando, NO procesar teclas de movimiento
         if (gestorEstados != null && !gestorEstados.estaJugando()) {
             return; // ⚠️ IMPORTANTE: Salir aquí para menús/victoria
         }
-        
-        int key = e.getKeyCode();
-        
-        // Verificar que el jugador exista
-        if (handler.getPlayer() == null) {
-            return;
-        }
-        
-        // ==================== ESPACIO - SALTAR ====================
-        if (key == KeyEvent.VK_SPACE) {
-            if (!keyAbajo[KEY_SPACE]) {
-                handler.getPlayer().iniciarSalto();
-                keyAbajo[KEY_SPACE] = true;
-            }
-        }
-        
-        // ==================== W - SUBIR ESCALERA ====================
-        if (key == KeyEvent.VK_W) {
-            if (!keyAbajo[KEY_W]) {
-                handler.getPlayer().subirEscalera();
-                keyAbajo[KEY_W] = true;
-            }
-        }
-        
-        // ==================== S - BAJAR ESCALERA ====================
-        if (key == KeyEvent.VK_S) {
-            if (!keyAbajo[KEY_S]) {
-                handler.getPlayer().bajarEscalera();
-                keyAbajo[KEY_S] = true;
-            }
-        }
-        
-        // ==================== A - MOVER IZQUIERDA ====================
-        if (key == KeyEvent.VK_A) {
-            if (!keyAbajo[KEY_A]) {
-                handler.getPlayer().moverIzquierda();
-                keyAbajo[KEY_A] = true;
-            }
-        }
-        
-        // ==================== D - MOVER DERECHA ====================
-        if (key == KeyEvent.VK_D) {
-            if (!keyAbajo[KEY_D]) {
-                handler.getPlayer().moverDerecha();
-                keyAbajo[KEY_D] = true;
+
+        int bit = bitDeTecla(e.getKeyCode());
+        if (bit != 0) {
+            synchronized (this) {
+                mascaraTeclado |= bit;
+                pulsadasSinMuestrear |= bit;
             }
         }
     }
-    
+
     @Override
     public void keyReleased(KeyEvent e) {
         // ✅ Delegar al gestor de estados
@@ -92,91 +80,164 @@ public class Teclas extends KeyAdapter {
             gestorEstados.keyReleased(e);
         }
 
-        // ✅ Si NO estamos jugando, NO procesar
-        if (gestorEstados != null && !gestorEstados.estaJugando()) {
-            return;
+        // Soltar siempre: una tecla no queda "pegada" al cambiar de pantalla
+        int bit = bitDeTecla(e.getKeyCode());
+        if (bit != 0) {
+            synchronized (this) {
+                mascaraTeclado &= ~bit;
+            }
         }
+    }
 
-        int key = e.getKeyCode();
-        
-        if (handler.getPlayer() == null) {
+    private static int bitDeTecla(int key) {
+        switch (key) {
+            case KeyEvent.VK_SPACE: return BOTON_SALTO;
+            case KeyEvent.VK_W:     return BOTON_ARRIBA;
+            case KeyEvent.VK_S:     return BOTON_ABAJO;
+            case KeyEvent.VK_A:     return BOTON_IZQUIERDA;
+            case KeyEvent.VK_D:     return BOTON_DERECHA;
+            default:                return 0;
+        }
+    }
+
+    // ==================== ENTRADA POR TICK ====================
+
+    /**
+     * Toma la entrada de este tick (teclado o replay), la graba si
+     * corresponde y la aplica al jugador. Llamar una vez por tick de juego.
+     */
+    public void tickEntrada() {
+        int mascara = fuente != null ? fuente.siguienteEstado() : muestrearTeclado();
+
+        if (grabador != null) {
+            grabador.registrar(mascara);
+        }
+
+        aplicarEntrada(mascara);
+    }
+
+    /**
+     * Estado del teclado desde el último muestreo (incluye toques cortos)
+     */
+    private synchronized int muestrearTeclado() {
+        int mascara = mascaraTeclado | pulsadasSinMuestrear;
+        pulsadasSinMuestrear = 0;
+        return mascara;
+    }
+
+    /**
+     * Aplica una máscara de entrada: llama a las acciones del jugador
+     * solo para las teclas que cambiaron desde el tick anterior
+     */
+    public void aplicarEntrada(int mascara) {
+        int pulsadas = mascara & ~mascaraAplicada;
+        int soltadas = mascaraAplicada & ~mascara;
+        mascaraAplicada = mascara;
+
+        for (int i = 0; i < keyAbajo.length; i++) {
+            keyAbajo[i] = (mascara & (1 << i)) != 0;
+        }
+
+        Jugador player = handler.getPlayer();
+        if (player == null || (pulsadas == 0 && soltadas == 0)) {
             return;
         }
-        
-        // ==================== ESPACIO SOLTADO ====================
-        if (key == KeyEvent.VK_SPACE) {
-            keyAbajo[KEY_SPACE] = false;
-        }
-        
-        // ==================== W SOLTADO ====================
-        if (key == KeyEvent.VK_W) {
-            keyAbajo[KEY_W] = false;
-            if (handler.getPlayer().isEnEscalera() && !keyAbajo[KEY_S]) {
-                handler.getPlayer().detenerMovimientoVertical();
-            }
+
+        // ==================== TECLAS SOLTADAS ====================
+        if ((soltadas & (BOTON_ARRIBA | BOTON_ABAJO)) != 0
+                && player.isEnEscalera() && !keyAbajo[KEY_W] && !keyAbajo[KEY_S]) {
+            player.detenerMovimientoVertical();
         }
-        
-        // ==================== S SOLTADO ====================
-        if (key == KeyEvent.VK_S) {
-            keyAbajo[KEY_S] = false;
-            if (handler.getPlayer().isEnEscalera() && !keyAbajo[KEY_W]) {
-                handler.getPlayer().detenerMovimientoVertical();
-            }
+
+        if ((soltadas & (BOTON_IZQUIERDA | BOTON_DERECHA)) != 0
+                && !keyAbajo[KEY_A] && !keyAbajo[KEY_D]) {
+            player.detenerMovimiento();
         }
-        
-        // ==================== A SOLTADO ====================
-        if (key == KeyEvent.VK_A) {
-            keyAbajo[KEY_A] = false;
+
+        // ==================== ESPACIO - SALTAR ====================
+        if ((pulsadas & BOTON_SALTO) != 0) {
+            player.iniciarSalto();
         }
-        
-        // ==================== D SOLTADO ====================
-        if (key == KeyEvent.VK_D) {
-            keyAbajo[KEY_D] = false;
+
+        // ==================== W - SUBIR ESCALERA ====================
+        if ((pulsadas & BOTON_ARRIBA) != 0) {
+            player.subirEscalera();
         }
-        
-        // ==================== DETENER MOVIMIENTO HORIZONTAL ====================
-        if (!keyAbajo[KEY_A] && !keyAbajo[KEY_D]) {
-            handler.getPlayer().detenerMovimiento();
+
+        // ==================== S - BAJAR ESCALERA ====================
+        if ((pulsadas & BOTON_ABAJO) != 0) {
+            player.bajarEscalera();
+        }
+
+        // ==================== A - MOVER IZQUIERDA ====================
+        if ((pulsadas & BOTON_IZQUIERDA) != 0) {
+            player.moverIzquierda();
         }
+
+        // ==================== D - MOVER DERECHA ====================
+        if ((pulsadas & BOTON_DERECHA) != 0) {
+            player.moverDerecha();
+        }
+    }
+
+    /**
+     * Reemplaza el teclado por otra fuente (null = volver al teclado)
+     */
+    public void setFuente(FuenteEntradas fuente) {
+        this.fuente = fuente;
+    }
+
+    /**
+     * Graba la entrada de cada tick (null = dejar de grabar)
+     */
+    public void setGrabador(GrabadorEntradas grabador) {
+        this.grabador = grabador;
+    }
+
+    public GrabadorEntradas getGrabador() {
+        return grabador;
     }
-    
-    // ... resto del código sin cambios ...
-    
+
     public boolean isKeyDown(int keyIndex) {
         if (keyIndex >= 0 && keyIndex < keyAbajo.length) {
             return keyAbajo[keyIndex];
         }
         return false;
     }
-    
+
     public boolean isSpacePressed() {
         return keyAbajo[KEY_SPACE];
     }
-    
+
     public boolean isWPressed() {
         return keyAbajo[KEY_W];
     }
-    
+
     public boolean isSPressed() {
         return keyAbajo[KEY_S];
     }
-    
+
     public boolean isAPressed() {
         return keyAbajo[KEY_A];
     }
-    
+
     public boolean isDPressed() {
         return keyAbajo[KEY_D];
     }
-    
+
     public void resetKeys() {
+        synchronized (this) {
+            mascaraTeclado = 0;
+            pulsadasSinMuestrear = 0;
+        }
+        mascaraAplicada = 0;
         for (int i = 0; i < keyAbajo.length; i++) {
             keyAbajo[i] = false;
         }
-        
+
         if (handler.getPlayer() != null) {
             handler.getPlayer().detenerMovimiento();
             handler.getPlayer().detenerMovimientoVertical();
         }
     }
-}
\ No newline at end of file
+}
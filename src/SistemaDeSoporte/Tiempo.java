@@ -0,0 +1,108 @@
+package SistemaDeSoporte;
+
+import mariotest.Configuracion;
+
+/**
+ * Conversión de unidades del mundo (segundos) a pasos de simulación
+ *
+ * Las constantes del juego se escriben en segundos, píxeles/s y
+ * píxeles/s²; acá se pasan a la unidad del tick según
+ * Configuracion.TICKS_POR_SEGUNDO (se calcula una vez, al cargar cada clase):
+ *
+ *   velocidad por tick   = v / TPS    (se suma a la posición en cada tick)
+ *   aceleración por tick = a / TPS²   (se suma a la velocidad en cada tick)
+ *   duración en ticks    = segundos × TPS, redondeado
+ *
+ * Se divide en vez de multiplicar por DT: a 60 Hz los valores por tick
+ * salen exactamente iguales a los literales de antes (mismas partidas,
+ * mismos replays).
+ *
+ * La gravedad se reparte antes y después de mover (FRACCION_GRAVEDAD_ANTES)
+ * para que el arco sea el mismo a cualquier TPS; a 60 Hz va toda antes,
+ * como siempre, y las trayectorias no cambian.
+ *
+ * @author LENOVO
+ */
+public final class Tiempo {
+
+    /** Frecuencia para la que se afinaron las probabilidades por tick */
+    public static final int TPS_REFERENCIA = 60;
+
+    public static final int TPS = Configuracion.TICKS_POR_SEGUNDO;
+
+    /** Segundos que dura un tick */
+    public static final float DT = 1f / TPS;
+
+    /**
+     * Parte de la gravedad del tick que se suma a la velocidad antes de mover
+     * (el resto se suma después)
+     *
+     * El paso de siempre a 60 Hz (v += g; y += v) recorre exactamente la
+     * parábola de la aceleración, pero con la velocidad guardada medio tick
+     * de 60 Hz atrasada. Con ese mismo atraso (1/120 s) el paso exacto a
+     * cualquier frecuencia queda:
+     *
+     *   y += v + g × (1/2 + TPS / 120),  v += g
+     *
+     * A 60 Hz la fracción es 1: toda la gravedad antes, igual que antes.
+     */
+    public static final float FRACCION_GRAVEDAD_ANTES = 0.5f + TPS / (2f * TPS_REFERENCIA);
+
+    private Tiempo() {
+    }
+
+    /**
+     * Duración en ticks (al menos 1 si segundos > 0)
+     */
+    public static int ticks(float segundos) {
+        int ticks = Math.round(segundos * TPS);
+        return segundos > 0 ? Math.max(1, ticks) : ticks;
+    }
+
+    /**
+     * Ticks en segundos (para mostrar cuentas regresivas)
+     */
+    public static float segundos(long ticks) {
+        return ticks / (float) TPS;
+    }
+
+    /**
+     * Velocidad (píxeles/s) a píxeles por tick
+     */
+    public static float velocidad(float porSegundo) {
+        return porSegundo / TPS;
+    }
+
+    /**
+     * Aceleración (píxeles/s²) a píxeles/tick por tick
+     */
+    public static float aceleracion(float porSegundo2) {
+        return porSegundo2 / ((float) TPS * TPS);
+    }
+
+    /**
+     * Factor multiplicativo por tick (frenado, desvanecido)
+     *
+     * @param porTickReferencia Lo que queda después de cada 1/60 s
+     * @return El factor equivalente por tick a la frecuencia actual
+     */
+    public static float factorPorTick(float porTickReferencia) {
+        if (TPS == TPS_REFERENCIA) {
+            return porTickReferencia;
+        }
+        return (float) Math.pow(porTickReferencia, (double) TPS_REFERENCIA / TPS);
+    }
+
+    /**
+     * Probabilidad por tick de algo que se sortea en cada tick
+     *
+     * @param porTickReferencia Probabilidad en cada 1/60 s
+     * @return La probabilidad equivalente por tick a la frecuencia actual
+     */
+    public static double probabilidadPorTick(double porTickReferencia) {
+        if (TPS == TPS_REFERENCIA) {
+            return porTickReferencia;
+        }
+        return 1 - Math.pow(1 - porTickReferencia, (double) TPS_REFERENCIA / TPS);
+    }
+}
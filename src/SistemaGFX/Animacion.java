@@ -1,21 +1,25 @@
 package SistemaGFX;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Graphics;
-import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
 /**
  *
  * @author LENOVO
  */
 public class Animacion {
-    private int velocidad;
+    private int velocidad;  // ticks extra que se muestra cada frame
     private int frames;
     private int index = 0;
     private int count = 0;
-    private BufferedImage[] images;
-    private BufferedImage correrImagen;
+    private Sprite[] images;
+    private Sprite correrImagen;
     
-    public Animacion(int velocidad ,BufferedImage... args){
-        this.velocidad = velocidad;
-        images = new BufferedImage[args.length];
+    /**
+     * @param segundosPorFrame Cuánto se muestra cada frame (se redondea a ticks)
+     */
+    public Animacion(float segundosPorFrame ,Sprite... args){
+        this.velocidad = Tiempo.ticks(segundosPorFrame) - 1;
+        images = new Sprite[args.length];
         for(int i = 0 ; i < args.length ; i++){
             images[i] = args[i];
         }
@@ -30,6 +34,36 @@ public class Animacion {
         }
     }
 
+    /**
+     * Vuelve al primer frame (al reutilizar la entidad desde un pool)
+     */
+    public void reiniciar(){
+        index = 0;
+        count = 0;
+        correrImagen = null;
+    }
+
+    /**
+     * Guarda el avance de la animación (para instantáneas del mundo)
+     */
+    public void escribirEstado(ByteBuffer buf){
+        int mostrando = -1;
+        for(int i = 0 ; i < frames ; i++){
+            if(images[i] == correrImagen){
+                mostrando = i;
+                break;
+            }
+        }
+        buf.putShort((short) index).put((byte) count).put((byte) mostrando);
+    }
+
+    public void leerEstado(ByteBuffer buf){
+        index = buf.getShort();
+        count = buf.get();
+        int mostrando = buf.get();
+        correrImagen = mostrando >= 0 ? images[mostrando] : null;
+    }
+
     private void nextFrame() {
         correrImagen = images[count];
         count++;
@@ -40,6 +74,8 @@ public class Animacion {
     }
     
     public void drawAnimacion(Graphics g,int x , int y , int scaleX , int scaleY){
-        g.drawImage(correrImagen, x, y, scaleX , scaleY,null);   
+        if (correrImagen != null) {
+            correrImagen.dibujar(g, x, y, scaleX, scaleY);
+        }
     }
 }
\ No newline at end of file
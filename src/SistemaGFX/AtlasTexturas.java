@@ -0,0 +1,279 @@
+package SistemaGFX;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.DirectColorModel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Atlas de texturas: muchos sprites copiados en pocas imágenes grandes
+ *
+ * FUNCIONAMIENTO:
+ * - agregar() registra un rectángulo de una hoja y devuelve su Sprite
+ *   (todavía sin ubicar)
+ * - empaquetar() acomoda todos los rectángulos en filas (de más alto
+ *   a más bajo), crea las páginas y copia los píxeles
+ * - Las hojas originales ya no hacen falta después de empaquetar
+ *
+ * Las páginas se crean con GraphicsConfiguration.createCompatibleImage:
+ * mismo formato de píxel que la pantalla, así Java2D puede cachearlas
+ * en VRAM y dibujarlas sin convertir.
+ *
+ * TRANSPARENCIA:
+ * - Si ningún sprite tiene alfa parcial (pixel art: opaco o vacío) las
+ *   páginas son BITMASK; si no, TRANSLUCENT
+ * - BITMASK tiene blits escalados directos también sin aceleración;
+ *   TRANSLUCENT escalado pasa por el camino genérico (mucho más lento)
+ * - Sin pantalla: IntArgbBm (alfa de 1 bit) o TYPE_INT_ARGB
+ *
+ * Cada sprite queda separado por un píxel transparente para que el
+ * escalado no tome color del vecino.
+ *
+ * @author LENOVO
+ */
+public final class AtlasTexturas {
+
+    private static final int LADO_PAGINA = 1024;
+    private static final int SEPARACION = 1;
+    
+    // Formato IntArgbBm de Java2D: RGB + 1 bit de alfa
+    private static final DirectColorModel MODELO_ALFA_1BIT =
+        new DirectColorModel(25, 0xFF0000, 0xFF00, 0xFF, 0x1000000);
+
+    private final String nombre;
+    private final List<Recorte> recortes;
+    private final List<BufferedImage> paginas;
+    private boolean empaquetado;
+    private long bytes;
+
+    public AtlasTexturas(String nombre) {
+        this.nombre = nombre;
+        this.recortes = new ArrayList<>();
+        this.paginas = new ArrayList<>();
+    }
+
+    // ==================== CONSTRUCCIÓN ====================
+
+    /**
+     * Registra un rectángulo de una hoja (mismos límites que getSubimage)
+     *
+     * @throws IllegalArgumentException si el rectángulo se sale de la hoja
+     * @throws IllegalStateException si el atlas ya se empaquetó
+     */
+    public Sprite agregar(BufferedImage hoja, int x, int y, int ancho, int alto) {
+        if (empaquetado) {
+            throw new IllegalStateException("El atlas '" + nombre + "' ya está empaquetado");
+        }
+        if (x < 0 || y < 0 || ancho <= 0 || alto <= 0
+                || x + ancho > hoja.getWidth() || y + alto > hoja.getHeight()) {
+            throw new IllegalArgumentException(String.format(
+                "Recorte (%d,%d) %dx%d fuera de la hoja de %dx%d",
+                x, y, ancho, alto, hoja.getWidth(), hoja.getHeight()));
+        }
+        if (ancho + SEPARACION > LADO_PAGINA || alto + SEPARACION > LADO_PAGINA) {
+            throw new IllegalArgumentException("Sprite de " + ancho + "x" + alto + " no entra en el atlas");
+        }
+
+        Sprite sprite = new Sprite(ancho, alto);
+        recortes.add(new Recorte(hoja, x, y, sprite));
+        return sprite;
+    }
+
+    /**
+     * Registra una imagen completa (p. ej. un placeholder)
+     */
+    public Sprite agregar(BufferedImage imagen) {
+        return agregar(imagen, 0, 0, imagen.getWidth(), imagen.getHeight());
+    }
+
+    /**
+     * Acomoda los sprites, crea las páginas y copia los píxeles.
+     * Después de esto todos los Sprite devueltos por agregar() se pueden dibujar.
+     */
+    public void empaquetar() {
+        if (empaquetado) {
+            return;
+        }
+        empaquetado = true;
+
+        // Más altos primero: las filas quedan parejas y se desperdicia menos
+        List<Recorte> ordenados = new ArrayList<>(recortes);
+        ordenados.sort(Comparator.comparingInt((Recorte r) -> r.sprite.getAlto()).reversed());
+
+        // PASO 1: ubicar cada recorte (página, x, y)
+        List<Integer> altosPagina = new ArrayList<>();
+        int pagina = 0, cursorX = 0, cursorY = 0, altoFila = 0;
+        for (Recorte r : ordenados) {
+            int ancho = r.sprite.getAncho() + SEPARACION;
+            int alto = r.sprite.getAlto() + SEPARACION;
+
+            if (cursorX + ancho > LADO_PAGINA) {
+                cursorX = 0;
+                cursorY += altoFila;
+                altoFila = 0;
+            }
+            if (cursorY + alto > LADO_PAGINA) {
+                altosPagina.add(cursorY);
+                pagina++;
+                cursorX = 0;
+                cursorY = 0;
+                altoFila = 0;
+            }
+
+            r.pagina = pagina;
+            r.destinoX = cursorX;
+            r.destinoY = cursorY;
+            cursorX += ancho;
+            altoFila = Math.max(altoFila, alto);
+        }
+        altosPagina.add(cursorY + altoFila);
+
+        // PASO 2: crear las páginas (solo tan altas como hace falta)
+        boolean soloBitmask = true;
+        for (Recorte r : ordenados) {
+            if (!r.esBitmask()) {
+                soloBitmask = false;
+                break;
+            }
+        }
+        int pixeles = 0;
+        for (int alto : altosPagina) {
+            alto = Math.max(1, alto);
+            paginas.add(crearImagen(LADO_PAGINA, alto, soloBitmask));
+            pixeles += LADO_PAGINA * alto;
+        }
+        bytes = pixeles * 4L;
+
+        // PASO 3: copiar los píxeles y ubicar los sprites
+        Graphics2D[] graficos = new Graphics2D[paginas.size()];
+        try {
+            for (Recorte r : ordenados) {
+                Graphics2D g2d = graficos[r.pagina];
+                if (g2d == null) {
+                    g2d = paginas.get(r.pagina).createGraphics();
+                    g2d.setComposite(AlphaComposite.Src);
+                    graficos[r.pagina] = g2d;
+                }
+
+                int ancho = r.sprite.getAncho();
+                int alto = r.sprite.getAlto();
+                g2d.drawImage(r.hoja,
+                    r.destinoX, r.destinoY, r.destinoX + ancho, r.destinoY + alto,
+                    r.x, r.y, r.x + ancho, r.y + alto,
+                    null);
+                r.sprite.ubicar(paginas.get(r.pagina), r.destinoX, r.destinoY);
+            }
+        } finally {
+            for (Graphics2D g2d : graficos) {
+                if (g2d != null) {
+                    g2d.dispose();
+                }
+            }
+        }
+
+        System.out.println(String.format(
+            "[ATLAS] '%s': %d sprites en %d página(s), %d KB, %s",
+            nombre, recortes.size(), paginas.size(), pixeles * 4 / 1024,
+            soloBitmask ? "BITMASK" : "TRANSLUCENT"));
+
+        // Las hojas ya no se necesitan
+        recortes.clear();
+    }
+
+    /**
+     * Imagen compatible con la pantalla (o su equivalente sin pantalla)
+     */
+    static BufferedImage crearImagen(int ancho, int alto, boolean bitmask) {
+        GraphicsConfiguration configuracion = obtenerConfiguracion();
+        if (configuracion != null) {
+            return configuracion.createCompatibleImage(ancho, alto,
+                bitmask ? Transparency.BITMASK : Transparency.TRANSLUCENT);
+        }
+        if (bitmask) {
+            return new BufferedImage(MODELO_ALFA_1BIT,
+                MODELO_ALFA_1BIT.createCompatibleWritableRaster(ancho, alto), false, null);
+        }
+        return new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static GraphicsConfiguration obtenerConfiguracion() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        try {
+            return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ==================== GETTERS ====================
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getCantidadPaginas() {
+        return paginas.size();
+    }
+
+    public BufferedImage getPagina(int indice) {
+        return paginas.get(indice);
+    }
+
+    /**
+     * Memoria de las páginas (4 bytes por píxel)
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    // ==================== RECORTE PENDIENTE ====================
+
+    private static final class Recorte {
+        final BufferedImage hoja;
+        final int x;
+        final int y;
+        final Sprite sprite;
+
+        // Ubicación asignada al empaquetar
+        int pagina;
+        int destinoX;
+        int destinoY;
+
+        Recorte(BufferedImage hoja, int x, int y, Sprite sprite) {
+            this.hoja = hoja;
+            this.x = x;
+            this.y = y;
+            this.sprite = sprite;
+        }
+
+        /**
+         * true si cada píxel es totalmente opaco o totalmente transparente
+         */
+        boolean esBitmask() {
+            if (hoja.getTransparency() != Transparency.TRANSLUCENT) {
+                return true;
+            }
+            int[] fila = new int[sprite.getAncho()];
+            for (int j = 0; j < sprite.getAlto(); j++) {
+                hoja.getRGB(x, y + j, fila.length, 1, fila, 0, fila.length);
+                for (int argb : fila) {
+                    int alfa = argb >>> 24;
+                    if (alfa != 0 && alfa != 0xFF) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package SistemaGFX;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import mariotest.Configuracion;
+
+/**
+ * Cache de variantes pre-escaladas y espejadas de los sprites
+ *
+ * FUNCIONAMIENTO:
+ * - Clave: (sprite, ancho, alto); ancho o alto negativo = espejado
+ * - La primera vez se dibuja la región del atlas escalada/espejada en
+ *   una imagen compatible del tamaño final; después es un blit 1:1
+ * - Cada sprite guarda sus variantes: buscar no crea objetos
+ *
+ * MEMORIA:
+ * - Tope de Configuracion.MEMORIA_CACHE_SPRITES_KB (4 bytes por píxel)
+ * - Al pasarlo se descartan las variantes usadas hace más tiempo (LRU)
+ * - Una variante que sola no entra en el tope no se cachea: se dibuja
+ *   escalando en el momento
+ *
+ * HILOS: sincronizado (las capas se pueden componer en el hilo de precarga).
+ *
+ * @author LENOVO
+ */
+public final class CacheSprites {
+
+    private static final long MEMORIA_MAXIMA = Configuracion.MEMORIA_CACHE_SPRITES_KB * 1024L;
+    private static final int VARIANTES_INICIALES = 2;
+
+    // Variantes en orden de uso (la primera es la más vieja)
+    private static final LinkedHashMap<Sprite, Sprite> usadas = new LinkedHashMap<>(64, 0.75f, true);
+    private static long memoriaUsada;
+    private static long creadas;
+    private static long descartadas;
+
+    private CacheSprites() {
+    }
+
+    /**
+     * Variante del sprite dibujada a anchoPedido x altoPedido
+     *
+     * @return La variante, o null si no entra en la memoria del cache
+     */
+    static synchronized Sprite obtener(Sprite sprite, int anchoPedido, int altoPedido) {
+        for (int i = 0; i < sprite.cantidadVariantes; i++) {
+            Sprite variante = sprite.variantes[i];
+            if (variante.anchoPedido == anchoPedido && variante.altoPedido == altoPedido) {
+                usadas.get(variante);  // marcar como recién usada
+                return variante;
+            }
+        }
+
+        long memoria = memoriaDe(anchoPedido, altoPedido);
+        if (memoria > MEMORIA_MAXIMA) {
+            return null;
+        }
+        while (memoriaUsada + memoria > MEMORIA_MAXIMA) {
+            descartarMasVieja();
+        }
+
+        Sprite variante = crear(sprite, anchoPedido, altoPedido);
+        if (sprite.variantes == null) {
+            sprite.variantes = new Sprite[VARIANTES_INICIALES];
+        } else if (sprite.cantidadVariantes == sprite.variantes.length) {
+            Sprite[] mayor = new Sprite[sprite.variantes.length * 2];
+            System.arraycopy(sprite.variantes, 0, mayor, 0, sprite.cantidadVariantes);
+            sprite.variantes = mayor;
+        }
+        sprite.variantes[sprite.cantidadVariantes++] = variante;
+        usadas.put(variante, sprite);
+        memoriaUsada += memoria;
+        creadas++;
+        return variante;
+    }
+
+    private static Sprite crear(Sprite sprite, int anchoPedido, int altoPedido) {
+        int ancho = Math.abs(anchoPedido);
+        int alto = Math.abs(altoPedido);
+        boolean bitmask = sprite.getAtlas().getTransparency() != Transparency.TRANSLUCENT;
+        BufferedImage imagen = AtlasTexturas.crearImagen(ancho, alto, bitmask);
+
+        Graphics2D g2d = imagen.createGraphics();
+        try {
+            g2d.setComposite(AlphaComposite.Src);
+            // Espejado: se dibuja desde el borde opuesto con tamaño negativo
+            sprite.dibujarRegion(g2d,
+                anchoPedido < 0 ? ancho : 0,
+                altoPedido < 0 ? alto : 0,
+                anchoPedido, altoPedido);
+        } finally {
+            g2d.dispose();
+        }
+
+        Sprite variante = new Sprite(sprite, anchoPedido, altoPedido);
+        variante.ubicar(imagen, 0, 0);
+        return variante;
+    }
+
+    private static void descartarMasVieja() {
+        Iterator<Sprite> it = usadas.keySet().iterator();
+        Sprite variante = it.next();
+        it.remove();
+
+        Sprite origen = variante.origen;
+        for (int i = 0; i < origen.cantidadVariantes; i++) {
+            if (origen.variantes[i] == variante) {
+                origen.variantes[i] = origen.variantes[--origen.cantidadVariantes];
+                origen.variantes[origen.cantidadVariantes] = null;
+                break;
+            }
+        }
+        memoriaUsada -= memoriaDe(variante.anchoPedido, variante.altoPedido);
+        descartadas++;
+        variante.getAtlas().flush();
+    }
+
+    private static long memoriaDe(int anchoPedido, int altoPedido) {
+        return (long) Math.abs(anchoPedido) * Math.abs(altoPedido) * 4;
+    }
+
+    // ==================== CONSULTA ====================
+
+    /**
+     * Descarta todas las variantes (se vuelven a crear al dibujar)
+     */
+    public static synchronized void vaciar() {
+        while (!usadas.isEmpty()) {
+            descartarMasVieja();
+        }
+    }
+
+    public static synchronized int getCantidad() {
+        return usadas.size();
+    }
+
+    public static synchronized String getResumen() {
+        return String.format("[SPRITES] Variantes: %d (%d KB de %d KB) | creadas %d, descartadas %d%n",
+            usadas.size(), memoriaUsada / 1024, MEMORIA_MAXIMA / 1024, creadas, descartadas);
+    }
+}
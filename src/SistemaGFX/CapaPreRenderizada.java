@@ -0,0 +1,249 @@
+package SistemaGFX;
+
+import Entidades.Escenario.Tile;
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Capa de tiles estáticos pre-renderizada en una sola imagen
+ *
+ * FUNCIONAMIENTO:
+ * - Al cargar el nivel se dibujan todos los tiles de la capa UNA vez
+ *   en una imagen del tamaño del mapa (imagen maestra)
+ * - Cada frame la capa se dibuja con un único drawImage
+ * - Si hay soporte de aceleración, se copia a una VolatileImage (VRAM);
+ *   si se pierde su contenido se restaura desde la imagen maestra
+ * - Sin pantalla (headless) o sin VolatileImage se usa la BufferedImage directamente
+ *
+ * Un Tile horneado avisa a su capa (invalidar) cuando cambia su sprite
+ * o su colisión; la capa se recompone en el siguiente render.
+ *
+ * componer() arma la imagen maestra por adelantado (desde cualquier hilo,
+ * antes de instalar la capa); la copia en VRAM se hace al primer render.
+ *
+ * @author LENOVO
+ */
+public class CapaPreRenderizada {
+
+    private static final int MAX_REINTENTOS_VOLATIL = 3;
+
+    private final String nombre;
+    private final int ancho;
+    private final int alto;
+    private final List<Tile> tiles;
+    private final GraphicsConfiguration configuracion;
+
+    private BufferedImage imagen;      // Imagen maestra (siempre válida)
+    private VolatileImage volatil;     // Copia acelerada (puede perderse)
+    private boolean sucia;
+    private boolean volatilPendiente;  // compuesta con componer(), falta la copia en VRAM
+
+    /**
+     * @param nombre Nombre de la capa (para logs)
+     * @param ancho Ancho del mapa en píxeles de mundo
+     * @param alto Alto del mapa en píxeles de mundo
+     */
+    public CapaPreRenderizada(String nombre, int ancho, int alto) {
+        this.nombre = nombre;
+        this.ancho = Math.max(1, ancho);
+        this.alto = Math.max(1, alto);
+        this.tiles = new ArrayList<>();
+        this.configuracion = obtenerConfiguracion();
+        this.sucia = true;
+    }
+
+    // ==================== CONSTRUCCIÓN ====================
+
+    /**
+     * Agrega un tile a la capa y lo vincula para que pueda invalidarla
+     */
+    public void agregarTile(Tile tile) {
+        tiles.add(tile);
+        tile.setCapa(this);
+        sucia = true;
+    }
+
+    /**
+     * Marca la capa para recomponerse en el próximo render
+     */
+    public void invalidar() {
+        sucia = true;
+    }
+
+    /**
+     * Desvincula los tiles y libera las imágenes
+     */
+    public void liberar() {
+        for (Tile tile : tiles) {
+            if (tile.getCapa() == this) {
+                tile.setCapa(null);
+            }
+        }
+        tiles.clear();
+
+        if (volatil != null) {
+            volatil.flush();
+            volatil = null;
+        }
+        if (imagen != null) {
+            imagen.flush();
+            imagen = null;
+        }
+    }
+
+    // ==================== RENDERIZADO ====================
+
+    /**
+     * Dibuja la capa completa con un solo blit
+     */
+    public void render(Graphics g) {
+        if (sucia || imagen == null) {
+            recomponer();
+        } else if (volatilPendiente) {
+            volatilPendiente = false;
+            crearVolatil();
+        }
+
+        if (volatil != null) {
+            for (int intento = 0; intento < MAX_REINTENTOS_VOLATIL; intento++) {
+                int estado = volatil.validate(configuracion);
+
+                if (estado == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    crearVolatil();
+                    if (volatil == null) break;
+                } else if (estado == VolatileImage.IMAGE_RESTORED) {
+                    copiarAVolatil();
+                }
+
+                g.drawImage(volatil, 0, 0, null);
+
+                if (!volatil.contentsLost()) {
+                    return;
+                }
+            }
+        }
+
+        // Fallback: imagen maestra en memoria
+        g.drawImage(imagen, 0, 0, null);
+    }
+
+    /**
+     * Dibuja todos los tiles en la imagen maestra sin tocar la VRAM.
+     * Pensado para el hilo de precarga: la capa todavía no se dibuja.
+     */
+    public void componer() {
+        dibujarTiles();
+        volatilPendiente = true;
+    }
+
+    /**
+     * Vuelve a dibujar todos los tiles en la imagen maestra
+     */
+    private void recomponer() {
+        dibujarTiles();
+        volatilPendiente = false;
+
+        if (volatil == null) {
+            crearVolatil();
+        } else {
+            copiarAVolatil();
+        }
+    }
+
+    private void dibujarTiles() {
+        if (imagen == null) {
+            imagen = (configuracion != null)
+                ? configuracion.createCompatibleImage(ancho, alto, Transparency.TRANSLUCENT)
+                : new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        Graphics2D g2d = imagen.createGraphics();
+        try {
+            // Limpiar a transparente
+            g2d.setComposite(AlphaComposite.Clear);
+            g2d.fillRect(0, 0, ancho, alto);
+            g2d.setComposite(AlphaComposite.SrcOver);
+
+            for (Tile tile : tiles) {
+                tile.render(g2d);
+            }
+        } finally {
+            g2d.dispose();
+        }
+
+        sucia = false;
+
+        System.out.println(String.format(
+            "[CAPA] '%s' horneada: %d tiles en %dx%d px",
+            nombre, tiles.size(), ancho, alto
+        ));
+    }
+
+    private void crearVolatil() {
+        if (volatil != null) {
+            volatil.flush();
+            volatil = null;
+        }
+        if (configuracion == null) {
+            return;
+        }
+
+        try {
+            volatil = configuracion.createCompatibleVolatileImage(ancho, alto, Transparency.TRANSLUCENT);
+            copiarAVolatil();
+        } catch (Exception e) {
+            System.err.println("[CAPA] VolatileImage no disponible, usando BufferedImage: " + e.getMessage());
+            volatil = null;
+        }
+    }
+
+    private void copiarAVolatil() {
+        Graphics2D g2d = volatil.createGraphics();
+        try {
+            // Src: copiar también el canal alfa (zonas vacías transparentes)
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.drawImage(imagen, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    private static GraphicsConfiguration obtenerConfiguracion() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        try {
+            return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ==================== GETTERS ====================
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getCantidadTiles() {
+        return tiles.size();
+    }
+
+    public boolean isSucia() {
+        return sucia;
+    }
+
+    public boolean usaVolatil() {
+        return volatil != null;
+    }
+}
@@ -0,0 +1,41 @@
+package SistemaGFX;
+
+import java.awt.Color;
+
+/**
+ * Variantes con transparencia de un mismo color, creadas una sola vez
+ *
+ * Evita el new Color(r, g, b, alpha) por frame de los efectos con fade out:
+ * cada nivel de alfa (0-255) se crea la primera vez que se pide y se reutiliza.
+ *
+ * @author LENOVO
+ */
+public final class PaletaAlfa {
+
+    private final Color base;
+    private final Color[] variantes;
+
+    public PaletaAlfa(Color base) {
+        this.base = base;
+        this.variantes = new Color[256];
+    }
+
+    /**
+     * Color base con el alfa indicado (se recorta a 0-255)
+     */
+    public Color conAlfa(int alfa) {
+        if (alfa < 0) alfa = 0;
+        if (alfa > 255) alfa = 255;
+
+        Color color = variantes[alfa];
+        if (color == null) {
+            color = new Color(base.getRed(), base.getGreen(), base.getBlue(), alfa);
+            variantes[alfa] = color;
+        }
+        return color;
+    }
+
+    public Color getBase() {
+        return base;
+    }
+}
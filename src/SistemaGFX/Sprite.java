@@ -0,0 +1,132 @@
+package SistemaGFX;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+/**
+ * Región de un atlas de texturas (un sprite sin imagen propia)
+ *
+ * Dibuja con la variante de drawImage que recorta el origen: Java2D
+ * trabaja siempre sobre la imagen completa del atlas, que puede
+ * mantener acelerada, en lugar de una sub-imagen de una hoja.
+ *
+ * La región se ubica cuando AtlasTexturas empaqueta; antes no se dibuja.
+ *
+ * ESCALADO Y ESPEJADO:
+ * - Dibujar a otro tamaño (o con ancho/alto negativo) usa una variante
+ *   ya escalada y espejada de CacheSprites: cada frame es una copia 1:1
+ * - Las variantes son Sprites con imagen propia; se crean la primera vez
+ *   que se piden y el cache las descarta si se pasa de memoria
+ *
+ * @author LENOVO
+ */
+public final class Sprite {
+
+    private final int ancho;
+    private final int alto;
+
+    // Ubicación dentro del atlas (la asigna AtlasTexturas.empaquetar)
+    private BufferedImage atlas;
+    private int x;
+    private int y;
+
+    // Variantes de este sprite en CacheSprites (solo con su lock)
+    Sprite[] variantes;
+    int cantidadVariantes;
+
+    // Si es una variante: tamaño pedido al dibujar (negativo = espejado)
+    final Sprite origen;
+    final int anchoPedido;
+    final int altoPedido;
+
+    Sprite(int ancho, int alto) {
+        this.ancho = ancho;
+        this.alto = alto;
+        this.origen = null;
+        this.anchoPedido = ancho;
+        this.altoPedido = alto;
+    }
+
+    /**
+     * Variante escalada/espejada de otro sprite (la crea CacheSprites)
+     */
+    Sprite(Sprite origen, int anchoPedido, int altoPedido) {
+        this.ancho = Math.abs(anchoPedido);
+        this.alto = Math.abs(altoPedido);
+        this.origen = origen;
+        this.anchoPedido = anchoPedido;
+        this.altoPedido = altoPedido;
+    }
+
+    void ubicar(BufferedImage atlas, int x, int y) {
+        this.atlas = atlas;
+        this.x = x;
+        this.y = y;
+    }
+
+    // ==================== DIBUJO ====================
+
+    /**
+     * Dibuja el sprite escalado a ancho x alto.
+     * Un ancho negativo lo dibuja espejado (x pasa a ser el borde derecho).
+     */
+    public void dibujar(Graphics g, int destinoX, int destinoY, int anchoDestino, int altoDestino) {
+        if (atlas == null || anchoDestino == 0 || altoDestino == 0) {
+            return;
+        }
+        if (anchoDestino != ancho || altoDestino != alto) {
+            Sprite variante = CacheSprites.obtener(this, anchoDestino, altoDestino);
+            if (variante != null) {
+                // Espejado: destinoX/destinoY eran el borde derecho/inferior
+                g.drawImage(variante.atlas,
+                    anchoDestino < 0 ? destinoX + anchoDestino : destinoX,
+                    altoDestino < 0 ? destinoY + altoDestino : destinoY,
+                    null);
+                return;
+            }
+        }
+        dibujarRegion(g, destinoX, destinoY, anchoDestino, altoDestino);
+    }
+
+    /**
+     * Dibuja la región del atlas tal cual, escalando en el momento
+     */
+    void dibujarRegion(Graphics g, int destinoX, int destinoY, int anchoDestino, int altoDestino) {
+        g.drawImage(atlas,
+            destinoX, destinoY, destinoX + anchoDestino, destinoY + altoDestino,
+            x, y, x + ancho, y + alto,
+            null);
+    }
+
+    /**
+     * Dibuja el sprite a su tamaño original
+     */
+    public void dibujar(Graphics g, int destinoX, int destinoY) {
+        dibujar(g, destinoX, destinoY, ancho, alto);
+    }
+
+    // ==================== GETTERS ====================
+
+    public int getAncho() {
+        return ancho;
+    }
+
+    public int getAlto() {
+        return alto;
+    }
+
+    /**
+     * Imagen del atlas que contiene al sprite (null si no se empaquetó)
+     */
+    public BufferedImage getAtlas() {
+        return atlas;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+}
@@ -1,14 +1,36 @@
 package SistemaGFX;
 import java.awt.image.BufferedImage;
 import java.util.HashMap;
+import mariotest.Configuracion;
 /**
  * PARTRON SINGLETON
  *
+ * ATLAS:
+ * - Los sprites globales (jugador, barriles, DK, princesa, fuegos, items,
+ *   victoria) se copian a un AtlasTexturas con el formato de píxel de
+ *   la pantalla
+ * - Cada sprite es una región (Sprite) del atlas, no una sub-imagen
+ *   de la hoja: Java2D puede acelerar el atlas completo
+ * - Cada hoja PNG se decodifica una sola vez aunque varias la compartan
+ *
+ * TILES POR NIVEL (TexturasNiveles):
+ * - Se cargan al entrar al nivel (cambiarNivel), no al arrancar;
+ *   los del nivel 1 se decodifican en paralelo con el atlas global
+ * - Al entrar a un nivel se precarga el siguiente en segundo plano
+ * - Los niveles viejos se descartan si se pasa de
+ *   Configuracion.MEMORIA_TEXTURAS_NIVELES_KB
+ *
+ * MODO SIN IMÁGENES (simulación sin ventana):
+ * - activarModoSinImagenes() antes del primer getInstance()
+ * - No se decodifica ningún PNG: los arreglos de sprites quedan con null
+ *   y las entidades usan su lógica normal sin dibujar nada
+ *
  * 
  * @author LENOVO
  */
 public final class Texturas {
     private static Texturas instancia;
+    private static boolean modoSinImagenes = false;
     
     private final String folder = "/Imagenes";
     
@@ -24,6 +46,10 @@ public final class Texturas {
     private final int dk_agarra_count = 6;    // 6 frames de animación 
     
     private CargadorImagenes cargar;
+    private final AtlasTexturas atlas;
+    
+    // Hojas ya decodificadas, por ruta (solo mientras se arma el atlas)
+    private HashMap<String, BufferedImage> hojasCargadas;
     
     // HOJAS DE SPRITES GLOBALES
     private BufferedImage player_sheet, barril_sheet;
@@ -31,75 +57,128 @@ public final class Texturas {
     private BufferedImage items_sheet;
     private BufferedImage victoria_sheet;
     
-    // HOJAS DE SPRITES POR NIVEL
-    private HashMap<Integer, BufferedImage> bloquesSheetsPorNivel;
-    private HashMap<Integer, HashMap<Integer, BufferedImage>> tilesSpritesPorNivel;
+    // SPRITES DE TILES POR NIVEL
+    private final TexturasNiveles tilesNiveles;
+    private volatile Sprite[] tilesActuales;  // del nivel actual, índice = ID de tile
     
     // ARRAYS DE SPRITES GLOBALES
-    private BufferedImage[] mario_l, mario_s, mario_martillo;
-    private BufferedImage[] barril_sprites, diegokong_sprites;
-    private BufferedImage[] mario_muerte;
-    private BufferedImage[] princesaSprites, fuego_sprites, llama_sprites;
-    private BufferedImage[] martillo_sprites, paraguas_sprites, bolso_sprites, sombrero_sprites;
+    private Sprite[] mario_l, mario_s, mario_martillo;
+    private Sprite[] barril_sprites, diegokong_sprites;
+    private Sprite[] mario_muerte;
+    private Sprite[] princesaSprites, fuego_sprites, llama_sprites;
+    private Sprite[] martillo_sprites, paraguas_sprites, bolso_sprites, sombrero_sprites;
     
     // victoria
-    private BufferedImage spriteCorazon;
-    private BufferedImage spriteCorazonRoto;
-    private BufferedImage[] spritesDKAgarra; 
+    private Sprite spriteCorazon;
+    private Sprite spriteCorazonRoto;
+    private Sprite[] spritesDKAgarra; 
     
     // NIVEL ACTUAL
-    private int nivelActual = 1;
+    private volatile int nivelActual = 1;
     
     public Texturas() {
         inicializarArrays();
         cargar = new CargadorImagenes();
-        bloquesSheetsPorNivel = new HashMap<>();
-        tilesSpritesPorNivel = new HashMap<>();
+        atlas = new AtlasTexturas("texturas");
+        hojasCargadas = new HashMap<>();
+        tilesNiveles = new TexturasNiveles(folder,
+            Configuracion.MEMORIA_TEXTURAS_NIVELES_KB * 1024L, modoSinImagenes);
+        registrarNiveles();
+        
+        if (modoSinImagenes) {
+            // Niveles registrados sin sprites (cambiarNivel sigue funcionando)
+            System.out.println("[TEXTURAS] Modo sin imágenes: no se cargan sprites");
+            return;
+        }
+        
+        // Los tiles del nivel 1 se decodifican en otro hilo mientras
+        // se arma el atlas; cambiarNivel(1) los espera
+        tilesNiveles.precargar(1);
         
         try {
             cargarSpritesGlobales();
             cargarSpritesVictoria();
-            cargarTodosLosNiveles();
         } catch (Exception e) {
             System.err.println("[ERROR] Fallo al cargar texturas: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            // Lo que se registró se copia al atlas; las hojas se descartan
+            atlas.empaquetar();
+            liberarHojas();
         }
+        cambiarNivel(1);
     }
     
-    public static Texturas getInstance() {
+    public static synchronized Texturas getInstance() {
         if (instancia == null) {
             instancia = new Texturas();
         }
         return instancia;
     }
     
+    /**
+     * Evita decodificar imágenes (simulación sin ventana).
+     * Debe llamarse antes del primer getInstance().
+     */
+    public static void activarModoSinImagenes() {
+        if (instancia != null && !modoSinImagenes) {
+            System.err.println("[TEXTURAS] Modo sin imágenes activado tarde: las texturas ya estaban cargadas");
+        }
+        modoSinImagenes = true;
+    }
+    
+    public static boolean isModoSinImagenes() {
+        return modoSinImagenes;
+    }
+    
     private void inicializarArrays() {
-        mario_s = new BufferedImage[mario_S_count];
-        mario_martillo = new BufferedImage[mario_martillo_count];
-        barril_sprites = new BufferedImage[barril_count];
-        diegokong_sprites = new BufferedImage[diegokong_count];
-        princesaSprites = new BufferedImage[princesa_count];
-        fuego_sprites = new BufferedImage[fuego_count];
-        llama_sprites = new BufferedImage[llama_count];
-        mario_muerte = new BufferedImage[mario_muerte_count];
-        martillo_sprites = new BufferedImage[1];
-        paraguas_sprites = new BufferedImage[1];
-        bolso_sprites = new BufferedImage[1];
-        sombrero_sprites = new BufferedImage[1];
-        spritesDKAgarra = new BufferedImage[dk_agarra_count];
+        mario_s = new Sprite[mario_S_count];
+        mario_martillo = new Sprite[mario_martillo_count];
+        barril_sprites = new Sprite[barril_count];
+        diegokong_sprites = new Sprite[diegokong_count];
+        princesaSprites = new Sprite[princesa_count];
+        fuego_sprites = new Sprite[fuego_count];
+        llama_sprites = new Sprite[llama_count];
+        mario_muerte = new Sprite[mario_muerte_count];
+        martillo_sprites = new Sprite[1];
+        paraguas_sprites = new Sprite[1];
+        bolso_sprites = new Sprite[1];
+        sombrero_sprites = new Sprite[1];
+        spritesDKAgarra = new Sprite[dk_agarra_count];
+    }
+    
+    /**
+     * Decodifica una hoja PNG (o devuelve la ya decodificada)
+     */
+    private BufferedImage cargarHoja(String ruta) {
+        BufferedImage hoja = hojasCargadas.get(ruta);
+        if (hoja == null) {
+            hoja = cargar.loadImage(ruta);
+            if (hoja != null) {
+                hojasCargadas.put(ruta, hoja);
+            }
+        }
+        return hoja;
+    }
+    
+    private void liberarHojas() {
+        player_sheet = barril_sheet = null;
+        diegokong_sheet = princesaSheet = fuego_sheet = llama_sheet = null;
+        items_sheet = victoria_sheet = null;
+        hojasCargadas = null;
     }
     
     private void cargarSpritesGlobales() {
         System.out.println("[TEXTURAS] Cargando sprites globales...");
         
-        player_sheet = cargar.loadImage(folder + "/testt.png");
-        barril_sheet = cargar.loadImage(folder + "/testt.png");
-        diegokong_sheet = cargar.loadImage(folder + "/testt.png");
-        princesaSheet = cargar.loadImage(folder + "/testt.png");
-        fuego_sheet = cargar.loadImage(folder + "/testt.png");
-        llama_sheet = cargar.loadImage(folder + "/testt.png");
-        items_sheet = cargar.loadImage(folder + "/testt.png");
-        victoria_sheet = cargar.loadImage(folder + "/testt.png");
+        player_sheet = cargarHoja(folder + "/testt.png");
+        barril_sheet = cargarHoja(folder + "/testt.png");
+        diegokong_sheet = cargarHoja(folder + "/testt.png");
+        princesaSheet = cargarHoja(folder + "/testt.png");
+        fuego_sheet = cargarHoja(folder + "/testt.png");
+        llama_sheet = cargarHoja(folder + "/testt.png");
+        items_sheet = cargarHoja(folder + "/testt.png");
+        victoria_sheet = cargarHoja(folder + "/testt.png");
         
         getPlayerTexturas();
         getBarrilTexturas();
@@ -120,8 +199,8 @@ public final class Texturas {
         
         try {
             // ==================== CORAZONES (16x16) ====================
-            spriteCorazon = victoria_sheet.getSubimage(109, 157, 16, 16);
-            spriteCorazonRoto = victoria_sheet.getSubimage(127, 157, 16, 16);
+            spriteCorazon = atlas.agregar(victoria_sheet, 109, 157, 16, 16);
+            spriteCorazonRoto = atlas.agregar(victoria_sheet, 127, 157, 16, 16);
             
             System.out.println("[TEXTURAS] Corazones cargados (16x16)");
             
@@ -149,7 +228,7 @@ public final class Texturas {
                 }
                 
                 try {
-                    spritesDKAgarra[i] = diegokong_sheet.getSubimage(
+                    spritesDKAgarra[i] = atlas.agregar(diegokong_sheet,
                         x_actual, y_dk_agarra, w_dk, h_dk
                     );
                     
@@ -165,7 +244,7 @@ public final class Texturas {
             
             // Verificar que todos los frames se cargaron
             int framesValidos = 0;
-            for (BufferedImage frame : spritesDKAgarra) {
+            for (Sprite frame : spritesDKAgarra) {
                 if (frame != null) framesValidos++;
             }
             
@@ -183,89 +262,54 @@ public final class Texturas {
         }
     }
     
-    private void cargarTodosLosNiveles() {
-        System.out.println("[TEXTURAS] Cargando texturas de todos los niveles...");
-        cargarNivel(1, "/bloques2.png");
-        cargarNivel(2, "/bloques3.png");
-        cargarNivel(3, "/bloques4.png");
-        cambiarNivel(1);
-    }
-    
-    private void cargarNivel(int numeroNivel, String nombreArchivo) {
-        try {
-            System.out.println("[TEXTURAS] Cargando nivel " + numeroNivel + ": " + nombreArchivo);
-            
-            BufferedImage sheet = cargar.loadImage(folder + nombreArchivo);
-            
-            if (sheet == null) {
-                System.err.println("[ERROR] No se pudo cargar: " + nombreArchivo);
-                return;
-            }
-            
-            bloquesSheetsPorNivel.put(numeroNivel, sheet);
-            
-            HashMap<Integer, BufferedImage> spritesNivel = new HashMap<>();
-            extraerSpritesNivel(sheet, spritesNivel);
-            
-            tilesSpritesPorNivel.put(numeroNivel, spritesNivel);
-            
-            System.out.println("[TEXTURAS] Nivel " + numeroNivel + " cargado: " + 
-                             spritesNivel.size() + " tiles");
-            
-        } catch (Exception e) {
-            System.err.println("[ERROR] Fallo al cargar nivel " + numeroNivel + ": " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-    
-    private void extraerSpritesNivel(BufferedImage sheet, HashMap<Integer, BufferedImage> sprites) {
-        final int x_off = 0;
-        final int y_off = 0;
-        final int tileWidth = 8;
-        final int tileHeight = 8;
-        final int firstgid = 1;
-        final int NUM_FILAS = 5;
-        
-        int currentTileID = firstgid;
-        
-        for (int fila = 0; fila < NUM_FILAS; fila++) {
-            int y = y_off + fila * tileHeight;
-            
-            if (y + tileHeight > sheet.getHeight()) {
-                break;
-            }
-            
-            for (int x = x_off; x + tileWidth <= sheet.getWidth(); x += tileWidth) {
-                BufferedImage sprite = sheet.getSubimage(x, y, tileWidth, tileHeight);
-                sprites.put(currentTileID, sprite);
-                currentTileID++;
-            }
-        }
+    private void registrarNiveles() {
+        tilesNiveles.registrar(1, "/bloques2.png");
+        tilesNiveles.registrar(2, "/bloques3.png");
+        tilesNiveles.registrar(3, "/bloques4.png");
     }
     
+    /**
+     * Cambia los tiles activos (los carga si no estaban) y precarga
+     * los del nivel siguiente. Solo desde el hilo del juego.
+     */
     public void cambiarNivel(int numeroNivel) {
-        if (!tilesSpritesPorNivel.containsKey(numeroNivel)) {
+        if (!tilesNiveles.existe(numeroNivel)) {
             System.err.println("[ERROR] Nivel " + numeroNivel + " no existe en texturas");
             return;
         }
         
+        tilesNiveles.proteger(numeroNivel);
+        this.tilesActuales = tilesNiveles.obtener(numeroNivel);
         this.nivelActual = numeroNivel;
         System.out.println("[TEXTURAS] Cambiado a nivel " + numeroNivel);
+        
+        int siguiente = tilesNiveles.existe(numeroNivel + 1) ? numeroNivel + 1 : 1;
+        tilesNiveles.precargar(siguiente);
     }
     
-    public BufferedImage getSpritePorID(int tileID) {
-        HashMap<Integer, BufferedImage> spritesActuales = tilesSpritesPorNivel.get(nivelActual);
-        
-        if (spritesActuales == null) {
-            System.err.println("[ADVERTENCIA] No hay sprites para nivel " + nivelActual);
+    public Sprite getSpritePorID(int tileID) {
+        return getSpritePorID(nivelActual, tileID);
+    }
+    
+    /**
+     * Sprite de un tile de cualquier nivel (no depende del nivel activo).
+     * Si el nivel no está cargado se carga (o se espera su precarga):
+     * se puede llamar desde el hilo de precarga de niveles.
+     */
+    public Sprite getSpritePorID(int nivel, int tileID) {
+        if (!tilesNiveles.existe(nivel)) {
+            System.err.println("[ADVERTENCIA] No hay sprites para nivel " + nivel);
             return null;
         }
         
-        BufferedImage sprite = spritesActuales.get(tileID);
+        Sprite[] spritesNivel = (nivel == nivelActual && tilesActuales != null)
+            ? tilesActuales
+            : tilesNiveles.obtener(nivel);
+        Sprite sprite = (tileID >= 0 && tileID < spritesNivel.length) ? spritesNivel[tileID] : null;
         
-        if (sprite == null && tileID > 0) {
+        if (sprite == null && tileID > 0 && !modoSinImagenes) {
             System.err.println("[ADVERTENCIA] No se encontró sprite para tileID: " + tileID + 
-                             " en nivel " + nivelActual);
+                             " en nivel " + nivel);
         }
         return sprite;
     }
@@ -273,7 +317,7 @@ public final class Texturas {
     private void getPlayerTexturas() {
         int x_off = 1, y_off = 1, width = 16, height = 16;
         for (int i = 0; i < mario_S_count; i++) {
-            mario_s[i] = player_sheet.getSubimage(x_off + i * (width + 2), y_off, width, height);
+            mario_s[i] = atlas.agregar(player_sheet, x_off + i * (width + 2), y_off, width, height);
         }
     }
     
@@ -281,7 +325,7 @@ public final class Texturas {
         int x_off = 1, y_off = 73, width = 32, height = 32;
         try {
             for (int i = 0; i < mario_martillo_count; i++) {
-                mario_martillo[i] = player_sheet.getSubimage(
+                mario_martillo[i] = atlas.agregar(player_sheet,
                     x_off + i * (width + 2), y_off, width, height
                 );
             }
@@ -293,22 +337,22 @@ public final class Texturas {
     private void getPlayerMuerteTexturas() {
         int x_off = 1, y_off = 37, width = 16, height = 16;
         for (int i = 0; i < mario_muerte_count; i++) {
-            mario_muerte[i] = player_sheet.getSubimage(x_off + i * (width + 2), y_off, width, height);
+            mario_muerte[i] = atlas.agregar(player_sheet, x_off + i * (width + 2), y_off, width, height);
         }
     }
     
     private void getItemsTexturas() {
         try {
-            martillo_sprites[0] = items_sheet.getSubimage(1, 55, 16, 16);
-            paraguas_sprites[0] = items_sheet.getSubimage(145, 157, 16, 16);
-            bolso_sprites[0] = items_sheet.getSubimage(145 + 18*2, 157, 16, 16);
-            sombrero_sprites[0] = items_sheet.getSubimage(145 + 18, 157, 16, 16);
+            martillo_sprites[0] = atlas.agregar(items_sheet, 1, 55, 16, 16);
+            paraguas_sprites[0] = atlas.agregar(items_sheet, 145, 157, 16, 16);
+            bolso_sprites[0] = atlas.agregar(items_sheet, 145 + 18*2, 157, 16, 16);
+            sombrero_sprites[0] = atlas.agregar(items_sheet, 145 + 18, 157, 16, 16);
         } catch (Exception e) {
             System.err.println("[ERROR] Items: " + e.getMessage());
         }
     }
     
-    private BufferedImage crearPlaceholder(int width, int height, java.awt.Color color) {
+    private Sprite crearPlaceholder(int width, int height, java.awt.Color color) {
         BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         java.awt.Graphics2D g = img.createGraphics();
         g.setColor(color);
@@ -316,13 +360,13 @@ public final class Texturas {
         g.setColor(java.awt.Color.WHITE);
         g.drawRect(0, 0, width - 1, height - 1);
         g.dispose();
-        return img;
+        return atlas.agregar(img);
     }
     
     private void getBarrilTexturas() {
         int x_off = 1, y_off = 229, width = 16, height = 16;
         for (int i = 0; i < barril_count; i++) {
-            barril_sprites[i] = barril_sheet.getSubimage(
+            barril_sprites[i] = atlas.agregar(barril_sheet,
                 x_off + i * (width + 2), y_off, width, height
             );
         }
@@ -335,7 +379,7 @@ public final class Texturas {
         try {
             int x_off_fila1 = 1, y_off_fila1 = 258;
             for (int i = 0; i < spritesPrimeraFila && i < diegokong_count; i++) {
-                diegokong_sprites[i] = diegokong_sheet.getSubimage(
+                diegokong_sprites[i] = atlas.agregar(diegokong_sheet,
                     x_off_fila1 + i * (width + 2), y_off_fila1, width, height
                 );
             }
@@ -343,7 +387,7 @@ public final class Texturas {
             int x_off_fila2 = 1, y_off_fila2 = 292;
             for (int i = spritesPrimeraFila; i < diegokong_count; i++) {
                 int spriteIndexEnFila = i - spritesPrimeraFila;
-                diegokong_sprites[i] = diegokong_sheet.getSubimage(
+                diegokong_sprites[i] = atlas.agregar(diegokong_sheet,
                     x_off_fila2 + spriteIndexEnFila * (width + 2), y_off_fila2, width, height
                 );
             }
@@ -355,7 +399,7 @@ public final class Texturas {
     private void getPrincesaTexturas() {
         int x_off = 1, y_off = 141, width = 16, height = 32;
         for (int i = 0; i < princesa_count; i++) {
-            princesaSprites[i] = princesaSheet.getSubimage(
+            princesaSprites[i] = atlas.agregar(princesaSheet,
                 x_off + i * (width + 2), y_off, width, height
             );
         }
@@ -365,7 +409,7 @@ public final class Texturas {
         int x_off = 1, y_off = 193, width = 16, height = 16;
         try {
             for (int i = 0; i < fuego_count; i++) {
-                fuego_sprites[i] = fuego_sheet.getSubimage(
+                fuego_sprites[i] = atlas.agregar(fuego_sheet,
                     x_off + i * (width + 2), y_off, width, height
                 );
             }
@@ -378,7 +422,7 @@ public final class Texturas {
         int x_off = 163, y_off = 193, width = 16, height = 16;
         try {
             for (int i = 0; i < llama_count; i++) {
-                llama_sprites[i] = llama_sheet.getSubimage(
+                llama_sprites[i] = atlas.agregar(llama_sheet,
                     x_off + i * (width + 2), y_off, width, height
                 );
             }
@@ -387,22 +431,23 @@ public final class Texturas {
         }
     }
     // ==================== GETTERS ====================
-    public BufferedImage[] getMarioL() { return mario_l; }
-    public BufferedImage[] getMarioS() { return mario_s; }
-    public BufferedImage[] getMarioMartillo() { return mario_martillo; }
-    public BufferedImage[] getMarioMuerte() { return mario_muerte; }
-    public BufferedImage[] getBarrilSprites() { return barril_sprites; }
-    public BufferedImage[] getDiegoKongSprites() { return diegokong_sprites; }
-    public BufferedImage[] getPrincesaSprites() { return princesaSprites; }
-    public BufferedImage[] getFuegoSprites() { return fuego_sprites; }
-    public BufferedImage[] getLlamaSprites() { return llama_sprites; }
-    public BufferedImage[] getMartilloSprites() { return martillo_sprites; }
-    public BufferedImage[] getParaguasSprites() { return paraguas_sprites; }
-    public BufferedImage[] getBolsoSprites() { return bolso_sprites; }
-    public BufferedImage[] getSombreroSprites() { return sombrero_sprites; }
+    public Sprite[] getMarioL() { return mario_l; }
+    public Sprite[] getMarioS() { return mario_s; }
+    public Sprite[] getMarioMartillo() { return mario_martillo; }
+    public Sprite[] getMarioMuerte() { return mario_muerte; }
+    public Sprite[] getBarrilSprites() { return barril_sprites; }
+    public Sprite[] getDiegoKongSprites() { return diegokong_sprites; }
+    public Sprite[] getPrincesaSprites() { return princesaSprites; }
+    public Sprite[] getFuegoSprites() { return fuego_sprites; }
+    public Sprite[] getLlamaSprites() { return llama_sprites; }
+    public Sprite[] getMartilloSprites() { return martillo_sprites; }
+    public Sprite[] getParaguasSprites() { return paraguas_sprites; }
+    public Sprite[] getBolsoSprites() { return bolso_sprites; }
+    public Sprite[] getSombreroSprites() { return sombrero_sprites; }
     //GETTERS DE VICTORIA
-    public BufferedImage getCorazonSprite() { return spriteCorazon; }
-    public BufferedImage getCorazonRotoSprite() { return spriteCorazonRoto; }
-    public BufferedImage[] getDKAgarraSprites() { return spritesDKAgarra; }
+    public Sprite getCorazonSprite() { return spriteCorazon; }
+    public Sprite getCorazonRotoSprite() { return spriteCorazonRoto; }
+    public Sprite[] getDKAgarraSprites() { return spritesDKAgarra; }
     public int getNivelActual() { return nivelActual; }
+    public String getResumenTiles() { return tilesNiveles.getResumen(); }
 }
\ No newline at end of file
@@ -0,0 +1,252 @@
+package SistemaGFX;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Tiles de cada nivel, cargados a pedido y descartados por antigüedad
+ *
+ * CARGA:
+ * - Cada nivel registra su hoja PNG; nada se decodifica al arrancar
+ * - obtener() carga el nivel si hace falta (o espera la precarga en curso)
+ * - precargar() lo carga en un hilo aparte (el nivel siguiente)
+ * - Cada nivel tiene su propio AtlasTexturas
+ *
+ * CONSULTA: los sprites quedan en un arreglo indexado por ID de tile
+ * (sin Integer ni HashMap por búsqueda).
+ *
+ * MEMORIA: al pasar el tope se descartan los niveles usados hace más
+ * tiempo, salvo el que se está pidiendo y el protegido (el actual).
+ * Los Tiles que ya tienen su Sprite lo siguen pudiendo dibujar.
+ *
+ * @author LENOVO
+ */
+final class TexturasNiveles {
+
+    private static final Sprite[] SIN_TILES = new Sprite[0];
+
+    // Formato de las hojas de bloques
+    private static final int TAMANO_TILE = 8;
+    private static final int NUM_FILAS = 5;
+    private static final int PRIMER_GID = 1;
+
+    private final String carpeta;
+    private final long memoriaMaxima;
+    private final boolean sinImagenes;
+    private final Map<Integer, String> hojas;
+
+    // Niveles cargados o cargándose, en orden de uso (el primero es el más viejo)
+    private final LinkedHashMap<Integer, Future<Nivel>> niveles;
+    private ExecutorService hiloPrecarga;
+    private int protegido = -1;
+    private int cargas;
+    private int descartes;
+
+    /**
+     * @param sinImagenes true = modo sin imágenes (niveles vacíos, sin PNG)
+     */
+    TexturasNiveles(String carpeta, long memoriaMaxima, boolean sinImagenes) {
+        this.carpeta = carpeta;
+        this.memoriaMaxima = memoriaMaxima;
+        this.sinImagenes = sinImagenes;
+        this.hojas = new HashMap<>();
+        this.niveles = new LinkedHashMap<>(8, 0.75f, true);
+    }
+
+    void registrar(int nivel, String archivo) {
+        hojas.put(nivel, archivo);
+    }
+
+    boolean existe(int nivel) {
+        return hojas.containsKey(nivel);
+    }
+
+    /**
+     * Nivel que nunca se descarta (el que se está jugando)
+     */
+    synchronized void proteger(int nivel) {
+        protegido = nivel;
+    }
+
+    // ==================== CARGA ====================
+
+    /**
+     * Sprites del nivel indexados por ID de tile (lo carga si hace falta)
+     *
+     * @return El arreglo, vacío si el nivel no existe o no se pudo cargar
+     */
+    Sprite[] obtener(int nivel) {
+        if (!existe(nivel)) {
+            return SIN_TILES;
+        }
+
+        FutureTask<Nivel> cargaPropia = null;
+        Future<Nivel> carga;
+        synchronized (this) {
+            carga = niveles.get(nivel);
+            if (carga == null) {
+                cargaPropia = new FutureTask<>(() -> cargar(nivel));
+                carga = cargaPropia;
+                niveles.put(nivel, carga);
+            }
+        }
+
+        // Fuera del lock: otro nivel se puede seguir cargando en paralelo
+        if (cargaPropia != null) {
+            cargaPropia.run();
+        }
+        try {
+            Nivel resultado = carga.get();
+            descartarSobrantes(nivel);
+            return resultado.sprites;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return SIN_TILES;
+        } catch (ExecutionException e) {
+            System.err.println("[ERROR] Fallo al cargar tiles del nivel " + nivel + ": " + e.getCause());
+            synchronized (this) {
+                niveles.remove(nivel, carga);
+            }
+            return SIN_TILES;
+        }
+    }
+
+    /**
+     * Empieza a cargar un nivel en segundo plano (si no está ya)
+     */
+    synchronized void precargar(int nivel) {
+        if (!existe(nivel) || niveles.containsKey(nivel)) {
+            return;
+        }
+        if (hiloPrecarga == null) {
+            hiloPrecarga = Executors.newSingleThreadExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "Precarga-Texturas");
+                hilo.setDaemon(true);
+                hilo.setPriority(Thread.MIN_PRIORITY);
+                return hilo;
+            });
+        }
+        niveles.put(nivel, hiloPrecarga.submit(() -> {
+            Nivel cargado = cargar(nivel);
+            descartarSobrantes(nivel);
+            return cargado;
+        }));
+    }
+
+    private Nivel cargar(int nivel) {
+        String archivo = hojas.get(nivel);
+        if (sinImagenes) {
+            return new Nivel(SIN_TILES, 0);
+        }
+
+        long inicio = System.nanoTime();
+        // Un cargador por carga: CargadorImagenes no es seguro entre hilos
+        BufferedImage hoja = new CargadorImagenes().loadImage(carpeta + archivo);
+        if (hoja == null) {
+            throw new IllegalStateException("No se pudo cargar: " + archivo);
+        }
+
+        AtlasTexturas atlas = new AtlasTexturas("nivel " + nivel);
+        List<Sprite> sprites = new ArrayList<>();
+        for (int fila = 0; fila < NUM_FILAS; fila++) {
+            int y = fila * TAMANO_TILE;
+            if (y + TAMANO_TILE > hoja.getHeight()) {
+                break;
+            }
+            for (int x = 0; x + TAMANO_TILE <= hoja.getWidth(); x += TAMANO_TILE) {
+                sprites.add(atlas.agregar(hoja, x, y, TAMANO_TILE, TAMANO_TILE));
+            }
+        }
+        atlas.empaquetar();
+
+        Sprite[] porId = new Sprite[PRIMER_GID + sprites.size()];
+        for (int i = 0; i < sprites.size(); i++) {
+            porId[PRIMER_GID + i] = sprites.get(i);
+        }
+
+        synchronized (this) {
+            cargas++;
+        }
+        System.out.println(String.format("[TEXTURAS] Nivel %d cargado: %d tiles en %.1f ms (%s)",
+            nivel, sprites.size(), (System.nanoTime() - inicio) / 1e6,
+            Thread.currentThread().getName()));
+        return new Nivel(porId, atlas.getBytes());
+    }
+
+    // ==================== MEMORIA ====================
+
+    /**
+     * Descarta los niveles más viejos mientras se pase del tope
+     *
+     * @param pedido Nivel que se acaba de usar (no se descarta)
+     */
+    private synchronized void descartarSobrantes(int pedido) {
+        long usada = getBytes();
+        Iterator<Map.Entry<Integer, Future<Nivel>>> it = niveles.entrySet().iterator();
+        while (usada > memoriaMaxima && it.hasNext()) {
+            Map.Entry<Integer, Future<Nivel>> entrada = it.next();
+            int nivel = entrada.getKey();
+            Nivel cargado = terminado(entrada.getValue());
+            if (nivel == pedido || nivel == protegido || cargado == null) {
+                continue;
+            }
+            it.remove();
+            usada -= cargado.bytes;
+            descartes++;
+            System.out.println("[TEXTURAS] Nivel " + nivel + " descartado (" + cargado.bytes / 1024 + " KB)");
+        }
+    }
+
+    /**
+     * Memoria de los niveles ya cargados
+     */
+    synchronized long getBytes() {
+        long total = 0;
+        for (Future<Nivel> carga : niveles.values()) {
+            Nivel cargado = terminado(carga);
+            if (cargado != null) {
+                total += cargado.bytes;
+            }
+        }
+        return total;
+    }
+
+    private static Nivel terminado(Future<Nivel> carga) {
+        if (!carga.isDone()) {
+            return null;
+        }
+        try {
+            return carga.get();
+        } catch (InterruptedException | ExecutionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    synchronized String getResumen() {
+        return String.format("[TEXTURAS] Niveles en memoria: %s (%d KB de %d KB) | cargas %d, descartes %d%n",
+            niveles.keySet(), getBytes() / 1024, memoriaMaxima / 1024, cargas, descartes);
+    }
+
+    // ==================== NIVEL CARGADO ====================
+
+    private static final class Nivel {
+        final Sprite[] sprites;  // índice = ID de tile
+        final long bytes;
+
+        Nivel(Sprite[] sprites, long bytes) {
+            this.sprites = sprites;
+            this.bytes = bytes;
+        }
+    }
+}
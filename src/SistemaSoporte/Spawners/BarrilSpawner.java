@@ -26,8 +26,8 @@ public class BarrilSpawner extends Spawner<Barril> {
         int probabilidad = random.nextInt(100);
         int direccion = (probabilidad < 71) ? 1 : -1;
         
-        // Crear barril
-        return new Barril(
+        // Barril del pool (reutiliza sprites y animaciones)
+        return Barril.obtener(
             spawnPoint.x,
             spawnPoint.y,
             2,  // scale
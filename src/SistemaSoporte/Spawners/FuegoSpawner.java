@@ -4,6 +4,7 @@ import Entidades.Enemigos.EnemigoFuego;
 import Entidades.Enemigos.Fuego;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.ObjetosID;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Point;
 import java.util.List;
 
@@ -26,8 +27,8 @@ public class FuegoSpawner extends Spawner<Fuego> {
         this.maxFuegos = MAX_FUEGOS_DEFAULT;
         
         // Configurar tiempos específicos para fuegos (más lentos)
-        this.ticksMinSpawn = 180;  // 3 segundos
-        this.ticksMaxSpawn = 420;  // 7 segundos
+        this.ticksMinSpawn = Tiempo.ticks(3f);
+        this.ticksMaxSpawn = Tiempo.ticks(7f);
         this.ticksEntreSpawns = generarTiempoAleatorio();
     }
     
@@ -40,7 +41,7 @@ public class FuegoSpawner extends Spawner<Fuego> {
         
         if (tipoRandom < 70) {
             // 70% - Fuego normal (patrulla)
-            return new Fuego(spawnPoint.x, spawnPoint.y, 2, handler,
+            return Fuego.obtener(spawnPoint.x, spawnPoint.y, 2, handler,
                            EnemigoFuego.ComportamientoFuego.PATRULLA, direccion);
         } else if (tipoRandom < 90) {
             // 20% - Fuego rápido
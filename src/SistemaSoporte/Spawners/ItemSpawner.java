@@ -2,6 +2,7 @@ package SistemaSoporte.Spawners;
 
 import Entidades.Items.*;
 import SistemaDeSoporte.Handler;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Point;
 import java.util.*;
 
@@ -20,8 +21,8 @@ public class ItemSpawner extends Spawner<Item> {
         super(handler, spawnPoints);
         
         // Configurar tiempos específicos para items (más lentos)
-        this.ticksMinSpawn = 300;  // 5 segundos
-        this.ticksMaxSpawn = 600;  // 10 segundos
+        this.ticksMinSpawn = Tiempo.ticks(5f);
+        this.ticksMaxSpawn = Tiempo.ticks(10f);
         this.ticksEntreSpawns = generarTiempoAleatorio();
     }
     
@@ -1,20 +1,25 @@
 package SistemaSoporte.Spawners;
 
+import Entidades.AdministradorEventos;
+import Entidades.EventoEntidadGenerada;
 import Entidades.JuegoObjetos;
+import SistemaDeSoporte.FlujoAleatorio;
 import SistemaDeSoporte.Handler;
+import SistemaDeSoporte.Persistente;
+import SistemaDeSoporte.Tiempo;
 import java.awt.Point;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 /**
  *
  * @author LENOVO
  */
-public abstract class Spawner <T extends JuegoObjetos > {
+public abstract class Spawner <T extends JuegoObjetos > implements Persistente {
     protected final Handler handler;
     protected final List<Point> spawnPoints;
-    protected final Random random;
+    protected final FlujoAleatorio random;  // flujo SPAWN del mundo
     
     // Control de spawn
     protected int ticksDesdeUltimoSpawn;
@@ -22,8 +27,8 @@ public abstract class Spawner <T extends JuegoObjetos > {
     protected boolean activo;
     
     // Configuración (valores por defecto)
-    protected static final int TICKS_MIN_DEFAULT = 120;  // 2 segundos
-    protected static final int TICKS_MAX_DEFAULT = 300;  // 5 segundos
+    protected static final int TICKS_MIN_DEFAULT = Tiempo.ticks(2f);
+    protected static final int TICKS_MAX_DEFAULT = Tiempo.ticks(5f);
     
     protected int ticksMinSpawn;
     protected int ticksMaxSpawn;
@@ -39,7 +44,7 @@ public abstract class Spawner <T extends JuegoObjetos > {
     protected Spawner(Handler handler, List<Point> spawnPoints) {
         this.handler = handler;
         this.spawnPoints = new ArrayList<>(spawnPoints);
-        this.random = new Random();
+        this.random = handler.getAleatorio().getSpawn();
         
         this.ticksMinSpawn = TICKS_MIN_DEFAULT;
         this.ticksMaxSpawn = TICKS_MAX_DEFAULT;
@@ -96,6 +101,9 @@ public abstract class Spawner <T extends JuegoObjetos > {
             // Agregar al handler
             handler.addObj(entidad);
             
+            AdministradorEventos eventos = AdministradorEventos.getInstance();
+            eventos.publicar(eventos.obtener(EventoEntidadGenerada.TIPO).preparar(entidad));
+            
             // Hook method 3: Callback post-spawn
             onEntidadSpawneada(entidad, spawnPoint);
             
@@ -110,6 +118,8 @@ public abstract class Spawner <T extends JuegoObjetos > {
      * Crea la entidad específica del spawner
      * 
      * HOOK METHOD - Implementado por subclases
+     * Si la entidad es Reutilizable conviene tomarla de su PoolObjetos:
+     * el Handler la devuelve al pool cuando se elimina.
      * 
      * @param spawnPoint Punto donde se creará la entidad
      * @return Entidad creada o null si falla
@@ -225,7 +235,9 @@ public abstract class Spawner <T extends JuegoObjetos > {
     /**
      * Configura el rango de tiempo entre spawns
      */
-    public void setRangoTiempoSpawn(int minTicks, int maxTicks) {
+    public void setRangoTiempoSpawn(float minSegundos, float maxSegundos) {
+        int minTicks = Tiempo.ticks(minSegundos);
+        int maxTicks = Tiempo.ticks(maxSegundos);
         if (minTicks > 0 && maxTicks > minTicks) {
             this.ticksMinSpawn = minTicks;
             this.ticksMaxSpawn = maxTicks;
@@ -234,6 +246,27 @@ public abstract class Spawner <T extends JuegoObjetos > {
         }
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    /**
+     * Temporizador y rango (los spawn points son configuración del nivel)
+     */
+    @Override
+    public void escribirEstado(ByteBuffer buf) {
+        buf.put((byte) (activo ? 1 : 0));
+        buf.putInt(ticksDesdeUltimoSpawn).putInt(ticksEntreSpawns);
+        buf.putInt(ticksMinSpawn).putInt(ticksMaxSpawn);
+    }
+    
+    @Override
+    public void leerEstado(ByteBuffer buf) {
+        activo = buf.get() != 0;
+        ticksDesdeUltimoSpawn = buf.getInt();
+        ticksEntreSpawns = buf.getInt();
+        ticksMinSpawn = buf.getInt();
+        ticksMaxSpawn = buf.getInt();
+    }
+    
     // ==================== GETTERS ====================
     
     public boolean isActivo() {
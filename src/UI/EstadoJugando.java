@@ -38,6 +38,13 @@ public class EstadoJugando extends EstadoJuegoBase {
     }
     }
     
+    /**
+     * La próxima entrada no reinicia la partida (reintento de nivel)
+     */
+    public void conservarPartida() {
+        primeraVez = false;
+    }
+    
     @Override
     public void tick() {
         // Verificar si el jugador perdió todas las vidas
@@ -56,6 +63,9 @@ public class EstadoJugando extends EstadoJuegoBase {
     @Override
     public void salir() {
         System.out.println("[ESTADO] Saliendo de JUGANDO");
+        
+        // La grabación cubre una sola partida
+        juego.finalizarGrabacion();
     }
     
     @Override
@@ -66,6 +76,19 @@ public class EstadoJugando extends EstadoJuegoBase {
             primeraVez = true; // Reset para próxima partida
             gestorEstados.cambiarEstado(EstadoJuegoEnum.MENU_PRINCIPAL);
         }
+        // Instantáneas: F5 guarda, F9 carga, RETROCESO (mantenido) rebobina
+        if (e.getKeyCode() == KeyEvent.VK_F5) {
+            juego.guardarRapido();
+            return;
+        }
+        if (e.getKeyCode() == KeyEvent.VK_F9) {
+            juego.cargarRapido();
+            return;
+        }
+        if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) {
+            juego.setRebobinando(true);
+            return;
+        }
         if (e.getKeyCode() == KeyEvent.VK_F1) {
         System.out.println("[DEBUG] Forzando victoria...");
         gestorEstados.cambiarEstado(EstadoJuegoEnum.VICTORIA);
@@ -82,6 +105,9 @@ public class EstadoJugando extends EstadoJuegoBase {
     
     @Override
     public void keyReleased(KeyEvent e) {
-        // Manejado por Teclas.java
+        // Movimiento manejado por Teclas.java
+        if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) {
+            juego.setRebobinando(false);
+        }
     }
 }
\ No newline at end of file
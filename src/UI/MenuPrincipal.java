@@ -3,6 +3,7 @@ package UI;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import javax.swing.ImageIcon;   
+import SistemaGFX.Texturas;
 import mariotest.GestorEstados;
 import mariotest.Juego;
 /**
@@ -63,6 +64,11 @@ public class MenuPrincipal extends EstadoJuegoBase {
     private void cargarLogoEstiloUI() {
         logoDisponible = false;
         
+        // Simulación sin ventana: no decodificar el logo
+        if (Texturas.isModoSinImagenes()) {
+            return;
+        }
+        
         try {
             // RUTA EXACTA 
             var url = getClass().getResource("/imagenes/logo.gif");
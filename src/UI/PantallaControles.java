@@ -1,6 +1,7 @@
 package UI;
 
 import UI.EstadoJuegoBase;
+import SistemaDeSoporte.Tiempo;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
@@ -20,6 +21,7 @@ public class PantallaControles extends EstadoJuegoBase {
     private Font fuenteTitulo;
     private Font fuenteTexto;
     private int ticksAnimacion;
+    private static final int PERIODO_PARPADEO = Tiempo.ticks(1f);
     
     public PantallaControles(GestorEstados gestorEstados, Juego juego) {
         super(gestorEstados, juego);
@@ -91,7 +93,7 @@ public class PantallaControles extends EstadoJuegoBase {
         g.setColor(new Color(200, 200, 200));
         
         // Parpadeo del texto
-        if (ticksAnimacion % 60 < 30) {
+        if (ticksAnimacion % PERIODO_PARPADEO < PERIODO_PARPADEO / 2) {
             String volver = "Presiona ESC para volver al menú";
             int anchoVolver = g.getFontMetrics().stringWidth(volver);
             g.drawString(volver, 
@@ -2,6 +2,7 @@ package UI;
 
 import UI.EstadoJuegoBase;
 import SistemaDeSoporte.EstadoJuego;
+import SistemaDeSoporte.Tiempo;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import mariotest.GestorEstados;
@@ -27,7 +28,9 @@ public class PantallaJuegoPerdido extends EstadoJuegoBase {
     
     // Animación de fade in
     private float alpha;
-    private static final int DURACION_FADE = 60;
+    private static final int DURACION_FADE = Tiempo.ticks(1f);
+    private static final int ESPERA_OPCIONES = Tiempo.ticks(2f);
+    private static final int PERIODO_PARPADEO = Tiempo.ticks(1f);
     
     public PantallaJuegoPerdido(GestorEstados gestorEstados, Juego juego) {
         super(gestorEstados, juego);
@@ -127,11 +130,11 @@ public class PantallaJuegoPerdido extends EstadoJuegoBase {
         }
         
         // ==================== OPCIONES ====================
-        if (ticksAnimacion > 120) { // Mostrar después de 2 segundos
+        if (ticksAnimacion > ESPERA_OPCIONES) {
             g.setFont(fuenteOpciones);
             
             // Opción 1: Reintentar (parpadea)
-            if (ticksAnimacion % 60 < 30) {
+            if (ticksAnimacion % PERIODO_PARPADEO < PERIODO_PARPADEO / 2) {
                 g.setColor(new Color(0, 255, 0, alphaInt));
                 String reintentar = "ENTER - Reintentar";
                 int anchoR = g.getFontMetrics().stringWidth(reintentar);
@@ -140,13 +143,20 @@ public class PantallaJuegoPerdido extends EstadoJuegoBase {
                             y + 80);
             }
             
-            // Opción 2: Menú
+            // Opción 2: Reintentar el nivel actual
             g.setColor(new Color(150, 150, 150, alphaInt));
+            String nivel = "R - Reintentar Nivel";
+            int anchoN = g.getFontMetrics().stringWidth(nivel);
+            g.drawString(nivel, 
+                        (Juego.getVentanaWidth() - anchoN) / 2, 
+                        y + 120);
+            
+            // Opción 3: Menú
             String menu = "ESC - Volver al Menú";
             int anchoM = g.getFontMetrics().stringWidth(menu);
             g.drawString(menu, 
                         (Juego.getVentanaWidth() - anchoM) / 2, 
-                        y + 120);
+                        y + 160);
         }
     }
     
@@ -165,7 +175,7 @@ public class PantallaJuegoPerdido extends EstadoJuegoBase {
     @Override
     public void keyPressed(KeyEvent e) {
         // Solo permitir acciones después de la animación inicial
-        if (ticksAnimacion < 120) {
+        if (ticksAnimacion < ESPERA_OPCIONES) {
             return;
         }
         
@@ -177,6 +187,12 @@ public class PantallaJuegoPerdido extends EstadoJuegoBase {
             gestorEstados.cambiarEstado(EstadoJuegoEnum.JUGANDO);
             break;
             
+        case KeyEvent.VK_R:
+            // Volver al inicio del nivel actual sin recargar el mapa
+            System.out.println("[GAME OVER] Reintentando nivel...");
+            juego.reintentarNivel();
+            break;
+            
         case KeyEvent.VK_ESCAPE:
             // Volver al menú principal
             System.out.println("[GAME OVER] Volviendo al menú...");
@@ -1,6 +1,7 @@
 package UI;
 
 import SistemaDeSoporte.EstadoJuego;
+import SistemaDeSoporte.Tiempo;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import mariotest.GestorEstados;
@@ -20,7 +21,9 @@ public class PantallaVictoria extends EstadoJuegoBase {
     
     private int ticksAnimacion;
     private float alpha;
-    private static final int DURACION_FADE = 60; // 1 segundo
+    private static final int DURACION_FADE = Tiempo.ticks(1f);
+    private static final int ESPERA_OPCIONES = Tiempo.ticks(1f);
+    private static final int PERIODO_PARPADEO = Tiempo.ticks(1f);
     
     private int puntosTotales;
     private int mejorRacha;
@@ -125,7 +128,7 @@ public class PantallaVictoria extends EstadoJuegoBase {
         renderEstadisticas(g, alphaInt);
         
         // ==================== OPCIONES ====================
-        if (ticksAnimacion > 60) { // Mostrar después de 1 segundo
+        if (ticksAnimacion > ESPERA_OPCIONES) {
             renderOpciones(g, alphaInt);
         }
     }
@@ -176,7 +179,7 @@ public class PantallaVictoria extends EstadoJuegoBase {
         int y = Juego.getVentanaHeight() - 150;
         
         // Opción 1: Reiniciar (parpadea)
-        if (ticksAnimacion % 60 < 30) {
+        if (ticksAnimacion % PERIODO_PARPADEO < PERIODO_PARPADEO / 2) {
             g.setColor(new Color(colorOpciones.getRed(), colorOpciones.getGreen(), 
                                 colorOpciones.getBlue(), alphaInt));
             String reintentar = "ENTER - Jugar de Nuevo";
@@ -204,8 +207,8 @@ public class PantallaVictoria extends EstadoJuegoBase {
     public void keyPressed(KeyEvent e) {
         System.out.println("[VICTORIA] 🔑 Tecla detectada: " + KeyEvent.getKeyText(e.getKeyCode()));
         
-        if (ticksAnimacion < 60) {
-            System.out.println("[VICTORIA] ⏳ Esperando animación... (" + ticksAnimacion + "/60)");
+        if (ticksAnimacion < ESPERA_OPCIONES) {
+            System.out.println("[VICTORIA] ⏳ Esperando animación... (" + ticksAnimacion + "/" + ESPERA_OPCIONES + ")");
             return;
         }
         
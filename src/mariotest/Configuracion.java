@@ -10,4 +10,39 @@ public class Configuracion {
     public static final String NOMBRE_JUEGO = "DIEGO KONG";
     public static final int VENTANA_WIDTH = 920;
     public static final int VENTANA_HEIGHT = 760;
+    
+    // Game loop: paso fijo de simulación (30, 60, 120 o 240; -Dtps=120 para cambiarlo)
+    // Física, timers y animaciones están en segundos: el juego es el mismo a cualquier frecuencia
+    public static final int TICKS_POR_SEGUNDO = leerTicksPorSegundo();
+    public static final int FPS_OBJETIVO = 0;        // 0 = frecuencia del monitor, -1 = sin límite
+    
+    // Rebobinado (instantáneas del mundo)
+    public static final int SEGUNDOS_REBOBINADO = 10;
+    public static final int TICKS_ENTRE_INSTANTANEAS = TICKS_POR_SEGUNDO / 10;  // 10 por segundo
+    
+    // Sprites pre-escalados y espejados (memoria máxima de las variantes)
+    public static final int MEMORIA_CACHE_SPRITES_KB = 4096;
+    
+    // Partículas vivas a la vez (las que pasen del límite no se emiten)
+    public static final int MAX_PARTICULAS = 65536;
+    
+    // Texturas de tiles de niveles cargadas a la vez (las más viejas se descartan)
+    public static final int MEMORIA_TEXTURAS_NIVELES_KB = 1024;
+    
+    // Niveles compilados desde los TMX ("" = sin cache, -Dcache.niveles=dir para cambiarla)
+    public static final String DIRECTORIO_CACHE_NIVELES = System.getProperty(
+        "cache.niveles", System.getProperty("user.home") + "/.diegokong/niveles");
+    
+    private static int leerTicksPorSegundo() {
+        String valor = System.getProperty("tps", "60");
+        switch (valor.trim()) {
+            case "30":  return 30;
+            case "60":  return 60;
+            case "120": return 120;
+            case "240": return 240;
+            default:
+                System.err.println("[CONFIG] tps=" + valor + " no soportado (30, 60, 120 o 240): se usa 60");
+                return 60;
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package mariotest;
 
 import SistemaDeNiveles.GestorNiveles;
+import SistemaDeSoporte.GeneradorAleatorio;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.Teclas;
 import SistemaGFX.Texturas;
@@ -18,6 +19,7 @@ public class ContextoJuego {
     
     // Componentes del juego (inmutables)
     private final Texturas texturas;
+    private final GeneradorAleatorio aleatorio;
     private final Handler handler;
     private final GestorEstados gestorEstados;
     private final GestorNiveles gestorNiveles;
@@ -29,6 +31,7 @@ public class ContextoJuego {
      */
     ContextoJuego(
         Texturas texturas,
+        GeneradorAleatorio aleatorio,
         Handler handler,
         GestorEstados gestorEstados,
         GestorNiveles gestorNiveles,
@@ -36,6 +39,7 @@ public class ContextoJuego {
         Jugador jugador
     ) {
         this.texturas = texturas;
+        this.aleatorio = aleatorio;
         this.handler = handler;
         this.gestorEstados = gestorEstados;
         this.gestorNiveles = gestorNiveles;
@@ -49,6 +53,13 @@ public class ContextoJuego {
         return texturas;
     }
     
+    /**
+     * Azar del mundo (flujos IA, spawn y cosmético)
+     */
+    public GeneradorAleatorio getAleatorio() {
+        return aleatorio;
+    }
+    
     public Handler getHandler() {
         return handler;
     }
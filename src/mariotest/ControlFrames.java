@@ -0,0 +1,103 @@
+package mariotest;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Control del ritmo de frames del game loop
+ *
+ * FUNCIONAMIENTO:
+ * - Duerme hasta ~1 ms antes del próximo frame (sin ocupar CPU)
+ * - Los últimos microsegundos los espera activamente (precisión)
+ * - Si el frame se atrasó, reprograma desde ahora (sin ráfagas)
+ *
+ * OBJETIVO:
+ * - fps > 0  = ese límite
+ * - fps == 0 = frecuencia del monitor (60 si no se puede leer)
+ * - fps < 0  = sin límite
+ *
+ * @author LENOVO
+ */
+public class ControlFrames {
+
+    private static final long NANOS_PER_SEC = 1000000000L;
+    private static final long MARGEN_ESPERA_ACTIVA = 1000000L;  // 1 ms
+    private static final int FPS_POR_DEFECTO = 60;
+
+    private int fpsObjetivo;
+    private long nsPorFrame;
+    private long proximoFrame;
+
+    public ControlFrames(int fpsObjetivo) {
+        setFpsObjetivo(fpsObjetivo);
+    }
+
+    /**
+     * Cambia el objetivo de FPS (ver tabla en la descripción de la clase)
+     */
+    public void setFpsObjetivo(int fps) {
+        if (fps == 0) {
+            fps = leerFrecuenciaMonitor();
+        }
+
+        this.fpsObjetivo = fps;
+        this.nsPorFrame = fps > 0 ? NANOS_PER_SEC / fps : 0;
+        this.proximoFrame = System.nanoTime() + nsPorFrame;
+
+        System.out.println("[FRAMES] Objetivo: " + (fps > 0 ? fps + " FPS" : "sin límite"));
+    }
+
+    /**
+     * Bloquea hasta el momento del próximo frame
+     */
+    public void esperarProximoFrame() {
+        if (nsPorFrame <= 0) {
+            return;
+        }
+
+        long ahora = System.nanoTime();
+        long restante = proximoFrame - ahora;
+
+        // Atrasado: no recuperar frames perdidos
+        if (restante <= 0) {
+            proximoFrame = ahora + nsPorFrame;
+            return;
+        }
+
+        // 1. Dormir la mayor parte
+        if (restante > MARGEN_ESPERA_ACTIVA) {
+            LockSupport.parkNanos(restante - MARGEN_ESPERA_ACTIVA);
+        }
+
+        // 2. Espera activa el resto
+        while (System.nanoTime() < proximoFrame) {
+            Thread.onSpinWait();
+        }
+
+        proximoFrame += nsPorFrame;
+    }
+
+    public int getFpsObjetivo() {
+        return fpsObjetivo;
+    }
+
+    /**
+     * Frecuencia de refresco del monitor principal
+     */
+    private static int leerFrecuenciaMonitor() {
+        try {
+            if (GraphicsEnvironment.isHeadless()) {
+                return FPS_POR_DEFECTO;
+            }
+            DisplayMode modo = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode();
+            int frecuencia = modo.getRefreshRate();
+            return frecuencia != DisplayMode.REFRESH_RATE_UNKNOWN && frecuencia > 0
+                ? frecuencia : FPS_POR_DEFECTO;
+        } catch (HeadlessException e) {
+            return FPS_POR_DEFECTO;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package mariotest;
 
+import SistemaDeReplays.GestorInstantaneas;
 import SistemaDeSoporte.EstadoJuego;
+import SistemaDeSoporte.PerfiladorFrames;
+import SistemaDeSoporte.PerfiladorFrames.Etapa;
+import SistemaDeSoporte.PoolObjetos;
+import SistemaGFX.CacheSprites;
+import Entidades.AdministradorEventos;
 import Entidades.Jugador;
 import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Patrón FACADE - Game Loop refactorizado
@@ -14,16 +21,43 @@ import java.awt.image.BufferStrategy;
  * - Orden de renderizado clarificado
  * - Lógica de victoria simplificada
  * - Separación de responsabilidades mejorada
+ * 
+ * PASO FIJO + INTERPOLACIÓN:
+ * - La lógica corre a TICKS_POR_SEGUNDO fijos (acumulador en nanosegundos)
+ * - El render se limita con ControlFrames (duerme en vez de girar)
+ * - Los objetos se dibujan entre el tick anterior y el actual (alfa)
+ * 
+ * PERFILADO (con debug activo):
+ * - Cada etapa del frame se mide en nanosegundos (PerfiladorFrames)
+ * - El overlay muestra p50/p99/max del último segundo y el gráfico de frames
+ * 
+ * MODO SIN VENTANA (sinVentana):
+ * - Sin Canvas, sin render y sin imágenes: solo tick()
+ * - multiplicador 0 = tan rápido como se pueda, N = N × TICKS_POR_SEGUNDO
+ * - simular(ticks) corre ticks en el hilo que llama (tests, bots)
+ * 
+ * INSTANTÁNEAS (GestorInstantaneas):
+ * - Se atienden al comienzo de cada tick, antes de simular
+ * - Mientras se rebobina el tick no simula: restaura hacia atrás
  */
 public class FacadeMotorJuego implements Runnable {
     
     private static final int NANOS_PER_SEC = 1000000000;
-    private static final double TARGET_TPS = 60.0;
+    private static final double TARGET_TPS = Configuracion.TICKS_POR_SEGUNDO;
     private static final int MILLIS_PER_SEC = 1000;
+    private static final long MAX_NANOS_POR_FRAME = 250000000L;  // evita la espiral de ticks
     
     private final ContextoJuego contexto;
-    private final Canvas canvas;
+    private final Canvas canvas;   // null en modo sin ventana
     private final Thread thread;
+    private final ControlFrames controlFrames;  // null en modo sin ventana
+    private final PerfiladorFrames perfilador;
+    private final GestorInstantaneas instantaneas;  // null sin handler o niveles
+    private volatile PerfiladorArranque arranque;   // hasta el primer frame mostrado
+    
+    // Modo sin ventana
+    private final double multiplicadorVelocidad;
+    private volatile long ticksTotales;
     
     private volatile boolean running;
     private boolean debug;
@@ -32,13 +66,43 @@ public class FacadeMotorJuego implements Runnable {
     private int tps;
     
     public FacadeMotorJuego(ContextoJuego contexto, Canvas canvas) {
+        this(contexto, canvas, 1.0);
+    }
+    
+    private FacadeMotorJuego(ContextoJuego contexto, Canvas canvas, double multiplicadorVelocidad) {
         this.contexto = contexto;
         this.canvas = canvas;
-        this.thread = new Thread(this, "GameLoop-Thread");
+        this.multiplicadorVelocidad = multiplicadorVelocidad;
+        this.thread = new Thread(this, canvas != null ? "GameLoop-Thread" : "Simulacion-Thread");
+        this.controlFrames = canvas != null ? new ControlFrames(Configuracion.FPS_OBJETIVO) : null;
+        this.perfilador = new PerfiladorFrames();
+        if (contexto.getHandler() != null) {
+            contexto.getHandler().setPerfilador(perfilador);
+        }
+        this.instantaneas = contexto.getHandler() != null
+                && contexto.getGestorNiveles() != null
+                && contexto.getGestorEstados() != null
+            ? new GestorInstantaneas(contexto.getHandler(), contexto.getGestorNiveles(),
+                contexto.getGestorEstados(), contexto.getTeclas())
+            : null;
         this.running = false;
         this.debug = false;
         this.fps = 0;
         this.tps = 0;
+        this.ticksTotales = 0;
+    }
+    
+    /**
+     * Motor sin ventana: solo lógica, sin Canvas ni render
+     * 
+     * @param contexto Contexto construido con JuegoBuilder.buildSinVentana()
+     * @param multiplicadorVelocidad 0 = sin límite, N = N × TICKS_POR_SEGUNDO
+     */
+    public static FacadeMotorJuego sinVentana(ContextoJuego contexto, double multiplicadorVelocidad) {
+        if (multiplicadorVelocidad < 0) {
+            throw new IllegalArgumentException("El multiplicador no puede ser negativo");
+        }
+        return new FacadeMotorJuego(contexto, null, multiplicadorVelocidad);
     }
     
     public synchronized void iniciar() {
@@ -71,37 +135,47 @@ public class FacadeMotorJuego implements Runnable {
     
     @Override
     public void run() {
+        if (canvas == null) {
+            runSinVentana();
+            return;
+        }
+        
         long lastTime = System.nanoTime();
-        double ns = NANOS_PER_SEC / TARGET_TPS;
-        double delta = 0;
+        long nsPorTick = (long) (NANOS_PER_SEC / TARGET_TPS);
+        long acumulado = 0;
         long timer = System.currentTimeMillis();
         int frames = 0;
         int updates = 0;
         
         canvas.requestFocus();
         
-        System.out.println("[LOOP] ✓ Game loop activo (60 TPS)");
+        System.out.println("[LOOP] ✓ Game loop activo (" + (int) TARGET_TPS + " TPS)");
         
         while (running) {
+            long inicioFrame = perfilador.inicio();
             long now = System.nanoTime();
-            delta += (now - lastTime) / ns;
+            // Tras un bloqueo largo (depurador, arrastre de ventana) no recuperar todo
+            acumulado += Math.min(now - lastTime, MAX_NANOS_POR_FRAME);
             lastTime = now;
             
-            while (delta >= 1) {
+            while (acumulado >= nsPorTick) {
                 tick();
                 updates++;
-                delta--;
+                acumulado -= nsPorTick;
             }
             
             if (running) {
-                render();
+                render((float) acumulado / nsPorTick);
                 frames++;
+                perfilador.medir(Etapa.FRAME, inicioFrame);
+                controlFrames.esperarProximoFrame();
             }
             
             if (System.currentTimeMillis() - timer > MILLIS_PER_SEC) {
                 timer += MILLIS_PER_SEC;
                 fps = frames;
                 tps = updates;
+                perfilador.cerrarVentana();
                 
                 if (debug) {
                     imprimirStats();
@@ -113,18 +187,92 @@ public class FacadeMotorJuego implements Runnable {
         }
     }
     
+    /**
+     * Loop sin ventana: ticks a ritmo fijo (multiplicador × TICKS_POR_SEGUNDO)
+     * o sin pausa si el multiplicador es 0
+     */
+    private void runSinVentana() {
+        long nsPorTick = multiplicadorVelocidad > 0
+            ? (long) (NANOS_PER_SEC / (TARGET_TPS * multiplicadorVelocidad))
+            : 0;
+        long proximoTick = System.nanoTime();
+        long timer = System.currentTimeMillis();
+        int updates = 0;
+        
+        System.out.println("[SIMULACION] Loop sin ventana activo (" + 
+            (nsPorTick > 0 ? (TARGET_TPS * multiplicadorVelocidad) + " TPS" : "sin límite") + ")");
+        
+        while (running) {
+            if (nsPorTick > 0) {
+                long espera = proximoTick - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                    continue;
+                }
+                proximoTick += nsPorTick;
+            }
+            
+            tick();
+            updates++;
+            
+            if (System.currentTimeMillis() - timer > MILLIS_PER_SEC) {
+                timer += MILLIS_PER_SEC;
+                tps = updates;
+                updates = 0;
+                perfilador.cerrarVentana();
+                
+                if (debug) {
+                    imprimirStats();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Ejecuta ticks en el hilo que llama, sin esperar entre ellos.
+     * No puede usarse mientras el loop está corriendo.
+     * 
+     * @param ticks Cantidad de ticks a simular (TICKS_POR_SEGUNDO ticks = 1 segundo de juego)
+     */
+    public void simular(long ticks) {
+        if (running) {
+            throw new IllegalStateException("El loop está corriendo; detenerlo antes de simular");
+        }
+        for (long i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+    
     /**
      * Actualiza la lógica del juego
      * Patrón: CHAIN OF RESPONSIBILITY (orden de actualización)
      */
     private void tick() {
+        ticksTotales++;
+        
+        // Guardado/carga rápida y rebobinado (entre ticks, nunca durante)
+        if (instantaneas != null && !instantaneas.antesDelTick()) {
+            return;
+        }
+        
+        // 0. Punto de partida de la interpolación
+        if (contexto.getHandler() != null) {
+            contexto.getHandler().guardarPosicionesAnteriores();
+        }
+        
         // 1. Actualizar gestor de estados (menús, pausas)
         if (contexto.getGestorEstados() != null) {
+            long t = perfilador.inicio();
             contexto.getGestorEstados().tick();
+            perfilador.medir(Etapa.ESTADOS_TICK, t);
         }
         
         // 2. Solo actualizar juego si estamos en estado JUGANDO
         if (contexto.getGestorEstados() != null && contexto.getGestorEstados().estaJugando()) {
+            // Entrada del tick (teclado o replay), antes de mover nada
+            if (contexto.getTeclas() != null) {
+                contexto.getTeclas().tickEntrada();
+            }
             tickJuego();
         }
         
@@ -138,7 +286,9 @@ public class FacadeMotorJuego implements Runnable {
     private void tickJuego() {
         // 1. Actualizar gestor de niveles
         if (contexto.getGestorNiveles() != null) {
+            long t = perfilador.inicio();
             contexto.getGestorNiveles().tick();
+            perfilador.medir(Etapa.NIVELES_TICK, t);
         }
         
         // 2. Actualizar objetos si el nivel lo permite
@@ -146,8 +296,13 @@ public class FacadeMotorJuego implements Runnable {
             || contexto.getGestorNiveles().permitirMovimientoJugador();
         
         if (permitirJuego && contexto.getHandler() != null) {
+            long t = perfilador.inicio();
             contexto.getHandler().tick();
+            perfilador.medir(Etapa.HANDLER_TICK, t);
         }
+        
+        // 3. Tanda de eventos diferidos (puntos, golpes, spawns) del tick
+        AdministradorEventos.getInstance().despacharPendientes();
     }
     
     /**
@@ -158,8 +313,10 @@ public class FacadeMotorJuego implements Runnable {
      * 1. Objetos del juego (Handler)
      * 2. Overlay de nivel (transiciones, victoria de nivel)
      * 3. UI Global (menús, pantalla de victoria FINAL)
+     * 
+     * @param alfa Fracción del próximo tick ya transcurrida (interpolación)
      */
-    private void render() {
+    private void render(float alfa) {
         BufferStrategy buffer = canvas.getBufferStrategy();
         
         if (buffer == null) {
@@ -180,7 +337,7 @@ public class FacadeMotorJuego implements Runnable {
             if (gestor != null && gestor.estaJugando()) {
                 // Renderizar objetos del juego
                 if (contexto.getHandler() != null) {
-                    contexto.getHandler().render(g);
+                    contexto.getHandler().render(g, alfa);
                 }
                 
                 // Renderizar overlay de nivel (transiciones entre niveles)
@@ -204,7 +361,14 @@ public class FacadeMotorJuego implements Runnable {
             g.dispose();
         }
         
+        long t = perfilador.inicio();
         buffer.show();
+        perfilador.medir(Etapa.BUFFER_SHOW, t);
+        
+        if (arranque != null) {
+            arranque.marcarPrimerFrame();
+            arranque = null;
+        }
     }
     
     /**
@@ -218,7 +382,8 @@ public class FacadeMotorJuego implements Runnable {
         }
         
         // Muerte por caída fuera del mapa
-        if (player.getY() > canvas.getHeight() + 50) {
+        int altoPantalla = canvas != null ? canvas.getHeight() : Configuracion.VENTANA_HEIGHT;
+        if (player.getY() > altoPantalla + 50) {
             System.out.println("[MUERTE] Jugador cayó fuera del mapa");
             player.recibirDanio(null);
         }
@@ -231,12 +396,21 @@ public class FacadeMotorJuego implements Runnable {
         g.setColor(Color.GREEN);
         int y = 20;
         
-        g.drawString("FPS: " + fps + " | TPS: " + tps, 10, y);
+        g.drawString("FPS: " + fps + " / " + describirFpsObjetivo() + " | TPS: " + tps, 10, y);
         y += 15;
         
         g.drawString("Objetos: " + contexto.getHandler().getGameObjs().size(), 10, y);
         y += 15;
         
+        for (PoolObjetos<?> pool : PoolObjetos.getRegistrados()) {
+            g.drawString(String.format("Pool %s: %.0f%% aciertos | libres %d | pico %d",
+                pool.getNombre(), pool.getTasaAciertos(), pool.getLibres(), pool.getPicoLibres()), 10, y);
+            y += 15;
+        }
+        
+        g.drawString(AdministradorEventos.getInstance().getInfo(), 10, y);
+        y += 15;
+        
         if (contexto.getGestorNiveles() != null) {
             g.setColor(Color.CYAN);
             g.drawString("Nivel: " + contexto.getGestorNiveles().getNivelActual(), 10, y);
@@ -266,6 +440,9 @@ public class FacadeMotorJuego implements Runnable {
             g.setColor(colorEstado);
             g.drawString("Estado: " + player.getEstadoVida().getClass().getSimpleName(), 10, y);
         }
+        
+        // Tiempos por etapa (columna derecha)
+        perfilador.render(g, canvas.getWidth() - 300, 20);
     }
     
     /**
@@ -275,25 +452,63 @@ public class FacadeMotorJuego implements Runnable {
         Jugador player = contexto.getJugador();
         
         System.out.println(String.format(
-            "[STATS] FPS: %d | TPS: %d | Objetos: %d | Player: (%.0f, %.0f)",
-            fps, tps,
+            "[STATS] FPS: %d | TPS: %d | Ticks: %d | Objetos: %d | Player: (%.0f, %.0f)",
+            fps, tps, ticksTotales,
             contexto.getHandler().getGameObjs().size(),
             player != null ? player.getX() : 0,
             player != null ? player.getY() : 0
         ));
+        System.out.print(perfilador.getResumen());
+        if (instantaneas != null) {
+            System.out.print(instantaneas.getResumen());
+        }
+        System.out.print(CacheSprites.getResumen());
     }
     
     // ==================== CONTROL ====================
     
     public void toggleDebug() {
         debug = !debug;
+        perfilador.setActivo(debug);
         System.out.println("[DEBUG] Modo debug: " + (debug ? "ACTIVADO" : "DESACTIVADO"));
     }
     
+    public PerfiladorFrames getPerfilador() {
+        return perfilador;
+    }
+    
+    /**
+     * @return Gestor de instantáneas o null si el contexto no tiene mundo
+     */
+    public GestorInstantaneas getInstantaneas() {
+        return instantaneas;
+    }
+    
     public boolean isRunning() {
         return running;
     }
     
+    /**
+     * El primer frame mostrado se informa a este perfilador (una vez)
+     */
+    void setPerfiladorArranque(PerfiladorArranque arranque) {
+        this.arranque = arranque;
+    }
+    
+    /**
+     * Cambia el límite de FPS en caliente (0 = monitor, negativo = sin límite)
+     */
+    public void setFpsObjetivo(int fps) {
+        if (controlFrames != null) {
+            controlFrames.setFpsObjetivo(fps);
+        }
+    }
+    
+    private String describirFpsObjetivo() {
+        int objetivo = controlFrames != null ? controlFrames.getFpsObjetivo() : -1;
+        return objetivo > 0 ? String.valueOf(objetivo) : "sin límite";
+    }
+    
     public int getFPS() {
         return fps;
     }
@@ -301,4 +516,15 @@ public class FacadeMotorJuego implements Runnable {
     public int getTPS() {
         return tps;
     }
+    
+    /**
+     * Ticks ejecutados desde que se creó el motor
+     */
+    public long getTicksTotales() {
+        return ticksTotales;
+    }
+    
+    public boolean isSinVentana() {
+        return canvas == null;
+    }
 }
\ No newline at end of file
@@ -14,6 +14,9 @@ import java.awt.event.KeyEvent;
  * Gestor de Estados del Juego - Patrón STATE
  * Maneja transiciones entre Menú, Juego, Game Over, etc.
  * 
+ * Cada pantalla se crea la primera vez que se entra a ella (el arranque
+ * solo construye el menú principal)
+ * 
  * @author LENOVO
  */
 public class GestorEstados {
@@ -21,7 +24,7 @@ public class GestorEstados {
     private Juego juego;
     private EstadoJuegoBase estadoActual;
     
-    // Estados disponibles
+    // Estados disponibles (null = todavía no se usó)
     private MenuPrincipal menuPrincipal;
     private EstadoJugando estadoJugando;
     private PantallaControles pantallaControles;
@@ -34,13 +37,6 @@ public class GestorEstados {
     public GestorEstados(Juego juego) {
         this.juego = juego;
         
-        // Inicializar todos los estados
-        this.menuPrincipal = new MenuPrincipal(this, juego);
-        this.estadoJugando = new EstadoJugando(this, juego);
-        this.pantallaControles = new PantallaControles(this, juego);
-        this.pantallaGameOver = new PantallaJuegoPerdido(this, juego);
-        this.pantallaVictoria = new PantallaVictoria(this, juego);
-        
         // Estado inicial: Menú Principal
         cambiarEstado(EstadoJuegoEnum.MENU_PRINCIPAL);
     }
@@ -57,27 +53,36 @@ public class GestorEstados {
         // Cambiar al nuevo estado
         switch (nuevoEstado) {
             case MENU_PRINCIPAL:
-                estadoActual = menuPrincipal;
+                estadoActual = getMenuPrincipal();
                 break;
                 
             case JUGANDO:
-                estadoActual = estadoJugando;
+                estadoActual = getEstadoJugando();
                 break;
                 
             case CONTROLES:
+                if (pantallaControles == null) {
+                    pantallaControles = new PantallaControles(this, juego);
+                }
                 estadoActual = pantallaControles;
                 break;
                 
             case GAME_OVER:
+                if (pantallaGameOver == null) {
+                    pantallaGameOver = new PantallaJuegoPerdido(this, juego);
+                }
                 estadoActual = pantallaGameOver;
                 break;
             case VICTORIA:
+                if (pantallaVictoria == null) {
+                    pantallaVictoria = new PantallaVictoria(this, juego);
+                }
                 estadoActual = pantallaVictoria;
                 break;
                 
             default:
                 System.err.println("[ERROR] Estado desconocido: " + nuevoEstado);
-                estadoActual = menuPrincipal;
+                estadoActual = getMenuPrincipal();
         }
         
         // Entrar al nuevo estado
@@ -119,6 +124,31 @@ public class GestorEstados {
         }
     }
     
+    /**
+     * Vuelve a JUGANDO conservando el mundo actual (la instantánea
+     * de inicio de nivel ya fue restaurada): no se recarga el nivel 1
+     */
+    public void reintentarNivel() {
+        getEstadoJugando().conservarPartida();
+        cambiarEstado(EstadoJuegoEnum.JUGANDO);
+    }
+    
+    // ==================== CREACIÓN PEREZOSA ====================
+    
+    private MenuPrincipal getMenuPrincipal() {
+        if (menuPrincipal == null) {
+            menuPrincipal = new MenuPrincipal(this, juego);
+        }
+        return menuPrincipal;
+    }
+    
+    private EstadoJugando getEstadoJugando() {
+        if (estadoJugando == null) {
+            estadoJugando = new EstadoJugando(this, juego);
+        }
+        return estadoJugando;
+    }
+    
     // ==================== GETTERS ====================
     
     public EstadoJuegoBase getEstadoActual() {
@@ -133,6 +163,6 @@ public class GestorEstados {
      * Verifica si el juego está en estado jugable
      */
     public boolean estaJugando() {
-        return estadoActual == estadoJugando;
+        return estadoJugando != null && estadoActual == estadoJugando;
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package mariotest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grafo de tareas del arranque: cada tarea corre en un pool de hilos
+ * apenas terminan las tareas de las que depende
+ *
+ * USO:
+ *   GrafoArranque grafo = new GrafoArranque(perfilador);
+ *   grafo.tarea("Texturas", this::cargarTexturas);
+ *   grafo.tarea("Jugador", this::crearJugador, "Texturas", "Handler");
+ *   grafo.ejecutar();   // espera a todas
+ *
+ * - Las dependencias se nombran y tienen que estar declaradas antes:
+ *   el orden de declaración ya es un orden válido (no puede haber ciclos)
+ * - Lo que escribe una tarea lo ven las que dependen de ella
+ *   (CompletableFuture garantiza el happens-before)
+ * - Si una tarea falla, las que dependían de ella no corren y
+ *   ejecutar() relanza la excepción original
+ * - Cada tarea queda registrada como fase en el PerfiladorArranque
+ *
+ * @author LENOVO
+ */
+final class GrafoArranque {
+
+    private final PerfiladorArranque perfilador;
+    private final ExecutorService hilos;
+    private final Map<String, CompletableFuture<Void>> tareas;
+
+    GrafoArranque(PerfiladorArranque perfilador) {
+        this.perfilador = perfilador;
+        this.tareas = new LinkedHashMap<>();
+
+        // Casi todo el arranque espera E/S o al toolkit: con pocos hilos alcanza
+        int cantidad = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger numero = new AtomicInteger();
+        this.hilos = Executors.newFixedThreadPool(cantidad, tarea -> {
+            Thread hilo = new Thread(tarea, "Arranque-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Declara una tarea; empieza a correr en cuanto sus dependencias terminan
+     *
+     * @param dependencias Nombres de tareas ya declaradas
+     */
+    GrafoArranque tarea(String nombre, Runnable trabajo, String... dependencias) {
+        if (tareas.containsKey(nombre)) {
+            throw new IllegalArgumentException("Tarea de arranque repetida: " + nombre);
+        }
+
+        CompletableFuture<?>[] previas = new CompletableFuture<?>[dependencias.length];
+        for (int i = 0; i < dependencias.length; i++) {
+            previas[i] = tareas.get(dependencias[i]);
+            if (previas[i] == null) {
+                throw new IllegalArgumentException("La tarea " + nombre
+                    + " depende de '" + dependencias[i] + "', que no fue declarada antes");
+            }
+        }
+
+        tareas.put(nombre, CompletableFuture.allOf(previas)
+            .thenRunAsync(() -> perfilador.medir(nombre, trabajo), hilos));
+        return this;
+    }
+
+    /**
+     * Espera a que terminen todas las tareas y libera los hilos
+     */
+    void ejecutar() {
+        try {
+            CompletableFuture.allOf(tareas.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            while (causa instanceof CompletionException && causa.getCause() != null) {
+                causa = causa.getCause();
+            }
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        } finally {
+            hilos.shutdown();
+        }
+    }
+}
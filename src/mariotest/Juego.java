@@ -1,9 +1,15 @@
 package mariotest;
 
 import SistemaDeNiveles.GestorNiveles;
+import SistemaDeReplays.GrabadorEntradas;
+import SistemaDeReplays.Replay;
+import SistemaDeReplays.ReproductorReplay;
 import SistemaDeSoporte.Handler;
 import SistemaGFX.Texturas;
+import UI.EstadoJuegoEnum;
 import java.awt.Canvas;
+import java.io.File;
+import java.io.IOException;
 
 /**
  * Orquestador Principal del Juego
@@ -25,6 +31,11 @@ public class Juego {
     private final Canvas canvas;
     private ContextoJuego contexto;
     private FacadeMotorJuego juegoLoop;
+    private Long semilla;  // null = tomada del reloj
+    
+    // Grabación de la partida (null = no se graba)
+    private File archivoGrabacion;
+    private GrabadorEntradas grabador;
     
     /**
      * Constructor - Inicializa el canvas
@@ -52,26 +63,146 @@ public class Juego {
      */
     public void iniciar() {
         System.out.println("[INIT] Iniciando construcción del juego...\n");
+        PerfiladorArranque arranque = new PerfiladorArranque();
         
-        // 1. Construir contexto usando Builder Pattern
-        construirContexto();
+        // 1. Construir contexto usando Builder Pattern (cada paso es una fase)
+        this.contexto = crearBuilder()
+            .conPerfilador(arranque)
+            .buildCompleto();
         
-        // 2. Crear game loop usando Facade Pattern
-        crearGameLoop();
+        // 2. Grabar la entrada desde el primer tick de juego
+        if (archivoGrabacion != null) {
+            arranque.medir("Grabación", this::prepararGrabacion);
+        }
         
-        // 3. Arrancar el juego
-        arrancar();
+        // 3. Crear game loop usando Facade Pattern
+        arranque.medir("Game loop", this::crearGameLoop);
+        juegoLoop.setPerfiladorArranque(arranque);
+        
+        // 4. Arrancar el juego
+        arranque.medir("Arranque del loop", this::arrancar);
         
         System.out.println("\n[INIT] Juego iniciado exitosamente");
         System.out.println(contexto.getInfo());
+        arranque.imprimir();
     }
     
     /**
-     * Construye el contexto del juego usando el Builder
+     * Inicializa el juego SIN ventana, render ni imágenes
+     * y deja la partida en estado JUGANDO.
+     * 
+     * El loop no arranca solo: usar simular(ticks) o getMotor().iniciar()
+     * 
+     * @param multiplicadorVelocidad 0 = sin límite, N = N × TICKS_POR_SEGUNDO
      */
-    private void construirContexto() {
-        this.contexto = new JuegoBuilder(this, canvas)
-            .buildCompleto();
+    public void iniciarSinVentana(double multiplicadorVelocidad) {
+        iniciarSinVentana(multiplicadorVelocidad, false);
+    }
+    
+    /**
+     * Igual que iniciarSinVentana(double), pero permite cargar las imágenes
+     * (para medir el render en una imagen fuera de pantalla)
+     */
+    public void iniciarSinVentana(double multiplicadorVelocidad, boolean conImagenes) {
+        System.out.println("[INIT] Iniciando simulación sin ventana...\n");
+        
+        this.contexto = crearBuilder()
+            .buildSinVentana(conImagenes);
+        this.juegoLoop = FacadeMotorJuego.sinVentana(contexto, multiplicadorVelocidad);
+        
+        if (archivoGrabacion != null) {
+            prepararGrabacion();
+        }
+        
+        contexto.getGestorEstados().cambiarEstado(EstadoJuegoEnum.JUGANDO);
+        
+        System.out.println("[INIT] Simulación lista");
+    }
+    
+    /**
+     * Prepara una simulación sin ventana que reproduce un replay:
+     * misma semilla, mismo nivel y la entrada grabada en lugar del teclado
+     * 
+     * @return Reproductor (consultar isTerminado() mientras se simula)
+     */
+    public ReproductorReplay iniciarReplay(Replay replay) {
+        setSemilla(replay.getSemilla());
+        iniciarSinVentana(0);
+        
+        if (replay.getNivel() != contexto.getGestorNiveles().getNivelActual()) {
+            contexto.getGestorNiveles().inicializarNivel(replay.getNivel());
+        }
+        
+        ReproductorReplay reproductor = new ReproductorReplay(replay);
+        contexto.getTeclas().setFuente(reproductor);
+        return reproductor;
+    }
+    
+    /**
+     * Simula ticks en el hilo actual (requiere iniciarSinVentana)
+     */
+    public void simular(long ticks) {
+        if (juegoLoop == null) {
+            throw new IllegalStateException("El juego no fue iniciado");
+        }
+        juegoLoop.simular(ticks);
+    }
+    
+    /**
+     * Graba la primera partida en el archivo dado (llamar antes de iniciar)
+     * 
+     * La grabación termina al salir de JUGANDO o al cerrar el juego.
+     */
+    public void grabarEn(File archivo) {
+        this.archivoGrabacion = archivo;
+    }
+    
+    private void prepararGrabacion() {
+        this.grabador = new GrabadorEntradas(
+            contexto.getAleatorio().getSemilla(),
+            contexto.getGestorNiveles().getNivelActual()
+        );
+        contexto.getTeclas().setGrabador(grabador);
+        
+        // Cerrar la ventana termina la JVM: guardar lo grabado hasta ahí
+        Runtime.getRuntime().addShutdownHook(new Thread(this::finalizarGrabacion, "Grabacion-Guardar"));
+        
+        System.out.println("[REPLAY] Grabando en " + archivoGrabacion);
+    }
+    
+    /**
+     * Deja de grabar y guarda el replay (sin efecto si no se está grabando)
+     */
+    public synchronized void finalizarGrabacion() {
+        if (grabador == null) {
+            return;
+        }
+        
+        contexto.getTeclas().setGrabador(null);
+        Replay replay = grabador.terminar();
+        grabador = null;
+        
+        try {
+            replay.guardar(archivoGrabacion);
+        } catch (IOException e) {
+            System.err.println("[REPLAY] No se pudo guardar " + archivoGrabacion + ": " + e.getMessage());
+        }
+    }
+    
+    private JuegoBuilder crearBuilder() {
+        JuegoBuilder builder = new JuegoBuilder(this, canvas);
+        if (semilla != null) {
+            builder.conSemilla(semilla);
+        }
+        return builder;
+    }
+    
+    /**
+     * Fija la semilla del azar antes de iniciar (misma semilla + mismas
+     * entradas = misma partida)
+     */
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
     }
     
     /**
@@ -123,6 +254,14 @@ public class Juego {
         return canvas;
     }
     
+    /**
+     * Obtiene el motor del juego (loop)
+     * @return FacadeMotorJuego o null si no está inicializado
+     */
+    public FacadeMotorJuego getMotor() {
+        return juegoLoop;
+    }
+    
     // ==================== MÉTODOS ESTÁTICOS (compatibilidad) ====================
     // Delegan a Configuracion para mantener DRY
     
@@ -170,6 +309,44 @@ public class Juego {
         }
     }
     
+    // ==================== INSTANTÁNEAS ====================
+    
+    /**
+     * Guarda el mundo actual (F5); se atiende en el próximo tick
+     */
+    public void guardarRapido() {
+        if (juegoLoop != null && juegoLoop.getInstantaneas() != null) {
+            juegoLoop.getInstantaneas().guardarRapido();
+        }
+    }
+    
+    /**
+     * Vuelve al último guardado rápido (F9)
+     */
+    public void cargarRapido() {
+        if (juegoLoop != null && juegoLoop.getInstantaneas() != null) {
+            juegoLoop.getInstantaneas().cargarRapido();
+        }
+    }
+    
+    /**
+     * Reinicia el nivel actual desde su primer tick, sin recargar el TMX
+     */
+    public void reintentarNivel() {
+        if (juegoLoop != null && juegoLoop.getInstantaneas() != null) {
+            juegoLoop.getInstantaneas().reintentar();
+        }
+    }
+    
+    /**
+     * Activa/desactiva el rebobinado (mientras se mantiene BACKSPACE)
+     */
+    public void setRebobinando(boolean rebobinando) {
+        if (juegoLoop != null && juegoLoop.getInstantaneas() != null) {
+            juegoLoop.getInstantaneas().setRebobinando(rebobinando);
+        }
+    }
+    
     /**
      * Verifica si el juego está corriendo
      * @return true si el game loop está activo
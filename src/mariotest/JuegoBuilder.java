@@ -3,6 +3,7 @@ package mariotest;
 import Entidades.*;
 import Entidades.JuegoEstadoLlamado;
 import SistemaDeNiveles.GestorNiveles;
+import SistemaDeSoporte.GeneradorAleatorio;
 import SistemaDeSoporte.Handler;
 import SistemaDeSoporte.Teclas;
 import SistemaGFX.Texturas;
@@ -28,6 +29,7 @@ public class JuegoBuilder {
     // ==================== COMPONENTES A CONSTRUIR ====================
     private AdministradorEventos eventManager;
     private Texturas texturas;
+    private GeneradorAleatorio aleatorio;
     private Handler handler;
     private GestorEstados gestorEstados;
     private GestorNiveles gestorNiveles;
@@ -39,6 +41,8 @@ public class JuegoBuilder {
     
     private final Juego instanciaJuego;  // Facade para callbacks
     private final Canvas canvas;          // Componente gráfico
+    private Long semilla;                 // null = tomada del reloj
+    private PerfiladorArranque perfilador;
     
     /**
      * Constructor del Builder
@@ -49,6 +53,7 @@ public class JuegoBuilder {
     public JuegoBuilder(Juego instanciaJuego, Canvas canvas) {
         this.instanciaJuego = instanciaJuego;
         this.canvas = canvas;
+        this.perfilador = new PerfiladorArranque();
         
         validarDependencias();
     }
@@ -65,6 +70,24 @@ public class JuegoBuilder {
         }
     }
     
+    /**
+     * Fija la semilla del azar del mundo (partidas reproducibles, replays)
+     * Debe llamarse antes de inicializarHandler()
+     */
+    public JuegoBuilder conSemilla(long semilla) {
+        this.semilla = semilla;
+        return this;
+    }
+    
+    /**
+     * Registra los tiempos de cada paso en el perfilador dado
+     * (para sumarlos a las fases que mide Juego)
+     */
+    JuegoBuilder conPerfilador(PerfiladorArranque perfilador) {
+        this.perfilador = perfilador;
+        return this;
+    }
+    
     // ==================== PASOS DE CONSTRUCCIÓN ====================
     
     /**
@@ -89,9 +112,12 @@ public class JuegoBuilder {
     public JuegoBuilder inicializarHandler() {
         System.out.println("[BUILDER] Paso 2/6: Inicializando handler...");
         
-        this.handler = new Handler();
+        this.aleatorio = semilla != null
+            ? new GeneradorAleatorio(semilla)
+            : GeneradorAleatorio.conSemillaDelReloj();
+        this.handler = new Handler(aleatorio);
         
-        System.out.println("[BUILDER] ✓ Handler inicializado");
+        System.out.println("[BUILDER] ✓ Handler inicializado (semilla " + aleatorio.getSemilla() + ")");
         return this;
     }
     
@@ -213,8 +239,13 @@ public class JuegoBuilder {
      * Valida que todos los componentes críticos estén inicializados
      */
     private void validarComponentes() {
+        validarComponentes(true);
+    }
+    
+    private void validarComponentes(boolean requiereVentana) {
         if (texturas == null || handler == null || gestorEstados == null || 
-            gestorNiveles == null || jugador == null || ventana == null || teclas == null) {
+            gestorNiveles == null || jugador == null || teclas == null ||
+            (requiereVentana && ventana == null)) {
             
             throw new IllegalStateException(
                 "No se completaron todos los pasos del builder. " +
@@ -239,6 +270,7 @@ public class JuegoBuilder {
         
         return new ContextoJuego(
             texturas, 
+            aleatorio, 
             handler, 
             gestorEstados, 
             gestorNiveles, 
@@ -248,21 +280,80 @@ public class JuegoBuilder {
     }
     
     /**
-     * Método fluido: construye todo de una vez
+     * Construye todo de una vez, con los pasos independientes en paralelo
+     * 
+     * GRAFO DE ARRANQUE (ver ejecutarPasos):
+     *   Texturas ─────────────────┐
+     *   Handler ─→ Eventos ─┬─────┴─→ Jugador ─→ Niveles
+     *                       └─→ Controles
+     *   Ventana
      * 
-     * Patrón FLUENT INTERFACE: Permite encadenar llamadas
+     * - Las texturas (y los tiles del nivel 1) se decodifican mientras
+     *   se crean la ventana, el handler y los menús
+     * - Handler, Eventos y Controles usan los mismos singletons
+     *   (EstadoJuego, AdministradorEventos): van en cadena
      * 
      * @return ContextoJuego completamente inicializado
      */
     public ContextoJuego buildCompleto() {
-        return this
-            .cargarTexturas()
-            .inicializarHandler()
-            .inicializarEventos() 
-            .crearJugador()
-            .configurarControles()
-            .inicializarGestorNiveles()
-            .crearVentana()
-            .build();
+        ejecutarPasos(true);
+        return build();
+    }
+    
+    /**
+     * Corre los pasos según el grafo de arranque y espera a que terminen
+     * 
+     * El azar del mundo solo se consume en Handler, Jugador y Niveles,
+     * que van en cadena: la misma semilla sigue dando la misma partida.
+     */
+    private void ejecutarPasos(boolean conVentana) {
+        GrafoArranque grafo = new GrafoArranque(perfilador);
+        
+        grafo.tarea("Texturas", this::cargarTexturas);
+        if (conVentana) {
+            grafo.tarea("Ventana", this::crearVentana);
+        }
+        grafo.tarea("Handler", this::inicializarHandler);
+        grafo.tarea("Eventos", this::inicializarEventos, "Handler");
+        grafo.tarea("Controles", this::configurarControles, "Eventos");
+        grafo.tarea("Jugador", this::crearJugador, "Texturas", "Eventos");
+        grafo.tarea("Niveles", this::inicializarGestorNiveles, "Jugador");
+        
+        grafo.ejecutar();
+    }
+    
+    /**
+     * Construye todo menos la ventana, sin decodificar imágenes
+     * (simulación sin ventana: CI, bots, pruebas de lógica)
+     * 
+     * @return ContextoJuego listo para FacadeMotorJuego.sinVentana()
+     */
+    public ContextoJuego buildSinVentana() {
+        return buildSinVentana(false);
+    }
+    
+    /**
+     * @param conImagenes true para cargar igualmente las texturas
+     */
+    public ContextoJuego buildSinVentana(boolean conImagenes) {
+        if (!conImagenes) {
+            Texturas.activarModoSinImagenes();
+        }
+        
+        ejecutarPasos(false);
+        
+        validarComponentes(false);
+        
+        System.out.println("[BUILDER] Construcción sin ventana completada");
+        
+        return new ContextoJuego(
+            texturas, 
+            aleatorio, 
+            handler, 
+            gestorEstados, 
+            gestorNiveles, 
+            teclas, 
+            jugador
+        );
     }
 }
\ No newline at end of file
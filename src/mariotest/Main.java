@@ -1,5 +1,16 @@
 package mariotest;
 
+import Entidades.Jugador;
+import SistemaDeNiveles.CacheNiveles;
+import SistemaDeNiveles.Configuracion.ConfiguracionNivel;
+import SistemaDeNiveles.GestorNiveles;
+import SistemaDeReplays.Replay;
+import SistemaDeReplays.ReproductorReplay;
+import SistemaDeSoporte.EstadoJuego;
+import SistemaDeSoporte.Tiempo;
+import java.io.File;
+import java.io.IOException;
+
 /**
  * Integrantes:
  * Harol Raul Neciosup Fuentes
@@ -13,9 +24,35 @@ public class Main {
         System.out.println("   " + Configuracion.NOMBRE_JUEGO);
         System.out.println("==============================================\n");
         
+        // --sin-ventana [ticks] [semilla] : simula la partida sin ventana ni render
+        // (por defecto un minuto de juego a la frecuencia elegida con -Dtps)
+        if (args.length > 0 && args[0].equals("--sin-ventana")) {
+            simularSinVentana(
+                args.length > 1 ? Long.parseLong(args[1]) : 60L * Tiempo.TPS,
+                args.length > 2 ? Long.valueOf(args[2]) : null
+            );
+            return;
+        }
+        
+        // --compilar-niveles : deja todos los TMX compilados en la cache de niveles
+        if (args.length > 0 && args[0].equals("--compilar-niveles")) {
+            System.exit(compilarNiveles() ? 0 : 1);
+            return;
+        }
+        
+        // --replay archivo : reproduce una partida grabada sin ventana
+        if (args.length > 1 && args[0].equals("--replay")) {
+            reproducirReplay(new File(args[1]));
+            return;
+        }
+        
         try {
             // Crear y arrancar el juego
+            // --grabar archivo : graba la partida para reproducirla después
             Juego juego = new Juego();
+            if (args.length > 1 && args[0].equals("--grabar")) {
+                juego.grabarEn(new File(args[1]));
+            }
             juego.iniciar();
             
         } catch (Exception e) {
@@ -24,4 +61,86 @@ public class Main {
             System.exit(1);
         }
     }
+    
+    /**
+     * Paso offline: compila cada nivel sin abrir ventana ni crear objetos
+     */
+    private static boolean compilarNiveles() {
+        CacheNiveles cache = CacheNiveles.predeterminada();
+        if (cache == null) {
+            System.err.println("[CACHE] La cache de niveles está desactivada");
+            return false;
+        }
+        
+        boolean ok = true;
+        for (int nivel = 1; nivel <= GestorNiveles.getNivelMaximo(); nivel++) {
+            String ruta = ConfiguracionNivel.crear(nivel).getRutaTMX();
+            ok &= cache.precompilar(ruta);
+        }
+        System.out.println("[CACHE] Niveles en " + cache.getDirectorio());
+        return ok;
+    }
+    
+    /**
+     * Reproduce un replay lo más rápido posible y muestra el estado final
+     */
+    private static void reproducirReplay(File archivo) {
+        Replay replay;
+        try {
+            replay = Replay.cargar(archivo);
+        } catch (IOException e) {
+            System.err.println("[FATAL] " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        
+        Juego juego = new Juego();
+        ReproductorReplay reproductor = juego.iniciarReplay(replay);
+        
+        long inicio = System.nanoTime();
+        long ticks = 0;
+        // Los ticks fuera de JUGANDO (fin de partida) no consumen entrada
+        while (!reproductor.isTerminado() && juego.getGestorEstados().estaJugando()) {
+            juego.simular(1);
+            ticks++;
+        }
+        long nanos = System.nanoTime() - inicio;
+        
+        System.out.println(String.format(
+            "[REPLAY] %d ticks (%.1f s de juego) en %.2f s reales (%.0fx tiempo real)",
+            ticks, Tiempo.segundos(ticks), nanos / 1e9,
+            Tiempo.segundos(ticks) / (nanos / 1e9)
+        ));
+        imprimirEstadoFinal(juego);
+    }
+    
+    private static void imprimirEstadoFinal(Juego juego) {
+        Jugador jugador = juego.getHandler().getPlayer();
+        if (jugador != null) {
+            System.out.println(String.format("Jugador: (%.2f, %.2f)", jugador.getX(), jugador.getY()));
+        }
+        System.out.println(juego.getHandler().getInfoDebug());
+        System.out.println(EstadoJuego.getInstance().getInfo());
+    }
+    
+    /**
+     * Corre la lógica del juego lo más rápido posible y muestra el resultado
+     */
+    private static void simularSinVentana(long ticks, Long semilla) {
+        Juego juego = new Juego();
+        if (semilla != null) {
+            juego.setSemilla(semilla);
+        }
+        juego.iniciarSinVentana(0);
+        
+        long inicio = System.nanoTime();
+        juego.simular(ticks);
+        long nanos = System.nanoTime() - inicio;
+        
+        System.out.println(String.format(
+            "[SIMULACION] %d ticks (%.1f s de juego) en %.2f s reales (%.0f ticks/s)",
+            ticks, Tiempo.segundos(ticks), nanos / 1e9, ticks / (nanos / 1e9)
+        ));
+        imprimirEstadoFinal(juego);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package mariotest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tiempos del arranque del juego, por fase (tiempo de reloj)
+ *
+ * - Cada fase guarda cuándo empezó y terminó (desde el comienzo del
+ *   arranque) y en qué hilo corrió: las fases en paralelo se ven solapadas
+ * - imprimir() muestra la tabla al final de Juego.iniciar()
+ * - marcarPrimerFrame() (desde el game loop) cierra la medición con el
+ *   tiempo hasta el primer frame en pantalla
+ *
+ * Se puede registrar desde cualquier hilo.
+ *
+ * @author LENOVO
+ */
+final class PerfiladorArranque {
+
+    private final long inicio;
+    private final List<Fase> fases;
+    private volatile long nanosPrimerFrame;  // 0 = todavía no se mostró
+
+    PerfiladorArranque() {
+        this.inicio = System.nanoTime();
+        this.fases = new ArrayList<>();
+    }
+
+    // ==================== MEDICIÓN ====================
+
+    /**
+     * Corre una fase en el hilo actual y registra su duración
+     * (también si lanza una excepción)
+     */
+    void medir(String nombre, Runnable fase) {
+        long desde = System.nanoTime();
+        try {
+            fase.run();
+        } finally {
+            registrar(nombre, desde, System.nanoTime());
+        }
+    }
+
+    synchronized void registrar(String nombre, long desde, long hasta) {
+        fases.add(new Fase(nombre, Thread.currentThread().getName(),
+                           desde - inicio, hasta - inicio));
+    }
+
+    /**
+     * Llamar al mostrar cada frame: solo cuenta el primero
+     */
+    void marcarPrimerFrame() {
+        if (nanosPrimerFrame != 0) {
+            return;
+        }
+        nanosPrimerFrame = System.nanoTime() - inicio;
+        System.out.println(String.format("[ARRANQUE] Primer frame en pantalla a los %.1f ms",
+            nanosPrimerFrame / 1e6));
+    }
+
+    // ==================== REPORTE ====================
+
+    /**
+     * Tabla de fases en orden de inicio, con el total de reloj y la suma
+     * de las duraciones (la diferencia es lo que se ganó en paralelo)
+     */
+    synchronized void imprimir() {
+        List<Fase> ordenadas = new ArrayList<>(fases);
+        ordenadas.sort(Comparator.comparingLong(fase -> fase.desde));
+
+        long suma = 0;
+        long fin = 0;
+        StringBuilder sb = new StringBuilder("\n[ARRANQUE] Fases (ms desde el inicio):\n");
+        sb.append(String.format("  %-22s %-22s %8s %8s %8s%n", "Fase", "Hilo", "Desde", "Hasta", "Duración"));
+        for (Fase fase : ordenadas) {
+            sb.append(String.format("  %-22s %-22s %8.1f %8.1f %8.1f%n", fase.nombre, fase.hilo,
+                fase.desde / 1e6, fase.hasta / 1e6, (fase.hasta - fase.desde) / 1e6));
+            suma += fase.hasta - fase.desde;
+            fin = Math.max(fin, fase.hasta);
+        }
+        sb.append(String.format("  Total %.1f ms de reloj (%.1f ms sumando las fases)",
+            fin / 1e6, suma / 1e6));
+        System.out.println(sb);
+    }
+
+    /**
+     * @return Nanosegundos hasta el primer frame (0 si todavía no hubo)
+     */
+    long getNanosPrimerFrame() {
+        return nanosPrimerFrame;
+    }
+
+    private static final class Fase {
+        final String nombre;
+        final String hilo;
+        final long desde;
+        final long hasta;
+
+        Fase(String nombre, String hilo, long desde, long hasta) {
+            this.nombre = nombre;
+            this.hilo = hilo;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+    }
+}